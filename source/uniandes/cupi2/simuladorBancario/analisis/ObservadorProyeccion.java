@@ -0,0 +1,27 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.analisis;
+
+/**
+ * Interfaz de quienes reciben los saldos de cada cliente mes a mes durante una proyeccin. <br>
+ * Los saldos de un mes solo son vlidos durante la llamada: la proyeccin reutiliza el mismo arreglo para el mes
+ * siguiente.
+ */
+public interface ObservadorProyeccion
+{
+    /**
+     * Recibe los saldos proyectados de todos los clientes para un mes.
+     * @param pMes Nmero de meses desde el mes actual de cada cliente. pMes >= 1.
+     * @param pAhorros Saldos proyectados de las cuentas de ahorros, en centavos, indexados por cliente.
+     * @param pProyeccion Proyeccin que se est calculando, para consultar los dems valores del mes.
+     */
+    void mesProyectado( int pMes, double[] pAhorros, ProyeccionSaldos pProyeccion );
+}
@@ -0,0 +1,328 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.analisis;
+
+import uniandes.cupi2.simuladorBancario.mundo.EstadoBanco;
+
+/**
+ * Clase que proyecta mes a mes los saldos de todos los clientes de un banco a partir de una copia de su estado. <br>
+ * La proyeccin trabaja sobre columnas de decimales indexadas por cliente. El saldo de ahorros de cada cliente gana cada
+ * mes su inters redondeado al centavo, como en SimuladorBancario y en Banco, as que coincide con el que tendra el
+ * cliente despus de avanzar mes por mes. El valor del CDT de un cliente k meses despus es b + p * k, con b su valor en
+ * el mes actual y p su inters mensual en centavos, as que el total de los CDT de cualquier mes se obtiene de dos sumas;
+ * ese total no se redondea cliente por cliente, pero el valor del CDT de cada cliente s. <br>
+ * Despus de proyectar se pueden consultar las columnas de cada cliente en el ltimo mes proyectado: su saldo corriente,
+ * su saldo de ahorros y el valor de su CDT. <br>
+ * proyectar divide los clientes en bloques de CLIENTES_POR_BLOQUE que caben en la cach del procesador y, para cada
+ * bloque, avanza todos los meses con un ciclo simple sobre arreglos de tipos primitivos que la mquina virtual compila
+ * con instrucciones vectoriales (SIMD); los saldos se suman con cuatro acumuladores independientes. proyectarEscalar
+ * recorre cliente por cliente todos los meses; da los mismos totales y saldos salvo por el orden de las sumas y sirve
+ * de referencia.
+ */
+public class ProyeccionSaldos
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de clientes que se proyectan juntos: sus saldos y factores ocupan 32 KB.
+     */
+    public static final int CLIENTES_POR_BLOQUE = 2048;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de clientes.
+     */
+    private int numeroClientes;
+
+    /**
+     * Total de las cuentas corrientes, en centavos.
+     */
+    private double totalCorriente;
+
+    /**
+     * Saldos actuales de las cuentas de ahorros, en centavos.
+     */
+    private double[] ahorrosIniciales;
+
+    /**
+     * Saldos de las cuentas corrientes, en centavos. No cambian de un mes a otro.
+     */
+    private double[] corriente;
+
+    /**
+     * Inters mensual de la cuenta de ahorros de cada cliente.
+     */
+    private double[] interesesAhorros;
+
+    /**
+     * Valor de cada CDT en el mes actual del cliente, en centavos.
+     */
+    private double[] basesCDT;
+
+    /**
+     * Inters que gana cada CDT por mes, en centavos.
+     */
+    private double[] pendientesCDT;
+
+    /**
+     * Suma de los valores actuales de los CDT.
+     */
+    private double totalBaseCDT;
+
+    /**
+     * Suma de los intereses mensuales de los CDT.
+     */
+    private double totalPendienteCDT;
+
+    /**
+     * Saldos de ahorros del mes que se est proyectando, en centavos.
+     */
+    private double[] ahorros;
+
+    /**
+     * ltimo mes proyectado, que es el de los saldos de ahorros.
+     */
+    private int mesProyectado;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Prepara la proyeccin de los clientes de una copia del estado de un banco. <br>
+     * <b>post: </b> Las columnas de la proyeccin tienen los saldos actuales de los clientes y el mes proyectado es 0.
+     * @param pEstado Copia del estado del banco. pEstado != null.
+     */
+    public ProyeccionSaldos( EstadoBanco pEstado )
+    {
+        numeroClientes = pEstado.darNumeroClientes( );
+        ahorrosIniciales = new double[numeroClientes];
+        corriente = new double[numeroClientes];
+        interesesAhorros = new double[numeroClientes];
+        basesCDT = new double[numeroClientes];
+        pendientesCDT = new double[numeroClientes];
+        ahorros = new double[numeroClientes];
+        long[] saldosCorriente = pEstado.darSaldosCorriente( );
+        long[] saldosAhorros = pEstado.darSaldosAhorros( );
+        double[] intereses = pEstado.darInteresesAhorros( );
+        long[] valoresCDT = pEstado.darValoresCDT( );
+        double[] interesesCDT = pEstado.darInteresesCDT( );
+        int[] mesesActuales = pEstado.darMesesActuales( );
+        int[] mesesApertura = pEstado.darMesesAperturaCDT( );
+        for( int i = 0; i < numeroClientes; i++ )
+        {
+            corriente[ i ] = saldosCorriente[ i ];
+            totalCorriente += saldosCorriente[ i ];
+            ahorrosIniciales[ i ] = saldosAhorros[ i ];
+            interesesAhorros[ i ] = intereses[ i ];
+            pendientesCDT[ i ] = valoresCDT[ i ] * interesesCDT[ i ];
+            basesCDT[ i ] = valoresCDT[ i ] + pendientesCDT[ i ] * ( mesesActuales[ i ] - mesesApertura[ i ] );
+            totalBaseCDT += basesCDT[ i ];
+            totalPendienteCDT += pendientesCDT[ i ];
+        }
+        System.arraycopy( ahorrosIniciales, 0, ahorros, 0, numeroClientes );
+        mesProyectado = 0;
+    }
+
+    /**
+     * Retorna el nmero de clientes de la proyeccin.
+     * @return Nmero de clientes.
+     */
+    public int darNumeroClientes( )
+    {
+        return numeroClientes;
+    }
+
+    /**
+     * Retorna el ltimo mes proyectado, que es al que corresponden los saldos de ahorros de los clientes.
+     * @return Nmero de meses desde el mes actual de cada cliente.
+     */
+    public int darMesProyectado( )
+    {
+        return mesProyectado;
+    }
+
+    /**
+     * Retorna el saldo de la cuenta corriente de un cliente, que no cambia durante la proyeccin.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo de la cuenta corriente en centavos.
+     */
+    public double darSaldoCorriente( int pCliente )
+    {
+        return corriente[ pCliente ];
+    }
+
+    /**
+     * Retorna el saldo proyectado de la cuenta de ahorros de un cliente en el ltimo mes proyectado.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo de la cuenta de ahorros en centavos.
+     */
+    public double darSaldoAhorros( int pCliente )
+    {
+        return ahorros[ pCliente ];
+    }
+
+    /**
+     * Calcula el valor proyectado del CDT de un cliente, redondeado al centavo.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pMes Nmero de meses desde el mes actual del cliente. pMes >= 0.
+     * @return Valor del CDT en centavos.
+     */
+    public double calcularValorCDT( int pCliente, int pMes )
+    {
+        return Math.rint( basesCDT[ pCliente ] + pendientesCDT[ pCliente ] * pMes );
+    }
+
+    /**
+     * Calcula el saldo total proyectado de un cliente en el ltimo mes proyectado.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Suma de los saldos de las tres cuentas en centavos.
+     */
+    public double calcularSaldoTotal( int pCliente )
+    {
+        return corriente[ pCliente ] + ahorros[ pCliente ] + calcularValorCDT( pCliente, mesProyectado );
+    }
+
+    /**
+     * Proyecta los saldos de todos los clientes durante los meses dados. <br>
+     * <b>post: </b> El mes proyectado es pMeses.
+     * @param pMeses Nmero de meses. pMeses >= 0.
+     * @return Totales de cada mes.
+     */
+    public TotalesProyeccion proyectar( int pMeses )
+    {
+        double[] sumas = new double[pMeses + 1];
+        double[] a = ahorros;
+        double[] r = interesesAhorros;
+        System.arraycopy( ahorrosIniciales, 0, a, 0, numeroClientes );
+        for( int desde = 0; desde < numeroClientes; desde += CLIENTES_POR_BLOQUE )
+        {
+            int hasta = Math.min( desde + CLIENTES_POR_BLOQUE, numeroClientes );
+            sumas[ 0 ] += sumar( a, desde, hasta );
+            for( int mes = 1; mes <= pMeses; mes++ )
+            {
+                for( int i = desde; i < hasta; i++ )
+                {
+                    a[ i ] += Math.rint( a[ i ] * r[ i ] );
+                }
+                sumas[ mes ] += sumar( a, desde, hasta );
+            }
+        }
+        mesProyectado = pMeses;
+        return crearTotales( sumas );
+    }
+
+    /**
+     * Proyecta los saldos de todos los clientes durante los meses dados, mes por mes, y entrega los saldos de cada mes al
+     * observador. Durante la llamada al observador el mes proyectado es el del mes recibido. Como cada mes recorre todos
+     * los clientes, es ms lento que proyectar sin observador. <br>
+     * <b>post: </b> El mes proyectado es pMeses.
+     * @param pMeses Nmero de meses. pMeses >= 0.
+     * @param pObservador Observador que recibe los saldos de cada mes. pObservador != null.
+     * @return Totales de cada mes.
+     */
+    public TotalesProyeccion proyectar( int pMeses, ObservadorProyeccion pObservador )
+    {
+        double[] sumas = new double[pMeses + 1];
+        double[] a = ahorros;
+        double[] r = interesesAhorros;
+        int n = numeroClientes;
+        System.arraycopy( ahorrosIniciales, 0, a, 0, n );
+        mesProyectado = 0;
+        sumas[ 0 ] = sumar( a, 0, n );
+        for( int mes = 1; mes <= pMeses; mes++ )
+        {
+            for( int i = 0; i < n; i++ )
+            {
+                a[ i ] += Math.rint( a[ i ] * r[ i ] );
+            }
+            sumas[ mes ] = sumar( a, 0, n );
+            mesProyectado = mes;
+            pObservador.mesProyectado( mes, a, this );
+        }
+        return crearTotales( sumas );
+    }
+
+    /**
+     * Proyecta los saldos de todos los clientes recorriendo cliente por cliente todos los meses, sin instrucciones
+     * vectoriales. <br>
+     * <b>post: </b> El mes proyectado es pMeses.
+     * @param pMeses Nmero de meses. pMeses >= 0.
+     * @return Totales de cada mes.
+     */
+    public TotalesProyeccion proyectarEscalar( int pMeses )
+    {
+        double[] sumas = new double[pMeses + 1];
+        for( int i = 0; i < numeroClientes; i++ )
+        {
+            double saldo = ahorrosIniciales[ i ];
+            double interes = interesesAhorros[ i ];
+            sumas[ 0 ] += saldo;
+            for( int mes = 1; mes <= pMeses; mes++ )
+            {
+                saldo += Math.rint( saldo * interes );
+                sumas[ mes ] += saldo;
+            }
+            ahorros[ i ] = saldo;
+        }
+        mesProyectado = pMeses;
+        return crearTotales( sumas );
+    }
+
+    /**
+     * Crea los totales de una proyeccin a partir de las sumas de los saldos de ahorros de cada mes.
+     * @param pSumasAhorros Total de las cuentas de ahorros en cada mes, en centavos.
+     * @return Totales de cada mes.
+     */
+    private TotalesProyeccion crearTotales( double[] pSumasAhorros )
+    {
+        int meses = pSumasAhorros.length - 1;
+        TotalesProyeccion totales = new TotalesProyeccion( meses, totalCorriente );
+        for( int mes = 0; mes <= meses; mes++ )
+        {
+            totales.cambiarMes( mes, pSumasAhorros[ mes ], totalBaseCDT + totalPendienteCDT * mes );
+        }
+        return totales;
+    }
+
+    /**
+     * Suma un rango de un arreglo con cuatro acumuladores, para que las sumas no dependan unas de otras.
+     * @param pValores Valores a sumar.
+     * @param pDesde Posicin del primer valor.
+     * @param pHasta Posicin siguiente al ltimo valor.
+     * @return Suma de los valores.
+     */
+    private static double sumar( double[] pValores, int pDesde, int pHasta )
+    {
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int i = pDesde;
+        for( ; i + 3 < pHasta; i += 4 )
+        {
+            s0 += pValores[ i ];
+            s1 += pValores[ i + 1 ];
+            s2 += pValores[ i + 2 ];
+            s3 += pValores[ i + 3 ];
+        }
+        for( ; i < pHasta; i++ )
+        {
+            s0 += pValores[ i ];
+        }
+        return ( s0 + s1 ) + ( s2 + s3 );
+    }
+}
@@ -0,0 +1,135 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.analisis;
+
+import java.util.Arrays;
+
+import uniandes.cupi2.simuladorBancario.mundo.Dinero;
+
+/**
+ * Clase que representa la distribucin de los saldos finales de una simulacin de Monte Carlo. <br>
+ * Los saldos se guardan ordenados, as que los percentiles se consultan directamente.
+ */
+public class ResultadoMonteCarlo
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Saldos finales de los caminos en orden ascendente, en centavos.
+     */
+    private long[] saldos;
+
+    /**
+     * Promedio de los saldos, en centavos.
+     */
+    private double media;
+
+    /**
+     * Desviacin estndar de los saldos, en centavos.
+     */
+    private double desviacion;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea el resultado a partir de los saldos finales de los caminos. <br>
+     * <b>post: </b> Los saldos quedaron ordenados y se calcularon la media y la desviacin estndar.
+     * @param pSaldos Saldos finales en centavos. El resultado se queda con el arreglo. pSaldos.length > 0.
+     */
+    public ResultadoMonteCarlo( long[] pSaldos )
+    {
+        saldos = pSaldos;
+        Arrays.sort( saldos );
+        long suma = 0;
+        for( long saldo : saldos )
+        {
+            suma += saldo;
+        }
+        media = ( double )suma / saldos.length;
+        double cuadrados = 0;
+        for( long saldo : saldos )
+        {
+            cuadrados += ( saldo - media ) * ( saldo - media );
+        }
+        desviacion = saldos.length > 1 ? Math.sqrt( cuadrados / ( saldos.length - 1 ) ) : 0;
+    }
+
+    /**
+     * Retorna el nmero de caminos simulados.
+     * @return Nmero de caminos.
+     */
+    public int darNumeroCaminos( )
+    {
+        return saldos.length;
+    }
+
+    /**
+     * Retorna el saldo final promedio.
+     * @return Media de los saldos.
+     */
+    public double darMedia( )
+    {
+        return media / Dinero.CENTAVOS_POR_PESO;
+    }
+
+    /**
+     * Retorna la desviacin estndar de los saldos finales.
+     * @return Desviacin estndar.
+     */
+    public double darDesviacionEstandar( )
+    {
+        return desviacion / Dinero.CENTAVOS_POR_PESO;
+    }
+
+    /**
+     * Retorna el menor saldo final.
+     * @return Saldo mnimo.
+     */
+    public double darMinimo( )
+    {
+        return Dinero.aPesos( saldos[ 0 ] );
+    }
+
+    /**
+     * Retorna el mayor saldo final.
+     * @return Saldo mximo.
+     */
+    public double darMaximo( )
+    {
+        return Dinero.aPesos( saldos[ saldos.length - 1 ] );
+    }
+
+    /**
+     * Retorna el percentil dado de los saldos finales: el menor saldo tal que al menos esa fraccin de los caminos termina
+     * con un saldo menor o igual.
+     * @param pFraccion Fraccin de los caminos. 0 < pFraccion <= 1.
+     * @return Saldo del percentil.
+     */
+    public double darPercentil( double pFraccion )
+    {
+        int posicion = ( int )Math.ceil( pFraccion * saldos.length ) - 1;
+        return Dinero.aPesos( saldos[ Math.max( 0, posicion ) ] );
+    }
+
+    /**
+     * Retorna el saldo final de un camino en el orden ascendente de los saldos.
+     * @param pPosicion Posicin en el orden. 0 <= pPosicion < darNumeroCaminos( ).
+     * @return Saldo final en centavos.
+     */
+    public long darSaldoCentavos( int pPosicion )
+    {
+        return saldos[ pPosicion ];
+    }
+}
@@ -0,0 +1,273 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.analisis;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+
+/**
+ * Clase que estima la distribucin del saldo total de un cliente despus de varios meses con tasas inciertas, simulando
+ * muchos caminos independientes de un SimuladorBancario. <br>
+ * En cada camino el cliente empieza con unos saldos y un CDT con un inters al azar entre un mnimo y un mximo. Cada mes
+ * el inters de la cuenta de ahorros cambia con un paso gaussiano, el cliente consigna un monto al azar en la cuenta
+ * corriente, a veces retira un monto al azar de la cuenta de ahorros, y se avanza el mes. <br>
+ * Los caminos se reparten entre los hilos de un ForkJoinPool. Cada tarea divide su generador de nmeros aleatorios con
+ * split() antes de dividirse, y la forma en que se dividen las tareas depende solo del nmero de caminos, as que con la
+ * misma semilla cada camino usa siempre la misma secuencia de nmeros y el resultado es idntico sin importar cuntos
+ * hilos se usen.
+ */
+public class SimulacionMonteCarlo
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de caminos a partir del cual una tarea se divide en dos.
+     */
+    public static final int CAMINOS_POR_TAREA = 256;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de meses que se simulan en cada camino.
+     */
+    private int meses;
+
+    /**
+     * Saldo inicial de la cuenta corriente.
+     */
+    private double saldoCorriente;
+
+    /**
+     * Saldo inicial de la cuenta de ahorros.
+     */
+    private double saldoAhorros;
+
+    /**
+     * Monto invertido en el CDT al empezar.
+     */
+    private double montoCDT;
+
+    /**
+     * Inters mnimo del CDT.
+     */
+    private double interesCDTMinimo;
+
+    /**
+     * Inters mximo del CDT.
+     */
+    private double interesCDTMaximo;
+
+    /**
+     * Inters mensual inicial de la cuenta de ahorros.
+     */
+    private double interesAhorros;
+
+    /**
+     * Desviacin estndar del cambio mensual del inters de la cuenta de ahorros.
+     */
+    private double volatilidadAhorros;
+
+    /**
+     * Monto mximo de la consignacin mensual en la cuenta corriente.
+     */
+    private double consignacionMaxima;
+
+    /**
+     * Probabilidad de que el cliente retire de la cuenta de ahorros en un mes.
+     */
+    private double probabilidadRetiro;
+
+    /**
+     * Monto mximo de un retiro de la cuenta de ahorros.
+     */
+    private double retiroMaximo;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea una simulacin con el escenario dado. <br>
+     * <b>post: </b> La simulacin qued lista para ejecutar caminos.
+     * @param pMeses Nmero de meses de cada camino. pMeses >= 0.
+     * @param pSaldoCorriente Saldo inicial de la cuenta corriente. pSaldoCorriente >= 0.
+     * @param pSaldoAhorros Saldo inicial de la cuenta de ahorros. pSaldoAhorros >= 0.
+     * @param pMontoCDT Monto invertido en el CDT al empezar, o 0 si no hay CDT. pMontoCDT >= 0.
+     * @param pInteresCDTMinimo Inters mnimo del CDT. pInteresCDTMinimo >= 0.
+     * @param pInteresCDTMaximo Inters mximo del CDT. pInteresCDTMaximo >= pInteresCDTMinimo.
+     * @param pInteresAhorros Inters mensual inicial de la cuenta de ahorros. pInteresAhorros >= 0.
+     * @param pVolatilidadAhorros Desviacin estndar del cambio mensual del inters de ahorros. pVolatilidadAhorros >= 0.
+     * @param pConsignacionMaxima Monto mximo de la consignacin mensual. pConsignacionMaxima >= 0.
+     * @param pProbabilidadRetiro Probabilidad de retirar de la cuenta de ahorros en un mes. 0 <= pProbabilidadRetiro <= 1.
+     * @param pRetiroMaximo Monto mximo de un retiro. pRetiroMaximo >= 0.
+     */
+    public SimulacionMonteCarlo( int pMeses, double pSaldoCorriente, double pSaldoAhorros, double pMontoCDT, double pInteresCDTMinimo, double pInteresCDTMaximo, double pInteresAhorros, double pVolatilidadAhorros, double pConsignacionMaxima, double pProbabilidadRetiro, double pRetiroMaximo )
+    {
+        meses = pMeses;
+        saldoCorriente = pSaldoCorriente;
+        saldoAhorros = pSaldoAhorros;
+        montoCDT = pMontoCDT;
+        interesCDTMinimo = pInteresCDTMinimo;
+        interesCDTMaximo = pInteresCDTMaximo;
+        interesAhorros = pInteresAhorros;
+        volatilidadAhorros = pVolatilidadAhorros;
+        consignacionMaxima = pConsignacionMaxima;
+        probabilidadRetiro = pProbabilidadRetiro;
+        retiroMaximo = pRetiroMaximo;
+    }
+
+    /**
+     * Retorna el nmero de meses de cada camino.
+     * @return Horizonte de la simulacin en meses.
+     */
+    public int darMeses( )
+    {
+        return meses;
+    }
+
+    /**
+     * Ejecuta los caminos en el pool comn de hilos.
+     * @param pCaminos Nmero de caminos. pCaminos > 0.
+     * @param pSemilla Semilla de los nmeros aleatorios.
+     * @return Distribucin del saldo total al final de los caminos.
+     */
+    public ResultadoMonteCarlo ejecutar( int pCaminos, long pSemilla )
+    {
+        return ejecutar( pCaminos, pSemilla, ForkJoinPool.commonPool( ) );
+    }
+
+    /**
+     * Ejecuta los caminos usando los hilos del pool dado. El resultado depende solo de la semilla y del nmero de caminos.
+     * @param pCaminos Nmero de caminos. pCaminos > 0.
+     * @param pSemilla Semilla de los nmeros aleatorios.
+     * @param pPool Pool de hilos que ejecuta los caminos. pPool != null.
+     * @return Distribucin del saldo total al final de los caminos.
+     */
+    public ResultadoMonteCarlo ejecutar( int pCaminos, long pSemilla, ForkJoinPool pPool )
+    {
+        long[] saldos = new long[pCaminos];
+        pPool.invoke( new Caminos( saldos, 0, pCaminos, new SplittableRandom( pSemilla ) ) );
+        return new ResultadoMonteCarlo( saldos );
+    }
+
+    /**
+     * Simula un camino con el generador dado.
+     * @param pAzar Generador de nmeros aleatorios del camino.
+     * @return Saldo total al final del camino, en centavos.
+     */
+    private long simularCamino( SplittableRandom pAzar )
+    {
+        SimuladorBancario simulador = new SimuladorBancario( "", "" );
+        if( saldoCorriente > 0 )
+        {
+            simulador.consignarCuentaCorriente( saldoCorriente );
+        }
+        if( saldoAhorros > 0 )
+        {
+            simulador.consignarCuentaAhorros( saldoAhorros );
+        }
+        if( montoCDT > 0 )
+        {
+            double interesCDT = interesCDTMaximo > interesCDTMinimo ? pAzar.nextDouble( interesCDTMinimo, interesCDTMaximo ) : interesCDTMinimo;
+            simulador.invertirCDT( montoCDT, interesCDT );
+        }
+        double interes = interesAhorros;
+        for( int mes = 0; mes < meses; mes++ )
+        {
+            interes = Math.max( 0, interes + volatilidadAhorros * pAzar.nextGaussian( ) );
+            simulador.darCuentaAhorros( ).cambiarInteresMensual( interes );
+            double consignacion = consignacionMaxima * pAzar.nextDouble( );
+            if( consignacion > 0 )
+            {
+                simulador.consignarCuentaCorriente( consignacion );
+            }
+            if( pAzar.nextDouble( ) < probabilidadRetiro )
+            {
+                simulador.retirarCuentaAhorros( retiroMaximo * pAzar.nextDouble( ) );
+            }
+            simulador.avanzarMesSimulacion( );
+        }
+        return simulador.calcularSaldoTotalCentavos( );
+    }
+
+    // -----------------------------------------------------------------
+    // Clases internas
+    // -----------------------------------------------------------------
+
+    /**
+     * Tarea que simula un rango de caminos, dividindolo en dos mitades mientras tenga ms de CAMINOS_POR_TAREA caminos.
+     */
+    @SuppressWarnings("serial")
+    private class Caminos extends RecursiveAction
+    {
+        /**
+         * Saldos finales de todos los caminos.
+         */
+        private long[] saldos;
+
+        /**
+         * Posicin del primer camino del rango.
+         */
+        private int desde;
+
+        /**
+         * Posicin siguiente al ltimo camino del rango.
+         */
+        private int hasta;
+
+        /**
+         * Generador de nmeros aleatorios del rango.
+         */
+        private SplittableRandom azar;
+
+        /**
+         * Crea la tarea para el rango dado.
+         * @param pSaldos Saldos finales de todos los caminos.
+         * @param pDesde Posicin del primer camino del rango.
+         * @param pHasta Posicin siguiente al ltimo camino del rango.
+         * @param pAzar Generador de nmeros aleatorios del rango.
+         */
+        private Caminos( long[] pSaldos, int pDesde, int pHasta, SplittableRandom pAzar )
+        {
+            saldos = pSaldos;
+            desde = pDesde;
+            hasta = pHasta;
+            azar = pAzar;
+        }
+
+        /**
+         * Simula los caminos del rango o lo divide en dos tareas.
+         */
+        protected void compute( )
+        {
+            if( hasta - desde <= CAMINOS_POR_TAREA )
+            {
+                for( int i = desde; i < hasta; i++ )
+                {
+                    saldos[ i ] = simularCamino( azar );
+                }
+            }
+            else
+            {
+                int mitad = ( desde + hasta ) >>> 1;
+                Caminos primera = new Caminos( saldos, desde, mitad, azar.split( ) );
+                invokeAll( primera, new Caminos( saldos, mitad, hasta, azar ) );
+            }
+        }
+    }
+}
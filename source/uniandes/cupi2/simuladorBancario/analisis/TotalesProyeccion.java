@@ -0,0 +1,116 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.analisis;
+
+import uniandes.cupi2.simuladorBancario.mundo.Dinero;
+
+/**
+ * Clase que representa los saldos proyectados de todos los clientes de un banco, sumados mes a mes. <br>
+ * El mes 0 es el estado actual y el mes k es k meses despus del mes actual de cada cliente.
+ */
+public class TotalesProyeccion
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Total de las cuentas corrientes, en centavos. No cambia de un mes a otro.
+     */
+    private double corriente;
+
+    /**
+     * Total de las cuentas de ahorros en cada mes, en centavos.
+     */
+    private double[] ahorros;
+
+    /**
+     * Total de los CDT en cada mes, en centavos.
+     */
+    private double[] cdt;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea los totales de una proyeccin. <br>
+     * <b>post: </b> Los totales de ahorros y CDT de todos los meses estn en 0.
+     * @param pMeses Nmero de meses proyectados. pMeses >= 0.
+     * @param pCorriente Total de las cuentas corrientes, en centavos.
+     */
+    public TotalesProyeccion( int pMeses, double pCorriente )
+    {
+        corriente = pCorriente;
+        ahorros = new double[pMeses + 1];
+        cdt = new double[pMeses + 1];
+    }
+
+    /**
+     * Retorna el nmero de meses proyectados.
+     * @return Nmero de meses.
+     */
+    public int darMeses( )
+    {
+        return ahorros.length - 1;
+    }
+
+    /**
+     * Retorna el total de las cuentas corrientes.
+     * @return Total de las cuentas corrientes.
+     */
+    public double darCorriente( )
+    {
+        return corriente / Dinero.CENTAVOS_POR_PESO;
+    }
+
+    /**
+     * Retorna el total de las cuentas de ahorros en un mes.
+     * @param pMes Mes de la proyeccin. 0 <= pMes <= darMeses( ).
+     * @return Total de las cuentas de ahorros.
+     */
+    public double darAhorros( int pMes )
+    {
+        return ahorros[ pMes ] / Dinero.CENTAVOS_POR_PESO;
+    }
+
+    /**
+     * Retorna el total de los CDT en un mes.
+     * @param pMes Mes de la proyeccin. 0 <= pMes <= darMeses( ).
+     * @return Total de los CDT.
+     */
+    public double darCDT( int pMes )
+    {
+        return cdt[ pMes ] / Dinero.CENTAVOS_POR_PESO;
+    }
+
+    /**
+     * Retorna el saldo total de todos los clientes en un mes.
+     * @param pMes Mes de la proyeccin. 0 <= pMes <= darMeses( ).
+     * @return Saldo total.
+     */
+    public double darTotal( int pMes )
+    {
+        return ( corriente + ahorros[ pMes ] + cdt[ pMes ] ) / Dinero.CENTAVOS_POR_PESO;
+    }
+
+    /**
+     * Cambia los totales de ahorros y CDT de un mes.
+     * @param pMes Mes de la proyeccin.
+     * @param pAhorros Total de las cuentas de ahorros, en centavos.
+     * @param pCDT Total de los CDT, en centavos.
+     */
+    void cambiarMes( int pMes, double pAhorros, double pCDT )
+    {
+        ahorros[ pMes ] = pAhorros;
+        cdt[ pMes ] = pCDT;
+    }
+}
@@ -146,7 +146,7 @@ public class InterfazSimulador extends JFrame {
     panelCorriente.actualizarSaldoCorriente(formatearValor(cuenta.darCuentaCorriente().darSaldo()));
     panelAhorros.actualizarSaldoAhorros(formatearValor(cuenta.darCuentaAhorros().darSaldo()) + "   ["
         + (cuenta.darCuentaAhorros().darInteresMensual() * 100) + "%]");
-    panelCDT.actualizarSaldoCDT(formatearValor(cuenta.darCDT().calcularValorPresente(cuenta.darMesActual())) + "   ["
+    panelCDT.actualizarSaldoCDT(formatearValor(cuenta.darValorPresenteCDT()) + "   ["
         + (cuenta.darCDT().darInteresMensual() * 100) + "%]");
 
   }
@@ -198,11 +198,10 @@ public class InterfazSimulador extends JFrame {
       double monto = Double.parseDouble(pMonto);
       if (monto < 0) {
         JOptionPane.showMessageDialog(this, "Debe ingresar un valor  positivo.", "Retirar", JOptionPane.ERROR_MESSAGE);
-      } else if (monto > cuenta.darCuentaAhorros().darSaldo()) {
+      } else if (!cuenta.retirarCuentaAhorros(monto)) {
         JOptionPane.showMessageDialog(this, "No tiene saldo suficente.", "Retirar", JOptionPane.ERROR_MESSAGE);
 
       } else {
-        cuenta.retirarCuentaAhorros(monto);
         actualizar();
       }
     } catch (Exception e) {
@@ -249,11 +248,10 @@ public class InterfazSimulador extends JFrame {
       double monto = Double.parseDouble(pMonto);
       if (monto < 0) {
         JOptionPane.showMessageDialog(this, "Debe ingresar un valor positivo.", "Retirar", JOptionPane.ERROR_MESSAGE);
-      } else if (monto > cuenta.darCuentaCorriente().darSaldo()) {
+      } else if (!cuenta.retirarCuentaCorriente(monto)) {
         JOptionPane.showMessageDialog(this, "No tiene saldo suficente.", "Retirar", JOptionPane.ERROR_MESSAGE);
 
       } else {
-        cuenta.retirarCuentaCorriente(monto);
         actualizar();
       }
     } catch (Exception e) {
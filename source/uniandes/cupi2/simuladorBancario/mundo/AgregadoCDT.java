@@ -0,0 +1,170 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+/**
+ * Clase que resume un conjunto de CDT para calcular su valor presente total en cualquier mes sin recorrerlos. <br>
+ * El valor de un CDT en el mes m es v + v * r * ( m - a ), con v el valor invertido, r el inters mensual y a el mes de
+ * apertura, as que el de todos es S0 + m * S1 - S2 con S0 = suma de v, S1 = suma de v * r y S2 = suma de v * r * a. S1
+ * y S2 se guardan como enteros en unidades de 1 / ESCALA de centavo, as que abrir y cerrar CDT no acumula errores de
+ * redondeo. <br>
+ * El total se redondea al centavo una sola vez. Frente a la suma de los valores presentes redondeados de cada CDT hay dos
+ * fuentes de diferencia: el redondeo de cada valor presente, de hasta medio centavo por CDT, y el del inters mensual de
+ * cada CDT a 1 / ESCALA de centavo, de hasta 1 / ( 2 * ESCALA ) de centavo por CDT y por mes transcurrido desde su
+ * apertura. Con n CDT abiertos hace a lo sumo t meses la diferencia es entonces de a lo sumo n * ( 1 / 2 + t / 512 )
+ * centavos ms el medio centavo del redondeo del total; el segundo trmino crece con los meses y pasa de medio centavo por
+ * CDT despus de 256 meses. En la prctica los errores de distintos CDT tienen signos distintos y se compensan.
+ */
+public class AgregadoCDT
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Fracciones de centavo en las que se guardan los intereses mensuales.
+     */
+    public static final int ESCALA = 256;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Suma de los valores invertidos, en centavos.
+     */
+    private long valorInvertido;
+
+    /**
+     * Suma de los intereses mensuales de los CDT (valor invertido por inters), en 1 / ESCALA de centavo.
+     */
+    private long interesMensual;
+
+    /**
+     * Suma de los intereses mensuales de los CDT multiplicados por su mes de apertura, en 1 / ESCALA de centavo.
+     */
+    private long interesPorMesApertura;
+
+    /**
+     * Nmero de CDT del agregado.
+     */
+    private int numeroCDT;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea un agregado sin CDT. <br>
+     * <b>post: </b> El valor presente del agregado es 0 en todos los meses.
+     */
+    public AgregadoCDT( )
+    {
+        limpiar( );
+    }
+
+    /**
+     * Retorna el nmero de CDT del agregado.
+     * @return Nmero de CDT.
+     */
+    public int darNumeroCDT( )
+    {
+        return numeroCDT;
+    }
+
+    /**
+     * Retorna la suma de los valores invertidos en los CDT del agregado.
+     * @return Valor invertido en centavos.
+     */
+    public long darValorInvertidoCentavos( )
+    {
+        return valorInvertido;
+    }
+
+    /**
+     * Calcula el valor presente de todos los CDT del agregado en un mes, suponiendo que ninguno se cierra antes.
+     * @param pMes Mes del clculo.
+     * @return Valor presente total en centavos.
+     */
+    public long calcularValorPresenteCentavos( int pMes )
+    {
+        long intereses = pMes * interesMensual - interesPorMesApertura;
+        return valorInvertido + Math.floorDiv( intereses + ESCALA / 2, ESCALA );
+    }
+
+    /**
+     * Agrega un CDT. <br>
+     * <b>post: </b> El valor presente del agregado incluye el del CDT.
+     * @param pCentavos Valor invertido en centavos.
+     * @param pInteresMensual Inters mensual del CDT.
+     * @param pMesApertura Mes de apertura del CDT.
+     */
+    public void agregar( long pCentavos, double pInteresMensual, int pMesApertura )
+    {
+        long interes = escalar( pCentavos, pInteresMensual );
+        valorInvertido += pCentavos;
+        interesMensual += interes;
+        interesPorMesApertura += interes * pMesApertura;
+        numeroCDT++;
+    }
+
+    /**
+     * Quita un CDT que se haba agregado con los mismos datos. <br>
+     * <b>post: </b> El valor presente del agregado ya no incluye el del CDT.
+     * @param pCentavos Valor invertido en centavos.
+     * @param pInteresMensual Inters mensual del CDT.
+     * @param pMesApertura Mes de apertura del CDT.
+     */
+    public void quitar( long pCentavos, double pInteresMensual, int pMesApertura )
+    {
+        long interes = escalar( pCentavos, pInteresMensual );
+        valorInvertido -= pCentavos;
+        interesMensual -= interes;
+        interesPorMesApertura -= interes * pMesApertura;
+        numeroCDT--;
+    }
+
+    /**
+     * Suma a este agregado los CDT de otro. <br>
+     * <b>post: </b> El valor presente del agregado incluye el de los CDT del otro agregado.
+     * @param pOtro Otro agregado. pOtro != null.
+     */
+    public void agregar( AgregadoCDT pOtro )
+    {
+        valorInvertido += pOtro.valorInvertido;
+        interesMensual += pOtro.interesMensual;
+        interesPorMesApertura += pOtro.interesPorMesApertura;
+        numeroCDT += pOtro.numeroCDT;
+    }
+
+    /**
+     * Quita todos los CDT del agregado. <br>
+     * <b>post: </b> El agregado no tiene CDT.
+     */
+    public void limpiar( )
+    {
+        valorInvertido = 0;
+        interesMensual = 0;
+        interesPorMesApertura = 0;
+        numeroCDT = 0;
+    }
+
+    /**
+     * Calcula el inters mensual de un CDT en 1 / ESCALA de centavo.
+     * @param pCentavos Valor invertido en centavos.
+     * @param pInteresMensual Inters mensual del CDT.
+     * @return Inters mensual escalado.
+     */
+    private static long escalar( long pCentavos, double pInteresMensual )
+    {
+        return ( long )Math.rint( pCentavos * pInteresMensual * ESCALA );
+    }
+}
@@ -0,0 +1,368 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Clase que guarda los datos de las cuentas de muchos clientes por fuera del heap. <br>
+ * Cada cliente tiene un registro de TAMANO_REGISTRO bytes en memoria directa, con sus saldos, el inters de la cuenta de
+ * ahorros, los datos del CDT, su valor presente y el mes actual en las posiciones fijas dadas por las constantes. Los
+ * registros estn alineados a una lnea de cach y se agrupan en bloques de CLIENTES_POR_BLOQUE, porque un solo buffer no
+ * puede pasar de 2 GB. As el recolector de basura no tiene que recorrer objetos por cada cuenta: en el heap solo quedan
+ * las cdulas, los nombres y los portafolios de CDT a plazo, que se crean solo para los clientes que abren uno. <br>
+ * Los clientes se usan con las operaciones de SimuladorBancario, a travs de un simulador creado con darSimulador, que
+ * no guarda datos propios. Los saldos se actualizan con operaciones atmicas, como en las cuentas del heap. <br>
+ * La memoria directa se limita con la opcin -XX:MaxDirectMemorySize de la mquina virtual, que por defecto es igual al
+ * tamao mximo del heap.
+ */
+public class AlmacenClientes
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Tamao del registro de cada cliente en bytes: una lnea de cach.
+     */
+    public static final int TAMANO_REGISTRO = 64;
+
+    /**
+     * Nmero de bits de la posicin de un cliente dentro de su bloque.
+     */
+    public static final int BITS_BLOQUE = 24;
+
+    /**
+     * Nmero de clientes de cada bloque de memoria.
+     */
+    public static final int CLIENTES_POR_BLOQUE = 1 << BITS_BLOQUE;
+
+    /**
+     * Posicin en el registro del saldo de la cuenta corriente, en centavos (long).
+     */
+    public static final int SALDO_CORRIENTE = 0;
+
+    /**
+     * Posicin en el registro del saldo de la cuenta de ahorros, en centavos (long).
+     */
+    public static final int SALDO_AHORROS = 8;
+
+    /**
+     * Posicin en el registro del inters mensual de la cuenta de ahorros (double).
+     */
+    public static final int INTERES_AHORROS = 16;
+
+    /**
+     * Posicin en el registro del valor invertido en el CDT, en centavos (long).
+     */
+    public static final int VALOR_CDT = 24;
+
+    /**
+     * Posicin en el registro del inters mensual del CDT (double).
+     */
+    public static final int INTERES_CDT = 32;
+
+    /**
+     * Posicin en el registro del valor presente del CDT en el mes actual, en centavos (long).
+     */
+    public static final int VALOR_PRESENTE_CDT = 40;
+
+    /**
+     * Posicin en el registro del mes actual de la simulacin (int).
+     */
+    public static final int MES_ACTUAL = 48;
+
+    /**
+     * Posicin en el registro del mes de apertura del CDT (int).
+     */
+    public static final int MES_APERTURA_CDT = 52;
+
+    /**
+     * Acceso a los valores long de los registros.
+     */
+    private static final VarHandle LARGOS = MethodHandles.byteBufferViewVarHandle( long[].class, ByteOrder.nativeOrder( ) );
+
+    /**
+     * Acceso a los valores double de los registros.
+     */
+    private static final VarHandle DECIMALES = MethodHandles.byteBufferViewVarHandle( double[].class, ByteOrder.nativeOrder( ) );
+
+    /**
+     * Acceso a los valores int de los registros.
+     */
+    private static final VarHandle ENTEROS = MethodHandles.byteBufferViewVarHandle( int[].class, ByteOrder.nativeOrder( ) );
+
+    /**
+     * Acceso con semntica de adquisicin y comparacin atmica a las casillas del arreglo de portafolios.
+     */
+    private static final VarHandle PORTAFOLIOS = MethodHandles.arrayElementVarHandle( PortafolioCDT[].class );
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Bloques de memoria directa con los registros de los clientes.
+     */
+    private ByteBuffer[] bloques;
+
+    /**
+     * Cdulas de los clientes.
+     */
+    private String[] cedulas;
+
+    /**
+     * Nombres de los clientes.
+     */
+    private String[] nombres;
+
+    /**
+     * Portafolios de CDT a plazo indexados por la posicin del cliente, o null si el cliente no ha abierto ninguno.
+     */
+    private PortafolioCDT[] portafolios;
+
+    /**
+     * Nmero de clientes registrados en el almacn.
+     */
+    private volatile int numeroClientes;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Inicializa el almacn sin clientes. <br>
+     * <b>post: </b> Se reserv la memoria directa para pCapacidad clientes y el nmero de clientes es 0.
+     * @param pCapacidad Nmero mximo de clientes. pCapacidad > 0.
+     */
+    public AlmacenClientes( int pCapacidad )
+    {
+        bloques = new ByteBuffer[( pCapacidad + CLIENTES_POR_BLOQUE - 1 ) >>> BITS_BLOQUE];
+        for( int i = 0; i < bloques.length; i++ )
+        {
+            int clientes = Math.min( CLIENTES_POR_BLOQUE, pCapacidad - ( i << BITS_BLOQUE ) );
+            bloques[ i ] = ByteBuffer.allocateDirect( clientes * TAMANO_REGISTRO + TAMANO_REGISTRO - 1 ).alignedSlice( TAMANO_REGISTRO );
+        }
+        cedulas = new String[pCapacidad];
+        nombres = new String[pCapacidad];
+        portafolios = new PortafolioCDT[pCapacidad];
+        numeroClientes = 0;
+    }
+
+    /**
+     * Retorna el nmero mximo de clientes del almacn.
+     * @return Capacidad del almacn.
+     */
+    public int darCapacidad( )
+    {
+        return cedulas.length;
+    }
+
+    /**
+     * Retorna el nmero de clientes registrados.
+     * @return Nmero de clientes.
+     */
+    public int darNumeroClientes( )
+    {
+        return numeroClientes;
+    }
+
+    /**
+     * Registra un cliente nuevo con las cuentas vacas. <br>
+     * <b>post: </b> El cliente qued en el mes 1, con las cuentas y el CDT en 0 y el inters de ahorros del banco.
+     * @param pCedula Cdula del cliente. pCedula != null && pCedula != "".
+     * @param pNombre Nombre del cliente. pNombre != null && pNombre != "".
+     * @return Posicin del cliente en el almacn.
+     * @throws IllegalStateException Si el almacn ya est lleno.
+     */
+    public synchronized int agregarCliente( String pCedula, String pNombre )
+    {
+        int cliente = numeroClientes;
+        if( cliente == cedulas.length )
+        {
+            throw new IllegalStateException( "El almacn ya tiene " + cliente + " clientes, que es su capacidad." );
+        }
+        cedulas[ cliente ] = pCedula;
+        nombres[ cliente ] = pNombre;
+        cambiarEntero( cliente, MES_ACTUAL, 1 );
+        cambiarDecimal( cliente, INTERES_AHORROS, Banco.INTERES_AHORROS );
+        numeroClientes = cliente + 1;
+        return cliente;
+    }
+
+    /**
+     * Retorna la cdula de un cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Cdula del cliente.
+     */
+    public String darCedula( int pCliente )
+    {
+        return cedulas[ pCliente ];
+    }
+
+    /**
+     * Retorna el nombre de un cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Nombre del cliente.
+     */
+    public String darNombre( int pCliente )
+    {
+        return nombres[ pCliente ];
+    }
+
+    /**
+     * Crea un simulador para operar sobre las cuentas de un cliente. El simulador lee y escribe directamente el registro
+     * del cliente, as que se puede crear y descartar en cada operacin, y varios simuladores del mismo cliente ven los
+     * mismos datos.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Simulador del cliente.
+     */
+    public SimuladorBancario darSimulador( int pCliente )
+    {
+        return new SimuladorBancario( this, pCliente );
+    }
+
+    /**
+     * Retorna el portafolio de CDT a plazo de un cliente, si ya tiene uno.
+     * @param pCliente Posicin del cliente.
+     * @return Portafolio del cliente, o null si nunca ha abierto un CDT a plazo.
+     */
+    PortafolioCDT buscarPortafolio( int pCliente )
+    {
+        return ( PortafolioCDT )PORTAFOLIOS.getAcquire( portafolios, pCliente );
+    }
+
+    /**
+     * Retorna el portafolio de CDT a plazo de un cliente, y lo crea si todava no tiene uno. Si dos hilos lo crean a la vez,
+     * solo uno de los dos portafolios queda en el almacn y ambos reciben ese.
+     * @param pCliente Posicin del cliente.
+     * @param pMesActual Mes actual del cliente, con el que empieza un portafolio nuevo.
+     * @return Portafolio del cliente.
+     */
+    PortafolioCDT darPortafolio( int pCliente, int pMesActual )
+    {
+        PortafolioCDT portafolio = buscarPortafolio( pCliente );
+        if( portafolio == null )
+        {
+            PortafolioCDT nuevo = new PortafolioCDT( pMesActual );
+            portafolio = ( PortafolioCDT )PORTAFOLIOS.compareAndExchange( portafolios, pCliente, null, nuevo );
+            if( portafolio == null )
+            {
+                portafolio = nuevo;
+            }
+        }
+        return portafolio;
+    }
+
+    /**
+     * Lee un valor long del registro de un cliente.
+     * @param pCliente Posicin del cliente.
+     * @param pCampo Posicin del valor en el registro.
+     * @return Valor ledo.
+     */
+    long darLargo( int pCliente, int pCampo )
+    {
+        return ( long )LARGOS.getVolatile( bloques[ pCliente >>> BITS_BLOQUE ], calcularPosicion( pCliente, pCampo ) );
+    }
+
+    /**
+     * Escribe un valor long en el registro de un cliente.
+     * @param pCliente Posicin del cliente.
+     * @param pCampo Posicin del valor en el registro.
+     * @param pValor Valor a escribir.
+     */
+    void cambiarLargo( int pCliente, int pCampo, long pValor )
+    {
+        LARGOS.setVolatile( bloques[ pCliente >>> BITS_BLOQUE ], calcularPosicion( pCliente, pCampo ), pValor );
+    }
+
+    /**
+     * Suma de forma atmica una diferencia a un valor long del registro de un cliente.
+     * @param pCliente Posicin del cliente.
+     * @param pCampo Posicin del valor en el registro.
+     * @param pDiferencia Diferencia a sumar.
+     */
+    void sumarLargo( int pCliente, int pCampo, long pDiferencia )
+    {
+        LARGOS.getAndAdd( bloques[ pCliente >>> BITS_BLOQUE ], calcularPosicion( pCliente, pCampo ), pDiferencia );
+    }
+
+    /**
+     * Cambia de forma atmica un valor long del registro de un cliente, solo si tiene el valor esperado.
+     * @param pCliente Posicin del cliente.
+     * @param pCampo Posicin del valor en el registro.
+     * @param pEsperado Valor que debe tener.
+     * @param pNuevo Valor nuevo.
+     * @return True si se cambi el valor, false si no tena el valor esperado.
+     */
+    boolean compararYCambiarLargo( int pCliente, int pCampo, long pEsperado, long pNuevo )
+    {
+        return LARGOS.compareAndSet( bloques[ pCliente >>> BITS_BLOQUE ], calcularPosicion( pCliente, pCampo ), pEsperado, pNuevo );
+    }
+
+    /**
+     * Lee un valor double del registro de un cliente.
+     * @param pCliente Posicin del cliente.
+     * @param pCampo Posicin del valor en el registro.
+     * @return Valor ledo.
+     */
+    double darDecimal( int pCliente, int pCampo )
+    {
+        return ( double )DECIMALES.get( bloques[ pCliente >>> BITS_BLOQUE ], calcularPosicion( pCliente, pCampo ) );
+    }
+
+    /**
+     * Escribe un valor double en el registro de un cliente.
+     * @param pCliente Posicin del cliente.
+     * @param pCampo Posicin del valor en el registro.
+     * @param pValor Valor a escribir.
+     */
+    void cambiarDecimal( int pCliente, int pCampo, double pValor )
+    {
+        DECIMALES.set( bloques[ pCliente >>> BITS_BLOQUE ], calcularPosicion( pCliente, pCampo ), pValor );
+    }
+
+    /**
+     * Lee un valor int del registro de un cliente.
+     * @param pCliente Posicin del cliente.
+     * @param pCampo Posicin del valor en el registro.
+     * @return Valor ledo.
+     */
+    int darEntero( int pCliente, int pCampo )
+    {
+        return ( int )ENTEROS.get( bloques[ pCliente >>> BITS_BLOQUE ], calcularPosicion( pCliente, pCampo ) );
+    }
+
+    /**
+     * Escribe un valor int en el registro de un cliente.
+     * @param pCliente Posicin del cliente.
+     * @param pCampo Posicin del valor en el registro.
+     * @param pValor Valor a escribir.
+     */
+    void cambiarEntero( int pCliente, int pCampo, int pValor )
+    {
+        ENTEROS.set( bloques[ pCliente >>> BITS_BLOQUE ], calcularPosicion( pCliente, pCampo ), pValor );
+    }
+
+    /**
+     * Calcula la posicin de un valor dentro del bloque del cliente.
+     * @param pCliente Posicin del cliente.
+     * @param pCampo Posicin del valor en el registro.
+     * @return Posicin en bytes dentro del bloque.
+     */
+    private static int calcularPosicion( int pCliente, int pCampo )
+    {
+        return ( ( pCliente & ( CLIENTES_POR_BLOQUE - 1 ) ) * TAMANO_REGISTRO ) + pCampo;
+    }
+}
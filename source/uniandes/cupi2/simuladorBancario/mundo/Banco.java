@@ -0,0 +1,1117 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase que representa un banco con muchos clientes. <br>
+ * La informacin de los clientes se guarda por columnas: cada atributo de las cuentas es un arreglo de tipos primitivos
+ * indexado por la posicin del cliente en el banco, en lugar de tener un SimuladorBancario con tres cuentas por cliente. <br>
+ * Las operaciones que modifican a un cliente toman el candado de la franja del cliente, as que el banco puede usarse
+ * desde varios hilos. Las consultas no toman candados: leen los saldos, meses e intereses con semntica de adquisicin,
+ * y las operaciones los escriben con semntica de liberacin, as que una consulta nunca ve un valor a medio escribir,
+ * ni siquiera en una JVM de 32 bits. <br>
+ * El valor presente de cada CDT y el saldo total del banco se mantienen al da con cada operacin, as que consultarlos
+ * no recorre los clientes ni recalcula intereses. Los CDT de cada franja se resumen en un AgregadoCDT, con el que se
+ * calcula el valor de todos los CDT del banco en cualquier mes. <br>
+ * Los clientes se buscan por cdula en un IndiceCedulas; las cdulas que no son numricas van a un mapa aparte. <br>
+ * Si el banco tiene un registro de operaciones, cada operacin que modifica su estado se anota en el registro antes de
+ * aplicarla, as que si la anotacin falla el banco queda como estaba, y el mtodo retorna solo cuando el registro la
+ * confirma.
+ */
+public class Banco
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Inters mensual que paga la cuenta de ahorros de un cliente nuevo.
+     */
+    public static final double INTERES_AHORROS = 0.006;
+
+    /**
+     * Nmero de clientes a partir del cual el avance de mes del banco se divide en tareas paralelas.
+     */
+    public static final int CLIENTES_POR_TAREA = 16384;
+
+    /**
+     * Nmero de franjas de candados que protegen a los clientes.
+     */
+    public static final int FRANJAS_CANDADOS = 1024;
+
+    /**
+     * Producto cuenta corriente, usado en las transferencias.
+     */
+    public static final int PRODUCTO_CORRIENTE = 1;
+
+    /**
+     * Producto cuenta de ahorros, usado en las transferencias.
+     */
+    public static final int PRODUCTO_AHORROS = 2;
+
+    /**
+     * Acceso con semntica de adquisicin y liberacin a las casillas de las columnas long.
+     */
+    private static final VarHandle LARGOS = MethodHandles.arrayElementVarHandle( long[].class );
+
+    /**
+     * Acceso con semntica de adquisicin y liberacin a las casillas de las columnas double.
+     */
+    private static final VarHandle DECIMALES = MethodHandles.arrayElementVarHandle( double[].class );
+
+    /**
+     * Acceso con semntica de adquisicin y liberacin a las casillas de las columnas int.
+     */
+    private static final VarHandle ENTEROS = MethodHandles.arrayElementVarHandle( int[].class );
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Cdulas de los clientes.
+     */
+    private String[] cedulas;
+
+    /**
+     * Nombres de los clientes.
+     */
+    private String[] nombres;
+
+    /**
+     * Mes actual de la simulacin de cada cliente.
+     */
+    private int[] mesesActuales;
+
+    /**
+     * Saldos de las cuentas corrientes, en centavos.
+     */
+    private long[] saldosCorriente;
+
+    /**
+     * Saldos de las cuentas de ahorros, en centavos.
+     */
+    private long[] saldosAhorros;
+
+    /**
+     * Intereses mensuales de las cuentas de ahorros.
+     */
+    private double[] interesesAhorros;
+
+    /**
+     * Valores invertidos en los CDT, en centavos.
+     */
+    private long[] valoresCDT;
+
+    /**
+     * Intereses mensuales de los CDT.
+     */
+    private double[] interesesCDT;
+
+    /**
+     * Meses de apertura de los CDT.
+     */
+    private int[] mesesAperturaCDT;
+
+    /**
+     * Valores presentes de los CDT en el mes actual de cada cliente, en centavos.
+     */
+    private long[] valoresPresentesCDT;
+
+    /**
+     * Saldo total de todos los clientes del banco, en centavos. Cada operacin le suma su efecto neto.
+     */
+    private LongAdder saldoTotal;
+
+    /**
+     * Resumen de los CDT de los clientes de cada franja de candados. Cada uno se modifica con el candado de su franja.
+     */
+    private AgregadoCDT[] agregadosCDT;
+
+    /**
+     * ndice de las cdulas numricas a las posiciones de los clientes.
+     */
+    private IndiceCedulas indiceCedulas;
+
+    /**
+     * Posiciones de los clientes con cdulas que no son numricas.
+     */
+    private Map<String, Integer> otrasCedulas;
+
+    /**
+     * Nmero de clientes registrados en el banco.
+     */
+    private volatile int numeroClientes;
+
+    /**
+     * Candados que protegen las modificaciones de los clientes.
+     */
+    private CandadosEstriados candados;
+
+    /**
+     * Registro donde se anotan las operaciones, o null si no se anotan.
+     */
+    private volatile RegistroOperaciones registro;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Inicializa el banco sin clientes. <br>
+     * <b>post: </b> Se reserv espacio para pCapacidad clientes y el nmero de clientes es 0.
+     * @param pCapacidad Nmero mximo de clientes del banco. pCapacidad > 0.
+     */
+    public Banco( int pCapacidad )
+    {
+        cedulas = new String[pCapacidad];
+        nombres = new String[pCapacidad];
+        mesesActuales = new int[pCapacidad];
+        saldosCorriente = new long[pCapacidad];
+        saldosAhorros = new long[pCapacidad];
+        interesesAhorros = new double[pCapacidad];
+        valoresCDT = new long[pCapacidad];
+        interesesCDT = new double[pCapacidad];
+        mesesAperturaCDT = new int[pCapacidad];
+        valoresPresentesCDT = new long[pCapacidad];
+        saldoTotal = new LongAdder( );
+        indiceCedulas = new IndiceCedulas( pCapacidad );
+        otrasCedulas = new ConcurrentHashMap<>( );
+        numeroClientes = 0;
+        candados = new CandadosEstriados( FRANJAS_CANDADOS );
+        agregadosCDT = new AgregadoCDT[candados.darNumeroFranjas( )];
+        for( int i = 0; i < agregadosCDT.length; i++ )
+        {
+            agregadosCDT[ i ] = new AgregadoCDT( );
+        }
+        registro = null;
+    }
+
+    /**
+     * Cambia el registro donde se anotan las operaciones del banco. <br>
+     * <b>pre: </b> No hay operaciones en curso sobre el banco. <br>
+     * <b>post: </b> Las operaciones siguientes se anotan en el registro dado.
+     * @param pRegistro Registro de operaciones, o null para no anotarlas.
+     */
+    public void cambiarRegistro( RegistroOperaciones pRegistro )
+    {
+        registro = pRegistro;
+    }
+
+    /**
+     * Retorna el registro donde se anotan las operaciones del banco.
+     * @return Registro de operaciones, o null si no se anotan.
+     */
+    public RegistroOperaciones darRegistro( )
+    {
+        return registro;
+    }
+
+    /**
+     * Copia el estado de todos los clientes junto con la posicin del registro de operaciones. <br>
+     * Mientras copia tiene los candados de todas las franjas, as que la copia corresponde exactamente a las operaciones
+     * anotadas hasta esa posicin. Como el avance de mes de todo el banco tambin tiene esos candados, la copia nunca queda
+     * con el mes avanzado solo para algunos clientes.
+     * @return Copia del estado del banco.
+     */
+    public synchronized EstadoBanco capturarEstado( )
+    {
+        candados.bloquearTodas( );
+        try
+        {
+            int n = numeroClientes;
+            RegistroOperaciones r = registro;
+            long posicion = r == null ? -1 : r.darPosicionFinal( );
+            return new EstadoBanco( posicion, Arrays.copyOf( cedulas, n ), Arrays.copyOf( nombres, n ), Arrays.copyOf( mesesActuales, n ), Arrays.copyOf( saldosCorriente, n ), Arrays.copyOf( saldosAhorros, n ), Arrays.copyOf( interesesAhorros, n ), Arrays.copyOf( valoresCDT, n ), Arrays.copyOf( interesesCDT, n ), Arrays.copyOf( mesesAperturaCDT, n ) );
+        }
+        finally
+        {
+            candados.desbloquearTodas( );
+        }
+    }
+
+    /**
+     * Carga en el banco el estado de una copia. Las operaciones no se anotan en el registro. <br>
+     * <b>pre: </b> El banco no tiene clientes y no hay operaciones en curso. <br>
+     * <b>post: </b> El banco tiene los clientes de la copia con sus saldos.
+     * @param pEstado Copia del estado de un banco. pEstado != null.
+     * @throws IllegalStateException Si el banco ya tiene clientes o no tiene capacidad para los de la copia.
+     */
+    public synchronized void restaurarEstado( EstadoBanco pEstado )
+    {
+        int n = pEstado.darNumeroClientes( );
+        if( numeroClientes != 0 || n > cedulas.length )
+        {
+            throw new IllegalStateException( "El banco debe estar vaco y tener capacidad para " + n + " clientes." );
+        }
+        System.arraycopy( pEstado.darCedulas( ), 0, cedulas, 0, n );
+        System.arraycopy( pEstado.darNombres( ), 0, nombres, 0, n );
+        System.arraycopy( pEstado.darMesesActuales( ), 0, mesesActuales, 0, n );
+        System.arraycopy( pEstado.darSaldosCorriente( ), 0, saldosCorriente, 0, n );
+        System.arraycopy( pEstado.darSaldosAhorros( ), 0, saldosAhorros, 0, n );
+        System.arraycopy( pEstado.darInteresesAhorros( ), 0, interesesAhorros, 0, n );
+        System.arraycopy( pEstado.darValoresCDT( ), 0, valoresCDT, 0, n );
+        System.arraycopy( pEstado.darInteresesCDT( ), 0, interesesCDT, 0, n );
+        System.arraycopy( pEstado.darMesesAperturaCDT( ), 0, mesesAperturaCDT, 0, n );
+        long total = 0;
+        for( int i = 0; i < n; i++ )
+        {
+            valoresPresentesCDT[ i ] = calcularValorPresenteCDTActual( i );
+            total += saldosCorriente[ i ] + saldosAhorros[ i ] + valoresPresentesCDT[ i ];
+            if( valoresCDT[ i ] != 0 )
+            {
+                agregadosCDT[ candados.darFranja( i ) ].agregar( valoresCDT[ i ], interesesCDT[ i ], mesesAperturaCDT[ i ] );
+            }
+            indexarCedula( i );
+        }
+        saldoTotal.add( total );
+        numeroClientes = n;
+    }
+
+    /**
+     * Retorna el nmero mximo de clientes del banco.
+     * @return Capacidad del banco.
+     */
+    public int darCapacidad( )
+    {
+        return cedulas.length;
+    }
+
+    /**
+     * Retorna el nmero de clientes registrados en el banco.
+     * @return Nmero de clientes.
+     */
+    public int darNumeroClientes( )
+    {
+        return numeroClientes;
+    }
+
+    /**
+     * Registra un nuevo cliente en el banco. <br>
+     * <b>post: </b> El mes del cliente fue inicializado en 1 y sus tres cuentas fueron inicializadas como vacas.
+     * @param pCedula Cdula del nuevo cliente. pCedula != null && pCedula != "".
+     * @param pNombre Nombre del nuevo cliente. pNombre != null && pNombre != "".
+     * @return Posicin del cliente en el banco.
+     * @throws IllegalStateException Si el banco ya alcanz su capacidad.
+     */
+    public int agregarCliente( String pCedula, String pNombre )
+    {
+        int cliente;
+        long posicion;
+        synchronized( this )
+        {
+            if( numeroClientes == cedulas.length )
+            {
+                throw new IllegalStateException( "El banco no tiene capacidad para ms clientes." );
+            }
+            cliente = numeroClientes;
+            RegistroOperaciones r = registro;
+            posicion = r == null ? -1 : r.anotarCliente( cliente, pCedula, pNombre );
+            cedulas[ cliente ] = pCedula;
+            nombres[ cliente ] = pNombre;
+            mesesActuales[ cliente ] = 1;
+            interesesAhorros[ cliente ] = INTERES_AHORROS;
+            indexarCedula( cliente );
+            numeroClientes++;
+        }
+        confirmar( posicion );
+        return cliente;
+    }
+
+    /**
+     * Busca un cliente por su cdula. Las cdulas numricas se comparan por su valor, sin importar los puntos; las que
+     * tienen ceros a la izquierda se comparan como texto. Si hay varios clientes con la misma cdula se retorna el primero
+     * que se registr.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @return Posicin del cliente, o -1 si no hay un cliente con esa cdula.
+     */
+    public int buscarCliente( String pCedula )
+    {
+        long clave = IndiceCedulas.codificar( pCedula );
+        if( clave == IndiceCedulas.SIN_CLAVE )
+        {
+            return otrasCedulas.getOrDefault( pCedula, -1 );
+        }
+        return indiceCedulas.buscar( clave );
+    }
+
+    /**
+     * Busca un cliente por la clave de su cdula numrica, sin crear la cdula como texto.
+     * @param pClave Clave de la cdula obtenida con IndiceCedulas.codificar. pClave != IndiceCedulas.SIN_CLAVE.
+     * @return Posicin del cliente, o -1 si no hay un cliente con esa cdula.
+     */
+    public int buscarCliente( long pClave )
+    {
+        return indiceCedulas.buscar( pClave );
+    }
+
+    /**
+     * Agrega la cdula de un cliente al ndice, si no haba otro cliente con la misma cdula. Se llama con el monitor del
+     * banco.
+     * @param pCliente Posicin del cliente.
+     */
+    private void indexarCedula( int pCliente )
+    {
+        long clave = IndiceCedulas.codificar( cedulas[ pCliente ] );
+        if( clave == IndiceCedulas.SIN_CLAVE )
+        {
+            otrasCedulas.putIfAbsent( cedulas[ pCliente ], pCliente );
+        }
+        else
+        {
+            indiceCedulas.agregar( clave, pCliente );
+        }
+    }
+
+    /**
+     * Retorna una vista del cliente con las mismas operaciones de SimuladorBancario.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Cliente en la posicin dada.
+     */
+    public ClienteBanco darCliente( int pCliente )
+    {
+        return new ClienteBanco( this, pCliente );
+    }
+
+    /**
+     * Retorna la cdula del cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Cdula del cliente.
+     */
+    public String darCedula( int pCliente )
+    {
+        return cedulas[ pCliente ];
+    }
+
+    /**
+     * Retorna el nombre del cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Nombre del cliente.
+     */
+    public String darNombre( int pCliente )
+    {
+        return nombres[ pCliente ];
+    }
+
+    /**
+     * Retorna el mes en el que se encuentra la simulacin del cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Mes actual del cliente.
+     */
+    public int darMesActual( int pCliente )
+    {
+        return ( int )ENTEROS.getAcquire( mesesActuales, pCliente );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta corriente del cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo de la cuenta corriente.
+     */
+    public double darSaldoCorriente( int pCliente )
+    {
+        return Dinero.aPesos( darSaldoCorrienteCentavos( pCliente ) );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta corriente del cliente en centavos.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo de la cuenta corriente en centavos.
+     */
+    public long darSaldoCorrienteCentavos( int pCliente )
+    {
+        return ( long )LARGOS.getAcquire( saldosCorriente, pCliente );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta de ahorros del cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo de la cuenta de ahorros.
+     */
+    public double darSaldoAhorros( int pCliente )
+    {
+        return Dinero.aPesos( darSaldoAhorrosCentavos( pCliente ) );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta de ahorros del cliente en centavos.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo de la cuenta de ahorros en centavos.
+     */
+    public long darSaldoAhorrosCentavos( int pCliente )
+    {
+        return ( long )LARGOS.getAcquire( saldosAhorros, pCliente );
+    }
+
+    /**
+     * Retorna el inters mensual de la cuenta de ahorros del cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Inters mensual de la cuenta de ahorros.
+     */
+    public double darInteresAhorros( int pCliente )
+    {
+        return ( double )DECIMALES.getAcquire( interesesAhorros, pCliente );
+    }
+
+    /**
+     * Retorna el inters mensual del CDT del cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Inters mensual del CDT.
+     */
+    public double darInteresCDT( int pCliente )
+    {
+        return ( double )DECIMALES.getAcquire( interesesCDT, pCliente );
+    }
+
+    /**
+     * Calcula el valor presente del CDT del cliente en su mes actual.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Valor presente del dinero invertido en CDT.
+     */
+    public double calcularValorPresenteCDT( int pCliente )
+    {
+        return Dinero.aPesos( calcularValorPresenteCDTCentavos( pCliente ) );
+    }
+
+    /**
+     * Retorna el valor presente del CDT del cliente en su mes actual, en centavos.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Valor presente del dinero invertido en CDT, en centavos.
+     */
+    public long calcularValorPresenteCDTCentavos( int pCliente )
+    {
+        return ( long )LARGOS.getAcquire( valoresPresentesCDT, pCliente );
+    }
+
+    /**
+     * Calcula el saldo total de las cuentas del cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo total de las cuentas del cliente.
+     */
+    public double calcularSaldoTotal( int pCliente )
+    {
+        return Dinero.aPesos( calcularSaldoTotalCentavos( pCliente ) );
+    }
+
+    /**
+     * Calcula el saldo total de las cuentas del cliente en centavos.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo total de las cuentas del cliente en centavos.
+     */
+    public long calcularSaldoTotalCentavos( int pCliente )
+    {
+        return darSaldoCorrienteCentavos( pCliente ) + darSaldoAhorrosCentavos( pCliente ) + calcularValorPresenteCDTCentavos( pCliente );
+    }
+
+    /**
+     * Calcula el saldo total de las cuentas de todos los clientes del banco.
+     * @return Suma de los saldos totales de los clientes.
+     */
+    public double calcularSaldoTotal( )
+    {
+        return Dinero.aPesos( calcularSaldoTotalCentavos( ) );
+    }
+
+    /**
+     * Retorna el saldo total de las cuentas de todos los clientes del banco en centavos. <br>
+     * Se puede consultar mientras otros hilos hacen operaciones: el resultado incluye completo el efecto de cada operacin
+     * que ya termin y nada de las que no han empezado.
+     * @return Suma de los saldos totales de los clientes en centavos.
+     */
+    public long calcularSaldoTotalCentavos( )
+    {
+        return saldoTotal.sum( );
+    }
+
+    /**
+     * Calcula el resumen de los CDT de todos los clientes del banco, sumando los de cada franja con su candado. El costo
+     * depende del nmero de franjas y no del nmero de CDT.
+     * @return Agregado nuevo con todos los CDT del banco.
+     */
+    public AgregadoCDT calcularAgregadoCDT( )
+    {
+        AgregadoCDT total = new AgregadoCDT( );
+        for( int i = 0; i < agregadosCDT.length; i++ )
+        {
+            candados.bloquear( i );
+            try
+            {
+                total.agregar( agregadosCDT[ i ] );
+            }
+            finally
+            {
+                candados.desbloquear( i );
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Calcula el valor de todos los CDT del banco en el mes dado, suponiendo que ninguno se cierra antes. <br>
+     * El resultado se redondea una sola vez, como se explica en AgregadoCDT.
+     * @param pMes Mes del clculo.
+     * @return Valor de los CDT en centavos.
+     */
+    public long calcularValorCDTCentavos( int pMes )
+    {
+        return calcularAgregadoCDT( ).calcularValorPresenteCentavos( pMes );
+    }
+
+    /**
+     * Invierte un monto de dinero en el CDT del cliente. <br>
+     * <b>post: </b> El CDT del cliente qued abierto en su mes actual con el monto y el inters dados.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pMonto Monto de dinero a invertir en un CDT. pMonto > 0.
+     * @param pInteresMensual Inters del CDT elegido por el cliente. pInteresMensual > 0.
+     */
+    public void invertirCDT( int pCliente, double pMonto, double pInteresMensual )
+    {
+        invertirCDTCentavos( pCliente, Dinero.aCentavos( pMonto ), pInteresMensual );
+    }
+
+    /**
+     * Invierte un monto de dinero en centavos en el CDT del cliente. <br>
+     * <b>post: </b> El CDT del cliente qued abierto en su mes actual con el monto y el inters dados.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pCentavos Monto de dinero a invertir en centavos. pCentavos > 0.
+     * @param pInteresMensual Inters del CDT elegido por el cliente. pInteresMensual > 0.
+     */
+    public void invertirCDTCentavos( int pCliente, long pCentavos, double pInteresMensual )
+    {
+        long posicion;
+        candados.bloquear( pCliente );
+        try
+        {
+            posicion = anotar( Operacion.INVERTIR_CDT, pCliente, 0, 0, pCentavos, pInteresMensual );
+            AgregadoCDT agregado = agregadosCDT[ candados.darFranja( pCliente ) ];
+            if( valoresCDT[ pCliente ] != 0 )
+            {
+                agregado.quitar( valoresCDT[ pCliente ], interesesCDT[ pCliente ], mesesAperturaCDT[ pCliente ] );
+            }
+            valoresCDT[ pCliente ] = pCentavos;
+            DECIMALES.setRelease( interesesCDT, pCliente, pInteresMensual );
+            mesesAperturaCDT[ pCliente ] = mesesActuales[ pCliente ];
+            agregado.agregar( pCentavos, pInteresMensual, mesesActuales[ pCliente ] );
+            saldoTotal.add( pCentavos - valoresPresentesCDT[ pCliente ] );
+            LARGOS.setRelease( valoresPresentesCDT, pCliente, pCentavos );
+        }
+        finally
+        {
+            candados.desbloquear( pCliente );
+        }
+        confirmar( posicion );
+    }
+
+    /**
+     * Consigna un monto de dinero en la cuenta corriente del cliente. <br>
+     * <b>post: </b> El saldo de la cuenta corriente se increment en el monto dado.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pMonto Monto de dinero a consignar en la cuenta. pMonto > 0.
+     */
+    public void consignarCuentaCorriente( int pCliente, double pMonto )
+    {
+        consignarCuentaCorrienteCentavos( pCliente, Dinero.aCentavos( pMonto ) );
+    }
+
+    /**
+     * Consigna un monto de dinero en centavos en la cuenta corriente del cliente. <br>
+     * <b>post: </b> El saldo de la cuenta corriente se increment en el monto dado.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pCentavos Monto de dinero a consignar en centavos. pCentavos > 0.
+     */
+    public void consignarCuentaCorrienteCentavos( int pCliente, long pCentavos )
+    {
+        long posicion;
+        candados.bloquear( pCliente );
+        try
+        {
+            posicion = anotar( Operacion.CONSIGNAR_CORRIENTE, pCliente, 0, 0, pCentavos, 0 );
+            sumar( saldosCorriente, pCliente, pCentavos );
+            saldoTotal.add( pCentavos );
+        }
+        finally
+        {
+            candados.desbloquear( pCliente );
+        }
+        confirmar( posicion );
+    }
+
+    /**
+     * Consigna un monto de dinero en la cuenta de ahorros del cliente. <br>
+     * <b>post: </b> El saldo de la cuenta de ahorros se increment en el monto dado.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pMonto Monto de dinero a consignar en la cuenta. pMonto > 0.
+     */
+    public void consignarCuentaAhorros( int pCliente, double pMonto )
+    {
+        consignarCuentaAhorrosCentavos( pCliente, Dinero.aCentavos( pMonto ) );
+    }
+
+    /**
+     * Consigna un monto de dinero en centavos en la cuenta de ahorros del cliente. <br>
+     * <b>post: </b> El saldo de la cuenta de ahorros se increment en el monto dado.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pCentavos Monto de dinero a consignar en centavos. pCentavos > 0.
+     */
+    public void consignarCuentaAhorrosCentavos( int pCliente, long pCentavos )
+    {
+        long posicion;
+        candados.bloquear( pCliente );
+        try
+        {
+            posicion = anotar( Operacion.CONSIGNAR_AHORROS, pCliente, 0, 0, pCentavos, 0 );
+            sumar( saldosAhorros, pCliente, pCentavos );
+            saldoTotal.add( pCentavos );
+        }
+        finally
+        {
+            candados.desbloquear( pCliente );
+        }
+        confirmar( posicion );
+    }
+
+    /**
+     * Retira un monto de dinero de la cuenta corriente del cliente. <br>
+     * <b>post: </b> Si el saldo alcanzaba, el saldo de la cuenta corriente se redujo en el monto dado.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pMonto Monto de dinero a retirar de la cuenta. pMonto > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
+     */
+    public boolean retirarCuentaCorriente( int pCliente, double pMonto )
+    {
+        return retirarCuentaCorrienteCentavos( pCliente, Dinero.aCentavos( pMonto ) );
+    }
+
+    /**
+     * Retira un monto de dinero en centavos de la cuenta corriente del cliente. <br>
+     * <b>post: </b> Si el saldo alcanzaba, el saldo de la cuenta corriente se redujo en el monto dado.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pCentavos Monto de dinero a retirar en centavos. pCentavos > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
+     */
+    public boolean retirarCuentaCorrienteCentavos( int pCliente, long pCentavos )
+    {
+        long posicion;
+        candados.bloquear( pCliente );
+        try
+        {
+            if( saldosCorriente[ pCliente ] < pCentavos )
+            {
+                return false;
+            }
+            posicion = anotar( Operacion.RETIRAR_CORRIENTE, pCliente, 0, 0, pCentavos, 0 );
+            sumar( saldosCorriente, pCliente, -pCentavos );
+            saldoTotal.add( -pCentavos );
+        }
+        finally
+        {
+            candados.desbloquear( pCliente );
+        }
+        confirmar( posicion );
+        return true;
+    }
+
+    /**
+     * Retira un monto de dinero de la cuenta de ahorros del cliente. <br>
+     * <b>post: </b> Si el saldo alcanzaba, el saldo de la cuenta de ahorros se redujo en el monto dado.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pMonto Monto de dinero a retirar de la cuenta. pMonto > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
+     */
+    public boolean retirarCuentaAhorros( int pCliente, double pMonto )
+    {
+        return retirarCuentaAhorrosCentavos( pCliente, Dinero.aCentavos( pMonto ) );
+    }
+
+    /**
+     * Retira un monto de dinero en centavos de la cuenta de ahorros del cliente. <br>
+     * <b>post: </b> Si el saldo alcanzaba, el saldo de la cuenta de ahorros se redujo en el monto dado.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pCentavos Monto de dinero a retirar en centavos. pCentavos > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
+     */
+    public boolean retirarCuentaAhorrosCentavos( int pCliente, long pCentavos )
+    {
+        long posicion;
+        candados.bloquear( pCliente );
+        try
+        {
+            if( saldosAhorros[ pCliente ] < pCentavos )
+            {
+                return false;
+            }
+            posicion = anotar( Operacion.RETIRAR_AHORROS, pCliente, 0, 0, pCentavos, 0 );
+            sumar( saldosAhorros, pCliente, -pCentavos );
+            saldoTotal.add( -pCentavos );
+        }
+        finally
+        {
+            candados.desbloquear( pCliente );
+        }
+        confirmar( posicion );
+        return true;
+    }
+
+    /**
+     * Transfiere un monto de dinero entre dos cuentas del banco, que pueden ser del mismo cliente o de clientes distintos. <br>
+     * El retiro y la consignacin se hacen con los candados de los dos clientes tomados, as que ninguna otra operacin que
+     * modifique a esos clientes ve la transferencia a medias.<br>
+     * <b>post: </b> Si la cuenta de origen tena saldo suficiente, se redujo en el monto dado y la cuenta de destino
+     * aument en el mismo monto.
+     * @param pOrigen Posicin del cliente de origen. 0 <= pOrigen < darNumeroClientes( ).
+     * @param pProductoOrigen Producto de origen. pProductoOrigen es PRODUCTO_CORRIENTE o PRODUCTO_AHORROS.
+     * @param pDestino Posicin del cliente de destino. 0 <= pDestino < darNumeroClientes( ).
+     * @param pProductoDestino Producto de destino. pProductoDestino es PRODUCTO_CORRIENTE o PRODUCTO_AHORROS.
+     * @param pMonto Monto de dinero a transferir. pMonto > 0.
+     * @return True si se hizo la transferencia, false si el saldo de origen no era suficiente.
+     */
+    public boolean transferir( int pOrigen, int pProductoOrigen, int pDestino, int pProductoDestino, double pMonto )
+    {
+        return transferirCentavos( pOrigen, pProductoOrigen, pDestino, pProductoDestino, Dinero.aCentavos( pMonto ) );
+    }
+
+    /**
+     * Transfiere un monto de dinero en centavos entre dos cuentas del banco. <br>
+     * <b>post: </b> Si la cuenta de origen tena saldo suficiente, se redujo en el monto dado y la cuenta de destino
+     * aument en el mismo monto.
+     * @param pOrigen Posicin del cliente de origen. 0 <= pOrigen < darNumeroClientes( ).
+     * @param pProductoOrigen Producto de origen. pProductoOrigen es PRODUCTO_CORRIENTE o PRODUCTO_AHORROS.
+     * @param pDestino Posicin del cliente de destino. 0 <= pDestino < darNumeroClientes( ).
+     * @param pProductoDestino Producto de destino. pProductoDestino es PRODUCTO_CORRIENTE o PRODUCTO_AHORROS.
+     * @param pCentavos Monto de dinero a transferir en centavos. pCentavos > 0.
+     * @return True si se hizo la transferencia, false si el saldo de origen no era suficiente.
+     * @throws IllegalArgumentException Si alguno de los productos no es vlido.
+     */
+    public boolean transferirCentavos( int pOrigen, int pProductoOrigen, int pDestino, int pProductoDestino, long pCentavos )
+    {
+        long[] saldosOrigen = darSaldos( pProductoOrigen );
+        long[] saldosDestino = darSaldos( pProductoDestino );
+        long posicion;
+        candados.bloquear( pOrigen, pDestino );
+        try
+        {
+            if( saldosOrigen[ pOrigen ] < pCentavos )
+            {
+                return false;
+            }
+            posicion = anotar( Operacion.TRANSFERIR, pOrigen, pDestino, Operacion.empacarProductos( pProductoOrigen, pProductoDestino ), pCentavos, 0 );
+            sumar( saldosOrigen, pOrigen, -pCentavos );
+            sumar( saldosDestino, pDestino, pCentavos );
+        }
+        finally
+        {
+            candados.desbloquear( pOrigen, pDestino );
+        }
+        confirmar( posicion );
+        return true;
+    }
+
+    /**
+     * Retorna la columna de saldos del producto dado.
+     * @param pProducto Producto. pProducto es PRODUCTO_CORRIENTE o PRODUCTO_AHORROS.
+     * @return Saldos en centavos del producto.
+     * @throws IllegalArgumentException Si el producto no es vlido.
+     */
+    private long[] darSaldos( int pProducto )
+    {
+        if( pProducto == PRODUCTO_CORRIENTE )
+        {
+            return saldosCorriente;
+        }
+        else if( pProducto == PRODUCTO_AHORROS )
+        {
+            return saldosAhorros;
+        }
+        throw new IllegalArgumentException( "El producto " + pProducto + " no es vlido." );
+    }
+
+    /**
+     * Avanza en un mes la simulacin del cliente. <br>
+     * <b>post: </b> Se avanz el mes del cliente en 1 y se sumaron los intereses, redondeados al centavo, a su cuenta de ahorros.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     */
+    public void avanzarMesSimulacion( int pCliente )
+    {
+        long posicion;
+        candados.bloquear( pCliente );
+        try
+        {
+            posicion = anotar( Operacion.AVANZAR_MES, pCliente, 0, 0, 0, 0 );
+            saldoTotal.add( aplicarPasoMeses( pCliente, 1, Dinero.calcularInteres( saldosAhorros[ pCliente ], interesesAhorros[ pCliente ] ) ) );
+        }
+        finally
+        {
+            candados.desbloquear( pCliente );
+        }
+        confirmar( posicion );
+    }
+
+    /**
+     * Avanza varios meses la simulacin del cliente en un solo paso, con inters compuesto en la cuenta de ahorros. <br>
+     * <b>post: </b> Se avanz el mes del cliente en pMeses y se actualiz el saldo de su cuenta de ahorros.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @param pMeses Nmero de meses a avanzar. pMeses >= 0.
+     */
+    public void avanzarMeses( int pCliente, int pMeses )
+    {
+        long posicion;
+        candados.bloquear( pCliente );
+        try
+        {
+            posicion = anotar( Operacion.AVANZAR_MESES, pCliente, pMeses, 0, 0, 0 );
+            long ahorros = saldosAhorros[ pCliente ];
+            saldoTotal.add( aplicarPasoMeses( pCliente, pMeses, Dinero.capitalizar( ahorros, interesesAhorros[ pCliente ], pMeses ) - ahorros ) );
+        }
+        finally
+        {
+            candados.desbloquear( pCliente );
+        }
+        confirmar( posicion );
+    }
+
+    /**
+     * Avanza en un mes la simulacin de todos los clientes del banco, repartiendo los clientes entre los ncleos
+     * disponibles. <br>
+     * <b>post: </b> Se avanz en 1 el mes de todos los clientes y se actualizaron los saldos de sus cuentas de ahorros.
+     */
+    public void avanzarMesSimulacion( )
+    {
+        avanzarMesSimulacion( ForkJoinPool.commonPool( ) );
+    }
+
+    /**
+     * Avanza en un mes la simulacin de todos los clientes del banco usando los hilos del pool dado. Mientras avanza tiene
+     * los candados de todas las franjas, as que las dems operaciones sobre clientes esperan a que termine. <br>
+     * <b>post: </b> Se avanz en 1 el mes de todos los clientes y se actualizaron los saldos de sus cuentas de ahorros.
+     * @param pPool Pool de hilos que ejecuta el avance. pPool != null.
+     */
+    public void avanzarMesSimulacion( ForkJoinPool pPool )
+    {
+        avanzarMes( pPool, -1 );
+    }
+
+    /**
+     * Avanza en un mes la simulacin de los primeros clientes del banco. Sirve para reproducir un avance de todo el banco
+     * anotado cuando el banco tena menos clientes que ahora. <br>
+     * <b>pre: </b> pClientes <= darNumeroClientes( ). <br>
+     * <b>post: </b> Se avanz en 1 el mes de los clientes 0 a pClientes - 1 y se actualizaron los saldos de sus cuentas de
+     * ahorros.
+     * @param pClientes Nmero de clientes que avanzan. pClientes >= 0.
+     */
+    public void avanzarMesPrimerosClientes( int pClientes )
+    {
+        avanzarMes( ForkJoinPool.commonPool( ), pClientes );
+    }
+
+    /**
+     * Avanza en un mes los primeros clientes del banco con los candados de todas las franjas, y anota el avance con el
+     * nmero de clientes que avanzaron antes de aplicarlo.
+     * @param pPool Pool de hilos que ejecuta el avance.
+     * @param pClientes Nmero de clientes que avanzan, o -1 para avanzar todos los clientes que tiene el banco.
+     */
+    private void avanzarMes( ForkJoinPool pPool, int pClientes )
+    {
+        long posicion;
+        candados.bloquearTodas( );
+        try
+        {
+            int clientes = pClientes < 0 ? numeroClientes : pClientes;
+            posicion = anotar( Operacion.AVANZAR_MES_BANCO, 0, clientes, 0, 0, 0 );
+            pPool.invoke( new AvanceMes( 0, clientes ) );
+        }
+        finally
+        {
+            candados.desbloquearTodas( );
+        }
+        confirmar( posicion );
+    }
+
+    /**
+     * Avanza en un mes la simulacin de los clientes en el rango dado. <br>
+     * <b>post: </b> Se avanz en 1 el mes de los clientes del rango y se actualizaron sus cuentas de ahorros.
+     * @param pDesde Posicin del primer cliente del rango.
+     * @param pHasta Posicin siguiente al ltimo cliente del rango.
+     */
+    private void avanzarMesSimulacion( int pDesde, int pHasta )
+    {
+        long diferencia = 0;
+        for( int i = pDesde; i < pHasta; i++ )
+        {
+            diferencia += aplicarPasoMeses( i, 1, Dinero.calcularInteres( saldosAhorros[ i ], interesesAhorros[ i ] ) );
+        }
+        saldoTotal.add( diferencia );
+    }
+
+    /**
+     * Cierra el CDT del cliente, pasando el saldo a su cuenta corriente. <br>
+     * <b>post: </b> El CDT qued cerrado y con valores en 0, y la cuenta corriente aument su saldo en el valor del cierre del CDT.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     */
+    public void cerrarCDT( int pCliente )
+    {
+        long posicion;
+        candados.bloquear( pCliente );
+        try
+        {
+            posicion = anotar( Operacion.CERRAR_CDT, pCliente, 0, 0, 0, 0 );
+            long valorCierre = valoresPresentesCDT[ pCliente ];
+            if( valoresCDT[ pCliente ] != 0 )
+            {
+                agregadosCDT[ candados.darFranja( pCliente ) ].quitar( valoresCDT[ pCliente ], interesesCDT[ pCliente ], mesesAperturaCDT[ pCliente ] );
+            }
+            LARGOS.setRelease( valoresPresentesCDT, pCliente, 0L );
+            valoresCDT[ pCliente ] = 0;
+            DECIMALES.setRelease( interesesCDT, pCliente, 0.0 );
+            mesesAperturaCDT[ pCliente ] = 0;
+            sumar( saldosCorriente, pCliente, valorCierre );
+        }
+        finally
+        {
+            candados.desbloquear( pCliente );
+        }
+        confirmar( posicion );
+    }
+
+    /**
+     * Avanza meses en la simulacin de un cliente: suma los intereses dados a la cuenta de ahorros y actualiza el valor
+     * presente del CDT. Se llama con el candado del cliente, o sin otras operaciones en curso.
+     * @param pCliente Posicin del cliente.
+     * @param pMeses Nmero de meses que avanza.
+     * @param pInteresesAhorros Intereses de la cuenta de ahorros en esos meses, en centavos.
+     * @return Cambio en el saldo total del cliente, en centavos.
+     */
+    private long aplicarPasoMeses( int pCliente, int pMeses, long pInteresesAhorros )
+    {
+        ENTEROS.setRelease( mesesActuales, pCliente, mesesActuales[ pCliente ] + pMeses );
+        sumar( saldosAhorros, pCliente, pInteresesAhorros );
+        long diferencia = pInteresesAhorros;
+        if( valoresCDT[ pCliente ] != 0 )
+        {
+            long valorPresente = calcularValorPresenteCDTActual( pCliente );
+            diferencia += valorPresente - valoresPresentesCDT[ pCliente ];
+            LARGOS.setRelease( valoresPresentesCDT, pCliente, valorPresente );
+        }
+        return diferencia;
+    }
+
+    /**
+     * Suma un monto a la casilla del cliente en una columna de saldos. Se llama con el candado del cliente; la casilla se
+     * escribe con semntica de liberacin para las consultas que no toman candados.
+     * @param pColumna Columna de saldos en centavos.
+     * @param pCliente Posicin del cliente.
+     * @param pCentavos Monto a sumar en centavos, negativo para restar.
+     */
+    private static void sumar( long[] pColumna, int pCliente, long pCentavos )
+    {
+        LARGOS.setRelease( pColumna, pCliente, pColumna[ pCliente ] + pCentavos );
+    }
+
+    /**
+     * Calcula el valor presente del CDT del cliente en su mes actual a partir del valor invertido, el inters y los meses
+     * transcurridos.
+     * @param pCliente Posicin del cliente.
+     * @return Valor presente del CDT, en centavos.
+     */
+    private long calcularValorPresenteCDTActual( int pCliente )
+    {
+        int mesesTranscurridos = mesesActuales[ pCliente ] - mesesAperturaCDT[ pCliente ];
+        long valor = valoresCDT[ pCliente ];
+        return valor + Dinero.calcularInteres( valor, mesesTranscurridos * interesesCDT[ pCliente ] );
+    }
+
+    /**
+     * Anota una operacin en el registro del banco, si lo tiene. Se llama con el candado de los clientes de la operacin y
+     * antes de modificar su estado, para que si el registro falla, por ejemplo porque est lleno, el banco no cambie.
+     * @param pCodigo Cdigo de la operacin. Es uno de los valores de Operacion.
+     * @param pCliente Posicin del cliente de la operacin.
+     * @param pAuxiliar Dato auxiliar de la operacin.
+     * @param pProductos Productos de la operacin, empacados con Operacion.empacarProductos.
+     * @param pCentavos Monto de la operacin en centavos.
+     * @param pTasa Inters de la operacin.
+     * @return Posicin que se debe confirmar, o -1 si el banco no tiene registro.
+     */
+    private long anotar( int pCodigo, int pCliente, int pAuxiliar, int pProductos, long pCentavos, double pTasa )
+    {
+        RegistroOperaciones r = registro;
+        return r == null ? -1 : r.anotar( pCodigo, pCliente, pAuxiliar, pProductos, pCentavos, pTasa );
+    }
+
+    /**
+     * Espera a que el registro confirme una anotacin. Se llama despus de soltar los candados.
+     * @param pPosicion Posicin retornada por anotar.
+     */
+    private void confirmar( long pPosicion )
+    {
+        RegistroOperaciones r = registro;
+        if( pPosicion >= 0 && r != null )
+        {
+            r.confirmar( pPosicion );
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // Clases internas
+    // -----------------------------------------------------------------
+
+    /**
+     * Tarea que avanza el mes de un rango de clientes, dividindolo en dos mitades mientras tenga ms de
+     * CLIENTES_POR_TAREA clientes.
+     */
+    @SuppressWarnings("serial")
+    private class AvanceMes extends RecursiveAction
+    {
+        /**
+         * Posicin del primer cliente del rango.
+         */
+        private int desde;
+
+        /**
+         * Posicin siguiente al ltimo cliente del rango.
+         */
+        private int hasta;
+
+        /**
+         * Crea la tarea para el rango dado.
+         * @param pDesde Posicin del primer cliente del rango.
+         * @param pHasta Posicin siguiente al ltimo cliente del rango.
+         */
+        private AvanceMes( int pDesde, int pHasta )
+        {
+            desde = pDesde;
+            hasta = pHasta;
+        }
+
+        /**
+         * Avanza el mes del rango o lo divide en dos tareas.
+         */
+        protected void compute( )
+        {
+            if( hasta - desde <= CLIENTES_POR_TAREA )
+            {
+                avanzarMesSimulacion( desde, hasta );
+            }
+            else
+            {
+                int mitad = ( desde + hasta ) >>> 1;
+                invokeAll( new AvanceMes( desde, mitad ), new AvanceMes( mitad, hasta ) );
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,476 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Clase que representa un banco cuyos clientes se reparten en particiones por su cdula. <br>
+ * Cada particin es duea del SimuladorBancario de sus clientes y de su ndice de cdulas, y los usa desde un nico hilo,
+ * as que su estado no se comparte ni necesita candados. Los mtodos del banco enrutan cada operacin a la particin de la
+ * cdula y retornan un CompletableFuture que se completa cuando la particin la aplica; las operaciones de una misma
+ * particin se aplican en el orden en que se enviaron. <br>
+ * Las acciones de todo el banco, como avanzar el mes o calcular el saldo total, se envan a todas las particiones. Cada
+ * particin hace su parte al llegar a la accin y espera en una barrera a que las dems lleguen a la misma accin antes de
+ * seguir con sus operaciones, de modo que el resultado no mezcla el estado de una particin antes de una operacin con el
+ * de otra despus de una operacin posterior. Las acciones de todo el banco se envan a las particiones en el mismo orden.
+ * <br>
+ * Las transferencias entre clientes no se ofrecen porque pueden tocar dos particiones.
+ */
+public class BancoParticionado
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Multiplicador con el que se mezclan las claves de las cdulas para elegir la particin. Es distinto al de
+     * IndiceCedulas para que las claves de una particin no caigan en las mismas casillas de su ndice.
+     */
+    private static final long MEZCLA = 0xC2B2AE3D27D4EB4FL;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Particiones del banco.
+     */
+    private Particion[] particiones;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea un banco sin clientes y arranca un hilo por particin.
+     * @param pParticiones Nmero de particiones. pParticiones > 0.
+     */
+    public BancoParticionado( int pParticiones )
+    {
+        particiones = new Particion[pParticiones];
+        for( int i = 0; i < pParticiones; i++ )
+        {
+            particiones[ i ] = new Particion( i );
+        }
+    }
+
+    /**
+     * Retorna el nmero de particiones.
+     * @return Nmero de particiones.
+     */
+    public int darNumeroParticiones( )
+    {
+        return particiones.length;
+    }
+
+    /**
+     * Retorna la particin de una cdula. Las cdulas numricas se reparten por su valor, sin importar los puntos.
+     * @param pCedula Cdula. pCedula != null.
+     * @return Particin de la cdula.
+     */
+    public int darParticion( String pCedula )
+    {
+        return calcularParticion( pCedula, particiones.length );
+    }
+
+    /**
+     * Calcula la particin de una cdula entre un nmero dado de particiones. Es la misma funcin que usa darParticion, as
+     * que sirve para repartir los clientes entre particiones que no estn en el mismo proceso.
+     * @param pCedula Cdula. pCedula != null.
+     * @param pParticiones Nmero de particiones. pParticiones > 0.
+     * @return Particin de la cdula, entre 0 y pParticiones - 1.
+     */
+    public static int calcularParticion( String pCedula, int pParticiones )
+    {
+        long clave = IndiceCedulas.codificar( pCedula );
+        int dispersion = clave == IndiceCedulas.SIN_CLAVE ? pCedula.hashCode( ) : ( int )( ( clave * MEZCLA ) >>> 32 );
+        return Math.floorMod( dispersion, pParticiones );
+    }
+
+    /**
+     * Registra un nuevo cliente en su particin. <br>
+     * <b>post: </b> Si no haba un cliente con la misma cdula, el cliente qued en el mes 1 y con sus tres cuentas vacas.
+     * @param pCedula Cdula del nuevo cliente. pCedula != null && pCedula != "".
+     * @param pNombre Nombre del nuevo cliente. pNombre != null && pNombre != "".
+     * @return Futuro con true si se registr el cliente, false si ya haba un cliente con esa cdula.
+     */
+    public CompletableFuture<Boolean> agregarCliente( String pCedula, String pNombre )
+    {
+        Particion particion = particiones[ darParticion( pCedula ) ];
+        CompletableFuture<Boolean> resultado = new CompletableFuture<>( );
+        ejecutar( particion, resultado, ( ) -> resultado.complete( particion.agregar( pCedula, pNombre ) ) );
+        return resultado;
+    }
+
+    /**
+     * Aplica una operacin a un cliente. <br>
+     * <b>post: </b> Si la operacin es vlida y, en el caso de un retiro o una transferencia, el saldo alcanzaba, se aplic.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @param pCodigo Cdigo de la operacin. Es uno de los que acepta SimuladorBancario.aplicarLote.
+     * @param pAuxiliar Productos empacados de una transferencia, nmero de meses al avanzar varios meses, o 0.
+     * @param pCentavos Monto en centavos, o 0.
+     * @param pTasa Inters de una inversin en CDT, o 0.
+     * @return Futuro con el estado de la operacin, que es uno de los valores ESTADO_ de LoteOperaciones. Termina con una
+     *         IllegalArgumentException si no hay un cliente con esa cdula.
+     */
+    public CompletableFuture<Byte> aplicar( String pCedula, int pCodigo, int pAuxiliar, long pCentavos, double pTasa )
+    {
+        return enviar( pCedula, ( particion, simulador ) -> particion.aplicar( simulador, pCodigo, pAuxiliar, pCentavos, pTasa ) );
+    }
+
+    /**
+     * Aplica todas las operaciones de un lote a un cliente con SimuladorBancario.aplicarLote. <br>
+     * <b>pre: </b> Nadie modifica el lote hasta que el futuro se complete. <br>
+     * <b>post: </b> Cada operacin del lote qued con su estado.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @param pLote Lote de operaciones. pLote != null.
+     * @return Futuro con el nmero de operaciones aplicadas. Termina con una IllegalArgumentException si no hay un cliente
+     *         con esa cdula.
+     */
+    public CompletableFuture<Integer> aplicarLote( String pCedula, LoteOperaciones pLote )
+    {
+        return enviar( pCedula, ( particion, simulador ) -> simulador.aplicarLote( pLote ) );
+    }
+
+    /**
+     * Consulta el mes actual de un cliente.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @return Futuro con el mes actual. Termina con una IllegalArgumentException si no hay un cliente con esa cdula.
+     */
+    public CompletableFuture<Integer> darMesActual( String pCedula )
+    {
+        return enviar( pCedula, ( particion, simulador ) -> simulador.darMesActual( ) );
+    }
+
+    /**
+     * Consulta el saldo total de las cuentas de un cliente, en centavos.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @return Futuro con el saldo total. Termina con una IllegalArgumentException si no hay un cliente con esa cdula.
+     */
+    public CompletableFuture<Long> calcularSaldoTotalCentavos( String pCedula )
+    {
+        return enviar( pCedula, ( particion, simulador ) -> simulador.calcularSaldoTotalCentavos( ) );
+    }
+
+    /**
+     * Cuenta los clientes de todas las particiones.
+     * @return Futuro con el nmero de clientes del banco.
+     */
+    public CompletableFuture<Long> contarClientes( )
+    {
+        return difundir( particion -> particion.simuladores.size( ) );
+    }
+
+    /**
+     * Calcula el saldo total de todos los clientes del banco en centavos.
+     * @return Futuro con el saldo total del banco.
+     */
+    public CompletableFuture<Long> calcularSaldoTotalCentavos( )
+    {
+        return difundir( Particion::calcularSaldoTotalCentavos );
+    }
+
+    /**
+     * Avanza un mes la simulacin de todos los clientes del banco. <br>
+     * <b>post: </b> Las operaciones enviadas antes de la llamada se aplicaron en el mes anterior y las enviadas despus de que
+     * el futuro se complete se aplican en el nuevo mes.
+     * @return Futuro con el nmero de clientes cuyo mes avanz.
+     */
+    public CompletableFuture<Long> avanzarMesSimulacion( )
+    {
+        return difundir( Particion::avanzarMesSimulacion );
+    }
+
+    /**
+     * Detiene los hilos de las particiones despus de que apliquen lo que se les envi. <br>
+     * <b>post: </b> Las operaciones enviadas despus terminan con una IllegalStateException.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    public synchronized void detener( ) throws InterruptedException
+    {
+        for( Particion particion : particiones )
+        {
+            particion.hilo.shutdown( );
+        }
+        for( Particion particion : particiones )
+        {
+            particion.hilo.awaitTermination( Long.MAX_VALUE, TimeUnit.NANOSECONDS );
+        }
+    }
+
+    /**
+     * Enva una operacin sobre un cliente a la particin de su cdula.
+     * @param <T> Tipo del resultado.
+     * @param pCedula Cdula del cliente.
+     * @param pOperacion Operacin que se ejecuta en el hilo de la particin con el simulador del cliente.
+     * @return Futuro con el resultado de la operacin.
+     */
+    private <T> CompletableFuture<T> enviar( String pCedula, OperacionCliente<T> pOperacion )
+    {
+        Particion particion = particiones[ darParticion( pCedula ) ];
+        CompletableFuture<T> resultado = new CompletableFuture<>( );
+        ejecutar( particion, resultado, ( ) -> {
+            SimuladorBancario simulador = particion.buscar( pCedula );
+            if( simulador == null )
+            {
+                resultado.completeExceptionally( new IllegalArgumentException( "No hay un cliente con la cdula " + pCedula + "." ) );
+            }
+            else
+            {
+                resultado.complete( pOperacion.ejecutar( particion, simulador ) );
+            }
+        } );
+        return resultado;
+    }
+
+    /**
+     * Enva una accin a todas las particiones. Cada particin ejecuta su parte y espera a las dems en una barrera; la
+     * ltima en llegar suma las partes y completa el futuro. <br>
+     * El mtodo es sincronizado para que todas las particiones reciban las acciones del banco en el mismo orden; si no, dos
+     * acciones podran esperar cada una en la barrera de la otra.
+     * @param pAccion Parte de la accin que ejecuta cada particin en su hilo.
+     * @return Futuro con la suma de las partes.
+     */
+    private synchronized CompletableFuture<Long> difundir( ToLongFunction<Particion> pAccion )
+    {
+        CompletableFuture<Long> resultado = new CompletableFuture<>( );
+        long[] partes = new long[particiones.length];
+        RuntimeException[] errores = new RuntimeException[particiones.length];
+        CyclicBarrier barrera = new CyclicBarrier( particiones.length, ( ) -> {
+            long total = 0;
+            for( int i = 0; i < partes.length; i++ )
+            {
+                if( errores[ i ] != null )
+                {
+                    resultado.completeExceptionally( errores[ i ] );
+                    return;
+                }
+                total += partes[ i ];
+            }
+            resultado.complete( total );
+        } );
+        for( Particion particion : particiones )
+        {
+            Runnable parte = ( ) -> {
+                try
+                {
+                    partes[ particion.numero ] = pAccion.applyAsLong( particion );
+                }
+                catch( RuntimeException e )
+                {
+                    errores[ particion.numero ] = e;
+                }
+                try
+                {
+                    barrera.await( );
+                }
+                catch( InterruptedException | BrokenBarrierException e )
+                {
+                    resultado.completeExceptionally( new IllegalStateException( "Se interrumpi la accin del banco.", e ) );
+                }
+            };
+            if( !ejecutar( particion, resultado, parte ) )
+            {
+                barrera.reset( );
+                break;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Pone una tarea en la cola de una particin. Si la tarea lanza una excepcin, o si el banco est detenido, el futuro
+     * termina con ella.
+     * @param pParticion Particin.
+     * @param pResultado Futuro de la tarea.
+     * @param pTarea Tarea.
+     * @return True si la tarea qued en la cola, false si el banco est detenido.
+     */
+    private static boolean ejecutar( Particion pParticion, CompletableFuture<?> pResultado, Runnable pTarea )
+    {
+        try
+        {
+            pParticion.hilo.execute( ( ) -> {
+                try
+                {
+                    pTarea.run( );
+                }
+                catch( RuntimeException e )
+                {
+                    pResultado.completeExceptionally( e );
+                }
+            } );
+            return true;
+        }
+        catch( RejectedExecutionException e )
+        {
+            pResultado.completeExceptionally( new IllegalStateException( "El banco est detenido." ) );
+            return false;
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // Clases internas
+    // -----------------------------------------------------------------
+
+    /**
+     * Operacin sobre un cliente que se ejecuta en el hilo de su particin.
+     * @param <T> Tipo del resultado.
+     */
+    private interface OperacionCliente<T>
+    {
+        /**
+         * Ejecuta la operacin.
+         * @param pParticion Particin del cliente.
+         * @param pSimulador Simulador del cliente.
+         * @return Resultado de la operacin.
+         */
+        T ejecutar( Particion pParticion, SimuladorBancario pSimulador );
+    }
+
+    /**
+     * Particin del banco. Todos sus atributos, salvo el hilo, solo se usan desde el hilo de la particin.
+     */
+    private static class Particion
+    {
+        /**
+         * Nmero de la particin.
+         */
+        private int numero;
+
+        /**
+         * Hilo que ejecuta las tareas de la particin en orden.
+         */
+        private ExecutorService hilo;
+
+        /**
+         * Simuladores de los clientes de la particin, en el orden en que se registraron.
+         */
+        private ArrayList<SimuladorBancario> simuladores;
+
+        /**
+         * ndice de las cdulas numricas a posiciones en simuladores.
+         */
+        private IndiceCedulas indiceCedulas;
+
+        /**
+         * Posiciones en simuladores de los clientes con cdulas que no son numricas.
+         */
+        private HashMap<String, Integer> otrasCedulas;
+
+        /**
+         * Lote de una operacin con el que se aplican las operaciones sueltas, para no crear uno por operacin.
+         */
+        private LoteOperaciones lote;
+
+        /**
+         * Crea una particin vaca y su hilo.
+         * @param pNumero Nmero de la particin.
+         */
+        private Particion( int pNumero )
+        {
+            numero = pNumero;
+            simuladores = new ArrayList<>( );
+            indiceCedulas = new IndiceCedulas( 1024 );
+            otrasCedulas = new HashMap<>( );
+            lote = new LoteOperaciones( 1 );
+            hilo = Executors.newSingleThreadExecutor( tarea -> {
+                Thread t = new Thread( tarea, "BancoParticionado-" + pNumero );
+                t.setDaemon( true );
+                return t;
+            } );
+        }
+
+        /**
+         * Busca el simulador de un cliente de la particin.
+         * @param pCedula Cdula del cliente.
+         * @return Simulador del cliente, o null si no est en la particin.
+         */
+        private SimuladorBancario buscar( String pCedula )
+        {
+            long clave = IndiceCedulas.codificar( pCedula );
+            int posicion = clave == IndiceCedulas.SIN_CLAVE ? otrasCedulas.getOrDefault( pCedula, -1 ) : indiceCedulas.buscar( clave );
+            return posicion < 0 ? null : simuladores.get( posicion );
+        }
+
+        /**
+         * Agrega un cliente a la particin si no haba otro con la misma cdula.
+         * @param pCedula Cdula del cliente.
+         * @param pNombre Nombre del cliente.
+         * @return True si se agreg el cliente, false si ya estaba.
+         */
+        private boolean agregar( String pCedula, String pNombre )
+        {
+            long clave = IndiceCedulas.codificar( pCedula );
+            int posicion = simuladores.size( );
+            boolean agregado = clave == IndiceCedulas.SIN_CLAVE ? otrasCedulas.putIfAbsent( pCedula, posicion ) == null : indiceCedulas.agregar( clave, posicion );
+            if( agregado )
+            {
+                simuladores.add( new SimuladorBancario( pCedula, pNombre ) );
+            }
+            return agregado;
+        }
+
+        /**
+         * Aplica una operacin suelta a un cliente con el lote de la particin.
+         * @param pSimulador Simulador del cliente.
+         * @param pCodigo Cdigo de la operacin.
+         * @param pAuxiliar Dato auxiliar.
+         * @param pCentavos Monto en centavos.
+         * @param pTasa Inters.
+         * @return Estado de la operacin.
+         */
+        private byte aplicar( SimuladorBancario pSimulador, int pCodigo, int pAuxiliar, long pCentavos, double pTasa )
+        {
+            lote.limpiar( );
+            lote.agregar( pCodigo, pAuxiliar, pCentavos, pTasa );
+            pSimulador.aplicarLote( lote );
+            return lote.darEstado( 0 );
+        }
+
+        /**
+         * Calcula el saldo total de los clientes de la particin.
+         * @return Saldo total en centavos.
+         */
+        private long calcularSaldoTotalCentavos( )
+        {
+            long total = 0;
+            for( SimuladorBancario simulador : simuladores )
+            {
+                total += simulador.calcularSaldoTotalCentavos( );
+            }
+            return total;
+        }
+
+        /**
+         * Avanza un mes la simulacin de los clientes de la particin.
+         * @return Nmero de clientes de la particin.
+         */
+        private long avanzarMesSimulacion( )
+        {
+            for( SimuladorBancario simulador : simuladores )
+            {
+                simulador.avanzarMesSimulacion( );
+            }
+            return simuladores.size( );
+        }
+    }
+}
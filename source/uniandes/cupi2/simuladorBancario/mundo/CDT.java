@@ -11,7 +11,8 @@
 package uniandes.cupi2.simuladorBancario.mundo;
 
 /**
- * Clase que representa un CDT.
+ * Clase que representa un CDT. <br>
+ * Los datos del CDT pueden estar en el objeto o en el registro de un cliente de un AlmacenClientes.
  */
 public class CDT
 {
@@ -20,9 +21,9 @@ public class CDT
     // -----------------------------------------------------------------
 
     /**
-     * Valor inicial del CDT.
+     * Valor inicial del CDT, en centavos.
      */
-    private double valorInvertido;
+    private long valorInvertido;
 
     /**
      * Inters mensual que del CDT
@@ -34,6 +35,16 @@ public class CDT
      */
     private int mesApertura;
 
+    /**
+     * Almacn fuera del heap con los datos del CDT, o null si estn en este objeto.
+     */
+    private AlmacenClientes almacen;
+
+    /**
+     * Posicin del cliente en el almacn.
+     */
+    private int cliente;
+
     // -----------------------------------------------------------------
     // Mtodos
     // -----------------------------------------------------------------
@@ -47,6 +58,18 @@ public class CDT
         valorInvertido = 0;
         interesMensual = 0;
         mesApertura = 0;
+        almacen = null;
+    }
+
+    /**
+     * Inicializa un CDT cuyos datos estn en el registro de un cliente del almacn.
+     * @param pAlmacen Almacn de los clientes. pAlmacen != null.
+     * @param pCliente Posicin del cliente en el almacn.
+     */
+    CDT( AlmacenClientes pAlmacen, int pCliente )
+    {
+        almacen = pAlmacen;
+        cliente = pCliente;
     }
 
     /**
@@ -55,7 +78,25 @@ public class CDT
      */
     public double darInteresMensual( )
     {
-        return interesMensual;
+        return almacen == null ? interesMensual : almacen.darDecimal( cliente, AlmacenClientes.INTERES_CDT );
+    }
+
+    /**
+     * Retorna el valor invertido en el CDT.
+     * @return Valor invertido en centavos, o 0 si el CDT est cerrado.
+     */
+    public long darValorInvertidoCentavos( )
+    {
+        return almacen == null ? valorInvertido : almacen.darLargo( cliente, AlmacenClientes.VALOR_CDT );
+    }
+
+    /**
+     * Retorna el mes en el que se abri el CDT.
+     * @return Mes de apertura, o 0 si el CDT est cerrado.
+     */
+    public int darMesApertura( )
+    {
+        return almacen == null ? mesApertura : almacen.darEntero( cliente, AlmacenClientes.MES_APERTURA_CDT );
     }
 
     /**
@@ -67,9 +108,19 @@ public class CDT
      */
     public void invertir( double pMontoInvertido, double pInteresMensual, int pMes )
     {
-        valorInvertido = pMontoInvertido;
-        interesMensual = pInteresMensual;
-        mesApertura = pMes;
+        guardar( Dinero.aCentavos( pMontoInvertido ), pInteresMensual, pMes );
+    }
+
+    /**
+     * Inicia una inversin en un CDT con un monto en centavos.<br>
+     * <b>post: </b> Se cambian los valores del CDT, con los valores recibidos. <br>
+     * @param pCentavos Monto de dinero en centavos que se va a invertir en el CDT. pCentavos > 0.
+     * @param pInteresMensual Inters mensual que va a ganar el CDT. pInteresMensual > 0.
+     * @param pMes Mes de apertura del CDT. pMes > 0.
+     */
+    public void invertirCentavos( long pCentavos, double pInteresMensual, int pMes )
+    {
+        guardar( pCentavos, pInteresMensual, pMes );
     }
 
     /**
@@ -79,8 +130,19 @@ public class CDT
      */
     public double calcularValorPresente( int pMesActual )
     {
-        int mesesTranscurridos = pMesActual - mesApertura;
-        return ( double ) ( valorInvertido + ( mesesTranscurridos * interesMensual * valorInvertido ) );
+        return Dinero.aPesos( calcularValorPresenteCentavos( pMesActual ) );
+    }
+
+    /**
+     * Calcula el valor presente de la inversin en centavos, con los intereses redondeados al centavo. <br>
+     * @param pMesActual Mes actual del simulador. pMesActual > 0.
+     * @return Valor presente del dinero invertido en CDT, en centavos.
+     */
+    public long calcularValorPresenteCentavos( int pMesActual )
+    {
+        long valor = darValorInvertidoCentavos( );
+        int mesesTranscurridos = pMesActual - darMesApertura( );
+        return valor + Dinero.calcularInteres( valor, mesesTranscurridos * darInteresMensual( ) );
     }
 
     /**
@@ -91,10 +153,52 @@ public class CDT
      */
     public double cerrar( int pMesActual )
     {
-        double valorCierre = calcularValorPresente( pMesActual );
-        valorInvertido = 0;
-        interesMensual = 0;
-        mesApertura = 0;
+        return Dinero.aPesos( cerrarCentavos( pMesActual ) );
+    }
+
+    /**
+     * Cierra el CDT y retorna el valor invertido ms los intereses en centavos. <br>
+     * <b>post: </b> Se retorn el rendimiento del CDT, y se reinici sus atributos a 0.
+     * @param pMesActual Mes de cierre para calcular el rendimiento del CDT.
+     * @return Valor de cierre del CDT en centavos.
+     */
+    public long cerrarCentavos( int pMesActual )
+    {
+        long valorCierre = calcularValorPresenteCentavos( pMesActual );
+        guardar( 0, 0, 0 );
         return valorCierre;
     }
+
+    /**
+     * Crea una copia del CDT con sus datos actuales, que no depende del almacn.
+     * @return Copia del CDT.
+     */
+    CDT copiar( )
+    {
+        CDT copia = new CDT( );
+        copia.guardar( darValorInvertidoCentavos( ), darInteresMensual( ), darMesApertura( ) );
+        return copia;
+    }
+
+    /**
+     * Guarda los datos del CDT donde estn, en el objeto o en el almacn.
+     * @param pCentavos Valor invertido en centavos.
+     * @param pInteresMensual Inters mensual.
+     * @param pMes Mes de apertura.
+     */
+    private void guardar( long pCentavos, double pInteresMensual, int pMes )
+    {
+        if( almacen == null )
+        {
+            valorInvertido = pCentavos;
+            interesMensual = pInteresMensual;
+            mesApertura = pMes;
+        }
+        else
+        {
+            almacen.cambiarLargo( cliente, AlmacenClientes.VALOR_CDT, pCentavos );
+            almacen.cambiarDecimal( cliente, AlmacenClientes.INTERES_CDT, pInteresMensual );
+            almacen.cambiarEntero( cliente, AlmacenClientes.MES_APERTURA_CDT, pMes );
+        }
+    }
 }
\ No newline at end of file
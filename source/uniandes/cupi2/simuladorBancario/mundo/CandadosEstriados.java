@@ -0,0 +1,163 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clase que representa un conjunto fijo de candados repartidos en franjas. <br>
+ * Cada clave (por ejemplo, la posicin de un cliente) se protege con el candado de su franja, de modo que muchas claves
+ * comparten pocos candados. Cuando se necesitan dos candados siempre se toman en orden creciente de franja, as que dos
+ * hilos que bloquean las mismas claves en orden contrario no pueden quedar esperndose mutuamente.
+ */
+public class CandadosEstriados
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Candados de cada franja.
+     */
+    private ReentrantLock[] franjas;
+
+    /**
+     * Mscara para calcular la franja de una clave.
+     */
+    private int mascara;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea los candados. <br>
+     * <b>post: </b> Se crearon tantos candados como la menor potencia de 2 mayor o igual a pFranjas.
+     * @param pFranjas Nmero mnimo de franjas. pFranjas > 0.
+     */
+    public CandadosEstriados( int pFranjas )
+    {
+        int numero = Integer.highestOneBit( pFranjas );
+        if( numero < pFranjas )
+        {
+            numero <<= 1;
+        }
+        franjas = new ReentrantLock[numero];
+        for( int i = 0; i < numero; i++ )
+        {
+            franjas[ i ] = new ReentrantLock( );
+        }
+        mascara = numero - 1;
+    }
+
+    /**
+     * Retorna el nmero de franjas.
+     * @return Nmero de franjas.
+     */
+    public int darNumeroFranjas( )
+    {
+        return franjas.length;
+    }
+
+    /**
+     * Retorna la franja que protege la clave dada.
+     * @param pClave Clave. pClave >= 0.
+     * @return Franja de la clave.
+     */
+    public int darFranja( int pClave )
+    {
+        return pClave & mascara;
+    }
+
+    /**
+     * Bloquea el candado de la clave dada, esperando si otro hilo lo tiene. <br>
+     * <b>post: </b> El hilo actual tiene el candado de la franja de la clave.
+     * @param pClave Clave a bloquear. pClave >= 0.
+     */
+    public void bloquear( int pClave )
+    {
+        franjas[ pClave & mascara ].lock( );
+    }
+
+    /**
+     * Libera el candado de la clave dada. <br>
+     * <b>pre: </b> El hilo actual tiene el candado de la franja de la clave.
+     * @param pClave Clave a liberar. pClave >= 0.
+     */
+    public void desbloquear( int pClave )
+    {
+        franjas[ pClave & mascara ].unlock( );
+    }
+
+    /**
+     * Bloquea los candados de todas las franjas, en orden creciente. Mientras el hilo los tenga ningn otro hilo puede
+     * bloquear ninguna clave. <br>
+     * <b>post: </b> El hilo actual tiene los candados de todas las franjas.
+     */
+    public void bloquearTodas( )
+    {
+        for( ReentrantLock franja : franjas )
+        {
+            franja.lock( );
+        }
+    }
+
+    /**
+     * Libera los candados de todas las franjas. <br>
+     * <b>pre: </b> El hilo actual bloque todas las franjas con bloquearTodas.
+     */
+    public void desbloquearTodas( )
+    {
+        for( int i = franjas.length - 1; i >= 0; i-- )
+        {
+            franjas[ i ].unlock( );
+        }
+    }
+
+    /**
+     * Bloquea los candados de dos claves, en orden creciente de franja. Si las dos claves estn en la misma franja se
+     * bloquea un solo candado. <br>
+     * <b>post: </b> El hilo actual tiene los candados de las franjas de las dos claves.
+     * @param pClave1 Primera clave. pClave1 >= 0.
+     * @param pClave2 Segunda clave. pClave2 >= 0.
+     */
+    public void bloquear( int pClave1, int pClave2 )
+    {
+        int franja1 = pClave1 & mascara;
+        int franja2 = pClave2 & mascara;
+        if( franja1 == franja2 )
+        {
+            franjas[ franja1 ].lock( );
+        }
+        else
+        {
+            franjas[ Math.min( franja1, franja2 ) ].lock( );
+            franjas[ Math.max( franja1, franja2 ) ].lock( );
+        }
+    }
+
+    /**
+     * Libera los candados de dos claves. <br>
+     * <b>pre: </b> El hilo actual bloque las dos claves con bloquear( pClave1, pClave2 ).
+     * @param pClave1 Primera clave. pClave1 >= 0.
+     * @param pClave2 Segunda clave. pClave2 >= 0.
+     */
+    public void desbloquear( int pClave1, int pClave2 )
+    {
+        int franja1 = pClave1 & mascara;
+        int franja2 = pClave2 & mascara;
+        franjas[ franja1 ].unlock( );
+        if( franja1 != franja2 )
+        {
+            franjas[ franja2 ].unlock( );
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,226 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+/**
+ * Clase que representa un cliente guardado en un banco. <br>
+ * Ofrece las mismas operaciones de SimuladorBancario, pero no guarda informacin propia: todas las operaciones se
+ * delegan a las columnas del banco en la posicin del cliente.
+ */
+public class ClienteBanco
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco donde est guardada la informacin del cliente.
+     */
+    private Banco banco;
+
+    /**
+     * Posicin del cliente en el banco.
+     */
+    private int cliente;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Inicializa la vista del cliente. <br>
+     * <b>post: </b> La vista qued asociada al cliente en la posicin dada del banco.
+     * @param pBanco Banco donde est el cliente. pBanco != null.
+     * @param pCliente Posicin del cliente en el banco. 0 <= pCliente < pBanco.darNumeroClientes( ).
+     */
+    public ClienteBanco( Banco pBanco, int pCliente )
+    {
+        banco = pBanco;
+        cliente = pCliente;
+    }
+
+    /**
+     * Retorna la posicin del cliente en el banco.
+     * @return Posicin del cliente.
+     */
+    public int darPosicion( )
+    {
+        return cliente;
+    }
+
+    /**
+     * Retorna el nombre del cliente.
+     * @return Nombre del cliente.
+     */
+    public String darNombre( )
+    {
+        return banco.darNombre( cliente );
+    }
+
+    /**
+     * Retorna la cdula del cliente.
+     * @return Cdula del cliente.
+     */
+    public String darCedula( )
+    {
+        return banco.darCedula( cliente );
+    }
+
+    /**
+     * Retorna el mes en el que se encuentra la simulacin.
+     * @return Mes actual.
+     */
+    public int darMesActual( )
+    {
+        return banco.darMesActual( cliente );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta corriente del cliente.
+     * @return Saldo de la cuenta corriente.
+     */
+    public double darSaldoCorriente( )
+    {
+        return banco.darSaldoCorriente( cliente );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta de ahorros del cliente.
+     * @return Saldo de la cuenta de ahorros.
+     */
+    public double darSaldoAhorros( )
+    {
+        return banco.darSaldoAhorros( cliente );
+    }
+
+    /**
+     * Calcula el valor presente del CDT del cliente en el mes actual.
+     * @return Valor presente del dinero invertido en CDT.
+     */
+    public double calcularValorPresenteCDT( )
+    {
+        return banco.calcularValorPresenteCDT( cliente );
+    }
+
+    /**
+     * Calcula el saldo total de las cuentas del cliente.
+     * @return Saldo total de las cuentas del cliente.
+     */
+    public double calcularSaldoTotal( )
+    {
+        return banco.calcularSaldoTotal( cliente );
+    }
+
+    /**
+     * Invierte un monto de dinero en un CDT. <br>
+     * <b>post: </b> Invirti un monto de dinero en un CDT.
+     * @param pMonto Monto de dinero a invertir en un CDT. pMonto > 0.
+     * @param pInteresMensual Inters del CDT elegido por el cliente. pInteresMensual > 0.
+     */
+    public void invertirCDT( double pMonto, double pInteresMensual )
+    {
+        banco.invertirCDT( cliente, pMonto, pInteresMensual );
+    }
+
+    /**
+     * Consigna un monto de dinero en la cuenta corriente. <br>
+     * <b>post: </b> Consign un monto de dinero en la cuenta corriente.
+     * @param pMonto Monto de dinero a consignar en la cuenta. pMonto > 0.
+     */
+    public void consignarCuentaCorriente( double pMonto )
+    {
+        banco.consignarCuentaCorriente( cliente, pMonto );
+    }
+
+    /**
+     * Consigna un monto de dinero en la cuenta de ahorros. <br>
+     * <b>post: </b> Consign un monto de dinero en la cuenta de ahorros.
+     * @param pMonto Monto de dinero a consignar en la cuenta. pMonto > 0.
+     */
+    public void consignarCuentaAhorros( double pMonto )
+    {
+        banco.consignarCuentaAhorros( cliente, pMonto );
+    }
+
+    /**
+     * Retira un monto de dinero de la cuenta corriente. <br>
+     * <b>post: </b> Si el saldo alcanzaba, se redujo el saldo de la cuenta en el monto especificado.
+     * @param pMonto Monto de dinero a retirar de la cuenta. pMonto > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
+     */
+    public boolean retirarCuentaCorriente( double pMonto )
+    {
+        return banco.retirarCuentaCorriente( cliente, pMonto );
+    }
+
+    /**
+     * Retira un monto de dinero de la cuenta de ahorros. <br>
+     * <b>post: </b> Si el saldo alcanzaba, se redujo el saldo de la cuenta en el monto especificado.
+     * @param pMonto Monto de dinero a retirar de la cuenta. pMonto > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
+     */
+    public boolean retirarCuentaAhorros( double pMonto )
+    {
+        return banco.retirarCuentaAhorros( cliente, pMonto );
+    }
+
+    /**
+     * Transfiere un monto de dinero de la cuenta corriente a la cuenta de ahorros del cliente. <br>
+     * <b>post: </b> Si el saldo de la cuenta corriente alcanzaba, se redujo en el monto dado y la cuenta de ahorros aument en
+     * el mismo monto.
+     * @param pMonto Monto de dinero a transferir. pMonto > 0.
+     * @return True si se hizo la transferencia, false si el saldo de la cuenta corriente no era suficiente.
+     */
+    public boolean transferirCorrienteAAhorros( double pMonto )
+    {
+        return banco.transferir( cliente, Banco.PRODUCTO_CORRIENTE, cliente, Banco.PRODUCTO_AHORROS, pMonto );
+    }
+
+    /**
+     * Transfiere un monto de dinero de la cuenta de ahorros a la cuenta corriente del cliente. <br>
+     * <b>post: </b> Si el saldo de la cuenta de ahorros alcanzaba, se redujo en el monto dado y la cuenta corriente aument
+     * en el mismo monto.
+     * @param pMonto Monto de dinero a transferir. pMonto > 0.
+     * @return True si se hizo la transferencia, false si el saldo de la cuenta de ahorros no era suficiente.
+     */
+    public boolean transferirAhorrosACorriente( double pMonto )
+    {
+        return banco.transferir( cliente, Banco.PRODUCTO_AHORROS, cliente, Banco.PRODUCTO_CORRIENTE, pMonto );
+    }
+
+    /**
+     * Avanza en un mes la simulacin. <br>
+     * <b>post: </b> Se avanz el mes de la simulacin en 1. Se actualiz el saldo de la cuenta de ahorros.
+     */
+    public void avanzarMesSimulacion( )
+    {
+        banco.avanzarMesSimulacion( cliente );
+    }
+
+    /**
+     * Avanza varios meses la simulacin en un solo paso. <br>
+     * <b>post: </b> Se avanz el mes de la simulacin en pMeses. Se actualiz el saldo de la cuenta de ahorros.
+     * @param pMeses Nmero de meses a avanzar. pMeses >= 0.
+     */
+    public void avanzarMeses( int pMeses )
+    {
+        banco.avanzarMeses( cliente, pMeses );
+    }
+
+    /**
+     * Cierra el CDT, pasando el saldo a la cuenta corriente. <br>
+     * <b>post: </b> El CDT qued cerrado y con valores en 0, y la cuenta corriente aument su saldo en el valor del cierre del CDT.
+     */
+    public void cerrarCDT( )
+    {
+        banco.cerrarCDT( cliente );
+    }
+}
\ No newline at end of file
@@ -10,8 +10,12 @@
  */
 package uniandes.cupi2.simuladorBancario.mundo;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Clase que representa la cuenta de ahorro de un cliente.
+ * Clase que representa la cuenta de ahorro de un cliente. <br>
+ * El saldo se actualiza con operaciones atmicas, as que la cuenta puede usarse desde varios hilos sin candados. El saldo
+ * y el inters pueden estar en la cuenta o en el registro de un cliente de un AlmacenClientes.
  */
 public class CuentaAhorros
 {
@@ -20,15 +24,25 @@ public class CuentaAhorros
     // -----------------------------------------------------------------
 
     /**
-     * Saldo actual de la cuenta de ahorro.
+     * Saldo actual de la cuenta de ahorro, en centavos.
      */
-    private double saldo;
+    private AtomicLong saldo;
 
     /**
      * Inters mensual que paga la cuenta de ahorro.
      */
     private double interesMensual;
 
+    /**
+     * Almacn fuera del heap con el saldo y el inters de la cuenta, o null si estn en esta cuenta.
+     */
+    private AlmacenClientes almacen;
+
+    /**
+     * Posicin del cliente en el almacn.
+     */
+    private int cliente;
+
     // -----------------------------------------------------------------
     // Mtodos
     // -----------------------------------------------------------------
@@ -39,8 +53,21 @@ public class CuentaAhorros
      */
     public CuentaAhorros( )
     {
-        saldo = 0;
+        saldo = new AtomicLong( 0 );
         interesMensual = 0.006;
+        almacen = null;
+    }
+
+    /**
+     * Inicializa una cuenta de ahorros cuyo saldo e inters estn en el registro de un cliente del almacn.
+     * @param pAlmacen Almacn de los clientes. pAlmacen != null.
+     * @param pCliente Posicin del cliente en el almacn.
+     */
+    CuentaAhorros( AlmacenClientes pAlmacen, int pCliente )
+    {
+        saldo = null;
+        almacen = pAlmacen;
+        cliente = pCliente;
     }
 
     /**
@@ -49,7 +76,16 @@ public class CuentaAhorros
      */
     public double darSaldo( )
     {
-        return saldo;
+        return Dinero.aPesos( leerSaldo( ) );
+    }
+
+    /**
+     * Retorna el saldo del cliente en centavos. <br>
+     * @return Saldo de la cuenta de ahorros en centavos.
+     */
+    public long darSaldoCentavos( )
+    {
+        return leerSaldo( );
     }
 
     /**
@@ -58,7 +94,24 @@ public class CuentaAhorros
      */
     public double darInteresMensual( )
     {
-        return interesMensual;
+        return almacen == null ? interesMensual : almacen.darDecimal( cliente, AlmacenClientes.INTERES_AHORROS );
+    }
+
+    /**
+     * Cambia el inters mensual de la cuenta. <br>
+     * <b>post: </b> Los siguientes pasos de mes usan el nuevo inters.
+     * @param pInteresMensual Nuevo inters mensual. pInteresMensual >= 0.
+     */
+    public void cambiarInteresMensual( double pInteresMensual )
+    {
+        if( almacen == null )
+        {
+            interesMensual = pInteresMensual;
+        }
+        else
+        {
+            almacen.cambiarDecimal( cliente, AlmacenClientes.INTERES_AHORROS, pInteresMensual );
+        }
     }
 
     /**
@@ -68,25 +121,126 @@ public class CuentaAhorros
      */
     public void consignarMonto( double pMonto )
     {
-        saldo = saldo + pMonto;
+        consignarCentavos( Dinero.aCentavos( pMonto ) );
+    }
+
+    /**
+     * Consigna un monto de dinero en centavos en la cuenta del cliente. <br>
+     * <b>post: </b> El saldo se increment en el monto de dinero ingresado. <br>
+     * @param pCentavos Monto de dinero a consignar en centavos. pCentavos > 0.
+     */
+    public void consignarCentavos( long pCentavos )
+    {
+        sumarSaldo( pCentavos );
+    }
+
+    /**
+     * Suma al saldo una diferencia en centavos, que puede ser negativa, sin verificar el saldo. Se usa para aplicar de una
+     * vez el resultado neto de un lote de operaciones ya validado. <br>
+     * <b>post: </b> El saldo cambi en la diferencia dada.
+     * @param pDiferencia Diferencia en centavos.
+     */
+    void ajustarCentavos( long pDiferencia )
+    {
+        sumarSaldo( pDiferencia );
     }
 
     /**
-     * Retira un monto de dinero de la cuenta de ahorros. <br>
-     * <b>post: </b> El saldo se redujo en el valor dado.
+     * Retira un monto de dinero de la cuenta de ahorros si hay saldo suficiente. <br>
+     * La verificacin del saldo y el retiro se hacen en una sola operacin atmica, as que varios hilos que retiran al
+     * mismo tiempo nunca dejan el saldo en negativo. <br>
+     * <b>post: </b> Si el saldo alcanzaba, se redujo en el monto dado.
      * @param pMonto Monto de dinero a retirar de la cuenta de ahorros. pMonto > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
      */
-    public void retirarMonto( double pMonto )
+    public boolean retirarMonto( double pMonto )
     {
-        saldo = saldo - pMonto;
+        return retirarCentavos( Dinero.aCentavos( pMonto ) );
+    }
+
+    /**
+     * Retira un monto de dinero en centavos de la cuenta de ahorros si hay saldo suficiente. <br>
+     * <b>post: </b> Si el saldo alcanzaba, se redujo en el monto dado.
+     * @param pCentavos Monto de dinero a retirar en centavos. pCentavos > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
+     */
+    public boolean retirarCentavos( long pCentavos )
+    {
+        long actual = leerSaldo( );
+        while( actual >= pCentavos )
+        {
+            if( cambiarSaldo( actual, actual - pCentavos ) )
+            {
+                return true;
+            }
+            actual = leerSaldo( );
+        }
+        return false;
     }
 
     /**
      * Actualiza el saldo de la cuneta de ahorros sumndole los intereses (ha pasado un mes). <br>
-     * <b>post: </b> El saldo actual se actualiz aplicando el porcentaje de inters mensual respectivo.
+     * <b>post: </b> El saldo actual se actualiz aplicando el porcentaje de inters mensual respectivo, redondeado al centavo.
      */
     public void actualizarSaldoPorPasoMes( )
     {
-        saldo = saldo + ( saldo * interesMensual );
+        long actual = leerSaldo( );
+        while( !cambiarSaldo( actual, actual + Dinero.calcularInteres( actual, darInteresMensual( ) ) ) )
+        {
+            actual = leerSaldo( );
+        }
+    }
+
+    /**
+     * Actualiza el saldo de la cuenta de ahorros sumndole los intereses compuestos de varios meses en un solo paso. <br>
+     * El resultado se redondea al centavo una sola vez, mientras que actualizarSaldoPorPasoMes redondea cada mes; la
+     * diferencia entre los dos caminos es a lo sumo de medio centavo por mes transcurrido, ms los intereses que ese
+     * redondeo genera. <br>
+     * <b>post: </b> El saldo actual se multiplic por (1 + inters mensual) elevado a pMeses.
+     * @param pMeses Nmero de meses que pasaron. pMeses >= 0.
+     */
+    public void actualizarSaldoPorPasoMeses( int pMeses )
+    {
+        long actual = leerSaldo( );
+        while( !cambiarSaldo( actual, Dinero.capitalizar( actual, darInteresMensual( ), pMeses ) ) )
+        {
+            actual = leerSaldo( );
+        }
+    }
+
+    /**
+     * Lee el saldo de la cuenta.
+     * @return Saldo en centavos.
+     */
+    private long leerSaldo( )
+    {
+        return almacen == null ? saldo.get( ) : almacen.darLargo( cliente, AlmacenClientes.SALDO_AHORROS );
+    }
+
+    /**
+     * Suma de forma atmica una diferencia al saldo.
+     * @param pDiferencia Diferencia en centavos.
+     */
+    private void sumarSaldo( long pDiferencia )
+    {
+        if( almacen == null )
+        {
+            saldo.addAndGet( pDiferencia );
+        }
+        else
+        {
+            almacen.sumarLargo( cliente, AlmacenClientes.SALDO_AHORROS, pDiferencia );
+        }
+    }
+
+    /**
+     * Cambia de forma atmica el saldo, solo si tiene el valor esperado.
+     * @param pEsperado Saldo esperado en centavos.
+     * @param pNuevo Saldo nuevo en centavos.
+     * @return True si se cambi el saldo, false si no tena el valor esperado.
+     */
+    private boolean cambiarSaldo( long pEsperado, long pNuevo )
+    {
+        return almacen == null ? saldo.compareAndSet( pEsperado, pNuevo ) : almacen.compararYCambiarLargo( cliente, AlmacenClientes.SALDO_AHORROS, pEsperado, pNuevo );
     }
 }
\ No newline at end of file
@@ -10,8 +10,12 @@
  */
 package uniandes.cupi2.simuladorBancario.mundo;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Clase que representa la cuenta corriente de un cliente.
+ * Clase que representa la cuenta corriente de un cliente. <br>
+ * El saldo se actualiza con operaciones atmicas, as que la cuenta puede usarse desde varios hilos sin candados. El saldo
+ * puede estar en la cuenta o en el registro de un cliente de un AlmacenClientes.
  */
 public class CuentaCorriente
 {
@@ -20,9 +24,19 @@ public class CuentaCorriente
     // -----------------------------------------------------------------
 
     /**
-     * Saldo actual de la cuenta corriente.
+     * Saldo actual de la cuenta corriente, en centavos.
+     */
+    private AtomicLong saldo;
+
+    /**
+     * Almacn fuera del heap con el saldo de la cuenta, o null si el saldo est en esta cuenta.
+     */
+    private AlmacenClientes almacen;
+
+    /**
+     * Posicin del cliente en el almacn.
      */
-    private double saldo;
+    private int cliente;
 
     // -----------------------------------------------------------------
     // Mtodos
@@ -34,7 +48,20 @@ public class CuentaCorriente
      */
     public CuentaCorriente( )
     {
-        saldo = 0;
+        saldo = new AtomicLong( 0 );
+        almacen = null;
+    }
+
+    /**
+     * Inicializa una cuenta corriente cuyo saldo est en el registro de un cliente del almacn.
+     * @param pAlmacen Almacn de los clientes. pAlmacen != null.
+     * @param pCliente Posicin del cliente en el almacn.
+     */
+    CuentaCorriente( AlmacenClientes pAlmacen, int pCliente )
+    {
+        saldo = null;
+        almacen = pAlmacen;
+        cliente = pCliente;
     }
 
     /**
@@ -43,7 +70,16 @@ public class CuentaCorriente
      */
     public double darSaldo( )
     {
-        return saldo;
+        return Dinero.aPesos( leerSaldo( ) );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta del cliente en centavos. <br>
+     * @return Saldo de la cuenta corriente en centavos.
+     */
+    public long darSaldoCentavos( )
+    {
+        return leerSaldo( );
     }
 
     /**
@@ -53,16 +89,96 @@ public class CuentaCorriente
      */
     public void consignarMonto( double pMonto )
     {
-        saldo = saldo + pMonto;
+        consignarCentavos( Dinero.aCentavos( pMonto ) );
+    }
+
+    /**
+     * Consigna un monto de dinero en centavos en la cuenta del cliente. <br>
+     * <b>post: </b> El saldo se increment en el monto de dinero dado. <br>
+     * @param pCentavos Monto de dinero a consignar en centavos. pCentavos > 0.
+     */
+    public void consignarCentavos( long pCentavos )
+    {
+        sumarSaldo( pCentavos );
+    }
+
+    /**
+     * Suma al saldo una diferencia en centavos, que puede ser negativa, sin verificar el saldo. Se usa para aplicar de una
+     * vez el resultado neto de un lote de operaciones ya validado. <br>
+     * <b>post: </b> El saldo cambi en la diferencia dada.
+     * @param pDiferencia Diferencia en centavos.
+     */
+    void ajustarCentavos( long pDiferencia )
+    {
+        sumarSaldo( pDiferencia );
+    }
+
+    /**
+     * Retira un monto de dinero de la cuenta corriente si hay saldo suficiente. <br>
+     * La verificacin del saldo y el retiro se hacen en una sola operacin atmica, as que varios hilos que retiran al
+     * mismo tiempo nunca dejan el saldo en negativo. <br>
+     * <b>post: </b> Si el saldo alcanzaba, se redujo en el monto dado.
+     * @param pMonto Monto de dinero a retirar de la cuenta corriente. pMonto > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
+     */
+    public boolean retirarMonto( double pMonto )
+    {
+        return retirarCentavos( Dinero.aCentavos( pMonto ) );
+    }
+
+    /**
+     * Retira un monto de dinero en centavos de la cuenta corriente si hay saldo suficiente. <br>
+     * <b>post: </b> Si el saldo alcanzaba, se redujo en el monto dado.
+     * @param pCentavos Monto de dinero a retirar en centavos. pCentavos > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
+     */
+    public boolean retirarCentavos( long pCentavos )
+    {
+        long actual = leerSaldo( );
+        while( actual >= pCentavos )
+        {
+            if( cambiarSaldo( actual, actual - pCentavos ) )
+            {
+                return true;
+            }
+            actual = leerSaldo( );
+        }
+        return false;
+    }
+
+    /**
+     * Lee el saldo de la cuenta.
+     * @return Saldo en centavos.
+     */
+    private long leerSaldo( )
+    {
+        return almacen == null ? saldo.get( ) : almacen.darLargo( cliente, AlmacenClientes.SALDO_CORRIENTE );
+    }
+
+    /**
+     * Suma de forma atmica una diferencia al saldo.
+     * @param pDiferencia Diferencia en centavos.
+     */
+    private void sumarSaldo( long pDiferencia )
+    {
+        if( almacen == null )
+        {
+            saldo.addAndGet( pDiferencia );
+        }
+        else
+        {
+            almacen.sumarLargo( cliente, AlmacenClientes.SALDO_CORRIENTE, pDiferencia );
+        }
     }
 
     /**
-     * Retira un monto de dinero de la cuenta del cliente. <br>
-     * <b>post: </b> El saldo se redujo en el monto de dinero dado.
-     * @param pMonto Monto de dinero a retirar en la cuenta. pMonto > 0.
+     * Cambia de forma atmica el saldo, solo si tiene el valor esperado.
+     * @param pEsperado Saldo esperado en centavos.
+     * @param pNuevo Saldo nuevo en centavos.
+     * @return True si se cambi el saldo, false si no tena el valor esperado.
      */
-    public void retirarMonto( double pMonto )
+    private boolean cambiarSaldo( long pEsperado, long pNuevo )
     {
-        saldo = saldo - pMonto;
+        return almacen == null ? saldo.compareAndSet( pEsperado, pNuevo ) : almacen.compararYCambiarLargo( cliente, AlmacenClientes.SALDO_CORRIENTE, pEsperado, pNuevo );
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+/**
+ * Clase con las operaciones sobre valores de dinero en punto fijo. <br>
+ * Los saldos se guardan como un nmero entero de centavos (long), de modo que las consignaciones y los retiros son
+ * exactos. Los intereses se redondean al centavo ms cercano y, en caso de empate, al centavo par (redondeo bancario).
+ */
+public final class Dinero
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de centavos en un peso.
+     */
+    public static final int CENTAVOS_POR_PESO = 100;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Constructor privado: la clase solo tiene mtodos de clase.
+     */
+    private Dinero( )
+    {
+    }
+
+    /**
+     * Convierte un monto en pesos a centavos, redondeando al centavo ms cercano.
+     * @param pMonto Monto en pesos.
+     * @return Monto en centavos.
+     */
+    public static long aCentavos( double pMonto )
+    {
+        return Math.round( pMonto * CENTAVOS_POR_PESO );
+    }
+
+    /**
+     * Convierte un monto en centavos a pesos.
+     * @param pCentavos Monto en centavos.
+     * @return Monto en pesos.
+     */
+    public static double aPesos( long pCentavos )
+    {
+        return ( double )pCentavos / CENTAVOS_POR_PESO;
+    }
+
+    /**
+     * Calcula el inters de un monto con la tasa dada, redondeado al centavo.
+     * @param pCentavos Monto en centavos.
+     * @param pTasa Tasa de inters que se aplica al monto.
+     * @return Inters en centavos.
+     */
+    public static long calcularInteres( long pCentavos, double pTasa )
+    {
+        return ( long )Math.rint( pCentavos * pTasa );
+    }
+
+    /**
+     * Calcula el valor de un monto despus de capitalizar el inters dado durante varios meses, redondeado al centavo una
+     * sola vez al final.
+     * @param pCentavos Monto en centavos.
+     * @param pTasa Tasa de inters mensual.
+     * @param pMeses Nmero de meses. pMeses >= 0.
+     * @return Monto capitalizado en centavos.
+     */
+    public static long capitalizar( long pCentavos, double pTasa, int pMeses )
+    {
+        return ( long )Math.rint( pCentavos * Math.pow( 1 + pTasa, pMeses ) );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+/**
+ * Clase que representa una copia del estado de todos los clientes de un banco en un momento dado. <br>
+ * Cada arreglo tiene exactamente un elemento por cliente. La copia guarda tambin la posicin del registro de operaciones
+ * en ese momento, que es donde se debe empezar a reproducir el registro para llegar desde la copia al estado actual.
+ */
+public class EstadoBanco
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Posicin del registro de operaciones cuando se tom la copia, o -1 si el banco no tena registro.
+     */
+    private long posicionRegistro;
+
+    /**
+     * Cdulas de los clientes.
+     */
+    private String[] cedulas;
+
+    /**
+     * Nombres de los clientes.
+     */
+    private String[] nombres;
+
+    /**
+     * Mes actual de cada cliente.
+     */
+    private int[] mesesActuales;
+
+    /**
+     * Saldos de las cuentas corrientes, en centavos.
+     */
+    private long[] saldosCorriente;
+
+    /**
+     * Saldos de las cuentas de ahorros, en centavos.
+     */
+    private long[] saldosAhorros;
+
+    /**
+     * Intereses mensuales de las cuentas de ahorros.
+     */
+    private double[] interesesAhorros;
+
+    /**
+     * Valores invertidos en los CDT, en centavos.
+     */
+    private long[] valoresCDT;
+
+    /**
+     * Intereses mensuales de los CDT.
+     */
+    private double[] interesesCDT;
+
+    /**
+     * Meses de apertura de los CDT.
+     */
+    private int[] mesesAperturaCDT;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea la copia del estado con los arreglos dados, sin copiarlos. <br>
+     * <b>pre: </b> Todos los arreglos tienen la misma longitud.
+     * @param pPosicionRegistro Posicin del registro de operaciones, o -1 si no hay registro.
+     * @param pCedulas Cdulas de los clientes. pCedulas != null.
+     * @param pNombres Nombres de los clientes. pNombres != null.
+     * @param pMesesActuales Mes actual de cada cliente. pMesesActuales != null.
+     * @param pSaldosCorriente Saldos de las cuentas corrientes en centavos. pSaldosCorriente != null.
+     * @param pSaldosAhorros Saldos de las cuentas de ahorros en centavos. pSaldosAhorros != null.
+     * @param pInteresesAhorros Intereses de las cuentas de ahorros. pInteresesAhorros != null.
+     * @param pValoresCDT Valores de los CDT en centavos. pValoresCDT != null.
+     * @param pInteresesCDT Intereses de los CDT. pInteresesCDT != null.
+     * @param pMesesAperturaCDT Meses de apertura de los CDT. pMesesAperturaCDT != null.
+     */
+    public EstadoBanco( long pPosicionRegistro, String[] pCedulas, String[] pNombres, int[] pMesesActuales, long[] pSaldosCorriente, long[] pSaldosAhorros, double[] pInteresesAhorros, long[] pValoresCDT, double[] pInteresesCDT, int[] pMesesAperturaCDT )
+    {
+        posicionRegistro = pPosicionRegistro;
+        cedulas = pCedulas;
+        nombres = pNombres;
+        mesesActuales = pMesesActuales;
+        saldosCorriente = pSaldosCorriente;
+        saldosAhorros = pSaldosAhorros;
+        interesesAhorros = pInteresesAhorros;
+        valoresCDT = pValoresCDT;
+        interesesCDT = pInteresesCDT;
+        mesesAperturaCDT = pMesesAperturaCDT;
+    }
+
+    /**
+     * Retorna el nmero de clientes de la copia.
+     * @return Nmero de clientes.
+     */
+    public int darNumeroClientes( )
+    {
+        return cedulas.length;
+    }
+
+    /**
+     * Retorna la posicin del registro de operaciones cuando se tom la copia.
+     * @return Posicin del registro, o -1 si el banco no tena registro.
+     */
+    public long darPosicionRegistro( )
+    {
+        return posicionRegistro;
+    }
+
+    /**
+     * Retorna las cdulas de los clientes.
+     * @return Cdulas.
+     */
+    public String[] darCedulas( )
+    {
+        return cedulas;
+    }
+
+    /**
+     * Retorna los nombres de los clientes.
+     * @return Nombres.
+     */
+    public String[] darNombres( )
+    {
+        return nombres;
+    }
+
+    /**
+     * Retorna el mes actual de cada cliente.
+     * @return Meses actuales.
+     */
+    public int[] darMesesActuales( )
+    {
+        return mesesActuales;
+    }
+
+    /**
+     * Retorna los saldos de las cuentas corrientes.
+     * @return Saldos en centavos.
+     */
+    public long[] darSaldosCorriente( )
+    {
+        return saldosCorriente;
+    }
+
+    /**
+     * Retorna los saldos de las cuentas de ahorros.
+     * @return Saldos en centavos.
+     */
+    public long[] darSaldosAhorros( )
+    {
+        return saldosAhorros;
+    }
+
+    /**
+     * Retorna los intereses de las cuentas de ahorros.
+     * @return Intereses mensuales.
+     */
+    public double[] darInteresesAhorros( )
+    {
+        return interesesAhorros;
+    }
+
+    /**
+     * Retorna los valores de los CDT.
+     * @return Valores en centavos.
+     */
+    public long[] darValoresCDT( )
+    {
+        return valoresCDT;
+    }
+
+    /**
+     * Retorna los intereses de los CDT.
+     * @return Intereses mensuales.
+     */
+    public double[] darInteresesCDT( )
+    {
+        return interesesCDT;
+    }
+
+    /**
+     * Retorna los meses de apertura de los CDT.
+     * @return Meses de apertura.
+     */
+    public int[] darMesesAperturaCDT( )
+    {
+        return mesesAperturaCDT;
+    }
+}
\ No newline at end of file
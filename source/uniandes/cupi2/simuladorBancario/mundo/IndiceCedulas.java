@@ -0,0 +1,282 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Clase que representa un ndice de cdulas numricas a posiciones de clientes. <br>
+ * Una cdula como "50.152.468" se convierte en el nmero 50152468, as que la clave ocupa un long sin importar cmo se
+ * escribi la cdula. Las cdulas con ceros a la izquierda, como "007", no tienen clave, porque se confundiran con la
+ * misma cdula sin los ceros; quien usa el ndice las compara como texto. El ndice es una tabla de direccionamiento abierto con sondeo lineal sobre dos arreglos de tipos
+ * primitivos, uno de claves y otro de posiciones, de modo que no crea objetos por entrada ni convierte a Integer: cada
+ * casilla ocupa 12 bytes y la tabla se mantiene llena como mximo en sus tres cuartas partes. <br>
+ * Un solo hilo puede agregar mientras otros buscan, siempre que el ndice no tenga que crecer: la posicin se escribe
+ * antes de publicar la clave y las bsquedas leen la clave con semntica de adquisicin.
+ */
+public class IndiceCedulas
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Clave que no corresponde a ninguna cdula numrica.
+     */
+    public static final long SIN_CLAVE = -1;
+
+    /**
+     * Nmero mximo de dgitos de una cdula numrica.
+     */
+    public static final int MAXIMO_DIGITOS = 18;
+
+    /**
+     * Acceso con semntica de adquisicin y liberacin a las casillas del arreglo de claves.
+     */
+    private static final VarHandle CLAVES = MethodHandles.arrayElementVarHandle( long[].class );
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Claves de las casillas ms 1, o 0 si la casilla est vaca.
+     */
+    private long[] claves;
+
+    /**
+     * Posiciones de los clientes de las casillas.
+     */
+    private int[] posiciones;
+
+    /**
+     * Mscara para obtener la casilla de un valor de dispersin.
+     */
+    private int mascara;
+
+    /**
+     * Nmero de entradas del ndice.
+     */
+    private int numeroEntradas;
+
+    /**
+     * Nmero de entradas a partir del cual el ndice crece.
+     */
+    private int limite;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea un ndice vaco. <br>
+     * <b>post: </b> El ndice puede recibir pCapacidad entradas sin crecer.
+     * @param pCapacidad Nmero esperado de entradas. pCapacidad >= 0.
+     */
+    public IndiceCedulas( int pCapacidad )
+    {
+        int casillas = Integer.highestOneBit( Math.max( 2, ( int )Math.min( 1 << 30, pCapacidad * 4L / 3 + 1 ) ) - 1 ) << 1;
+        crearTabla( casillas );
+        numeroEntradas = 0;
+    }
+
+    /**
+     * Convierte una cdula en su clave numrica, ignorando los puntos.
+     * @param pCedula Cdula. pCedula != null.
+     * @return Clave de la cdula, o SIN_CLAVE si la cdula no tiene dgitos, tiene otros caracteres, empieza con un cero
+     *         seguido de ms dgitos o tiene ms de MAXIMO_DIGITOS dgitos.
+     */
+    public static long codificar( String pCedula )
+    {
+        long clave = 0;
+        int digitos = 0;
+        for( int i = 0; i < pCedula.length( ); i++ )
+        {
+            char c = pCedula.charAt( i );
+            if( c >= '0' && c <= '9' )
+            {
+                if( ++digitos > MAXIMO_DIGITOS || ( digitos > 1 && clave == 0 ) )
+                {
+                    return SIN_CLAVE;
+                }
+                clave = clave * 10 + ( c - '0' );
+            }
+            else if( c != '.' )
+            {
+                return SIN_CLAVE;
+            }
+        }
+        return digitos == 0 ? SIN_CLAVE : clave;
+    }
+
+    /**
+     * Convierte en su clave numrica una cdula escrita en ASCII o UTF-8 en un arreglo de bytes, con las mismas reglas que
+     * codificar( String ) y sin crear objetos.
+     * @param pBytes Arreglo con la cdula. pBytes != null.
+     * @param pDesde Posicin del primer byte de la cdula.
+     * @param pHasta Posicin siguiente al ltimo byte de la cdula.
+     * @return Clave de la cdula, o SIN_CLAVE si no tiene clave.
+     */
+    public static long codificar( byte[] pBytes, int pDesde, int pHasta )
+    {
+        long clave = 0;
+        int digitos = 0;
+        for( int i = pDesde; i < pHasta; i++ )
+        {
+            byte c = pBytes[ i ];
+            if( c >= '0' && c <= '9' )
+            {
+                if( ++digitos > MAXIMO_DIGITOS || ( digitos > 1 && clave == 0 ) )
+                {
+                    return SIN_CLAVE;
+                }
+                clave = clave * 10 + ( c - '0' );
+            }
+            else if( c != '.' )
+            {
+                return SIN_CLAVE;
+            }
+        }
+        return digitos == 0 ? SIN_CLAVE : clave;
+    }
+
+    /**
+     * Retorna el nmero de entradas del ndice.
+     * @return Nmero de entradas.
+     */
+    public int darNumeroEntradas( )
+    {
+        return numeroEntradas;
+    }
+
+    /**
+     * Retorna el nmero de casillas de la tabla.
+     * @return Nmero de casillas.
+     */
+    public int darNumeroCasillas( )
+    {
+        return claves.length;
+    }
+
+    /**
+     * Busca la posicin del cliente con la clave dada.
+     * @param pClave Clave de la cdula. pClave >= 0.
+     * @return Posicin del cliente, o -1 si la clave no est en el ndice.
+     */
+    public int buscar( long pClave )
+    {
+        long guardada = pClave + 1;
+        long[] c = claves;
+        int m = mascara;
+        int casilla = dispersar( guardada ) & m;
+        while( true )
+        {
+            long clave = ( long )CLAVES.getAcquire( c, casilla );
+            if( clave == guardada )
+            {
+                return posiciones[ casilla ];
+            }
+            if( clave == 0 )
+            {
+                return -1;
+            }
+            casilla = ( casilla + 1 ) & m;
+        }
+    }
+
+    /**
+     * Busca la posicin del cliente con la cdula dada.
+     * @param pCedula Cdula. pCedula != null.
+     * @return Posicin del cliente, o -1 si la cdula no es numrica o no est en el ndice.
+     */
+    public int buscar( String pCedula )
+    {
+        long clave = codificar( pCedula );
+        return clave == SIN_CLAVE ? -1 : buscar( clave );
+    }
+
+    /**
+     * Agrega una entrada al ndice si la clave no estaba. <br>
+     * <b>post: </b> La clave qued asociada a la posicin dada, o a la que ya tena.
+     * @param pClave Clave de la cdula. pClave >= 0.
+     * @param pPosicion Posicin del cliente. pPosicion >= 0.
+     * @return True si se agreg la entrada, false si la clave ya estaba.
+     */
+    public boolean agregar( long pClave, int pPosicion )
+    {
+        if( numeroEntradas >= limite )
+        {
+            crecer( );
+        }
+        long guardada = pClave + 1;
+        int casilla = dispersar( guardada ) & mascara;
+        while( claves[ casilla ] != 0 )
+        {
+            if( claves[ casilla ] == guardada )
+            {
+                return false;
+            }
+            casilla = ( casilla + 1 ) & mascara;
+        }
+        posiciones[ casilla ] = pPosicion;
+        CLAVES.setRelease( claves, casilla, guardada );
+        numeroEntradas++;
+        return true;
+    }
+
+    /**
+     * Crea una tabla vaca con el nmero de casillas dado.
+     * @param pCasillas Nmero de casillas. Es una potencia de 2.
+     */
+    private void crearTabla( int pCasillas )
+    {
+        claves = new long[pCasillas];
+        posiciones = new int[pCasillas];
+        mascara = pCasillas - 1;
+        limite = ( int )( pCasillas * 3L / 4 );
+    }
+
+    /**
+     * Duplica el nmero de casillas y vuelve a ubicar todas las entradas.
+     */
+    private void crecer( )
+    {
+        long[] clavesAnteriores = claves;
+        int[] posicionesAnteriores = posiciones;
+        crearTabla( claves.length * 2 );
+        for( int i = 0; i < clavesAnteriores.length; i++ )
+        {
+            long guardada = clavesAnteriores[ i ];
+            if( guardada != 0 )
+            {
+                int casilla = dispersar( guardada ) & mascara;
+                while( claves[ casilla ] != 0 )
+                {
+                    casilla = ( casilla + 1 ) & mascara;
+                }
+                claves[ casilla ] = guardada;
+                posiciones[ casilla ] = posicionesAnteriores[ i ];
+            }
+        }
+    }
+
+    /**
+     * Mezcla los bits de una clave para repartir las cdulas consecutivas por toda la tabla.
+     * @param pClave Clave guardada.
+     * @return Valor de dispersin.
+     */
+    private static int dispersar( long pClave )
+    {
+        long h = pClave * 0x9E3779B97F4A7C15L;
+        return ( int )( h ^ ( h >>> 32 ) );
+    }
+}
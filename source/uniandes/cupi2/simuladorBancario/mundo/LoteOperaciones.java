@@ -0,0 +1,287 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+/**
+ * Clase que representa un lote de operaciones que se aplican juntas. <br>
+ * Las operaciones se guardan por columnas en arreglos de tipos primitivos y el lote se puede limpiar y volver a llenar, as
+ * que aplicar miles de operaciones no crea ningn objeto. Despus de aplicar el lote cada operacin tiene un estado.
+ */
+public class LoteOperaciones
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * La operacin todava no se ha aplicado.
+     */
+    public static final byte ESTADO_PENDIENTE = 0;
+
+    /**
+     * La operacin se aplic.
+     */
+    public static final byte ESTADO_APLICADA = 1;
+
+    /**
+     * La operacin no se aplic porque no haba saldo suficiente.
+     */
+    public static final byte ESTADO_SALDO_INSUFICIENTE = 2;
+
+    /**
+     * La operacin no se aplic porque su cdigo o sus datos no son vlidos.
+     */
+    public static final byte ESTADO_INVALIDA = 3;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Cdigos de las operaciones. Son valores de Operacion.
+     */
+    private int[] codigos;
+
+    /**
+     * Datos auxiliares: productos empacados en las transferencias y nmero de meses al avanzar varios meses.
+     */
+    private int[] auxiliares;
+
+    /**
+     * Montos de las operaciones, en centavos.
+     */
+    private long[] montos;
+
+    /**
+     * Intereses de las inversiones en CDT.
+     */
+    private double[] tasas;
+
+    /**
+     * Estados de las operaciones.
+     */
+    private byte[] estados;
+
+    /**
+     * Nmero de operaciones del lote.
+     */
+    private int numeroOperaciones;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea un lote vaco. <br>
+     * <b>post: </b> Se reserv espacio para pCapacidad operaciones y el lote no tiene operaciones.
+     * @param pCapacidad Nmero mximo de operaciones del lote. pCapacidad > 0.
+     */
+    public LoteOperaciones( int pCapacidad )
+    {
+        codigos = new int[pCapacidad];
+        auxiliares = new int[pCapacidad];
+        montos = new long[pCapacidad];
+        tasas = new double[pCapacidad];
+        estados = new byte[pCapacidad];
+        numeroOperaciones = 0;
+    }
+
+    /**
+     * Retorna el nmero mximo de operaciones del lote.
+     * @return Capacidad del lote.
+     */
+    public int darCapacidad( )
+    {
+        return codigos.length;
+    }
+
+    /**
+     * Retorna el nmero de operaciones del lote.
+     * @return Nmero de operaciones.
+     */
+    public int darNumeroOperaciones( )
+    {
+        return numeroOperaciones;
+    }
+
+    /**
+     * Agrega una operacin al final del lote. <br>
+     * <b>post: </b> La operacin qued pendiente en la ltima posicin del lote.
+     * @param pCodigo Cdigo de la operacin. Es uno de los valores de Operacion.
+     * @param pAuxiliar Productos empacados de una transferencia, nmero de meses al avanzar varios meses, o 0.
+     * @param pCentavos Monto en centavos, o 0.
+     * @param pTasa Inters de una inversin en CDT, o 0.
+     * @return Posicin de la operacin en el lote.
+     * @throws IllegalStateException Si el lote est lleno.
+     */
+    public int agregar( int pCodigo, int pAuxiliar, long pCentavos, double pTasa )
+    {
+        if( numeroOperaciones == codigos.length )
+        {
+            throw new IllegalStateException( "El lote no tiene capacidad para ms operaciones." );
+        }
+        int i = numeroOperaciones;
+        codigos[ i ] = pCodigo;
+        auxiliares[ i ] = pAuxiliar;
+        montos[ i ] = pCentavos;
+        tasas[ i ] = pTasa;
+        estados[ i ] = ESTADO_PENDIENTE;
+        numeroOperaciones++;
+        return i;
+    }
+
+    /**
+     * Agrega una operacin sin datos auxiliares ni inters.
+     * @param pCodigo Cdigo de la operacin. Es uno de los valores de Operacion.
+     * @param pCentavos Monto en centavos, o 0.
+     * @return Posicin de la operacin en el lote.
+     * @throws IllegalStateException Si el lote est lleno.
+     */
+    public int agregar( int pCodigo, long pCentavos )
+    {
+        return agregar( pCodigo, 0, pCentavos, 0 );
+    }
+
+    /**
+     * Agrega una transferencia entre productos.
+     * @param pProductoOrigen Producto de origen. Es Banco.PRODUCTO_CORRIENTE o Banco.PRODUCTO_AHORROS.
+     * @param pProductoDestino Producto de destino. Es Banco.PRODUCTO_CORRIENTE o Banco.PRODUCTO_AHORROS.
+     * @param pCentavos Monto en centavos.
+     * @return Posicin de la operacin en el lote.
+     * @throws IllegalStateException Si el lote est lleno.
+     */
+    public int agregarTransferencia( int pProductoOrigen, int pProductoDestino, long pCentavos )
+    {
+        return agregar( Operacion.TRANSFERIR, Operacion.empacarProductos( pProductoOrigen, pProductoDestino ), pCentavos, 0 );
+    }
+
+    /**
+     * Quita todas las operaciones del lote para volver a llenarlo. <br>
+     * <b>post: </b> El lote no tiene operaciones.
+     */
+    public void limpiar( )
+    {
+        numeroOperaciones = 0;
+    }
+
+    /**
+     * Retorna el cdigo de una operacin.
+     * @param pOperacion Posicin de la operacin. 0 <= pOperacion < darNumeroOperaciones().
+     * @return Cdigo de la operacin.
+     */
+    public int darCodigo( int pOperacion )
+    {
+        return codigos[ pOperacion ];
+    }
+
+    /**
+     * Retorna el dato auxiliar de una operacin.
+     * @param pOperacion Posicin de la operacin. 0 <= pOperacion < darNumeroOperaciones().
+     * @return Dato auxiliar.
+     */
+    public int darAuxiliar( int pOperacion )
+    {
+        return auxiliares[ pOperacion ];
+    }
+
+    /**
+     * Retorna el monto de una operacin.
+     * @param pOperacion Posicin de la operacin. 0 <= pOperacion < darNumeroOperaciones().
+     * @return Monto en centavos.
+     */
+    public long darCentavos( int pOperacion )
+    {
+        return montos[ pOperacion ];
+    }
+
+    /**
+     * Retorna el inters de una operacin.
+     * @param pOperacion Posicin de la operacin. 0 <= pOperacion < darNumeroOperaciones().
+     * @return Inters de la operacin.
+     */
+    public double darTasa( int pOperacion )
+    {
+        return tasas[ pOperacion ];
+    }
+
+    /**
+     * Retorna el estado de una operacin.
+     * @param pOperacion Posicin de la operacin. 0 <= pOperacion < darNumeroOperaciones().
+     * @return Estado de la operacin. Es uno de los valores ESTADO_ de esta clase.
+     */
+    public byte darEstado( int pOperacion )
+    {
+        return estados[ pOperacion ];
+    }
+
+    /**
+     * Cuenta las operaciones del lote que tienen el estado dado.
+     * @param pEstado Estado a contar.
+     * @return Nmero de operaciones con ese estado.
+     */
+    public int contarEstado( byte pEstado )
+    {
+        int total = 0;
+        for( int i = 0; i < numeroOperaciones; i++ )
+        {
+            if( estados[ i ] == pEstado )
+            {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Retorna los cdigos de las operaciones, para recorrerlos sin llamar un mtodo por operacin.
+     * @return Arreglo de cdigos. Solo las primeras darNumeroOperaciones() posiciones son del lote.
+     */
+    int[] darCodigos( )
+    {
+        return codigos;
+    }
+
+    /**
+     * Retorna los datos auxiliares de las operaciones.
+     * @return Arreglo de datos auxiliares.
+     */
+    int[] darAuxiliares( )
+    {
+        return auxiliares;
+    }
+
+    /**
+     * Retorna los montos de las operaciones.
+     * @return Arreglo de montos en centavos.
+     */
+    long[] darMontos( )
+    {
+        return montos;
+    }
+
+    /**
+     * Retorna los intereses de las operaciones.
+     * @return Arreglo de intereses.
+     */
+    double[] darTasas( )
+    {
+        return tasas;
+    }
+
+    /**
+     * Retorna los estados de las operaciones, para que quien aplica el lote los cambie.
+     * @return Arreglo de estados.
+     */
+    byte[] darEstados( )
+    {
+        return estados;
+    }
+}
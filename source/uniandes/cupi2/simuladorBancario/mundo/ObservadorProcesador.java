@@ -0,0 +1,30 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+/**
+ * Interfaz de quienes reciben el resultado de cada operacin que aplica un ProcesadorAnillo. <br>
+ * El observador se llama desde el hilo escritor de la particin de la operacin, justo despus de aplicarla, as que debe
+ * terminar rpido y no crear objetos si se quiere que el procesador tampoco los cree. Las llamadas de una misma particin
+ * llegan en el orden en que se publicaron las operaciones.
+ */
+public interface ObservadorProcesador
+{
+    /**
+     * Recibe el resultado de una operacin.
+     * @param pParticion Particin que aplic la operacin.
+     * @param pCliente Posicin del cliente de la operacin.
+     * @param pCodigo Cdigo de la operacin. Es uno de los valores de Operacion.
+     * @param pEstado Estado de la operacin. Es uno de los valores ESTADO_ de LoteOperaciones.
+     * @param pMarca Marca que dio el productor al publicar la operacin.
+     */
+    void operacionAplicada( int pParticion, int pCliente, int pCodigo, byte pEstado, long pMarca );
+}
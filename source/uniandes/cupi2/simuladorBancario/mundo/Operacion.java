@@ -0,0 +1,119 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+/**
+ * Clase con los cdigos de las operaciones que modifican el estado de un banco. <br>
+ * Los cdigos se usan para registrar las operaciones y para pedirlas en bloque, por eso no deben cambiar de valor.
+ */
+public final class Operacion
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Registro de un cliente nuevo.
+     */
+    public static final int AGREGAR_CLIENTE = 1;
+
+    /**
+     * Consignacin en la cuenta corriente.
+     */
+    public static final int CONSIGNAR_CORRIENTE = 2;
+
+    /**
+     * Consignacin en la cuenta de ahorros.
+     */
+    public static final int CONSIGNAR_AHORROS = 3;
+
+    /**
+     * Retiro de la cuenta corriente.
+     */
+    public static final int RETIRAR_CORRIENTE = 4;
+
+    /**
+     * Retiro de la cuenta de ahorros.
+     */
+    public static final int RETIRAR_AHORROS = 5;
+
+    /**
+     * Inversin en un CDT.
+     */
+    public static final int INVERTIR_CDT = 6;
+
+    /**
+     * Cierre de un CDT.
+     */
+    public static final int CERRAR_CDT = 7;
+
+    /**
+     * Avance de un mes en la simulacin de un cliente.
+     */
+    public static final int AVANZAR_MES = 8;
+
+    /**
+     * Avance de varios meses en la simulacin de un cliente.
+     */
+    public static final int AVANZAR_MESES = 9;
+
+    /**
+     * Avance de un mes en la simulacin de todos los clientes del banco.
+     */
+    public static final int AVANZAR_MES_BANCO = 10;
+
+    /**
+     * Transferencia entre dos cuentas. Los productos de origen y destino se anotan empacados con empacarProductos.
+     */
+    public static final int TRANSFERIR = 11;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Constructor privado: la clase solo tiene constantes.
+     */
+    private Operacion( )
+    {
+    }
+
+    /**
+     * Empaca los productos de origen y destino de una transferencia en un solo entero.
+     * @param pProductoOrigen Producto de origen. Es Banco.PRODUCTO_CORRIENTE o Banco.PRODUCTO_AHORROS.
+     * @param pProductoDestino Producto de destino. Es Banco.PRODUCTO_CORRIENTE o Banco.PRODUCTO_AHORROS.
+     * @return Productos empacados.
+     */
+    public static int empacarProductos( int pProductoOrigen, int pProductoDestino )
+    {
+        return ( pProductoOrigen << 4 ) | pProductoDestino;
+    }
+
+    /**
+     * Retorna el producto de origen de unos productos empacados.
+     * @param pProductos Productos empacados con empacarProductos.
+     * @return Producto de origen.
+     */
+    public static int darProductoOrigen( int pProductos )
+    {
+        return pProductos >>> 4;
+    }
+
+    /**
+     * Retorna el producto de destino de unos productos empacados.
+     * @param pProductos Productos empacados con empacarProductos.
+     * @return Producto de destino.
+     */
+    public static int darProductoDestino( int pProductos )
+    {
+        return pProductos & 0xF;
+    }
+}
\ No newline at end of file
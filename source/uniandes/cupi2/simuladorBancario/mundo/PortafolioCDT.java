@@ -0,0 +1,476 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Clase que representa un portafolio de CDT de un cliente, cada uno con un plazo en meses. <br>
+ * Los CDT se guardan por columnas y se indexan por su mes de vencimiento en una rueda de TAMANO_RUEDA casillas: la casilla
+ * de un mes tiene la lista de los CDT que vencen ese mes, y los que vencen ms all del alcance de la rueda esperan en una
+ * cola de prioridad hasta que les llega el turno. As, al avanzar los meses solo se visitan los CDT que vencen, sin
+ * recorrer el resto del portafolio. <br>
+ * Un CDT que vence se cierra con el inters de todo su plazo. Los identificadores de los CDT cerrados se reutilizan. <br>
+ * Los CDT abiertos se resumen adems en un AgregadoCDT, as que el valor presente del portafolio se consulta sin
+ * recorrerlos.
+ */
+public class PortafolioCDT
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de meses que cubre la rueda de vencimientos. Es una potencia de 2 y alcanza para los plazos usuales, hasta 42
+     * aos.
+     */
+    public static final int TAMANO_RUEDA = 512;
+
+    /**
+     * Mscara para obtener la casilla de la rueda de un mes.
+     */
+    private static final int MASCARA_RUEDA = TAMANO_RUEDA - 1;
+
+    /**
+     * Capacidad inicial de las columnas.
+     */
+    private static final int CAPACIDAD_INICIAL = 8;
+
+    /**
+     * La posicin est libre.
+     */
+    private static final byte LIBRE = 0;
+
+    /**
+     * El CDT est en la rueda de vencimientos.
+     */
+    private static final byte EN_RUEDA = 1;
+
+    /**
+     * El CDT est en la cola de espera porque vence despus del alcance de la rueda.
+     */
+    private static final byte EN_ESPERA = 2;
+
+    /**
+     * El CDT se cerr antes de vencer mientras estaba en la cola de espera; la posicin se libera cuando sale de la cola.
+     */
+    private static final byte CERRADO_EN_ESPERA = 3;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Mes actual del portafolio.
+     */
+    private int mesActual;
+
+    /**
+     * Valores invertidos de los CDT, en centavos.
+     */
+    private long[] valores;
+
+    /**
+     * Intereses mensuales de los CDT.
+     */
+    private double[] intereses;
+
+    /**
+     * Meses de apertura de los CDT.
+     */
+    private int[] mesesApertura;
+
+    /**
+     * Meses de vencimiento de los CDT.
+     */
+    private int[] mesesVencimiento;
+
+    /**
+     * Ubicacin de cada posicin: LIBRE, EN_RUEDA, EN_ESPERA o CERRADO_EN_ESPERA.
+     */
+    private byte[] ubicaciones;
+
+    /**
+     * Siguiente CDT en la lista de su casilla, o siguiente posicin libre. -1 si no hay.
+     */
+    private int[] siguientes;
+
+    /**
+     * CDT anterior en la lista de su casilla. -1 si es el primero.
+     */
+    private int[] anteriores;
+
+    /**
+     * Primer CDT de la lista de cada casilla de la rueda. -1 si la casilla est vaca.
+     */
+    private int[] rueda;
+
+    /**
+     * CDT que vencen despus del alcance de la rueda, ordenados por mes de vencimiento. Cada elemento tiene el mes en los
+     * 32 bits altos y la posicin en los bajos.
+     */
+    private PriorityQueue<Long> espera;
+
+    /**
+     * Primera posicin libre para reutilizar. -1 si no hay.
+     */
+    private int primeraLibre;
+
+    /**
+     * Nmero de posiciones usadas alguna vez.
+     */
+    private int numeroPosiciones;
+
+    /**
+     * Resumen de los CDT abiertos.
+     */
+    private AgregadoCDT agregado;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea un portafolio vaco. <br>
+     * <b>post: </b> El portafolio no tiene CDT y est en el mes dado.
+     * @param pMesActual Mes actual del cliente.
+     */
+    public PortafolioCDT( int pMesActual )
+    {
+        mesActual = pMesActual;
+        valores = new long[CAPACIDAD_INICIAL];
+        intereses = new double[CAPACIDAD_INICIAL];
+        mesesApertura = new int[CAPACIDAD_INICIAL];
+        mesesVencimiento = new int[CAPACIDAD_INICIAL];
+        ubicaciones = new byte[CAPACIDAD_INICIAL];
+        siguientes = new int[CAPACIDAD_INICIAL];
+        anteriores = new int[CAPACIDAD_INICIAL];
+        rueda = new int[TAMANO_RUEDA];
+        Arrays.fill( rueda, -1 );
+        espera = new PriorityQueue<>( );
+        primeraLibre = -1;
+        numeroPosiciones = 0;
+        agregado = new AgregadoCDT( );
+    }
+
+    /**
+     * Retorna el mes actual del portafolio.
+     * @return Mes actual.
+     */
+    public int darMesActual( )
+    {
+        return mesActual;
+    }
+
+    /**
+     * Retorna el nmero de CDT abiertos.
+     * @return Nmero de CDT.
+     */
+    public int darNumeroCDT( )
+    {
+        return agregado.darNumeroCDT( );
+    }
+
+    /**
+     * Indica si un identificador corresponde a un CDT abierto.
+     * @param pCDT Identificador del CDT.
+     * @return True si el CDT est abierto, false si no.
+     */
+    public boolean estaAbierto( int pCDT )
+    {
+        return pCDT >= 0 && pCDT < numeroPosiciones && ( ubicaciones[ pCDT ] == EN_RUEDA || ubicaciones[ pCDT ] == EN_ESPERA );
+    }
+
+    /**
+     * Retorna el valor invertido de un CDT.
+     * @param pCDT Identificador de un CDT abierto.
+     * @return Valor invertido en centavos.
+     */
+    public long darValorInvertidoCentavos( int pCDT )
+    {
+        return valores[ pCDT ];
+    }
+
+    /**
+     * Retorna el inters mensual de un CDT.
+     * @param pCDT Identificador de un CDT abierto.
+     * @return Inters mensual.
+     */
+    public double darInteresMensual( int pCDT )
+    {
+        return intereses[ pCDT ];
+    }
+
+    /**
+     * Retorna el mes de apertura de un CDT.
+     * @param pCDT Identificador de un CDT abierto.
+     * @return Mes de apertura.
+     */
+    public int darMesApertura( int pCDT )
+    {
+        return mesesApertura[ pCDT ];
+    }
+
+    /**
+     * Retorna el mes de vencimiento de un CDT.
+     * @param pCDT Identificador de un CDT abierto.
+     * @return Mes de vencimiento.
+     */
+    public int darMesVencimiento( int pCDT )
+    {
+        return mesesVencimiento[ pCDT ];
+    }
+
+    /**
+     * Calcula el valor presente de un CDT en el mes actual.
+     * @param pCDT Identificador de un CDT abierto.
+     * @return Valor presente en centavos.
+     */
+    public long calcularValorPresenteCentavos( int pCDT )
+    {
+        return calcularValor( pCDT, mesActual );
+    }
+
+    /**
+     * Retorna el resumen de los CDT abiertos.
+     * @return Agregado de los CDT abiertos.
+     */
+    public AgregadoCDT darAgregado( )
+    {
+        return agregado;
+    }
+
+    /**
+     * Calcula el valor presente de todos los CDT abiertos en el mes actual, sin recorrerlos. <br>
+     * El resultado se redondea una sola vez, como se explica en AgregadoCDT.
+     * @return Valor presente del portafolio en centavos.
+     */
+    public long calcularValorPresenteTotalCentavos( )
+    {
+        return agregado.calcularValorPresenteCentavos( mesActual );
+    }
+
+    /**
+     * Abre un CDT en el mes actual. <br>
+     * <b>post: </b> El CDT qued abierto e indexado por su mes de vencimiento.
+     * @param pCentavos Valor invertido en centavos. pCentavos > 0.
+     * @param pInteresMensual Inters mensual del CDT. pInteresMensual > 0.
+     * @param pPlazo Plazo del CDT en meses. pPlazo > 0.
+     * @return Identificador del CDT.
+     * @throws IllegalArgumentException Si el plazo no es positivo.
+     */
+    public int abrir( long pCentavos, double pInteresMensual, int pPlazo )
+    {
+        if( pPlazo <= 0 )
+        {
+            throw new IllegalArgumentException( "El plazo del CDT debe ser de al menos un mes." );
+        }
+        int cdt = reservarPosicion( );
+        valores[ cdt ] = pCentavos;
+        intereses[ cdt ] = pInteresMensual;
+        mesesApertura[ cdt ] = mesActual;
+        mesesVencimiento[ cdt ] = mesActual + pPlazo;
+        ubicar( cdt );
+        agregado.agregar( pCentavos, pInteresMensual, mesActual );
+        return cdt;
+    }
+
+    /**
+     * Cierra un CDT antes de su vencimiento y retorna su valor presente. <br>
+     * <b>post: </b> El CDT qued cerrado y su identificador se puede reutilizar.
+     * @param pCDT Identificador del CDT.
+     * @return Valor de cierre en centavos.
+     * @throws IllegalArgumentException Si el CDT no est abierto.
+     */
+    public long cerrar( int pCDT )
+    {
+        if( !estaAbierto( pCDT ) )
+        {
+            throw new IllegalArgumentException( "El CDT " + pCDT + " no est abierto." );
+        }
+        long valorCierre = calcularValor( pCDT, mesActual );
+        agregado.quitar( valores[ pCDT ], intereses[ pCDT ], mesesApertura[ pCDT ] );
+        if( ubicaciones[ pCDT ] == EN_RUEDA )
+        {
+            quitarDeRueda( pCDT );
+            liberar( pCDT );
+        }
+        else
+        {
+            ubicaciones[ pCDT ] = CERRADO_EN_ESPERA;
+        }
+        return valorCierre;
+    }
+
+    /**
+     * Avanza el portafolio hasta el mes dado y cierra los CDT que vencen hasta ese mes, cada uno con el inters de todo su
+     * plazo. Solo se visitan las casillas de la rueda de los meses avanzados, como mximo TAMANO_RUEDA, y los CDT que
+     * vencen. <br>
+     * <b>post: </b> El portafolio est en el mes dado y no tiene CDT vencidos.
+     * @param pMes Nuevo mes. pMes >= darMesActual().
+     * @return Suma de los valores de cierre de los CDT vencidos, en centavos.
+     */
+    public long avanzarHasta( int pMes )
+    {
+        long pagado = 0;
+        // Los CDT de la cola de espera que vencen antes del nuevo mes no alcanzan a pasar por la rueda
+        while( !espera.isEmpty( ) && ( int )( espera.peek( ) >>> 32 ) <= pMes )
+        {
+            int cdt = ( int )( long )espera.poll( );
+            if( ubicaciones[ cdt ] == EN_ESPERA )
+            {
+                pagado += vencer( cdt );
+            }
+            liberar( cdt );
+        }
+        int meses = Math.min( pMes - mesActual, TAMANO_RUEDA );
+        for( int mes = mesActual + 1; mes <= mesActual + meses; mes++ )
+        {
+            int casilla = mes & MASCARA_RUEDA;
+            int cdt = rueda[ casilla ];
+            rueda[ casilla ] = -1;
+            while( cdt != -1 )
+            {
+                int siguiente = siguientes[ cdt ];
+                pagado += vencer( cdt );
+                liberar( cdt );
+                cdt = siguiente;
+            }
+        }
+        mesActual = pMes;
+        // Pasan a la rueda los CDT que ahora vencen dentro de su alcance
+        while( !espera.isEmpty( ) && ( int )( espera.peek( ) >>> 32 ) <= mesActual + TAMANO_RUEDA )
+        {
+            int cdt = ( int )( long )espera.poll( );
+            if( ubicaciones[ cdt ] == EN_ESPERA )
+            {
+                ubicar( cdt );
+            }
+            else
+            {
+                liberar( cdt );
+            }
+        }
+        return pagado;
+    }
+
+    /**
+     * Quita del agregado un CDT que vence y calcula su valor de cierre con el inters de todo su plazo.
+     * @param pCDT Posicin del CDT.
+     * @return Valor de cierre en centavos.
+     */
+    private long vencer( int pCDT )
+    {
+        agregado.quitar( valores[ pCDT ], intereses[ pCDT ], mesesApertura[ pCDT ] );
+        return calcularValor( pCDT, mesesVencimiento[ pCDT ] );
+    }
+
+    /**
+     * Calcula el valor de un CDT en un mes, con inters simple sobre los meses transcurridos desde la apertura.
+     * @param pCDT Posicin del CDT.
+     * @param pMes Mes del clculo.
+     * @return Valor en centavos.
+     */
+    private long calcularValor( int pCDT, int pMes )
+    {
+        long valor = valores[ pCDT ];
+        return valor + Dinero.calcularInteres( valor, ( pMes - mesesApertura[ pCDT ] ) * intereses[ pCDT ] );
+    }
+
+    /**
+     * Pone un CDT en la casilla de su mes de vencimiento si est al alcance de la rueda, o en la cola de espera si no.
+     * @param pCDT Posicin del CDT.
+     */
+    private void ubicar( int pCDT )
+    {
+        int vencimiento = mesesVencimiento[ pCDT ];
+        if( vencimiento - mesActual <= TAMANO_RUEDA )
+        {
+            int casilla = vencimiento & MASCARA_RUEDA;
+            int primero = rueda[ casilla ];
+            siguientes[ pCDT ] = primero;
+            anteriores[ pCDT ] = -1;
+            if( primero != -1 )
+            {
+                anteriores[ primero ] = pCDT;
+            }
+            rueda[ casilla ] = pCDT;
+            ubicaciones[ pCDT ] = EN_RUEDA;
+        }
+        else
+        {
+            espera.add( ( ( long )vencimiento << 32 ) | pCDT );
+            ubicaciones[ pCDT ] = EN_ESPERA;
+        }
+    }
+
+    /**
+     * Quita un CDT de la lista de su casilla.
+     * @param pCDT Posicin de un CDT que est en la rueda.
+     */
+    private void quitarDeRueda( int pCDT )
+    {
+        int anterior = anteriores[ pCDT ];
+        int siguiente = siguientes[ pCDT ];
+        if( anterior == -1 )
+        {
+            rueda[ mesesVencimiento[ pCDT ] & MASCARA_RUEDA ] = siguiente;
+        }
+        else
+        {
+            siguientes[ anterior ] = siguiente;
+        }
+        if( siguiente != -1 )
+        {
+            anteriores[ siguiente ] = anterior;
+        }
+    }
+
+    /**
+     * Retorna una posicin libre, reutilizando las de CDT cerrados y ampliando las columnas si es necesario.
+     * @return Posicin libre.
+     */
+    private int reservarPosicion( )
+    {
+        if( primeraLibre != -1 )
+        {
+            int posicion = primeraLibre;
+            primeraLibre = siguientes[ posicion ];
+            return posicion;
+        }
+        if( numeroPosiciones == valores.length )
+        {
+            int capacidad = valores.length * 2;
+            valores = Arrays.copyOf( valores, capacidad );
+            intereses = Arrays.copyOf( intereses, capacidad );
+            mesesApertura = Arrays.copyOf( mesesApertura, capacidad );
+            mesesVencimiento = Arrays.copyOf( mesesVencimiento, capacidad );
+            ubicaciones = Arrays.copyOf( ubicaciones, capacidad );
+            siguientes = Arrays.copyOf( siguientes, capacidad );
+            anteriores = Arrays.copyOf( anteriores, capacidad );
+        }
+        return numeroPosiciones++;
+    }
+
+    /**
+     * Libera la posicin de un CDT cerrado para reutilizarla.
+     * @param pCDT Posicin del CDT.
+     */
+    private void liberar( int pCDT )
+    {
+        valores[ pCDT ] = 0;
+        intereses[ pCDT ] = 0;
+        ubicaciones[ pCDT ] = LIBRE;
+        siguientes[ pCDT ] = primeraLibre;
+        primeraLibre = pCDT;
+    }
+}
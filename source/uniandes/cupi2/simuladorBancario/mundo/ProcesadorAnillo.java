@@ -0,0 +1,520 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Clase que aplica las operaciones de un banco con un solo hilo escritor por particin. <br>
+ * Los clientes se reparten en particiones por su franja de candados, as que cada franja pertenece a una sola particin y
+ * los candados del banco nunca se disputan entre escritores. Cada particin tiene un anillo de capacidad fija, reservado
+ * al crear el procesador, con los datos de las operaciones por columnas como en LoteOperaciones. <br>
+ * Un productor publica una operacin tomando la siguiente posicin del anillo con un incremento atmico, escribiendo los
+ * datos y marcando la posicin como publicada; no toma candados ni crea objetos. Si el anillo est lleno, el productor
+ * espera activamente a que el escritor libere posiciones. El escritor aplica las operaciones publicadas en orden, libera
+ * las posiciones que ya aplic y entrega cada resultado al observador, si lo hay. <br>
+ * Las operaciones que acepta son consignar, retirar, invertir y cerrar el CDT y avanzar uno o varios meses de un cliente.
+ * Las transferencias y el avance de mes de todo el banco no se publican en el anillo porque tocan varias particiones. <br>
+ * Si el banco o el observador lanzan una excepcin al aplicar una operacin, por ejemplo porque el registro del banco est
+ * lleno, la operacin queda invlida, la excepcin se guarda para consultarla con darError y el escritor sigue con las
+ * operaciones siguientes, as que los productores y esperarAplicadas nunca esperan a un escritor que ya no existe.
+ */
+public class ProcesadorAnillo
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Capacidad por defecto del anillo de cada particin.
+     */
+    public static final int CAPACIDAD_ANILLO = 1 << 16;
+
+    /**
+     * Nmero mximo de operaciones que el escritor aplica antes de liberar sus posiciones a los productores.
+     */
+    private static final int LOTE_ESCRITOR = 256;
+
+    /**
+     * Nmero de vueltas que el escritor espera activamente sin operaciones antes de ceder el procesador.
+     */
+    private static final int VUELTAS_ACTIVAS = 100;
+
+    /**
+     * Nmero de vueltas sin operaciones despus de las cuales el escritor se duerme entre revisiones.
+     */
+    private static final int VUELTAS_CEDIDAS = 1000;
+
+    /**
+     * Tiempo que duerme el escritor entre revisiones cuando no hay operaciones, en nanosegundos.
+     */
+    private static final long ESPERA_INACTIVO = 50000;
+
+    /**
+     * Acceso con semntica de adquisicin y liberacin a las secuencias publicadas de los anillos.
+     */
+    private static final VarHandle PUBLICADAS = MethodHandles.arrayElementVarHandle( long[].class );
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco sobre el que se aplican las operaciones.
+     */
+    private Banco banco;
+
+    /**
+     * Anillos de las particiones.
+     */
+    private Anillo[] anillos;
+
+    /**
+     * Mscara que da la particin de un cliente.
+     */
+    private int mascara;
+
+    /**
+     * Observador de los resultados, o null si no hay.
+     */
+    private ObservadorProcesador observador;
+
+    /**
+     * Indica si se pidi detener los escritores.
+     */
+    private volatile boolean detenido;
+
+    /**
+     * ltima excepcin lanzada al aplicar una operacin, o null si no ha habido.
+     */
+    private volatile RuntimeException error;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea el procesador y arranca un hilo escritor por particin. <br>
+     * <b>pre: </b> Mientras el procesador est activo, los clientes del banco solo se modifican a travs de l, salvo por
+     * agregar clientes nuevos.
+     * @param pBanco Banco sobre el que se aplican las operaciones. pBanco != null.
+     * @param pParticiones Nmero mnimo de particiones. Se redondea a una potencia de dos, sin pasar de
+     *        Banco.FRANJAS_CANDADOS. pParticiones > 0.
+     * @param pCapacidad Nmero mnimo de operaciones de cada anillo. Se redondea a una potencia de dos. pCapacidad > 0.
+     * @param pObservador Observador de los resultados, o null si no se necesitan.
+     */
+    public ProcesadorAnillo( Banco pBanco, int pParticiones, int pCapacidad, ObservadorProcesador pObservador )
+    {
+        banco = pBanco;
+        observador = pObservador;
+        detenido = false;
+        error = null;
+        int particiones = Math.min( redondear( pParticiones ), Banco.FRANJAS_CANDADOS );
+        mascara = particiones - 1;
+        anillos = new Anillo[particiones];
+        int capacidad = redondear( pCapacidad );
+        for( int i = 0; i < particiones; i++ )
+        {
+            anillos[ i ] = new Anillo( i, capacidad );
+        }
+        for( Anillo anillo : anillos )
+        {
+            anillo.escritor.start( );
+        }
+    }
+
+    /**
+     * Retorna el nmero de particiones.
+     * @return Nmero de particiones.
+     */
+    public int darNumeroParticiones( )
+    {
+        return anillos.length;
+    }
+
+    /**
+     * Retorna la particin de un cliente.
+     * @param pCliente Posicin del cliente.
+     * @return Particin que aplica las operaciones del cliente.
+     */
+    public int darParticion( int pCliente )
+    {
+        return pCliente & mascara;
+    }
+
+    /**
+     * Retorna el nmero de operaciones aplicadas con el estado dado en todas las particiones. El nmero es exacto despus
+     * de esperarAplicadas.
+     * @param pEstado Estado. Es LoteOperaciones.ESTADO_APLICADA, ESTADO_SALDO_INSUFICIENTE o ESTADO_INVALIDA.
+     * @return Nmero de operaciones con ese estado.
+     */
+    public long contarEstado( byte pEstado )
+    {
+        long total = 0;
+        for( Anillo anillo : anillos )
+        {
+            total += anillo.estados[ pEstado ];
+        }
+        return total;
+    }
+
+    /**
+     * Retorna la ltima excepcin que lanzaron el banco o el observador al aplicar una operacin. La operacin se cont
+     * como invlida.
+     * @return Excepcin, o null si no ha habido errores.
+     */
+    public RuntimeException darError( )
+    {
+        return error;
+    }
+
+    /**
+     * Publica una operacin sin dato auxiliar ni inters.
+     * @param pCodigo Cdigo de la operacin. Es uno de los valores de Operacion.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < banco.darNumeroClientes( ).
+     * @param pCentavos Monto en centavos, o 0.
+     * @return Secuencia de la operacin en el anillo de su particin.
+     * @throws IllegalStateException Si el procesador est detenido.
+     */
+    public long publicar( int pCodigo, int pCliente, long pCentavos )
+    {
+        return publicar( pCodigo, pCliente, 0, pCentavos, 0, 0 );
+    }
+
+    /**
+     * Publica una operacin en el anillo de la particin del cliente. <br>
+     * <b>post: </b> El escritor de la particin aplicar la operacin despus de las que se publicaron antes en la misma
+     * particin.
+     * @param pCodigo Cdigo de la operacin. Es uno de los valores de Operacion.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < banco.darNumeroClientes( ).
+     * @param pAuxiliar Nmero de meses al avanzar varios meses, o 0.
+     * @param pCentavos Monto en centavos, o 0.
+     * @param pTasa Inters de una inversin en CDT, o 0.
+     * @param pMarca Dato del productor que se entrega al observador junto con el resultado.
+     * @return Secuencia de la operacin en el anillo de su particin.
+     * @throws IllegalStateException Si el procesador est detenido.
+     */
+    public long publicar( int pCodigo, int pCliente, int pAuxiliar, long pCentavos, double pTasa, long pMarca )
+    {
+        if( detenido )
+        {
+            throw new IllegalStateException( "El procesador est detenido." );
+        }
+        Anillo anillo = anillos[ pCliente & mascara ];
+        long secuencia = anillo.siguiente.getAndIncrement( );
+        long[] publicadas = anillo.publicadas;
+        int i = ( int )secuencia & anillo.mascara;
+        int vueltas = 0;
+        while( secuencia - anillo.consumida >= publicadas.length )
+        {
+            vueltas = esperar( vueltas );
+        }
+        anillo.codigos[ i ] = pCodigo;
+        anillo.clientes[ i ] = pCliente;
+        anillo.auxiliares[ i ] = pAuxiliar;
+        anillo.montos[ i ] = pCentavos;
+        anillo.tasas[ i ] = pTasa;
+        anillo.marcas[ i ] = pMarca;
+        PUBLICADAS.setRelease( publicadas, i, secuencia );
+        return secuencia;
+    }
+
+    /**
+     * Espera a que los escritores apliquen todas las operaciones publicadas antes de la llamada. <br>
+     * <b>post: </b> Las operaciones publicadas antes de la llamada ya se aplicaron.
+     */
+    public void esperarAplicadas( )
+    {
+        for( Anillo anillo : anillos )
+        {
+            long objetivo = anillo.siguiente.get( );
+            int vueltas = 0;
+            while( anillo.consumida < objetivo )
+            {
+                vueltas = esperar( vueltas );
+            }
+        }
+    }
+
+    /**
+     * Detiene los escritores despus de que apliquen las operaciones publicadas. <br>
+     * <b>pre: </b> Ningn productor est publicando. <br>
+     * <b>post: </b> Todas las operaciones publicadas se aplicaron y los hilos escritores terminaron.
+     * @throws InterruptedException Si se interrumpe la espera de los escritores.
+     */
+    public void detener( ) throws InterruptedException
+    {
+        esperarAplicadas( );
+        detenido = true;
+        for( Anillo anillo : anillos )
+        {
+            LockSupport.unpark( anillo.escritor );
+            anillo.escritor.join( );
+        }
+    }
+
+    /**
+     * Aplica una operacin sobre el banco. Lo llama el escritor de la particin del cliente.
+     * @param pCodigo Cdigo de la operacin.
+     * @param pCliente Posicin del cliente.
+     * @param pAuxiliar Dato auxiliar.
+     * @param pCentavos Monto en centavos.
+     * @param pTasa Inters.
+     * @return Estado de la operacin.
+     */
+    private byte aplicar( int pCodigo, int pCliente, int pAuxiliar, long pCentavos, double pTasa )
+    {
+        if( pCliente < 0 || pCliente >= banco.darNumeroClientes( ) )
+        {
+            return LoteOperaciones.ESTADO_INVALIDA;
+        }
+        switch( pCodigo )
+        {
+            case Operacion.CONSIGNAR_CORRIENTE:
+                if( pCentavos <= 0 )
+                {
+                    return LoteOperaciones.ESTADO_INVALIDA;
+                }
+                banco.consignarCuentaCorrienteCentavos( pCliente, pCentavos );
+                return LoteOperaciones.ESTADO_APLICADA;
+            case Operacion.CONSIGNAR_AHORROS:
+                if( pCentavos <= 0 )
+                {
+                    return LoteOperaciones.ESTADO_INVALIDA;
+                }
+                banco.consignarCuentaAhorrosCentavos( pCliente, pCentavos );
+                return LoteOperaciones.ESTADO_APLICADA;
+            case Operacion.RETIRAR_CORRIENTE:
+                if( pCentavos <= 0 )
+                {
+                    return LoteOperaciones.ESTADO_INVALIDA;
+                }
+                return banco.retirarCuentaCorrienteCentavos( pCliente, pCentavos ) ? LoteOperaciones.ESTADO_APLICADA : LoteOperaciones.ESTADO_SALDO_INSUFICIENTE;
+            case Operacion.RETIRAR_AHORROS:
+                if( pCentavos <= 0 )
+                {
+                    return LoteOperaciones.ESTADO_INVALIDA;
+                }
+                return banco.retirarCuentaAhorrosCentavos( pCliente, pCentavos ) ? LoteOperaciones.ESTADO_APLICADA : LoteOperaciones.ESTADO_SALDO_INSUFICIENTE;
+            case Operacion.INVERTIR_CDT:
+                if( pCentavos <= 0 || !( pTasa > 0 ) )
+                {
+                    return LoteOperaciones.ESTADO_INVALIDA;
+                }
+                banco.invertirCDTCentavos( pCliente, pCentavos, pTasa );
+                return LoteOperaciones.ESTADO_APLICADA;
+            case Operacion.CERRAR_CDT:
+                banco.cerrarCDT( pCliente );
+                return LoteOperaciones.ESTADO_APLICADA;
+            case Operacion.AVANZAR_MES:
+                banco.avanzarMesSimulacion( pCliente );
+                return LoteOperaciones.ESTADO_APLICADA;
+            case Operacion.AVANZAR_MESES:
+                if( pAuxiliar < 0 )
+                {
+                    return LoteOperaciones.ESTADO_INVALIDA;
+                }
+                banco.avanzarMeses( pCliente, pAuxiliar );
+                return LoteOperaciones.ESTADO_APLICADA;
+            default:
+                return LoteOperaciones.ESTADO_INVALIDA;
+        }
+    }
+
+    /**
+     * Espera un poco sin tomar candados: primero activamente, luego cediendo el procesador y por ltimo durmiendo.
+     * @param pVueltas Nmero de vueltas que se lleva esperando.
+     * @return Nmero de vueltas contando esta.
+     */
+    private static int esperar( int pVueltas )
+    {
+        if( pVueltas < VUELTAS_ACTIVAS )
+        {
+            Thread.onSpinWait( );
+        }
+        else if( pVueltas < VUELTAS_CEDIDAS )
+        {
+            Thread.yield( );
+        }
+        else
+        {
+            LockSupport.parkNanos( ESPERA_INACTIVO );
+        }
+        return pVueltas + 1;
+    }
+
+    /**
+     * Retorna la menor potencia de dos mayor o igual al nmero dado.
+     * @param pNumero Nmero. pNumero > 0.
+     * @return Potencia de dos.
+     */
+    private static int redondear( int pNumero )
+    {
+        return pNumero <= 1 ? 1 : Integer.highestOneBit( pNumero - 1 ) << 1;
+    }
+
+    // -----------------------------------------------------------------
+    // Clases internas
+    // -----------------------------------------------------------------
+
+    /**
+     * Anillo de operaciones de una particin, con su hilo escritor.
+     */
+    private class Anillo
+    {
+        /**
+         * Nmero de la particin.
+         */
+        private int particion;
+
+        /**
+         * Mscara que da la posicin de una secuencia en el anillo.
+         */
+        private int mascara;
+
+        /**
+         * Secuencia publicada en cada posicin, o -1 si la posicin nunca se ha usado. Se lee y escribe con PUBLICADAS.
+         */
+        private long[] publicadas;
+
+        /**
+         * Cdigos de las operaciones.
+         */
+        private int[] codigos;
+
+        /**
+         * Posiciones de los clientes.
+         */
+        private int[] clientes;
+
+        /**
+         * Datos auxiliares.
+         */
+        private int[] auxiliares;
+
+        /**
+         * Montos en centavos.
+         */
+        private long[] montos;
+
+        /**
+         * Intereses.
+         */
+        private double[] tasas;
+
+        /**
+         * Marcas de los productores.
+         */
+        private long[] marcas;
+
+        /**
+         * Siguiente secuencia que tomar un productor.
+         */
+        private AtomicLong siguiente;
+
+        /**
+         * Secuencia siguiente a la ltima operacin aplicada. Solo la escribe el escritor.
+         */
+        private volatile long consumida;
+
+        /**
+         * Nmero de operaciones aplicadas por cada estado. Solo lo escribe el escritor.
+         */
+        private long[] estados;
+
+        /**
+         * Hilo escritor de la particin.
+         */
+        private Thread escritor;
+
+        /**
+         * Crea el anillo de una particin y su escritor, sin arrancarlo.
+         * @param pParticion Nmero de la particin.
+         * @param pCapacidad Capacidad del anillo. Es una potencia de dos.
+         */
+        private Anillo( int pParticion, int pCapacidad )
+        {
+            particion = pParticion;
+            mascara = pCapacidad - 1;
+            publicadas = new long[pCapacidad];
+            Arrays.fill( publicadas, -1 );
+            codigos = new int[pCapacidad];
+            clientes = new int[pCapacidad];
+            auxiliares = new int[pCapacidad];
+            montos = new long[pCapacidad];
+            tasas = new double[pCapacidad];
+            marcas = new long[pCapacidad];
+            siguiente = new AtomicLong( );
+            consumida = 0;
+            estados = new long[LoteOperaciones.ESTADO_INVALIDA + 1];
+            escritor = new Thread( this::escribir, "ProcesadorAnillo-" + pParticion );
+            escritor.setDaemon( true );
+        }
+
+        /**
+         * Aplica las operaciones publicadas en orden hasta que se detiene el procesador. Lo ejecuta el escritor. Una
+         * operacin que lanza una excepcin se cuenta como invlida y no detiene al escritor.
+         */
+        private void escribir( )
+        {
+            long secuencia = 0;
+            int vueltas = 0;
+            while( true )
+            {
+                int i = ( int )secuencia & mascara;
+                if( ( long )PUBLICADAS.getAcquire( publicadas, i ) != secuencia )
+                {
+                    if( detenido && secuencia == siguiente.get( ) )
+                    {
+                        return;
+                    }
+                    vueltas = esperar( vueltas );
+                    continue;
+                }
+                vueltas = 0;
+                long limite = secuencia + Math.min( publicadas.length, LOTE_ESCRITOR );
+                do
+                {
+                    byte estado;
+                    try
+                    {
+                        estado = aplicar( codigos[ i ], clientes[ i ], auxiliares[ i ], montos[ i ], tasas[ i ] );
+                    }
+                    catch( RuntimeException e )
+                    {
+                        estado = LoteOperaciones.ESTADO_INVALIDA;
+                        error = e;
+                    }
+                    estados[ estado ]++;
+                    if( observador != null )
+                    {
+                        try
+                        {
+                            observador.operacionAplicada( particion, clientes[ i ], codigos[ i ], estado, marcas[ i ] );
+                        }
+                        catch( RuntimeException e )
+                        {
+                            error = e;
+                        }
+                    }
+                    secuencia++;
+                    i = ( int )secuencia & mascara;
+                }
+                while( secuencia < limite && ( long )PUBLICADAS.getAcquire( publicadas, i ) == secuencia );
+                consumida = secuencia;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.mundo;
+
+/**
+ * Interfaz de los registros donde el banco anota cada operacin que modifica su estado. <br>
+ * El banco anota la operacin mientras tiene el candado del cliente y antes de aplicarla, para que el orden del registro
+ * sea el mismo en el que se aplicaron las operaciones y para que una operacin que no se pudo anotar no cambie el banco,
+ * y espera la confirmacin despus de soltar el candado.
+ */
+public interface RegistroOperaciones
+{
+    /**
+     * Anota el registro de un cliente nuevo.
+     * @param pCliente Posicin del cliente en el banco.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @param pNombre Nombre del cliente. pNombre != null.
+     * @return Posicin del registro siguiente a la anotacin, usada para confirmarla.
+     */
+    long anotarCliente( int pCliente, String pCedula, String pNombre );
+
+    /**
+     * Anota una operacin sobre uno o dos clientes.
+     * @param pCodigo Cdigo de la operacin. Es uno de los valores de Operacion.
+     * @param pCliente Posicin del cliente (o del cliente de origen en una transferencia).
+     * @param pAuxiliar Cliente de destino en una transferencia, nmero de meses al avanzar varios meses, o 0.
+     * @param pProductos Productos de origen y destino de una transferencia, o 0.
+     * @param pCentavos Monto de la operacin en centavos, o 0.
+     * @param pTasa Inters de la operacin, o 0.
+     * @return Posicin del registro siguiente a la anotacin, usada para confirmarla.
+     */
+    long anotar( int pCodigo, int pCliente, int pAuxiliar, int pProductos, long pCentavos, double pTasa );
+
+    /**
+     * Retorna la posicin siguiente a la ltima anotacin.
+     * @return Posicin final del registro.
+     */
+    long darPosicionFinal( );
+
+    /**
+     * Espera a que las anotaciones hasta la posicin dada sean durables, segn el modo del registro.
+     * @param pPosicion Posicin retornada por una anotacin.
+     */
+    void confirmar( long pPosicion );
+}
\ No newline at end of file
@@ -11,7 +11,10 @@
 package uniandes.cupi2.simuladorBancario.mundo;
 
 /**
- * Clase que representa el simulador bancario para las tres cuentas de un cliente.
+ * Clase que representa el simulador bancario para las tres cuentas de un cliente. <br>
+ * Los datos del cliente pueden estar en el simulador y sus cuentas, o en el registro del cliente en un AlmacenClientes
+ * fuera del heap. En el segundo caso el simulador solo sabe dnde est el registro, as que se puede crear para cada
+ * operacin y descartar.
  */
 public class SimuladorBancario
 {
@@ -49,6 +52,26 @@ public class SimuladorBancario
      */
     private CDT inversion;
 
+    /**
+     * Valor presente del CDT en el mes actual, en centavos. Se actualiza cada vez que cambia el CDT o el mes.
+     */
+    private long valorPresenteCDT;
+
+    /**
+     * Portafolio de CDT a plazo del cliente.
+     */
+    private PortafolioCDT portafolio;
+
+    /**
+     * Almacn fuera del heap con los datos del cliente, o null si los datos estn en el simulador.
+     */
+    private AlmacenClientes almacen;
+
+    /**
+     * Posicin del cliente en el almacn.
+     */
+    private int cliente;
+
     // -----------------------------------------------------------------
     // Mtodos
     // -----------------------------------------------------------------
@@ -70,6 +93,28 @@ public class SimuladorBancario
         corriente = new CuentaCorriente( );
         ahorros = new CuentaAhorros( );
         inversion = new CDT( );
+        valorPresenteCDT = 0;
+        portafolio = new PortafolioCDT( mesActual );
+        almacen = null;
+    }
+
+    /**
+     * Inicializa un simulador sobre el registro de un cliente de un almacn fuera del heap. Las operaciones del simulador
+     * leen y modifican el registro. <br>
+     * <b>post: </b> El simulador qued con los datos que el cliente tiene en el almacn.
+     * @param pAlmacen Almacn de los clientes. pAlmacen != null.
+     * @param pCliente Posicin del cliente en el almacn. 0 <= pCliente < pAlmacen.darNumeroClientes( ).
+     */
+    public SimuladorBancario( AlmacenClientes pAlmacen, int pCliente )
+    {
+        almacen = pAlmacen;
+        cliente = pCliente;
+        nombre = pAlmacen.darNombre( pCliente );
+        cedula = pAlmacen.darCedula( pCliente );
+        corriente = new CuentaCorriente( pAlmacen, pCliente );
+        ahorros = new CuentaAhorros( pAlmacen, pCliente );
+        inversion = new CDT( pAlmacen, pCliente );
+        portafolio = null;
     }
 
     /**
@@ -109,12 +154,22 @@ public class SimuladorBancario
     }
 
     /**
-     * Retorna el CDT del cliente.
-     * @return CDT del cliente.
+     * Retorna una copia del CDT del cliente. Cambiar la copia no cambia el CDT del cliente; para eso se usan invertirCDT y
+     * cerrarCDT, que mantienen al da el valor presente del CDT.
+     * @return Copia del CDT del cliente.
      */
     public CDT darCDT( )
     {
-        return inversion;
+        return inversion.copiar( );
+    }
+
+    /**
+     * Retorna el portafolio de CDT a plazo del cliente.
+     * @return Portafolio de CDT.
+     */
+    public PortafolioCDT darPortafolioCDT( )
+    {
+        return almacen == null ? portafolio : almacen.darPortafolio( cliente, darMesActual( ) );
     }
 
     /**
@@ -123,7 +178,7 @@ public class SimuladorBancario
      */
     public int darMesActual( )
     {
-        return mesActual;
+        return almacen == null ? mesActual : almacen.darEntero( cliente, AlmacenClientes.MES_ACTUAL );
     }
 
     /**
@@ -132,7 +187,37 @@ public class SimuladorBancario
      */
     public double calcularSaldoTotal( )
     {
-        return corriente.darSaldo( ) + ahorros.darSaldo( ) + inversion.calcularValorPresente( mesActual );
+        return Dinero.aPesos( calcularSaldoTotalCentavos( ) );
+    }
+
+    /**
+     * Calcula el saldo total de las cuentas del cliente en centavos, incluyendo los CDT del portafolio. <br>
+     * El valor presente del CDT se mantiene al da con cada operacin, as que no se recalculan intereses.
+     * @return Saldo total de las cuentas del cliente en centavos.
+     */
+    public long calcularSaldoTotalCentavos( )
+    {
+        PortafolioCDT cdts = buscarPortafolio( );
+        long valorPortafolio = cdts == null ? 0 : cdts.calcularValorPresenteTotalCentavos( );
+        return corriente.darSaldoCentavos( ) + ahorros.darSaldoCentavos( ) + darValorPresenteCDTCentavos( ) + valorPortafolio;
+    }
+
+    /**
+     * Retorna el valor presente del CDT en el mes actual.
+     * @return Valor presente del CDT.
+     */
+    public double darValorPresenteCDT( )
+    {
+        return Dinero.aPesos( darValorPresenteCDTCentavos( ) );
+    }
+
+    /**
+     * Retorna el valor presente del CDT en el mes actual, en centavos.
+     * @return Valor presente del CDT en centavos.
+     */
+    public long darValorPresenteCDTCentavos( )
+    {
+        return almacen == null ? valorPresenteCDT : almacen.darLargo( cliente, AlmacenClientes.VALOR_PRESENTE_CDT );
     }
 
     /**
@@ -143,7 +228,39 @@ public class SimuladorBancario
      */
     public void invertirCDT( double pMonto, double pInteresMensual )
     {
-        inversion.invertir( pMonto, pInteresMensual, mesActual );
+        int mes = darMesActual( );
+        inversion.invertir( pMonto, pInteresMensual, mes );
+        cambiarValorPresenteCDT( inversion.calcularValorPresenteCentavos( mes ) );
+    }
+
+    /**
+     * Abre un CDT a plazo en el portafolio del cliente. A diferencia de invertirCDT, no reemplaza los CDT que ya tiene. <br>
+     * <b>post: </b> Se abri un CDT que vence pPlazo meses despus del mes actual; al vencer, su valor pasa a la cuenta
+     * corriente.
+     * @param pMonto Monto de dinero a invertir. pMonto > 0.
+     * @param pInteresMensual Inters mensual del CDT. pInteresMensual > 0.
+     * @param pPlazo Plazo del CDT en meses. pPlazo > 0.
+     * @return Identificador del CDT en el portafolio.
+     * @throws IllegalArgumentException Si el plazo no es positivo.
+     */
+    public int abrirCDT( double pMonto, double pInteresMensual, int pPlazo )
+    {
+        return darPortafolioCDT( ).abrir( Dinero.aCentavos( pMonto ), pInteresMensual, pPlazo );
+    }
+
+    /**
+     * Cierra un CDT del portafolio antes de su vencimiento, pasando su valor presente a la cuenta corriente. <br>
+     * <b>post: </b> El CDT qued cerrado y la cuenta corriente aument su saldo en el valor de cierre.
+     * @param pCDT Identificador de un CDT abierto del portafolio.
+     * @throws IllegalArgumentException Si el CDT no est abierto.
+     */
+    public void cerrarCDT( int pCDT )
+    {
+        long valorCierre = darPortafolioCDT( ).cerrar( pCDT );
+        if( valorCierre > 0 )
+        {
+            corriente.consignarCentavos( valorCierre );
+        }
     }
 
     /**
@@ -168,32 +285,149 @@ public class SimuladorBancario
 
     /**
      * Retira un monto de dinero de la cuenta corriente. <br>
-     * <b>post: </b> Se redujo el saldo de la cuenta en el monto especificado.
+     * <b>post: </b> Si el saldo alcanzaba, se redujo el saldo de la cuenta en el monto especificado.
      * @param pMonto Monto de dinero a retirar de la cuenta. pMonto > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
      */
-    public void retirarCuentaCorriente( double pMonto )
+    public boolean retirarCuentaCorriente( double pMonto )
     {
-        corriente.retirarMonto( pMonto );
+        return corriente.retirarMonto( pMonto );
     }
 
     /**
      * Retira un monto de dinero de la cuenta de ahorros. <br>
-     * <b>post: </b> Se redujo el saldo de la cuenta en el monto especificado.
+     * <b>post: </b> Si el saldo alcanzaba, se redujo el saldo de la cuenta en el monto especificado.
      * @param pMonto Monto de dinero a retirar de la cuenta. pMonto > 0.
+     * @return True si se hizo el retiro, false si el saldo no era suficiente.
+     */
+    public boolean retirarCuentaAhorros( double pMonto )
+    {
+        return ahorros.retirarMonto( pMonto );
+    }
+
+    /**
+     * Transfiere un monto de dinero de la cuenta corriente a la cuenta de ahorros. <br>
+     * El retiro es atmico, as que la transferencia solo se hace si el saldo alcanza y el dinero nunca se pierde ni se
+     * duplica; otro hilo que consulte los saldos en medio de la transferencia puede no ver el monto en ninguna de las dos
+     * cuentas. <br>
+     * <b>post: </b> Si el saldo de la cuenta corriente alcanzaba, se redujo en el monto dado y la cuenta de ahorros aument en
+     * el mismo monto.
+     * @param pMonto Monto de dinero a transferir. pMonto > 0.
+     * @return True si se hizo la transferencia, false si el saldo de la cuenta corriente no era suficiente.
      */
-    public void retirarCuentaAhorros( double pMonto )
+    public boolean transferirCorrienteAAhorros( double pMonto )
     {
-        ahorros.retirarMonto( pMonto );
+        long centavos = Dinero.aCentavos( pMonto );
+        if( !corriente.retirarCentavos( centavos ) )
+        {
+            return false;
+        }
+        ahorros.consignarCentavos( centavos );
+        return true;
+    }
+
+    /**
+     * Transfiere un monto de dinero de la cuenta de ahorros a la cuenta corriente. <br>
+     * <b>post: </b> Si el saldo de la cuenta de ahorros alcanzaba, se redujo en el monto dado y la cuenta corriente aument
+     * en el mismo monto.
+     * @param pMonto Monto de dinero a transferir. pMonto > 0.
+     * @return True si se hizo la transferencia, false si el saldo de la cuenta de ahorros no era suficiente.
+     */
+    public boolean transferirAhorrosACorriente( double pMonto )
+    {
+        long centavos = Dinero.aCentavos( pMonto );
+        if( !ahorros.retirarCentavos( centavos ) )
+        {
+            return false;
+        }
+        corriente.consignarCentavos( centavos );
+        return true;
     }
 
     /**
      * Avanza en un mes la simulacin. <br>
-     * <b>post: </b> Se avanz el mes de la simulacin en 1. Se actualiz el saldo de la cuenta de ahorros.
+     * <b>post: </b> Se avanz el mes de la simulacin en 1. Se actualiz el saldo de la cuenta de ahorros y los CDT del
+     * portafolio que vencen este mes pasaron a la cuenta corriente.
      */
     public void avanzarMesSimulacion( )
     {
-        mesActual += 1;
+        int mes = darMesActual( ) + 1;
+        cambiarMesActual( mes );
         ahorros.actualizarSaldoPorPasoMes( );
+        cambiarValorPresenteCDT( inversion.calcularValorPresenteCentavos( mes ) );
+        pagarVencimientos( );
+    }
+
+    /**
+     * Avanza varios meses la simulacin en un solo paso. <br>
+     * Los intereses de la cuenta de ahorros se calculan de forma compuesta sin recorrer mes a mes, y el valor presente del
+     * CDT depende solo del mes actual, as que el costo no depende del nmero de meses. <br>
+     * <b>post: </b> Se avanz el mes de la simulacin en pMeses. Se actualiz el saldo de la cuenta de ahorros y los CDT del
+     * portafolio que vencen hasta el nuevo mes pasaron a la cuenta corriente.
+     * @param pMeses Nmero de meses a avanzar. pMeses >= 0.
+     */
+    public void avanzarMeses( int pMeses )
+    {
+        int mes = darMesActual( ) + pMeses;
+        cambiarMesActual( mes );
+        ahorros.actualizarSaldoPorPasoMeses( pMeses );
+        cambiarValorPresenteCDT( inversion.calcularValorPresenteCentavos( mes ) );
+        pagarVencimientos( );
+    }
+
+    /**
+     * Lleva el portafolio al mes actual y pasa a la cuenta corriente el valor de los CDT que vencieron.
+     */
+    private void pagarVencimientos( )
+    {
+        PortafolioCDT cdts = buscarPortafolio( );
+        long pagado = cdts == null ? 0 : cdts.avanzarHasta( darMesActual( ) );
+        if( pagado > 0 )
+        {
+            corriente.consignarCentavos( pagado );
+        }
+    }
+
+    /**
+     * Retorna el portafolio de CDT a plazo del cliente, sin crearlo si el cliente est en un almacn y nunca ha abierto
+     * uno.
+     * @return Portafolio del cliente, o null si no tiene.
+     */
+    private PortafolioCDT buscarPortafolio( )
+    {
+        return almacen == null ? portafolio : almacen.buscarPortafolio( cliente );
+    }
+
+    /**
+     * Cambia el mes actual del cliente.
+     * @param pMes Nuevo mes actual.
+     */
+    private void cambiarMesActual( int pMes )
+    {
+        if( almacen == null )
+        {
+            mesActual = pMes;
+        }
+        else
+        {
+            almacen.cambiarEntero( cliente, AlmacenClientes.MES_ACTUAL, pMes );
+        }
+    }
+
+    /**
+     * Cambia el valor presente del CDT del cliente.
+     * @param pCentavos Nuevo valor presente en centavos.
+     */
+    private void cambiarValorPresenteCDT( long pCentavos )
+    {
+        if( almacen == null )
+        {
+            valorPresenteCDT = pCentavos;
+        }
+        else
+        {
+            almacen.cambiarLargo( cliente, AlmacenClientes.VALOR_PRESENTE_CDT, pCentavos );
+        }
     }
 
     /**
@@ -203,8 +437,179 @@ public class SimuladorBancario
      */
     public void cerrarCDT( )
     {
-        double valorCierreCDT = inversion.cerrar( mesActual );
-        corriente.consignarMonto( valorCierreCDT );
+        long valorCierreCDT = inversion.cerrarCentavos( darMesActual( ) );
+        cambiarValorPresenteCDT( 0 );
+        corriente.consignarCentavos( valorCierreCDT );
+    }
+
+    /**
+     * Aplica en orden todas las operaciones de un lote y deja en el lote el estado de cada una. <br>
+     * Los saldos de las cuentas se leen una sola vez al principio, las operaciones se aplican sobre esos valores y el
+     * resultado neto se guarda en las cuentas al final, as que el costo de cada operacin es solo su validacin y su
+     * aritmtica. Un retiro o una transferencia sin saldo suficiente no se aplica pero no detiene el lote. Al avanzar los
+     * meses, los CDT del portafolio que vencen pasan a la cuenta corriente y quedan disponibles para las operaciones
+     * siguientes del lote. <br>
+     * <b>pre: </b> Ningn otro hilo modifica el simulador mientras se aplica el lote. <br>
+     * <b>post: </b> Se aplicaron las operaciones vlidas del lote y cada operacin qued con su estado.
+     * @param pLote Lote de operaciones. Los cdigos vlidos son los de consignar, retirar, transferir, invertir y cerrar el
+     *        CDT y avanzar uno o varios meses. pLote != null.
+     * @return Nmero de operaciones aplicadas.
+     */
+    public int aplicarLote( LoteOperaciones pLote )
+    {
+        int n = pLote.darNumeroOperaciones( );
+        int[] codigos = pLote.darCodigos( );
+        int[] auxiliares = pLote.darAuxiliares( );
+        long[] montos = pLote.darMontos( );
+        double[] tasas = pLote.darTasas( );
+        byte[] estados = pLote.darEstados( );
+        long saldoCorrienteInicial = corriente.darSaldoCentavos( );
+        long saldoAhorrosInicial = ahorros.darSaldoCentavos( );
+        long saldoCorriente = saldoCorrienteInicial;
+        long saldoAhorros = saldoAhorrosInicial;
+        double interesAhorros = ahorros.darInteresMensual( );
+        int mes = darMesActual( );
+        PortafolioCDT cdts = buscarPortafolio( );
+        int aplicadas = 0;
+        for( int i = 0; i < n; i++ )
+        {
+            long monto = montos[ i ];
+            byte estado = LoteOperaciones.ESTADO_APLICADA;
+            switch( codigos[ i ] )
+            {
+                case Operacion.CONSIGNAR_CORRIENTE:
+                    if( monto <= 0 )
+                    {
+                        estado = LoteOperaciones.ESTADO_INVALIDA;
+                    }
+                    else
+                    {
+                        saldoCorriente += monto;
+                    }
+                    break;
+                case Operacion.CONSIGNAR_AHORROS:
+                    if( monto <= 0 )
+                    {
+                        estado = LoteOperaciones.ESTADO_INVALIDA;
+                    }
+                    else
+                    {
+                        saldoAhorros += monto;
+                    }
+                    break;
+                case Operacion.RETIRAR_CORRIENTE:
+                    if( monto <= 0 )
+                    {
+                        estado = LoteOperaciones.ESTADO_INVALIDA;
+                    }
+                    else if( saldoCorriente < monto )
+                    {
+                        estado = LoteOperaciones.ESTADO_SALDO_INSUFICIENTE;
+                    }
+                    else
+                    {
+                        saldoCorriente -= monto;
+                    }
+                    break;
+                case Operacion.RETIRAR_AHORROS:
+                    if( monto <= 0 )
+                    {
+                        estado = LoteOperaciones.ESTADO_INVALIDA;
+                    }
+                    else if( saldoAhorros < monto )
+                    {
+                        estado = LoteOperaciones.ESTADO_SALDO_INSUFICIENTE;
+                    }
+                    else
+                    {
+                        saldoAhorros -= monto;
+                    }
+                    break;
+                case Operacion.TRANSFERIR:
+                    int origen = Operacion.darProductoOrigen( auxiliares[ i ] );
+                    int destino = Operacion.darProductoDestino( auxiliares[ i ] );
+                    if( monto <= 0 || !esProducto( origen ) || !esProducto( destino ) )
+                    {
+                        estado = LoteOperaciones.ESTADO_INVALIDA;
+                    }
+                    else if( ( origen == Banco.PRODUCTO_CORRIENTE ? saldoCorriente : saldoAhorros ) < monto )
+                    {
+                        estado = LoteOperaciones.ESTADO_SALDO_INSUFICIENTE;
+                    }
+                    else
+                    {
+                        if( origen == Banco.PRODUCTO_CORRIENTE )
+                        {
+                            saldoCorriente -= monto;
+                        }
+                        else
+                        {
+                            saldoAhorros -= monto;
+                        }
+                        if( destino == Banco.PRODUCTO_CORRIENTE )
+                        {
+                            saldoCorriente += monto;
+                        }
+                        else
+                        {
+                            saldoAhorros += monto;
+                        }
+                    }
+                    break;
+                case Operacion.INVERTIR_CDT:
+                    if( monto <= 0 || tasas[ i ] <= 0 )
+                    {
+                        estado = LoteOperaciones.ESTADO_INVALIDA;
+                    }
+                    else
+                    {
+                        inversion.invertirCentavos( monto, tasas[ i ], mes );
+                    }
+                    break;
+                case Operacion.CERRAR_CDT:
+                    saldoCorriente += inversion.cerrarCentavos( mes );
+                    break;
+                case Operacion.AVANZAR_MES:
+                    mes += 1;
+                    saldoAhorros += Dinero.calcularInteres( saldoAhorros, interesAhorros );
+                    saldoCorriente += cdts == null ? 0 : cdts.avanzarHasta( mes );
+                    break;
+                case Operacion.AVANZAR_MESES:
+                    if( auxiliares[ i ] < 0 )
+                    {
+                        estado = LoteOperaciones.ESTADO_INVALIDA;
+                    }
+                    else
+                    {
+                        mes += auxiliares[ i ];
+                        saldoAhorros = Dinero.capitalizar( saldoAhorros, interesAhorros, auxiliares[ i ] );
+                        saldoCorriente += cdts == null ? 0 : cdts.avanzarHasta( mes );
+                    }
+                    break;
+                default:
+                    estado = LoteOperaciones.ESTADO_INVALIDA;
+            }
+            estados[ i ] = estado;
+            if( estado == LoteOperaciones.ESTADO_APLICADA )
+            {
+                aplicadas++;
+            }
+        }
+        cambiarMesActual( mes );
+        cambiarValorPresenteCDT( inversion.calcularValorPresenteCentavos( mes ) );
+        corriente.ajustarCentavos( saldoCorriente - saldoCorrienteInicial );
+        ahorros.ajustarCentavos( saldoAhorros - saldoAhorrosInicial );
+        return aplicadas;
+    }
+
+    /**
+     * Indica si un cdigo de producto es el de la cuenta corriente o el de la cuenta de ahorros.
+     * @param pProducto Cdigo del producto.
+     * @return True si el producto es vlido, false si no.
+     */
+    private boolean esProducto( int pProducto )
+    {
+        return pProducto == Banco.PRODUCTO_CORRIENTE || pProducto == Banco.PRODUCTO_AHORROS;
     }
 
     /**
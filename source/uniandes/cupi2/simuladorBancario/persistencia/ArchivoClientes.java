@@ -0,0 +1,547 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import uniandes.cupi2.simuladorBancario.mundo.CDT;
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+
+/**
+ * Formato binario con el estado de un grupo de clientes, que se lee directamente del buffer o del archivo proyectado en
+ * memoria, sin crear objetos por cliente. <br>
+ * El formato tiene un encabezado de TAMANO_ENCABEZADO bytes, luego un registro de tamao fijo por cliente y al final los
+ * textos en UTF-8. El registro de cada cliente tiene sus saldos, el inters de ahorros, los datos del CDT y su valor
+ * presente y el mes actual, en las mismas posiciones que en AlmacenClientes, ms la posicin y las longitudes de su
+ * cdula y su nombre en la zona de textos. Como los registros son de tamao fijo, cualquier cliente se consulta en tiempo
+ * constante por su posicin. Los portafolios de CDT a plazo no se guardan. <br>
+ * El encabezado tiene el nmero mgico, la versin, el nmero de clientes, el tamao del registro y los lmites de la zona
+ * de textos. Una versin posterior puede agregar campos al final del registro: los lectores avanzan de un cliente a otro
+ * con el tamao del registro del encabezado. Los valores se guardan con el orden de bytes por defecto de ByteBuffer, el
+ * mismo del diario de transacciones. Un archivo se escribe completo en un archivo nuevo, que se lleva a disco y reemplaza
+ * al anterior con un solo cambio de nombre, as que si el proceso termina a la mitad queda el archivo anterior completo.
+ * Al abrirlo se revisa que los textos de cada cliente estn dentro de la zona de textos. <br>
+ * El formato completo debe caber en un buffer, as que no puede pasar de 2 GB.
+ */
+public class ArchivoClientes
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero que identifica a los archivos de clientes.
+     */
+    public static final int MAGIA = 0x53424331;
+
+    /**
+     * Versin del formato.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Bytes del encabezado: magia, versin, nmero de clientes, tamao del registro, inicio y fin de los textos y bytes
+     * reservados hasta completar una lnea de cach.
+     */
+    public static final int TAMANO_ENCABEZADO = 64;
+
+    /**
+     * Bytes del registro de un cliente en esta versin.
+     */
+    public static final int TAMANO_REGISTRO = 64;
+
+    /**
+     * Posicin en el registro del saldo de la cuenta corriente, en centavos (long).
+     */
+    public static final int SALDO_CORRIENTE = 0;
+
+    /**
+     * Posicin en el registro del saldo de la cuenta de ahorros, en centavos (long).
+     */
+    public static final int SALDO_AHORROS = 8;
+
+    /**
+     * Posicin en el registro del inters mensual de la cuenta de ahorros (double).
+     */
+    public static final int INTERES_AHORROS = 16;
+
+    /**
+     * Posicin en el registro del valor invertido en el CDT, en centavos (long).
+     */
+    public static final int VALOR_CDT = 24;
+
+    /**
+     * Posicin en el registro del inters mensual del CDT (double).
+     */
+    public static final int INTERES_CDT = 32;
+
+    /**
+     * Posicin en el registro del valor presente del CDT en el mes actual, en centavos (long).
+     */
+    public static final int VALOR_PRESENTE_CDT = 40;
+
+    /**
+     * Posicin en el registro del mes actual (int).
+     */
+    public static final int MES_ACTUAL = 48;
+
+    /**
+     * Posicin en el registro del mes de apertura del CDT (int).
+     */
+    public static final int MES_APERTURA_CDT = 52;
+
+    /**
+     * Posicin en el registro de la posicin de la cdula en el archivo (int). El nombre va justo despus de la cdula.
+     */
+    public static final int TEXTOS = 56;
+
+    /**
+     * Posicin en el registro de la longitud en bytes de la cdula (short sin signo).
+     */
+    public static final int LONGITUD_CEDULA = 60;
+
+    /**
+     * Posicin en el registro de la longitud en bytes del nombre (short sin signo).
+     */
+    public static final int LONGITUD_NOMBRE = 62;
+
+    /**
+     * Longitud mxima en bytes de la cdula o del nombre.
+     */
+    public static final int LONGITUD_MAXIMA_TEXTO = 0xFFFF;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Datos del formato, desde el encabezado.
+     */
+    private ByteBuffer datos;
+
+    /**
+     * Nmero de clientes.
+     */
+    private int numeroClientes;
+
+    /**
+     * Tamao del registro de cada cliente.
+     */
+    private int tamanoRegistro;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Lee el formato que empieza en la posicin actual del buffer dado. Los datos no se copian: las consultas leen el
+     * buffer. Se recorren una vez los registros para revisar que los textos de cada cliente estn dentro del formato. <br>
+     * <b>post: </b> Los clientes se pueden consultar por su posicin.
+     * @param pDatos Buffer con el formato completo desde su posicin. pDatos != null.
+     * @throws IOException Si el buffer no tiene un formato de clientes completo de una versin conocida, o los textos de
+     *         algn cliente estn por fuera de la zona de textos.
+     */
+    public ArchivoClientes( ByteBuffer pDatos ) throws IOException
+    {
+        datos = pDatos.slice( );
+        if( datos.limit( ) < TAMANO_ENCABEZADO || datos.getInt( 0 ) != MAGIA )
+        {
+            throw new IOException( "Los datos no son un archivo de clientes." );
+        }
+        if( datos.getInt( 4 ) != VERSION )
+        {
+            throw new IOException( "La versin " + datos.getInt( 4 ) + " del archivo de clientes no es conocida." );
+        }
+        numeroClientes = datos.getInt( 8 );
+        tamanoRegistro = datos.getInt( 12 );
+        int inicioTextos = datos.getInt( 16 );
+        int finTextos = datos.getInt( 20 );
+        if( numeroClientes < 0 || tamanoRegistro < TAMANO_REGISTRO || inicioTextos != TAMANO_ENCABEZADO + ( long )numeroClientes * tamanoRegistro || finTextos < inicioTextos || finTextos > datos.limit( ) )
+        {
+            throw new IOException( "El archivo de clientes est incompleto." );
+        }
+        for( int i = 0; i < numeroClientes; i++ )
+        {
+            int registro = calcularRegistro( i );
+            int texto = datos.getInt( registro + TEXTOS );
+            long finTexto = ( long )texto + Short.toUnsignedInt( datos.getShort( registro + LONGITUD_CEDULA ) ) + Short.toUnsignedInt( datos.getShort( registro + LONGITUD_NOMBRE ) );
+            if( texto < inicioTextos || finTexto > finTextos )
+            {
+                throw new IOException( "Los textos del cliente " + i + " estn por fuera del archivo de clientes." );
+            }
+        }
+    }
+
+    /**
+     * Abre un archivo de clientes proyectndolo en memoria, sin leerlo.
+     * @param pArchivo Archivo de clientes. pArchivo != null.
+     * @return Formato del archivo.
+     * @throws IOException Si no se puede abrir el archivo o no tiene un formato de clientes.
+     */
+    public static ArchivoClientes abrir( File pArchivo ) throws IOException
+    {
+        try( FileChannel canal = FileChannel.open( pArchivo.toPath( ), StandardOpenOption.READ ) )
+        {
+            if( canal.size( ) > Integer.MAX_VALUE )
+            {
+                throw new IOException( "El archivo " + pArchivo + " es demasiado grande para un archivo de clientes." );
+            }
+            return new ArchivoClientes( canal.map( FileChannel.MapMode.READ_ONLY, 0, canal.size( ) ) );
+        }
+    }
+
+    /**
+     * Calcula el tamao del formato para los clientes dados.
+     * @param pClientes Simuladores de los clientes. pClientes != null.
+     * @return Tamao en bytes.
+     */
+    public static long calcularTamano( SimuladorBancario[] pClientes )
+    {
+        long tamano = TAMANO_ENCABEZADO + ( long )pClientes.length * TAMANO_REGISTRO;
+        for( SimuladorBancario cliente : pClientes )
+        {
+            tamano += longitudUTF8( cliente.darCedula( ) ) + longitudUTF8( cliente.darNombre( ) );
+        }
+        return tamano;
+    }
+
+    /**
+     * Escribe los clientes dados en el buffer, desde su posicin actual. <br>
+     * <b>post: </b> El buffer tiene el formato completo y su posicin qued al final del formato.
+     * @param pClientes Simuladores de los clientes. pClientes != null.
+     * @param pDestino Buffer con al menos calcularTamano( pClientes ) bytes disponibles. pDestino != null.
+     * @throws IllegalArgumentException Si el buffer no alcanza o una cdula o un nombre son demasiado largos.
+     */
+    public static void escribir( SimuladorBancario[] pClientes, ByteBuffer pDestino )
+    {
+        long tamano = calcularTamano( pClientes );
+        if( tamano > pDestino.remaining( ) )
+        {
+            throw new IllegalArgumentException( "El buffer no alcanza para " + pClientes.length + " clientes: se necesitan " + tamano + " bytes." );
+        }
+        ByteBuffer salida = pDestino.slice( );
+        int inicioTextos = TAMANO_ENCABEZADO + pClientes.length * TAMANO_REGISTRO;
+        int texto = inicioTextos;
+        for( int i = 0; i < pClientes.length; i++ )
+        {
+            SimuladorBancario cliente = pClientes[ i ];
+            CDT cdt = cliente.darCDT( );
+            int registro = TAMANO_ENCABEZADO + i * TAMANO_REGISTRO;
+            salida.putLong( registro + SALDO_CORRIENTE, cliente.darCuentaCorriente( ).darSaldoCentavos( ) );
+            salida.putLong( registro + SALDO_AHORROS, cliente.darCuentaAhorros( ).darSaldoCentavos( ) );
+            salida.putDouble( registro + INTERES_AHORROS, cliente.darCuentaAhorros( ).darInteresMensual( ) );
+            salida.putLong( registro + VALOR_CDT, cdt.darValorInvertidoCentavos( ) );
+            salida.putDouble( registro + INTERES_CDT, cdt.darInteresMensual( ) );
+            salida.putLong( registro + VALOR_PRESENTE_CDT, cliente.darValorPresenteCDTCentavos( ) );
+            salida.putInt( registro + MES_ACTUAL, cliente.darMesActual( ) );
+            salida.putInt( registro + MES_APERTURA_CDT, cdt.darMesApertura( ) );
+            int longitudCedula = escribirUTF8( salida, texto, cliente.darCedula( ) );
+            int longitudNombre = escribirUTF8( salida, texto + longitudCedula, cliente.darNombre( ) );
+            salida.putInt( registro + TEXTOS, texto );
+            salida.putShort( registro + LONGITUD_CEDULA, ( short )longitudCedula );
+            salida.putShort( registro + LONGITUD_NOMBRE, ( short )longitudNombre );
+            texto += longitudCedula + longitudNombre;
+        }
+        salida.putInt( 4, VERSION );
+        salida.putInt( 8, pClientes.length );
+        salida.putInt( 12, TAMANO_REGISTRO );
+        salida.putInt( 16, inicioTextos );
+        salida.putInt( 20, texto );
+        salida.putInt( 0, MAGIA );
+        pDestino.position( pDestino.position( ) + texto );
+    }
+
+    /**
+     * Escribe los clientes dados en un archivo, reemplazando su contenido. Los clientes se escriben, proyectados en memoria y
+     * sin copias intermedias, en un archivo nuevo junto al dado, que se lleva a disco y luego reemplaza al dado con un solo
+     * cambio de nombre. Si el proceso termina a la mitad, el archivo dado queda como estaba. <br>
+     * <b>post: </b> El archivo tiene el formato completo y est en disco.
+     * @param pClientes Simuladores de los clientes. pClientes != null.
+     * @param pArchivo Archivo de clientes. pArchivo != null.
+     * @throws IOException Si no se puede escribir el archivo.
+     * @throws IllegalArgumentException Si el formato no cabe en 2 GB o una cdula o un nombre son demasiado largos.
+     */
+    public static void escribir( SimuladorBancario[] pClientes, File pArchivo ) throws IOException
+    {
+        long tamano = calcularTamano( pClientes );
+        if( tamano > Integer.MAX_VALUE )
+        {
+            throw new IllegalArgumentException( "Los " + pClientes.length + " clientes ocupan " + tamano + " bytes, ms de lo que cabe en un archivo de clientes." );
+        }
+        File temporal = new File( pArchivo.getPath( ) + ".nuevo" );
+        try( FileChannel canal = FileChannel.open( temporal.toPath( ), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING ) )
+        {
+            MappedByteBuffer salida = canal.map( FileChannel.MapMode.READ_WRITE, 0, tamano );
+            escribir( pClientes, salida );
+            salida.force( );
+        }
+        catch( IOException | RuntimeException e )
+        {
+            temporal.delete( );
+            throw e;
+        }
+        Files.move( temporal.toPath( ), pArchivo.toPath( ), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    }
+
+    /**
+     * Retorna el nmero de clientes.
+     * @return Nmero de clientes.
+     */
+    public int darNumeroClientes( )
+    {
+        return numeroClientes;
+    }
+
+    /**
+     * Retorna el tamao total del formato.
+     * @return Tamao en bytes.
+     */
+    public int darTamano( )
+    {
+        return datos.getInt( 20 );
+    }
+
+    /**
+     * Retorna la cdula de un cliente. Es la nica consulta, junto con el nombre, que crea un objeto.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Cdula del cliente.
+     */
+    public String darCedula( int pCliente )
+    {
+        int registro = calcularRegistro( pCliente );
+        return leerUTF8( datos.getInt( registro + TEXTOS ), Short.toUnsignedInt( datos.getShort( registro + LONGITUD_CEDULA ) ) );
+    }
+
+    /**
+     * Retorna el nombre de un cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Nombre del cliente.
+     */
+    public String darNombre( int pCliente )
+    {
+        int registro = calcularRegistro( pCliente );
+        int longitudCedula = Short.toUnsignedInt( datos.getShort( registro + LONGITUD_CEDULA ) );
+        return leerUTF8( datos.getInt( registro + TEXTOS ) + longitudCedula, Short.toUnsignedInt( datos.getShort( registro + LONGITUD_NOMBRE ) ) );
+    }
+
+    /**
+     * Retorna el mes actual de un cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Mes actual.
+     */
+    public int darMesActual( int pCliente )
+    {
+        return datos.getInt( calcularRegistro( pCliente ) + MES_ACTUAL );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta corriente de un cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo en centavos.
+     */
+    public long darSaldoCorrienteCentavos( int pCliente )
+    {
+        return datos.getLong( calcularRegistro( pCliente ) + SALDO_CORRIENTE );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta de ahorros de un cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo en centavos.
+     */
+    public long darSaldoAhorrosCentavos( int pCliente )
+    {
+        return datos.getLong( calcularRegistro( pCliente ) + SALDO_AHORROS );
+    }
+
+    /**
+     * Retorna el inters mensual de la cuenta de ahorros de un cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Inters mensual.
+     */
+    public double darInteresAhorros( int pCliente )
+    {
+        return datos.getDouble( calcularRegistro( pCliente ) + INTERES_AHORROS );
+    }
+
+    /**
+     * Retorna el valor invertido en el CDT de un cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Valor invertido en centavos.
+     */
+    public long darValorCDTCentavos( int pCliente )
+    {
+        return datos.getLong( calcularRegistro( pCliente ) + VALOR_CDT );
+    }
+
+    /**
+     * Retorna el inters mensual del CDT de un cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Inters mensual.
+     */
+    public double darInteresCDT( int pCliente )
+    {
+        return datos.getDouble( calcularRegistro( pCliente ) + INTERES_CDT );
+    }
+
+    /**
+     * Retorna el mes de apertura del CDT de un cliente.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Mes de apertura.
+     */
+    public int darMesAperturaCDT( int pCliente )
+    {
+        return datos.getInt( calcularRegistro( pCliente ) + MES_APERTURA_CDT );
+    }
+
+    /**
+     * Retorna el valor presente del CDT de un cliente en su mes actual.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Valor presente en centavos.
+     */
+    public long darValorPresenteCDTCentavos( int pCliente )
+    {
+        return datos.getLong( calcularRegistro( pCliente ) + VALOR_PRESENTE_CDT );
+    }
+
+    /**
+     * Calcula el saldo total de un cliente, sin los CDT a plazo.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < darNumeroClientes( ).
+     * @return Saldo total en centavos.
+     */
+    public long calcularSaldoTotalCentavos( int pCliente )
+    {
+        int registro = calcularRegistro( pCliente );
+        return datos.getLong( registro + SALDO_CORRIENTE ) + datos.getLong( registro + SALDO_AHORROS ) + datos.getLong( registro + VALOR_PRESENTE_CDT );
+    }
+
+    /**
+     * Calcula la posicin del registro de un cliente.
+     * @param pCliente Posicin del cliente.
+     * @return Posicin del registro en los datos.
+     * @throws IndexOutOfBoundsException Si el cliente no est en el archivo.
+     */
+    private int calcularRegistro( int pCliente )
+    {
+        if( pCliente < 0 || pCliente >= numeroClientes )
+        {
+            throw new IndexOutOfBoundsException( "El cliente " + pCliente + " no est en el archivo, que tiene " + numeroClientes + " clientes." );
+        }
+        return TAMANO_ENCABEZADO + pCliente * tamanoRegistro;
+    }
+
+    /**
+     * Lee un texto en UTF-8 de los datos.
+     * @param pPosicion Posicin del texto.
+     * @param pLongitud Longitud del texto en bytes.
+     * @return Texto ledo.
+     */
+    private String leerUTF8( int pPosicion, int pLongitud )
+    {
+        byte[] bytes = new byte[pLongitud];
+        datos.get( pPosicion, bytes );
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+
+    /**
+     * Calcula la longitud en bytes de un texto en UTF-8, como lo escribe escribirUTF8.
+     * @param pTexto Texto.
+     * @return Longitud en bytes.
+     * @throws IllegalArgumentException Si el texto ocupa ms de LONGITUD_MAXIMA_TEXTO bytes.
+     */
+    private static int longitudUTF8( String pTexto )
+    {
+        int longitud = 0;
+        for( int i = 0; i < pTexto.length( ); i++ )
+        {
+            char c = pTexto.charAt( i );
+            if( c < 0x80 )
+            {
+                longitud += 1;
+            }
+            else if( c < 0x800 )
+            {
+                longitud += 2;
+            }
+            else if( Character.isHighSurrogate( c ) && i + 1 < pTexto.length( ) && Character.isLowSurrogate( pTexto.charAt( i + 1 ) ) )
+            {
+                longitud += 4;
+                i++;
+            }
+            else if( Character.isSurrogate( c ) )
+            {
+                longitud += 1;
+            }
+            else
+            {
+                longitud += 3;
+            }
+        }
+        if( longitud > LONGITUD_MAXIMA_TEXTO )
+        {
+            throw new IllegalArgumentException( "El texto ocupa " + longitud + " bytes, ms de los " + LONGITUD_MAXIMA_TEXTO + " permitidos." );
+        }
+        return longitud;
+    }
+
+    /**
+     * Escribe un texto en UTF-8 sin crear arreglos intermedios. Un sustituto sin pareja se escribe como '?', igual que en
+     * String.getBytes.
+     * @param pSalida Buffer de salida.
+     * @param pPosicion Posicin donde se escribe el texto.
+     * @param pTexto Texto.
+     * @return Nmero de bytes escritos.
+     */
+    private static int escribirUTF8( ByteBuffer pSalida, int pPosicion, String pTexto )
+    {
+        int p = pPosicion;
+        for( int i = 0; i < pTexto.length( ); i++ )
+        {
+            char c = pTexto.charAt( i );
+            if( c < 0x80 )
+            {
+                pSalida.put( p++, ( byte )c );
+            }
+            else if( c < 0x800 )
+            {
+                pSalida.put( p++, ( byte )( 0xC0 | ( c >> 6 ) ) );
+                pSalida.put( p++, ( byte )( 0x80 | ( c & 0x3F ) ) );
+            }
+            else if( Character.isHighSurrogate( c ) && i + 1 < pTexto.length( ) && Character.isLowSurrogate( pTexto.charAt( i + 1 ) ) )
+            {
+                int punto = Character.toCodePoint( c, pTexto.charAt( ++i ) );
+                pSalida.put( p++, ( byte )( 0xF0 | ( punto >> 18 ) ) );
+                pSalida.put( p++, ( byte )( 0x80 | ( ( punto >> 12 ) & 0x3F ) ) );
+                pSalida.put( p++, ( byte )( 0x80 | ( ( punto >> 6 ) & 0x3F ) ) );
+                pSalida.put( p++, ( byte )( 0x80 | ( punto & 0x3F ) ) );
+            }
+            else if( Character.isSurrogate( c ) )
+            {
+                pSalida.put( p++, ( byte )'?' );
+            }
+            else
+            {
+                pSalida.put( p++, ( byte )( 0xE0 | ( c >> 12 ) ) );
+                pSalida.put( p++, ( byte )( 0x80 | ( ( c >> 6 ) & 0x3F ) ) );
+                pSalida.put( p++, ( byte )( 0x80 | ( c & 0x3F ) ) );
+            }
+        }
+        return p - pPosicion;
+    }
+}
@@ -0,0 +1,633 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+import uniandes.cupi2.simuladorBancario.mundo.RegistroOperaciones;
+
+/**
+ * Diario de transacciones: archivo donde se agregan al final, en formato binario, las operaciones de un banco antes de
+ * confirmarlas. <br>
+ * El archivo se proyecta en memoria. Cada registro empieza con su longitud, que se escribe despus del resto del registro,
+ * as que un registro a medio escribir tiene longitud 0 y marca el final del diario. Despus de la longitud va una suma
+ * CRC32C del resto del registro; un registro cuya suma no coincide, por ejemplo porque el disco lo da, tambin marca el
+ * final del diario. <br>
+ * En modo agrupado varias operaciones concurrentes comparten una misma escritura a disco: el primer hilo que necesita
+ * confirmar fuerza todo lo escrito hasta ese momento y los que llegan mientras tanto esperan a que termine, y luego
+ * fuerzan juntos lo que se escribi mientras esperaban. <br>
+ * Las posiciones del diario no cambian cuando se trunca: el encabezado guarda la base, que es la posicin del diario que
+ * corresponde al inicio del archivo, y cada posicin p est en el byte p - base del archivo.
+ */
+public class DiarioTransacciones implements RegistroOperaciones
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Cada operacin se escribe a disco antes de retornar de la anotacin.
+     */
+    public static final int DURABILIDAD_POR_OPERACION = 1;
+
+    /**
+     * Las operaciones se escriben a disco en grupo al confirmarlas.
+     */
+    public static final int DURABILIDAD_AGRUPADA = 2;
+
+    /**
+     * Las operaciones no se escriben a disco al confirmarlas: llegan a disco cuando el sistema operativo lo decida o al
+     * cerrar el diario. Sirve para cargas masivas, donde se toma una instantnea al terminar.
+     */
+    public static final int DURABILIDAD_DIFERIDA = 3;
+
+    /**
+     * Nmero que identifica a los archivos de diario.
+     */
+    public static final int MAGIA = 0x53424431;
+
+    /**
+     * Versin del formato del diario. La versin 2 agreg la suma de verificacin de cada registro.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Bytes del encabezado del archivo: magia (4), versin (4) y base (8). Los diarios que nunca se han truncado tienen
+     * base 0.
+     */
+    public static final int TAMANO_ENCABEZADO = 16;
+
+    /**
+     * Bytes de un registro sin textos: longitud (4), suma de verificacin (4), cdigo (1), productos (1), cliente (4),
+     * auxiliar (4), centavos (8) y tasa (8).
+     */
+    public static final int TAMANO_REGISTRO = 34;
+
+    /**
+     * Longitud mxima de un registro, que es la de un cliente nuevo con los dos textos de la longitud mxima.
+     */
+    public static final int TAMANO_MAXIMO_REGISTRO = TAMANO_REGISTRO + 4 + 2 * 0xFFFF;
+
+    /**
+     * Posicin de la base dentro del encabezado.
+     */
+    private static final int POSICION_BASE = 8;
+
+    /**
+     * Posicin dentro del registro del primer byte cubierto por la suma de verificacin, que es el siguiente a la suma.
+     */
+    static final int INICIO_VERIFICADO = 8;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Archivo del diario.
+     */
+    private File archivo;
+
+    /**
+     * Canal del archivo del diario.
+     */
+    private FileChannel canal;
+
+    /**
+     * Proyeccin en memoria del archivo.
+     */
+    private MappedByteBuffer datos;
+
+    /**
+     * Posicin del diario que corresponde al inicio del archivo.
+     */
+    private long base;
+
+    /**
+     * Modo de durabilidad.
+     */
+    private int durabilidad;
+
+    /**
+     * Posicin donde se escribe el siguiente registro. Todos los registros anteriores estn completos.
+     */
+    private volatile long escrito;
+
+    /**
+     * Candado de la confirmacin agrupada.
+     */
+    private ReentrantLock candadoForzado;
+
+    /**
+     * Condicin que se seala cuando termina una escritura a disco.
+     */
+    private Condition forzadoTerminado;
+
+    /**
+     * Posicin hasta donde el diario est en disco.
+     */
+    private long forzadoHasta;
+
+    /**
+     * Si algn hilo est escribiendo el diario a disco.
+     */
+    private boolean forzando;
+
+    /**
+     * Nmero de escrituras a disco hechas.
+     */
+    private volatile long escriturasDisco;
+
+    /**
+     * Suma de verificacin de los registros que se anotan. Se usa con el candado del diario.
+     */
+    private CRC32C suma;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Abre el diario del archivo dado, crendolo si no existe. Si el archivo ya tiene registros, las anotaciones nuevas se
+     * agregan despus del ltimo registro completo. <br>
+     * <b>post: </b> El diario est listo para anotar operaciones.
+     * @param pArchivo Archivo del diario. pArchivo != null.
+     * @param pCapacidad Tamao del archivo en bytes. Si el archivo ya es ms grande se usa su tamao. pCapacidad <=
+     *        Integer.MAX_VALUE.
+     * @param pDurabilidad Modo de durabilidad. Es DURABILIDAD_POR_OPERACION, DURABILIDAD_AGRUPADA o
+     *        DURABILIDAD_DIFERIDA.
+     * @throws IOException Si no se puede abrir el archivo o no es un diario.
+     */
+    public DiarioTransacciones( File pArchivo, long pCapacidad, int pDurabilidad ) throws IOException
+    {
+        this( pArchivo, pCapacidad, pDurabilidad, TAMANO_ENCABEZADO );
+    }
+
+    /**
+     * Abre el diario del archivo dado buscando su final desde una posicin conocida, por ejemplo la de una instantnea del
+     * banco, para no recorrer todo el diario. <br>
+     * <b>post: </b> El diario est listo para anotar operaciones.
+     * @param pArchivo Archivo del diario. pArchivo != null.
+     * @param pCapacidad Tamao del archivo en bytes. Si el archivo ya es ms grande se usa su tamao. pCapacidad <=
+     *        Integer.MAX_VALUE.
+     * @param pDurabilidad Modo de durabilidad. Es DURABILIDAD_POR_OPERACION, DURABILIDAD_AGRUPADA o
+     *        DURABILIDAD_DIFERIDA.
+     * @param pDesde Posicin de un registro completo del diario, o la posicin inicial del diario.
+     * @throws IOException Si no se puede abrir el archivo o no es un diario.
+     */
+    public DiarioTransacciones( File pArchivo, long pCapacidad, int pDurabilidad, long pDesde ) throws IOException
+    {
+        if( pDurabilidad < DURABILIDAD_POR_OPERACION || pDurabilidad > DURABILIDAD_DIFERIDA )
+        {
+            throw new IllegalArgumentException( "El modo de durabilidad " + pDurabilidad + " no es vlido." );
+        }
+        archivo = pArchivo;
+        canal = FileChannel.open( pArchivo.toPath( ), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE );
+        long capacidad = Math.max( pCapacidad, canal.size( ) );
+        if( capacidad > Integer.MAX_VALUE || capacidad < TAMANO_ENCABEZADO + TAMANO_REGISTRO )
+        {
+            canal.close( );
+            throw new IllegalArgumentException( "La capacidad " + capacidad + " no es vlida para un diario." );
+        }
+        boolean nuevo = canal.size( ) == 0;
+        datos = canal.map( FileChannel.MapMode.READ_WRITE, 0, capacidad );
+        if( nuevo )
+        {
+            datos.putInt( 4, VERSION );
+            datos.putInt( 0, MAGIA );
+            datos.force( 0, TAMANO_ENCABEZADO );
+        }
+        else if( datos.getInt( 0 ) != MAGIA || datos.getInt( 4 ) != VERSION )
+        {
+            canal.close( );
+            throw new IOException( "El archivo " + pArchivo + " no es un diario de transacciones." );
+        }
+        base = datos.getLong( POSICION_BASE );
+        if( pDesde < base + TAMANO_ENCABEZADO || pDesde > base + capacidad )
+        {
+            canal.close( );
+            throw new IllegalArgumentException( "La posicin " + pDesde + " no est en el diario." );
+        }
+        escrito = buscarFinal( pDesde );
+        limpiarDesde( escrito );
+        durabilidad = pDurabilidad;
+        candadoForzado = new ReentrantLock( );
+        forzadoTerminado = candadoForzado.newCondition( );
+        forzadoHasta = escrito;
+        forzando = false;
+        escriturasDisco = 0;
+        suma = new CRC32C( );
+    }
+
+    /**
+     * Retorna el modo de durabilidad del diario.
+     * @return DURABILIDAD_POR_OPERACION, DURABILIDAD_AGRUPADA o DURABILIDAD_DIFERIDA.
+     */
+    public int darDurabilidad( )
+    {
+        return durabilidad;
+    }
+
+    /**
+     * Retorna la posicin siguiente al ltimo registro completo.
+     * @return Posicin final del diario.
+     */
+    public long darPosicionFinal( )
+    {
+        return escrito;
+    }
+
+    /**
+     * Retorna la posicin del primer registro que conserva el diario. Es TAMANO_ENCABEZADO si el diario nunca se ha
+     * truncado.
+     * @return Posicin inicial del diario.
+     */
+    public synchronized long darPosicionInicial( )
+    {
+        return base + TAMANO_ENCABEZADO;
+    }
+
+    /**
+     * Retorna el tamao del archivo del diario.
+     * @return Capacidad en bytes.
+     */
+    public long darCapacidad( )
+    {
+        return datos.capacity( );
+    }
+
+    /**
+     * Retorna el nmero de escrituras a disco hechas desde que se abri el diario.
+     * @return Nmero de escrituras a disco.
+     */
+    public long darEscriturasDisco( )
+    {
+        return escriturasDisco;
+    }
+
+    /**
+     * Crea un lector que recorre los registros del diario desde la posicin dada.
+     * @param pPosicion Posicin de un registro, o darPosicionInicial( ) para leer desde el principio.
+     * @return Lector del diario.
+     */
+    public synchronized LectorDiario crearLector( long pPosicion )
+    {
+        return new LectorDiario( datos.duplicate( ), pPosicion, base );
+    }
+
+    /**
+     * Enva a un canal los bytes de un rango del diario directamente desde la proyeccin en memoria, sin copiarlos a otro
+     * buffer. Puede enviar menos bytes de los pedidos, como WritableByteChannel.write. Si el diario se trunca durante el
+     * envo, se terminan de enviar los bytes de la proyeccin anterior, que siguen siendo vlidos.
+     * @param pDesde Posicin inicial del rango.
+     * @param pHasta Posicin siguiente al rango. pHasta <= darPosicionFinal( ).
+     * @param pDestino Canal donde se escriben los bytes. pDestino != null.
+     * @return Nmero de bytes enviados.
+     * @throws IOException Si el rango ya no est en el diario porque se trunc o no se puede escribir en el canal.
+     */
+    public long transferir( long pDesde, long pHasta, WritableByteChannel pDestino ) throws IOException
+    {
+        ByteBuffer rango;
+        synchronized( this )
+        {
+            if( pDesde < base + TAMANO_ENCABEZADO )
+            {
+                throw new IOException( "La posicin " + pDesde + " ya no est en el diario porque se trunc." );
+            }
+            rango = datos.duplicate( );
+            rango.limit( ( int )( pHasta - base ) ).position( ( int )( pDesde - base ) );
+        }
+        return pDestino.write( rango );
+    }
+
+    /**
+     * Anota el registro de un cliente nuevo. La cdula y el nombre se guardan en UTF-8.
+     * @param pCliente Posicin del cliente en el banco.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @param pNombre Nombre del cliente. pNombre != null.
+     * @return Posicin siguiente al registro.
+     * @throws IllegalArgumentException Si la cdula o el nombre son demasiado largos.
+     * @throws IllegalStateException Si el diario est lleno.
+     */
+    public long anotarCliente( int pCliente, String pCedula, String pNombre )
+    {
+        byte[] cedula = pCedula.getBytes( StandardCharsets.UTF_8 );
+        byte[] nombre = pNombre.getBytes( StandardCharsets.UTF_8 );
+        if( cedula.length > 0xFFFF || nombre.length > 0xFFFF )
+        {
+            throw new IllegalArgumentException( "La cdula o el nombre del cliente son demasiado largos." );
+        }
+        synchronized( this )
+        {
+            int inicio = reservar( TAMANO_REGISTRO + 4 + cedula.length + nombre.length );
+            escribirCampos( inicio, Operacion.AGREGAR_CLIENTE, pCliente, 0, 0, 0, 0 );
+            int posicion = inicio + TAMANO_REGISTRO;
+            datos.putShort( posicion, ( short )cedula.length );
+            datos.put( posicion + 2, cedula );
+            posicion += 2 + cedula.length;
+            datos.putShort( posicion, ( short )nombre.length );
+            datos.put( posicion + 2, nombre );
+            posicion += 2 + nombre.length;
+            return publicar( inicio, posicion );
+        }
+    }
+
+    /**
+     * Anota una operacin sobre uno o dos clientes.
+     * @param pCodigo Cdigo de la operacin. Es uno de los valores de Operacion.
+     * @param pCliente Posicin del cliente.
+     * @param pAuxiliar Dato auxiliar de la operacin.
+     * @param pProductos Productos empacados de una transferencia, o 0.
+     * @param pCentavos Monto en centavos.
+     * @param pTasa Inters de la operacin.
+     * @return Posicin siguiente al registro.
+     * @throws IllegalStateException Si el diario est lleno.
+     */
+    public long anotar( int pCodigo, int pCliente, int pAuxiliar, int pProductos, long pCentavos, double pTasa )
+    {
+        synchronized( this )
+        {
+            int inicio = reservar( TAMANO_REGISTRO );
+            escribirCampos( inicio, pCodigo, pCliente, pAuxiliar, pProductos, pCentavos, pTasa );
+            return publicar( inicio, inicio + TAMANO_REGISTRO );
+        }
+    }
+
+    /**
+     * Espera a que los registros hasta la posicin dada estn en disco. <br>
+     * En modo agrupado, si ningn hilo est escribiendo a disco este hilo escribe todos los registros completos; si no,
+     * espera a que termine la escritura en curso y vuelve a revisar. En modo por operacin no hace nada, porque la
+     * anotacin ya escribi el registro a disco, y en modo diferido tampoco.
+     * @param pPosicion Posicin retornada por una anotacin.
+     */
+    public void confirmar( long pPosicion )
+    {
+        if( durabilidad != DURABILIDAD_AGRUPADA )
+        {
+            return;
+        }
+        candadoForzado.lock( );
+        try
+        {
+            while( forzadoHasta < pPosicion )
+            {
+                if( forzando )
+                {
+                    forzadoTerminado.awaitUninterruptibly( );
+                }
+                else
+                {
+                    forzando = true;
+                    long desde = forzadoHasta;
+                    long hasta = escrito;
+                    boolean forzado = false;
+                    candadoForzado.unlock( );
+                    try
+                    {
+                        forzar( desde, hasta );
+                        forzado = true;
+                    }
+                    finally
+                    {
+                        candadoForzado.lock( );
+                        forzando = false;
+                        if( forzado )
+                        {
+                            forzadoHasta = hasta;
+                        }
+                        forzadoTerminado.signalAll( );
+                    }
+                }
+            }
+        }
+        finally
+        {
+            candadoForzado.unlock( );
+        }
+    }
+
+    /**
+     * Descarta los registros anteriores a la posicin dada, por ejemplo los que ya estn en una instantnea, para que el
+     * diario no se llene. Los registros desde esa posicin se copian a un archivo nuevo, que se lleva a disco y reemplaza
+     * al anterior con un solo cambio de nombre, as que si el proceso termina a la mitad queda el diario anterior o el
+     * nuevo, completos. Las anotaciones esperan mientras se copia. <br>
+     * <b>post: </b> darPosicionInicial( ) es pPosicion y las dems posiciones del diario no cambiaron. Los lectores creados
+     * antes siguen leyendo el diario anterior.
+     * @param pPosicion Posicin de un registro completo del diario. pPosicion <= darPosicionFinal( ).
+     * @throws IOException Si no se puede escribir el archivo nuevo. En ese caso el diario queda como estaba.
+     */
+    public void truncar( long pPosicion ) throws IOException
+    {
+        candadoForzado.lock( );
+        try
+        {
+            while( forzando )
+            {
+                forzadoTerminado.awaitUninterruptibly( );
+            }
+            synchronized( this )
+            {
+                if( pPosicion <= base + TAMANO_ENCABEZADO )
+                {
+                    return;
+                }
+                if( pPosicion > escrito )
+                {
+                    throw new IllegalArgumentException( "La posicin " + pPosicion + " no est en el diario." );
+                }
+                File temporal = new File( archivo.getPath( ) + ".nuevo" );
+                FileChannel canalNuevo = FileChannel.open( temporal.toPath( ), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE );
+                MappedByteBuffer datosNuevos;
+                long baseNueva = pPosicion - TAMANO_ENCABEZADO;
+                try
+                {
+                    datosNuevos = canalNuevo.map( FileChannel.MapMode.READ_WRITE, 0, datos.capacity( ) );
+                    ByteBuffer registros = datos.duplicate( );
+                    registros.limit( ( int )( escrito - base ) ).position( ( int )( pPosicion - base ) );
+                    datosNuevos.put( TAMANO_ENCABEZADO, registros, registros.position( ), registros.remaining( ) );
+                    datosNuevos.putLong( POSICION_BASE, baseNueva );
+                    datosNuevos.putInt( 4, VERSION );
+                    datosNuevos.putInt( 0, MAGIA );
+                    datosNuevos.force( );
+                    Files.move( temporal.toPath( ), archivo.toPath( ), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING );
+                }
+                catch( IOException e )
+                {
+                    canalNuevo.close( );
+                    temporal.delete( );
+                    throw e;
+                }
+                canal.close( );
+                canal = canalNuevo;
+                datos = datosNuevos;
+                base = baseNueva;
+                forzadoHasta = escrito;
+                escriturasDisco++;
+            }
+        }
+        finally
+        {
+            candadoForzado.unlock( );
+        }
+    }
+
+    /**
+     * Escribe a disco todo el diario y cierra el archivo. <br>
+     * <b>post: </b> El diario no se puede volver a usar.
+     * @throws IOException Si no se puede cerrar el archivo.
+     */
+    public void cerrar( ) throws IOException
+    {
+        synchronized( this )
+        {
+            datos.force( );
+            canal.close( );
+        }
+    }
+
+    /**
+     * Reserva espacio para un registro al final del diario. Se llama con el candado del diario.
+     * @param pLongitud Longitud del registro.
+     * @return Posicin del registro dentro del archivo.
+     * @throws IllegalStateException Si el diario no tiene espacio.
+     */
+    private int reservar( int pLongitud )
+    {
+        long inicio = escrito - base;
+        if( inicio + pLongitud > datos.capacity( ) )
+        {
+            throw new IllegalStateException( "El diario de transacciones est lleno." );
+        }
+        return ( int )inicio;
+    }
+
+    /**
+     * Escribe los campos fijos de un registro, sin la longitud.
+     * @param pInicio Posicin del registro dentro del archivo.
+     * @param pCodigo Cdigo de la operacin.
+     * @param pCliente Posicin del cliente.
+     * @param pAuxiliar Dato auxiliar de la operacin.
+     * @param pProductos Productos empacados.
+     * @param pCentavos Monto en centavos.
+     * @param pTasa Inters de la operacin.
+     */
+    private void escribirCampos( int pInicio, int pCodigo, int pCliente, int pAuxiliar, int pProductos, long pCentavos, double pTasa )
+    {
+        datos.put( pInicio + 8, ( byte )pCodigo );
+        datos.put( pInicio + 9, ( byte )pProductos );
+        datos.putInt( pInicio + 10, pCliente );
+        datos.putInt( pInicio + 14, pAuxiliar );
+        datos.putLong( pInicio + 18, pCentavos );
+        datos.putDouble( pInicio + 26, pTasa );
+    }
+
+    /**
+     * Escribe la suma de verificacin y la longitud de un registro ya escrito, con lo que queda completo, y lo lleva a disco
+     * si el modo es por operacin. Se llama con el candado del diario.
+     * @param pInicio Posicin del registro dentro del archivo.
+     * @param pFin Posicin siguiente al registro dentro del archivo.
+     * @return Posicin del diario siguiente al registro.
+     */
+    private long publicar( int pInicio, int pFin )
+    {
+        datos.putInt( pInicio + 4, calcularSuma( suma, datos, pInicio, pFin ) );
+        VarHandle.releaseFence( );
+        datos.putInt( pInicio, pFin - pInicio );
+        escrito = base + pFin;
+        if( durabilidad == DURABILIDAD_POR_OPERACION )
+        {
+            forzar( base + pInicio, base + pFin );
+        }
+        return base + pFin;
+    }
+
+    /**
+     * Escribe a disco un rango del diario. Se llama con el candado del diario o marcando que se est forzando, para que el
+     * diario no se trunque mientras tanto.
+     * @param pDesde Posicin inicial del rango.
+     * @param pHasta Posicin siguiente al rango.
+     */
+    private void forzar( long pDesde, long pHasta )
+    {
+        if( pHasta > pDesde )
+        {
+            datos.force( ( int )( pDesde - base ), ( int )( pHasta - pDesde ) );
+            escriturasDisco++;
+        }
+    }
+
+    /**
+     * Calcula la suma de verificacin de un registro, que cubre todos sus bytes despus de la suma.
+     * @param pSuma Calculador de la suma, que se reinicia.
+     * @param pDatos Datos del diario.
+     * @param pInicio Posicin del registro dentro de los datos.
+     * @param pFin Posicin siguiente al registro dentro de los datos.
+     * @return Suma CRC32C del registro.
+     */
+    static int calcularSuma( CRC32C pSuma, ByteBuffer pDatos, int pInicio, int pFin )
+    {
+        pSuma.reset( );
+        pSuma.update( pDatos.slice( pInicio + INICIO_VERIFICADO, pFin - pInicio - INICIO_VERIFICADO ) );
+        return ( int )pSuma.getValue( );
+    }
+
+    /**
+     * Recorre los registros desde la posicin dada hasta encontrar uno incompleto, uno daado o el final del archivo.
+     * @param pDesde Posicin de un registro completo.
+     * @return Posicin siguiente al ltimo registro completo.
+     */
+    private long buscarFinal( long pDesde )
+    {
+        LectorDiario lector = crearLector( pDesde );
+        while( lector.avanzar( ) )
+        {
+            // Solo se busca el final
+        }
+        return lector.darPosicion( );
+    }
+
+    /**
+     * Borra los restos de un registro incompleto que pueda haber despus del final del diario, para que al agregar
+     * registros nuevos no se confundan con registros completos.
+     * @param pDesde Posicin final del diario.
+     */
+    private void limpiarDesde( long pDesde )
+    {
+        int inicio = ( int )( pDesde - base );
+        int fin = ( int )Math.min( datos.capacity( ), inicio + ( long )TAMANO_MAXIMO_REGISTRO );
+        boolean limpio = true;
+        for( int i = inicio; i < fin; i++ )
+        {
+            if( datos.get( i ) != 0 )
+            {
+                datos.put( i, ( byte )0 );
+                limpio = false;
+            }
+        }
+        if( !limpio )
+        {
+            datos.force( inicio, fin - inicio );
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,431 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+
+/**
+ * Clase que genera el extracto de fin de mes de todos los clientes de un banco. <br>
+ * El extracto de un cliente tiene su cdula, su nombre, el mes actual, el saldo de cada producto y el saldo total, con
+ * los valores en el mismo formato de la interfaz. Los extractos se escriben en UTF-8 en varios archivos del directorio
+ * dado, con CLIENTES_POR_ARCHIVO clientes cada uno, y los archivos se generan en paralelo. Cada hilo reutiliza su
+ * formato de nmeros, su texto y sus buffers de un cliente a otro, y escribe los buffers llenos de una sola vez en el
+ * canal del archivo.
+ */
+public class GeneradorExtractos
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero por defecto de clientes en cada archivo de extractos.
+     */
+    public static final int CLIENTES_POR_ARCHIVO = 1 << 16;
+
+    /**
+     * Patrn de los valores, el mismo de la interfaz.
+     */
+    public static final String PATRON_VALORES = "$ ###,###.##";
+
+    /**
+     * Nmero de buffers de cada hilo que se escriben juntos.
+     */
+    private static final int NUMERO_BUFFERS = 4;
+
+    /**
+     * Tamao de cada buffer de escritura, en bytes.
+     */
+    private static final int TAMANO_BUFFER = 1 << 18;
+
+    /**
+     * Formateador de cada hilo.
+     */
+    private static final ThreadLocal<Formateador> FORMATEADORES = ThreadLocal.withInitial( Formateador::new );
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco de los clientes.
+     */
+    private Banco banco;
+
+    /**
+     * Pool de hilos que genera los archivos.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Nmero de clientes en cada archivo.
+     */
+    private int clientesPorArchivo;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea un generador para el banco dado, que usa el pool comn y CLIENTES_POR_ARCHIVO clientes por archivo.
+     * @param pBanco Banco de los clientes. pBanco != null.
+     */
+    public GeneradorExtractos( Banco pBanco )
+    {
+        this( pBanco, ForkJoinPool.commonPool( ), CLIENTES_POR_ARCHIVO );
+    }
+
+    /**
+     * Crea un generador para el banco dado.
+     * @param pBanco Banco de los clientes. pBanco != null.
+     * @param pPool Pool de hilos. pPool != null.
+     * @param pClientesPorArchivo Nmero de clientes en cada archivo. pClientesPorArchivo > 0.
+     */
+    public GeneradorExtractos( Banco pBanco, ForkJoinPool pPool, int pClientesPorArchivo )
+    {
+        banco = pBanco;
+        pool = pPool;
+        clientesPorArchivo = pClientesPorArchivo;
+    }
+
+    /**
+     * Retorna el archivo con los extractos de un grupo de clientes.
+     * @param pDirectorio Directorio de los extractos. pDirectorio != null.
+     * @param pArchivo Nmero del archivo, desde 0. El archivo i tiene los extractos de los clientes desde
+     *        i * clientesPorArchivo.
+     * @return Archivo de extractos.
+     */
+    public static File darArchivo( File pDirectorio, int pArchivo )
+    {
+        return new File( pDirectorio, String.format( "extractos-%05d.txt", pArchivo ) );
+    }
+
+    /**
+     * Retorna el nmero de archivos que se generan para los clientes actuales del banco.
+     * @return Nmero de archivos.
+     */
+    public int darNumeroArchivos( )
+    {
+        return ( int )( ( ( long )banco.darNumeroClientes( ) + clientesPorArchivo - 1 ) / clientesPorArchivo );
+    }
+
+    /**
+     * Genera los extractos de todos los clientes del banco en el directorio dado, reemplazando los archivos que hubiera.
+     * <br>
+     * <b>pre: </b> No se estn haciendo operaciones sobre el banco. <br>
+     * <b>post: </b> El directorio tiene darNumeroArchivos( ) archivos con los extractos de los clientes en orden.
+     * @param pDirectorio Directorio de los extractos. pDirectorio != null.
+     * @return Nmero de bytes escritos.
+     * @throws IOException Si no se puede escribir algn archivo.
+     */
+    public long generar( File pDirectorio ) throws IOException
+    {
+        pDirectorio.mkdirs( );
+        AtomicLong bytes = new AtomicLong( );
+        try
+        {
+            pool.invoke( new Generacion( pDirectorio, 0, darNumeroArchivos( ), bytes ) );
+        }
+        catch( UncheckedIOException e )
+        {
+            throw e.getCause( );
+        }
+        return bytes.get( );
+    }
+
+    /**
+     * Retorna el extracto de un cliente, igual al que se escribe en los archivos.
+     * @param pCliente Posicin del cliente. 0 <= pCliente < banco.darNumeroClientes( ).
+     * @return Texto del extracto.
+     */
+    public String darExtracto( int pCliente )
+    {
+        Formateador formateador = FORMATEADORES.get( );
+        formateador.escribirExtracto( banco, pCliente );
+        return formateador.texto.toString( );
+    }
+
+    /**
+     * Escribe los extractos de un rango de clientes en un archivo.
+     * @param pArchivo Archivo de los extractos.
+     * @param pDesde Posicin del primer cliente.
+     * @param pHasta Posicin siguiente al ltimo cliente.
+     * @return Nmero de bytes escritos.
+     * @throws IOException Si no se puede escribir el archivo.
+     */
+    private long generar( File pArchivo, int pDesde, int pHasta ) throws IOException
+    {
+        Formateador formateador = FORMATEADORES.get( );
+        formateador.descartar( );
+        try( FileChannel canal = FileChannel.open( pArchivo.toPath( ), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING ) )
+        {
+            long bytes = 0;
+            for( int i = pDesde; i < pHasta; i++ )
+            {
+                formateador.escribirExtracto( banco, i );
+                bytes += formateador.codificar( canal );
+            }
+            formateador.vaciar( canal );
+            return bytes;
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // Clases internas
+    // -----------------------------------------------------------------
+
+    /**
+     * Objetos que un hilo reutiliza para generar extractos: el formato de los valores, el texto del extracto actual y los
+     * buffers donde se codifica antes de escribirlo.
+     */
+    private static class Formateador
+    {
+        /**
+         * Formato de los valores.
+         */
+        private DecimalFormat formato;
+
+        /**
+         * Campo pedido al formato, que no se usa.
+         */
+        private FieldPosition campo;
+
+        /**
+         * Texto del extracto actual.
+         */
+        private StringBuffer texto;
+
+        /**
+         * Caracteres del extracto actual, para codificarlos.
+         */
+        private char[] caracteres;
+
+        /**
+         * Codificador a UTF-8.
+         */
+        private CharsetEncoder codificador;
+
+        /**
+         * Buffers de escritura.
+         */
+        private ByteBuffer[] buffers;
+
+        /**
+         * Posicin del buffer que se est llenando.
+         */
+        private int actual;
+
+        /**
+         * Crea los objetos de un hilo.
+         */
+        private Formateador( )
+        {
+            formato = ( DecimalFormat )NumberFormat.getInstance( );
+            formato.applyPattern( PATRON_VALORES );
+            formato.setMinimumFractionDigits( 2 );
+            campo = new FieldPosition( 0 );
+            texto = new StringBuffer( 256 );
+            caracteres = new char[256];
+            codificador = StandardCharsets.UTF_8.newEncoder( ).onMalformedInput( CodingErrorAction.REPLACE ).onUnmappableCharacter( CodingErrorAction.REPLACE );
+            buffers = new ByteBuffer[NUMERO_BUFFERS];
+            for( int i = 0; i < buffers.length; i++ )
+            {
+                buffers[ i ] = ByteBuffer.allocateDirect( TAMANO_BUFFER );
+            }
+            actual = 0;
+        }
+
+        /**
+         * Deja en el texto el extracto de un cliente.
+         * @param pBanco Banco del cliente.
+         * @param pCliente Posicin del cliente.
+         */
+        private void escribirExtracto( Banco pBanco, int pCliente )
+        {
+            texto.setLength( 0 );
+            texto.append( "Cdula: " ).append( pBanco.darCedula( pCliente ) ).append( '\n' );
+            texto.append( "Nombre: " ).append( pBanco.darNombre( pCliente ) ).append( '\n' );
+            texto.append( "Mes: " ).append( pBanco.darMesActual( pCliente ) ).append( '\n' );
+            escribirValor( "Cuenta corriente: ", pBanco.darSaldoCorrienteCentavos( pCliente ) );
+            escribirValor( "Cuenta de ahorros: ", pBanco.darSaldoAhorrosCentavos( pCliente ) );
+            escribirValor( "CDT: ", pBanco.calcularValorPresenteCDTCentavos( pCliente ) );
+            escribirValor( "Saldo total: ", pBanco.calcularSaldoTotalCentavos( pCliente ) );
+            texto.append( '\n' );
+        }
+
+        /**
+         * Agrega al texto una lnea con un valor.
+         * @param pEtiqueta Etiqueta del valor.
+         * @param pCentavos Valor en centavos.
+         */
+        private void escribirValor( String pEtiqueta, long pCentavos )
+        {
+            texto.append( pEtiqueta );
+            formato.format( pCentavos / 100.0, texto, campo );
+            texto.append( '\n' );
+        }
+
+        /**
+         * Codifica el texto en los buffers, escribindolos en el canal cuando se llenan.
+         * @param pCanal Canal del archivo.
+         * @return Nmero de bytes codificados.
+         * @throws IOException Si no se puede escribir.
+         */
+        private long codificar( FileChannel pCanal ) throws IOException
+        {
+            int longitud = texto.length( );
+            if( caracteres.length < longitud )
+            {
+                caracteres = new char[Math.max( longitud, caracteres.length * 2 )];
+            }
+            texto.getChars( 0, longitud, caracteres, 0 );
+            CharBuffer entrada = CharBuffer.wrap( caracteres, 0, longitud );
+            long bytes = 0;
+            codificador.reset( );
+            while( true )
+            {
+                ByteBuffer buffer = buffers[ actual ];
+                int antes = buffer.position( );
+                CoderResult resultado = codificador.encode( entrada, buffer, true );
+                bytes += buffer.position( ) - antes;
+                if( !resultado.isOverflow( ) )
+                {
+                    return bytes;
+                }
+                actual++;
+                if( actual == buffers.length )
+                {
+                    vaciar( pCanal );
+                }
+            }
+        }
+
+        /**
+         * Deja vacos los buffers, descartando lo que haya quedado de un archivo que no se pudo escribir.
+         */
+        private void descartar( )
+        {
+            for( ByteBuffer buffer : buffers )
+            {
+                buffer.clear( );
+            }
+            actual = 0;
+        }
+
+        /**
+         * Escribe en el canal el contenido de todos los buffers y los deja vacos.
+         * @param pCanal Canal del archivo.
+         * @throws IOException Si no se puede escribir.
+         */
+        private void vaciar( FileChannel pCanal ) throws IOException
+        {
+            for( ByteBuffer buffer : buffers )
+            {
+                buffer.flip( );
+            }
+            long pendientes = 0;
+            for( ByteBuffer buffer : buffers )
+            {
+                pendientes += buffer.remaining( );
+            }
+            while( pendientes > 0 )
+            {
+                pendientes -= pCanal.write( buffers );
+            }
+            descartar( );
+        }
+    }
+
+    /**
+     * Tarea que genera un rango de archivos, dividindolo en dos mitades mientras tenga ms de un archivo.
+     */
+    @SuppressWarnings("serial")
+    private class Generacion extends RecursiveAction
+    {
+        /**
+         * Directorio de los extractos.
+         */
+        private File directorio;
+
+        /**
+         * Nmero del primer archivo del rango.
+         */
+        private int desde;
+
+        /**
+         * Nmero siguiente al ltimo archivo del rango.
+         */
+        private int hasta;
+
+        /**
+         * Contador de bytes escritos.
+         */
+        private AtomicLong bytes;
+
+        /**
+         * Crea la tarea para el rango dado.
+         * @param pDirectorio Directorio de los extractos.
+         * @param pDesde Nmero del primer archivo del rango.
+         * @param pHasta Nmero siguiente al ltimo archivo del rango.
+         * @param pBytes Contador de bytes escritos.
+         */
+        private Generacion( File pDirectorio, int pDesde, int pHasta, AtomicLong pBytes )
+        {
+            directorio = pDirectorio;
+            desde = pDesde;
+            hasta = pHasta;
+            bytes = pBytes;
+        }
+
+        /**
+         * Genera el archivo del rango o divide el rango en dos tareas.
+         */
+        protected void compute( )
+        {
+            if( hasta - desde == 1 )
+            {
+                int primero = desde * clientesPorArchivo;
+                int ultimo = ( int )Math.min( ( long )primero + clientesPorArchivo, banco.darNumeroClientes( ) );
+                try
+                {
+                    bytes.addAndGet( generar( darArchivo( directorio, desde ), primero, ultimo ) );
+                }
+                catch( IOException e )
+                {
+                    throw new UncheckedIOException( e );
+                }
+            }
+            else if( hasta - desde > 1 )
+            {
+                int mitad = ( desde + hasta ) >>> 1;
+                invokeAll( new Generacion( directorio, desde, mitad, bytes ), new Generacion( directorio, mitad, hasta, bytes ) );
+            }
+        }
+    }
+}
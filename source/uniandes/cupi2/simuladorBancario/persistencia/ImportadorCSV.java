@@ -0,0 +1,911 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.IndiceCedulas;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+
+/**
+ * Clase que carga en un banco clientes y transacciones desde archivos CSV de cualquier tamao. <br>
+ * El archivo de clientes tiene una lnea "cedula,nombre" por cliente; el nombre es el resto de la lnea. El archivo de
+ * transacciones tiene lneas "cedula,operacion,valor,tasa", donde la operacin es el nombre de una constante de
+ * Operacion: CONSIGNAR_CORRIENTE, CONSIGNAR_AHORROS, RETIRAR_CORRIENTE, RETIRAR_AHORROS, INVERTIR_CDT, CERRAR_CDT,
+ * AVANZAR_MES o AVANZAR_MESES. El valor es un monto en pesos con punto decimal, que se redondea al centavo, o el nmero de
+ * meses de AVANZAR_MESES; la tasa solo se usa en INVERTIR_CDT, y los campos que no se usan pueden omitirse. Los campos no
+ * llevan comillas. Si la primera lnea empieza por "cedula" se toma como encabezado. Las lneas terminan en "\n" o en
+ * "\r\n" y los textos van en UTF-8. <br>
+ * El archivo se lee con un canal en bloques de tamao fijo que terminan en un fin de lnea, as que la memoria usada no
+ * depende del tamao del archivo. Se leen tantos bloques como hilos tenga el pool y se analizan en paralelo sin crear
+ * objetos por campo: las cdulas numricas se buscan por su clave y los montos se convierten directamente a centavos.
+ * Luego las transacciones se aplican al banco tambin en paralelo: cada hilo aplica, en el orden del archivo, las de los
+ * clientes que le tocan, as que las transacciones de un mismo cliente se aplican en orden. Los clientes, en cambio, se
+ * agregan en el orden del archivo, para que su posicin en el banco sea la de su lnea. <br>
+ * Las lneas que no se pueden interpretar o que son de clientes que no existen se cuentan y se ignoran. Las
+ * transferencias no se importan, porque mezclaran clientes de hilos distintos. Si el banco tiene un diario, conviene
+ * usar la durabilidad diferida durante la carga.
+ */
+public class ImportadorCSV
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Tamao por defecto de los bloques de lectura, en bytes. Ninguna lnea puede ser ms larga.
+     */
+    public static final int TAMANO_BLOQUE = 1 << 22;
+
+    /**
+     * Nmero mximo de dgitos de la parte entera de un monto.
+     */
+    private static final int MAXIMO_DIGITOS_MONTO = 15;
+
+    /**
+     * Nmero mximo de dgitos de una tasa.
+     */
+    private static final int MAXIMO_DIGITOS_TASA = 15;
+
+    /**
+     * Nombres de las operaciones que se pueden importar, en bytes.
+     */
+    private static final byte[][] NOMBRES_OPERACIONES = { bytes( "CONSIGNAR_CORRIENTE" ), bytes( "CONSIGNAR_AHORROS" ), bytes( "RETIRAR_CORRIENTE" ), bytes( "RETIRAR_AHORROS" ), bytes( "INVERTIR_CDT" ), bytes( "CERRAR_CDT" ), bytes( "AVANZAR_MES" ), bytes( "AVANZAR_MESES" ) };
+
+    /**
+     * Cdigos de las operaciones, en el mismo orden de los nombres.
+     */
+    private static final int[] CODIGOS_OPERACIONES = { Operacion.CONSIGNAR_CORRIENTE, Operacion.CONSIGNAR_AHORROS, Operacion.RETIRAR_CORRIENTE, Operacion.RETIRAR_AHORROS, Operacion.INVERTIR_CDT, Operacion.CERRAR_CDT, Operacion.AVANZAR_MES, Operacion.AVANZAR_MESES };
+
+    /**
+     * Comienzo de la lnea de encabezado.
+     */
+    private static final byte[] ENCABEZADO = bytes( "cedula" );
+
+    /**
+     * Potencias de 10 representables exactamente como double.
+     */
+    private static final double[] POTENCIAS_DIEZ = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18 };
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco donde se cargan los datos.
+     */
+    private Banco banco;
+
+    /**
+     * Pool de hilos que analiza y aplica los bloques.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Tamao de los bloques de lectura, en bytes.
+     */
+    private int tamanoBloque;
+
+    /**
+     * Filtro de las cdulas de los clientes que se agregan, o null si se agregan todos.
+     */
+    private Predicate<String> filtroClientes;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea un importador para el banco dado, que usa el pool comn y bloques de TAMANO_BLOQUE bytes.
+     * @param pBanco Banco donde se cargan los datos. pBanco != null.
+     */
+    public ImportadorCSV( Banco pBanco )
+    {
+        this( pBanco, ForkJoinPool.commonPool( ), TAMANO_BLOQUE );
+    }
+
+    /**
+     * Crea un importador para el banco dado. La memoria usada es de unos pPool.getParallelism( ) bloques.
+     * @param pBanco Banco donde se cargan los datos. pBanco != null.
+     * @param pPool Pool de hilos. pPool != null.
+     * @param pTamanoBloque Tamao de los bloques de lectura, en bytes. Ninguna lnea del archivo puede ser ms larga.
+     *        pTamanoBloque > 0.
+     */
+    public ImportadorCSV( Banco pBanco, ForkJoinPool pPool, int pTamanoBloque )
+    {
+        banco = pBanco;
+        pool = pPool;
+        tamanoBloque = pTamanoBloque;
+        filtroClientes = null;
+    }
+
+    /**
+     * Cambia el filtro de los clientes que se importan. Sirve para cargar en un proceso solo los clientes de su particin;
+     * los dems se saltan sin contarse como invlidos.
+     * @param pFiltro Filtro que recibe la cdula de cada cliente y indica si se agrega, o null para agregarlos todos.
+     */
+    public void cambiarFiltroClientes( Predicate<String> pFiltro )
+    {
+        filtroClientes = pFiltro;
+    }
+
+    /**
+     * Agrega al banco los clientes de un archivo CSV, en el orden del archivo. <br>
+     * <b>post: </b> Se agregaron los clientes de las lneas vlidas.
+     * @param pArchivo Archivo con lneas "cedula,nombre". pArchivo != null.
+     * @return Resultado de la importacin.
+     * @throws IOException Si no se puede leer el archivo o tiene una lnea ms larga que un bloque.
+     * @throws IllegalStateException Si el banco no tiene capacidad para todos los clientes.
+     */
+    public ResultadoImportacion importarClientes( File pArchivo ) throws IOException
+    {
+        return importar( pArchivo, true );
+    }
+
+    /**
+     * Aplica al banco las transacciones de un archivo CSV. Las transacciones de cada cliente se aplican en el orden del
+     * archivo. <br>
+     * <b>post: </b> Se aplicaron las transacciones de las lneas vlidas.
+     * @param pArchivo Archivo con lneas "cedula,operacion,valor,tasa". pArchivo != null.
+     * @return Resultado de la importacin.
+     * @throws IOException Si no se puede leer el archivo o tiene una lnea ms larga que un bloque.
+     */
+    public ResultadoImportacion importarTransacciones( File pArchivo ) throws IOException
+    {
+        return importar( pArchivo, false );
+    }
+
+    /**
+     * Lee el archivo por grupos de bloques, los analiza en paralelo y los aplica al banco.
+     * @param pArchivo Archivo CSV.
+     * @param pClientes True si es un archivo de clientes, false si es de transacciones.
+     * @return Resultado de la importacin.
+     * @throws IOException Si no se puede leer el archivo o tiene una lnea ms larga que un bloque.
+     */
+    private ResultadoImportacion importar( File pArchivo, boolean pClientes ) throws IOException
+    {
+        long inicio = System.nanoTime( );
+        int particiones = pool.getParallelism( );
+        Bloque[] bloques = new Bloque[particiones];
+        for( int i = 0; i < bloques.length; i++ )
+        {
+            bloques[ i ] = new Bloque( tamanoBloque );
+        }
+        byte[] resto = new byte[tamanoBloque];
+        int longitudResto = 0;
+        boolean primero = true;
+        boolean fin = false;
+        long filas = 0;
+        long invalidas = 0;
+        long bytes = 0;
+        long[] aplicadas = new long[particiones];
+        long[] sinSaldo = new long[particiones];
+        try( FileChannel canal = FileChannel.open( pArchivo.toPath( ), StandardOpenOption.READ ) )
+        {
+            while( !fin )
+            {
+                int leidos = 0;
+                while( leidos < bloques.length && !fin )
+                {
+                    Bloque bloque = bloques[ leidos ];
+                    System.arraycopy( resto, 0, bloque.datos, 0, longitudResto );
+                    ByteBuffer buffer = ByteBuffer.wrap( bloque.datos, longitudResto, tamanoBloque - longitudResto );
+                    while( buffer.hasRemaining( ) && canal.read( buffer ) >= 0 )
+                    {
+                        // Sigue leyendo hasta llenar el bloque o llegar al final del archivo
+                    }
+                    if( buffer.hasRemaining( ) )
+                    {
+                        fin = true;
+                        bloque.longitud = buffer.position( );
+                        longitudResto = 0;
+                    }
+                    else
+                    {
+                        int ultimo = tamanoBloque - 1;
+                        while( ultimo >= 0 && bloque.datos[ ultimo ] != '\n' )
+                        {
+                            ultimo--;
+                        }
+                        if( ultimo < 0 )
+                        {
+                            throw new IOException( "El archivo " + pArchivo + " tiene una lnea de ms de " + tamanoBloque + " bytes." );
+                        }
+                        bloque.longitud = ultimo + 1;
+                        longitudResto = tamanoBloque - bloque.longitud;
+                        System.arraycopy( bloque.datos, bloque.longitud, resto, 0, longitudResto );
+                    }
+                    bloque.conEncabezado = primero;
+                    primero = false;
+                    bytes += bloque.longitud;
+                    leidos++;
+                }
+                pool.invoke( new Analisis( bloques, 0, leidos, pClientes ) );
+                for( int i = 0; i < leidos; i++ )
+                {
+                    filas += bloques[ i ].filas;
+                    invalidas += bloques[ i ].invalidas;
+                }
+                if( pClientes )
+                {
+                    aplicadas[ 0 ] += agregarClientes( bloques, leidos );
+                }
+                else
+                {
+                    pool.invoke( new Aplicacion( bloques, leidos, 0, particiones, aplicadas, sinSaldo ) );
+                }
+            }
+        }
+        return new ResultadoImportacion( filas, sumar( aplicadas ), invalidas, sumar( sinSaldo ), bytes, System.nanoTime( ) - inicio );
+    }
+
+    /**
+     * Agrega al banco los clientes analizados de un grupo de bloques, en orden.
+     * @param pBloques Bloques analizados.
+     * @param pNumero Nmero de bloques del grupo.
+     * @return Nmero de clientes agregados.
+     */
+    private long agregarClientes( Bloque[] pBloques, int pNumero )
+    {
+        long agregados = 0;
+        for( int b = 0; b < pNumero; b++ )
+        {
+            Bloque bloque = pBloques[ b ];
+            for( int i = 0; i < bloque.filas; i++ )
+            {
+                if( bloque.cedulas[ i ] != null && ( filtroClientes == null || filtroClientes.test( bloque.cedulas[ i ] ) ) )
+                {
+                    banco.agregarCliente( bloque.cedulas[ i ], bloque.nombres[ i ] );
+                    agregados++;
+                }
+            }
+        }
+        return agregados;
+    }
+
+    /**
+     * Aplica al banco las transacciones vlidas de los clientes de una particin, en el orden de los bloques.
+     * @param pBloques Bloques analizados.
+     * @param pNumero Nmero de bloques del grupo.
+     * @param pParticion Particin: se aplican las transacciones de los clientes cuya posicin tiene este residuo.
+     * @param pParticiones Nmero de particiones.
+     * @param pAplicadas Contador de transacciones aplicadas de cada particin.
+     * @param pSinSaldo Contador de retiros sin saldo de cada particin.
+     */
+    private void aplicar( Bloque[] pBloques, int pNumero, int pParticion, int pParticiones, long[] pAplicadas, long[] pSinSaldo )
+    {
+        long aplicadas = 0;
+        long sinSaldo = 0;
+        for( int b = 0; b < pNumero; b++ )
+        {
+            Bloque bloque = pBloques[ b ];
+            for( int i = 0; i < bloque.filas; i++ )
+            {
+                int cliente = bloque.clientes[ i ];
+                if( cliente < 0 || cliente % pParticiones != pParticion )
+                {
+                    continue;
+                }
+                boolean aplicada = true;
+                switch( bloque.codigos[ i ] )
+                {
+                    case Operacion.CONSIGNAR_CORRIENTE:
+                        banco.consignarCuentaCorrienteCentavos( cliente, bloque.centavos[ i ] );
+                        break;
+                    case Operacion.CONSIGNAR_AHORROS:
+                        banco.consignarCuentaAhorrosCentavos( cliente, bloque.centavos[ i ] );
+                        break;
+                    case Operacion.RETIRAR_CORRIENTE:
+                        aplicada = banco.retirarCuentaCorrienteCentavos( cliente, bloque.centavos[ i ] );
+                        break;
+                    case Operacion.RETIRAR_AHORROS:
+                        aplicada = banco.retirarCuentaAhorrosCentavos( cliente, bloque.centavos[ i ] );
+                        break;
+                    case Operacion.INVERTIR_CDT:
+                        banco.invertirCDTCentavos( cliente, bloque.centavos[ i ], bloque.tasas[ i ] );
+                        break;
+                    case Operacion.CERRAR_CDT:
+                        banco.cerrarCDT( cliente );
+                        break;
+                    case Operacion.AVANZAR_MES:
+                        banco.avanzarMesSimulacion( cliente );
+                        break;
+                    default:
+                        banco.avanzarMeses( cliente, bloque.auxiliares[ i ] );
+                }
+                if( aplicada )
+                {
+                    aplicadas++;
+                }
+                else
+                {
+                    sinSaldo++;
+                }
+            }
+        }
+        pAplicadas[ pParticion ] += aplicadas;
+        pSinSaldo[ pParticion ] += sinSaldo;
+    }
+
+    /**
+     * Analiza las lneas de un bloque.
+     * @param pBloque Bloque ledo.
+     * @param pClientes True si es un bloque de clientes, false si es de transacciones.
+     */
+    private void analizar( Bloque pBloque, boolean pClientes )
+    {
+        byte[] datos = pBloque.datos;
+        pBloque.filas = 0;
+        pBloque.invalidas = 0;
+        int inicio = 0;
+        while( inicio < pBloque.longitud )
+        {
+            int fin = inicio;
+            while( fin < pBloque.longitud && datos[ fin ] != '\n' )
+            {
+                fin++;
+            }
+            int siguiente = fin + 1;
+            if( fin > inicio && datos[ fin - 1 ] == '\r' )
+            {
+                fin--;
+            }
+            boolean encabezado = pBloque.conEncabezado && inicio == 0 && empiezaPor( datos, inicio, fin, ENCABEZADO );
+            if( fin > inicio && !encabezado )
+            {
+                pBloque.prepararFila( );
+                boolean valida = pClientes ? analizarCliente( pBloque, datos, inicio, fin ) : analizarTransaccion( pBloque, datos, inicio, fin );
+                if( !valida )
+                {
+                    pBloque.invalidas++;
+                }
+                pBloque.filas++;
+            }
+            inicio = siguiente;
+        }
+    }
+
+    /**
+     * Analiza la lnea de un cliente y la deja en la fila siguiente del bloque, o deja la fila sin cdula si no es vlida.
+     * @param pBloque Bloque de la lnea.
+     * @param pDatos Datos del bloque.
+     * @param pInicio Posicin del comienzo de la lnea.
+     * @param pFin Posicin del final de la lnea, sin el fin de lnea.
+     * @return True si la lnea es vlida.
+     */
+    private boolean analizarCliente( Bloque pBloque, byte[] pDatos, int pInicio, int pFin )
+    {
+        int fila = pBloque.filas;
+        pBloque.cedulas[ fila ] = null;
+        int coma = buscarComa( pDatos, pInicio, pFin );
+        if( coma <= pInicio || coma >= pFin - 1 )
+        {
+            return false;
+        }
+        pBloque.cedulas[ fila ] = new String( pDatos, pInicio, coma - pInicio, StandardCharsets.UTF_8 );
+        pBloque.nombres[ fila ] = new String( pDatos, coma + 1, pFin - coma - 1, StandardCharsets.UTF_8 );
+        return true;
+    }
+
+    /**
+     * Analiza la lnea de una transaccin y la deja en la fila siguiente del bloque, o deja la fila sin cliente si no es
+     * vlida.
+     * @param pBloque Bloque de la lnea.
+     * @param pDatos Datos del bloque.
+     * @param pInicio Posicin del comienzo de la lnea.
+     * @param pFin Posicin del final de la lnea, sin el fin de lnea.
+     * @return True si la lnea es vlida.
+     */
+    private boolean analizarTransaccion( Bloque pBloque, byte[] pDatos, int pInicio, int pFin )
+    {
+        int fila = pBloque.filas;
+        pBloque.clientes[ fila ] = -1;
+        int coma1 = buscarComa( pDatos, pInicio, pFin );
+        if( coma1 <= pInicio )
+        {
+            return false;
+        }
+        int coma2 = buscarComa( pDatos, coma1 + 1, pFin );
+        int finOperacion = coma2 < 0 ? pFin : coma2;
+        int coma3 = coma2 < 0 ? -1 : buscarComa( pDatos, coma2 + 1, pFin );
+        int inicioValor = coma2 < 0 ? pFin : coma2 + 1;
+        int finValor = coma3 < 0 ? pFin : coma3;
+        int codigo = buscarOperacion( pDatos, coma1 + 1, finOperacion );
+        long centavos = 0;
+        int auxiliar = 0;
+        double tasa = 0;
+        switch( codigo )
+        {
+            case Operacion.CONSIGNAR_CORRIENTE:
+            case Operacion.CONSIGNAR_AHORROS:
+            case Operacion.RETIRAR_CORRIENTE:
+            case Operacion.RETIRAR_AHORROS:
+                centavos = leerCentavos( pDatos, inicioValor, finValor );
+                if( centavos <= 0 )
+                {
+                    return false;
+                }
+                break;
+            case Operacion.INVERTIR_CDT:
+                centavos = leerCentavos( pDatos, inicioValor, finValor );
+                tasa = coma3 < 0 ? Double.NaN : leerDecimal( pDatos, coma3 + 1, pFin );
+                if( centavos <= 0 || !( tasa > 0 ) )
+                {
+                    return false;
+                }
+                break;
+            case Operacion.AVANZAR_MESES:
+                auxiliar = leerEntero( pDatos, inicioValor, finValor );
+                if( auxiliar < 0 )
+                {
+                    return false;
+                }
+                break;
+            case Operacion.CERRAR_CDT:
+            case Operacion.AVANZAR_MES:
+                break;
+            default:
+                return false;
+        }
+        long clave = IndiceCedulas.codificar( pDatos, pInicio, coma1 );
+        int cliente = clave == IndiceCedulas.SIN_CLAVE ? banco.buscarCliente( new String( pDatos, pInicio, coma1 - pInicio, StandardCharsets.UTF_8 ) ) : banco.buscarCliente( clave );
+        if( cliente < 0 )
+        {
+            return false;
+        }
+        pBloque.clientes[ fila ] = cliente;
+        pBloque.codigos[ fila ] = codigo;
+        pBloque.centavos[ fila ] = centavos;
+        pBloque.auxiliares[ fila ] = auxiliar;
+        pBloque.tasas[ fila ] = tasa;
+        return true;
+    }
+
+    /**
+     * Busca el cdigo de la operacin con el nombre dado.
+     * @param pDatos Datos.
+     * @param pDesde Posicin del comienzo del nombre.
+     * @param pHasta Posicin siguiente al final del nombre.
+     * @return Cdigo de la operacin, o 0 si no es una operacin que se pueda importar.
+     */
+    private static int buscarOperacion( byte[] pDatos, int pDesde, int pHasta )
+    {
+        for( int i = 0; i < NOMBRES_OPERACIONES.length; i++ )
+        {
+            if( Arrays.equals( pDatos, pDesde, pHasta, NOMBRES_OPERACIONES[ i ], 0, NOMBRES_OPERACIONES[ i ].length ) )
+            {
+                return CODIGOS_OPERACIONES[ i ];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Convierte un monto en pesos, con punto decimal opcional, a centavos, redondeando al centavo ms cercano.
+     * @param pDatos Datos.
+     * @param pDesde Posicin del comienzo del monto.
+     * @param pHasta Posicin siguiente al final del monto.
+     * @return Monto en centavos, o -1 si no es un monto vlido.
+     */
+    private static long leerCentavos( byte[] pDatos, int pDesde, int pHasta )
+    {
+        long pesos = 0;
+        int i = pDesde;
+        while( i < pHasta && pDatos[ i ] >= '0' && pDatos[ i ] <= '9' )
+        {
+            pesos = pesos * 10 + ( pDatos[ i ] - '0' );
+            i++;
+        }
+        int digitos = i - pDesde;
+        if( digitos > MAXIMO_DIGITOS_MONTO )
+        {
+            return -1;
+        }
+        long centavos = 0;
+        int decimales = 0;
+        boolean redondear = false;
+        if( i < pHasta && pDatos[ i ] == '.' )
+        {
+            i++;
+            while( i < pHasta && pDatos[ i ] >= '0' && pDatos[ i ] <= '9' )
+            {
+                if( decimales < 2 )
+                {
+                    centavos = centavos * 10 + ( pDatos[ i ] - '0' );
+                }
+                else if( decimales == 2 )
+                {
+                    redondear = pDatos[ i ] >= '5';
+                }
+                decimales++;
+                i++;
+            }
+        }
+        if( i != pHasta || digitos + decimales == 0 )
+        {
+            return -1;
+        }
+        if( decimales == 1 )
+        {
+            centavos *= 10;
+        }
+        return pesos * 100 + centavos + ( redondear ? 1 : 0 );
+    }
+
+    /**
+     * Convierte un nmero decimal sin signo, con punto decimal opcional. El resultado es el double ms cercano al nmero,
+     * igual que con Double.parseDouble.
+     * @param pDatos Datos.
+     * @param pDesde Posicin del comienzo del nmero.
+     * @param pHasta Posicin siguiente al final del nmero.
+     * @return Nmero ledo, o NaN si no es un nmero vlido.
+     */
+    private static double leerDecimal( byte[] pDatos, int pDesde, int pHasta )
+    {
+        long mantisa = 0;
+        int digitos = 0;
+        int decimales = 0;
+        boolean punto = false;
+        for( int i = pDesde; i < pHasta; i++ )
+        {
+            byte c = pDatos[ i ];
+            if( c >= '0' && c <= '9' )
+            {
+                mantisa = mantisa * 10 + ( c - '0' );
+                digitos++;
+                decimales += punto ? 1 : 0;
+            }
+            else if( c == '.' && !punto )
+            {
+                punto = true;
+            }
+            else
+            {
+                return Double.NaN;
+            }
+        }
+        if( digitos == 0 || digitos > MAXIMO_DIGITOS_TASA )
+        {
+            return Double.NaN;
+        }
+        // La mantisa y la potencia son exactas, as que la divisin queda bien redondeada
+        return mantisa / POTENCIAS_DIEZ[ decimales ];
+    }
+
+    /**
+     * Convierte un entero sin signo de hasta 9 dgitos.
+     * @param pDatos Datos.
+     * @param pDesde Posicin del comienzo del nmero.
+     * @param pHasta Posicin siguiente al final del nmero.
+     * @return Nmero ledo, o -1 si no es un nmero vlido.
+     */
+    private static int leerEntero( byte[] pDatos, int pDesde, int pHasta )
+    {
+        if( pHasta <= pDesde || pHasta - pDesde > 9 )
+        {
+            return -1;
+        }
+        int valor = 0;
+        for( int i = pDesde; i < pHasta; i++ )
+        {
+            if( pDatos[ i ] < '0' || pDatos[ i ] > '9' )
+            {
+                return -1;
+            }
+            valor = valor * 10 + ( pDatos[ i ] - '0' );
+        }
+        return valor;
+    }
+
+    /**
+     * Busca la primera coma de un rango.
+     * @param pDatos Datos.
+     * @param pDesde Posicin del comienzo del rango.
+     * @param pHasta Posicin siguiente al final del rango.
+     * @return Posicin de la coma, o -1 si no hay.
+     */
+    private static int buscarComa( byte[] pDatos, int pDesde, int pHasta )
+    {
+        for( int i = pDesde; i < pHasta; i++ )
+        {
+            if( pDatos[ i ] == ',' )
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Indica si un rango empieza por los bytes dados.
+     * @param pDatos Datos.
+     * @param pDesde Posicin del comienzo del rango.
+     * @param pHasta Posicin siguiente al final del rango.
+     * @param pPrefijo Bytes buscados.
+     * @return True si el rango empieza por el prefijo.
+     */
+    private static boolean empiezaPor( byte[] pDatos, int pDesde, int pHasta, byte[] pPrefijo )
+    {
+        return pHasta - pDesde >= pPrefijo.length && Arrays.equals( pDatos, pDesde, pDesde + pPrefijo.length, pPrefijo, 0, pPrefijo.length );
+    }
+
+    /**
+     * Suma los valores de un arreglo.
+     * @param pValores Valores.
+     * @return Suma.
+     */
+    private static long sumar( long[] pValores )
+    {
+        long suma = 0;
+        for( long valor : pValores )
+        {
+            suma += valor;
+        }
+        return suma;
+    }
+
+    /**
+     * Convierte un texto ASCII a bytes.
+     * @param pTexto Texto.
+     * @return Bytes del texto.
+     */
+    private static byte[] bytes( String pTexto )
+    {
+        return pTexto.getBytes( StandardCharsets.US_ASCII );
+    }
+
+    // -----------------------------------------------------------------
+    // Clases internas
+    // -----------------------------------------------------------------
+
+    /**
+     * Bloque de lectura con sus lneas analizadas por columnas. Los arreglos se reutilizan de un grupo de bloques al
+     * siguiente y solo crecen si un bloque tiene ms filas que las que caben.
+     */
+    private static class Bloque
+    {
+        /**
+         * Bytes ledos del archivo.
+         */
+        private byte[] datos;
+
+        /**
+         * Nmero de bytes del bloque, que terminan en un fin de lnea salvo al final del archivo.
+         */
+        private int longitud;
+
+        /**
+         * Si el bloque es el primero del archivo y puede tener el encabezado.
+         */
+        private boolean conEncabezado;
+
+        /**
+         * Nmero de filas analizadas.
+         */
+        private int filas;
+
+        /**
+         * Nmero de filas invlidas.
+         */
+        private int invalidas;
+
+        /**
+         * Posiciones de los clientes de las transacciones, o -1 si la fila no es vlida.
+         */
+        private int[] clientes;
+
+        /**
+         * Cdigos de las operaciones.
+         */
+        private int[] codigos;
+
+        /**
+         * Montos de las transacciones, en centavos.
+         */
+        private long[] centavos;
+
+        /**
+         * Nmero de meses de las transacciones que avanzan varios meses.
+         */
+        private int[] auxiliares;
+
+        /**
+         * Tasas de las inversiones en CDT.
+         */
+        private double[] tasas;
+
+        /**
+         * Cdulas de los clientes, o null si la fila no es vlida.
+         */
+        private String[] cedulas;
+
+        /**
+         * Nombres de los clientes.
+         */
+        private String[] nombres;
+
+        /**
+         * Crea un bloque vaco.
+         * @param pTamano Tamao del bloque en bytes.
+         */
+        private Bloque( int pTamano )
+        {
+            datos = new byte[pTamano];
+            int filasIniciales = Math.max( 16, pTamano / 32 );
+            clientes = new int[filasIniciales];
+            codigos = new int[filasIniciales];
+            centavos = new long[filasIniciales];
+            auxiliares = new int[filasIniciales];
+            tasas = new double[filasIniciales];
+            cedulas = new String[filasIniciales];
+            nombres = new String[filasIniciales];
+        }
+
+        /**
+         * Asegura que haya espacio para una fila ms.
+         */
+        private void prepararFila( )
+        {
+            if( filas == clientes.length )
+            {
+                int capacidad = clientes.length * 2;
+                clientes = Arrays.copyOf( clientes, capacidad );
+                codigos = Arrays.copyOf( codigos, capacidad );
+                centavos = Arrays.copyOf( centavos, capacidad );
+                auxiliares = Arrays.copyOf( auxiliares, capacidad );
+                tasas = Arrays.copyOf( tasas, capacidad );
+                cedulas = Arrays.copyOf( cedulas, capacidad );
+                nombres = Arrays.copyOf( nombres, capacidad );
+            }
+        }
+    }
+
+    /**
+     * Tarea que analiza un rango de bloques, dividindolo en dos mitades mientras tenga ms de un bloque.
+     */
+    @SuppressWarnings("serial")
+    private class Analisis extends RecursiveAction
+    {
+        /**
+         * Bloques ledos.
+         */
+        private Bloque[] bloques;
+
+        /**
+         * Posicin del primer bloque del rango.
+         */
+        private int desde;
+
+        /**
+         * Posicin siguiente al ltimo bloque del rango.
+         */
+        private int hasta;
+
+        /**
+         * Si los bloques son de clientes o de transacciones.
+         */
+        private boolean deClientes;
+
+        /**
+         * Crea la tarea para el rango dado.
+         * @param pBloques Bloques ledos.
+         * @param pDesde Posicin del primer bloque del rango.
+         * @param pHasta Posicin siguiente al ltimo bloque del rango.
+         * @param pClientes True si los bloques son de clientes, false si son de transacciones.
+         */
+        private Analisis( Bloque[] pBloques, int pDesde, int pHasta, boolean pClientes )
+        {
+            bloques = pBloques;
+            desde = pDesde;
+            hasta = pHasta;
+            deClientes = pClientes;
+        }
+
+        /**
+         * Analiza el bloque del rango o divide el rango en dos tareas.
+         */
+        protected void compute( )
+        {
+            if( hasta - desde == 1 )
+            {
+                analizar( bloques[ desde ], deClientes );
+            }
+            else if( hasta - desde > 1 )
+            {
+                int mitad = ( desde + hasta ) >>> 1;
+                invokeAll( new Analisis( bloques, desde, mitad, deClientes ), new Analisis( bloques, mitad, hasta, deClientes ) );
+            }
+        }
+    }
+
+    /**
+     * Tarea que aplica las transacciones de un rango de particiones de clientes, dividindolo en dos mitades mientras
+     * tenga ms de una particin.
+     */
+    @SuppressWarnings("serial")
+    private class Aplicacion extends RecursiveAction
+    {
+        /**
+         * Bloques analizados.
+         */
+        private Bloque[] bloques;
+
+        /**
+         * Nmero de bloques del grupo.
+         */
+        private int numero;
+
+        /**
+         * Primera particin del rango.
+         */
+        private int desde;
+
+        /**
+         * Particin siguiente a la ltima del rango.
+         */
+        private int hasta;
+
+        /**
+         * Contador de transacciones aplicadas de cada particin.
+         */
+        private long[] aplicadas;
+
+        /**
+         * Contador de retiros sin saldo de cada particin.
+         */
+        private long[] sinSaldo;
+
+        /**
+         * Crea la tarea para el rango dado. El nmero total de particiones es la longitud de los contadores.
+         * @param pBloques Bloques analizados.
+         * @param pNumero Nmero de bloques del grupo.
+         * @param pDesde Primera particin del rango.
+         * @param pHasta Particin siguiente a la ltima del rango.
+         * @param pAplicadas Contador de transacciones aplicadas de cada particin.
+         * @param pSinSaldo Contador de retiros sin saldo de cada particin.
+         */
+        private Aplicacion( Bloque[] pBloques, int pNumero, int pDesde, int pHasta, long[] pAplicadas, long[] pSinSaldo )
+        {
+            bloques = pBloques;
+            numero = pNumero;
+            desde = pDesde;
+            hasta = pHasta;
+            aplicadas = pAplicadas;
+            sinSaldo = pSinSaldo;
+        }
+
+        /**
+         * Aplica la particin del rango o divide el rango en dos tareas.
+         */
+        protected void compute( )
+        {
+            if( hasta - desde == 1 )
+            {
+                aplicar( bloques, numero, desde, aplicadas.length, aplicadas, sinSaldo );
+            }
+            else
+            {
+                int mitad = ( desde + hasta ) >>> 1;
+                invokeAll( new Aplicacion( bloques, numero, desde, mitad, aplicadas, sinSaldo ), new Aplicacion( bloques, numero, mitad, hasta, aplicadas, sinSaldo ) );
+            }
+        }
+    }
+}
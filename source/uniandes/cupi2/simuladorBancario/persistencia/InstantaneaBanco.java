@@ -0,0 +1,258 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.persistencia;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import uniandes.cupi2.simuladorBancario.mundo.EstadoBanco;
+
+/**
+ * Clase que guarda y carga instantneas del estado de un banco. <br>
+ * Una instantnea tiene un encabezado con el nmero de clientes y la posicin del diario, los textos de los clientes y
+ * luego cada columna del estado completa, y termina con el mismo nmero mgico del principio. Se escribe en un archivo
+ * temporal que se lleva a disco y luego reemplaza al anterior, as que siempre hay una instantnea completa.
+ */
+public final class InstantaneaBanco
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero que identifica a los archivos de instantnea.
+     */
+    public static final int MAGIA = 0x53424931;
+
+    /**
+     * Versin del formato de las instantneas.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Tamao de los buffers de lectura y escritura.
+     */
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Constructor privado: la clase solo tiene mtodos de clase.
+     */
+    private InstantaneaBanco( )
+    {
+    }
+
+    /**
+     * Escribe una instantnea del estado dado, reemplazando la que haya en el archivo. <br>
+     * <b>post: </b> El archivo tiene la instantnea completa y est en disco.
+     * @param pEstado Estado del banco. pEstado != null.
+     * @param pArchivo Archivo de la instantnea. pArchivo != null.
+     * @throws IOException Si no se puede escribir el archivo.
+     */
+    public static void escribir( EstadoBanco pEstado, File pArchivo ) throws IOException
+    {
+        File temporal = new File( pArchivo.getPath( ) + ".tmp" );
+        int n = pEstado.darNumeroClientes( );
+        try( FileOutputStream archivo = new FileOutputStream( temporal ) )
+        {
+            DataOutputStream salida = new DataOutputStream( new BufferedOutputStream( archivo, TAMANO_BUFFER ) );
+            salida.writeInt( MAGIA );
+            salida.writeInt( VERSION );
+            salida.writeInt( n );
+            salida.writeLong( pEstado.darPosicionRegistro( ) );
+            String[] cedulas = pEstado.darCedulas( );
+            String[] nombres = pEstado.darNombres( );
+            for( int i = 0; i < n; i++ )
+            {
+                salida.writeUTF( cedulas[ i ] );
+                salida.writeUTF( nombres[ i ] );
+            }
+            escribir( salida, pEstado.darMesesActuales( ) );
+            escribir( salida, pEstado.darSaldosCorriente( ) );
+            escribir( salida, pEstado.darSaldosAhorros( ) );
+            escribir( salida, pEstado.darInteresesAhorros( ) );
+            escribir( salida, pEstado.darValoresCDT( ) );
+            escribir( salida, pEstado.darInteresesCDT( ) );
+            escribir( salida, pEstado.darMesesAperturaCDT( ) );
+            salida.writeInt( MAGIA );
+            salida.flush( );
+            archivo.getFD( ).sync( );
+        }
+        Files.move( temporal.toPath( ), pArchivo.toPath( ), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    }
+
+    /**
+     * Lee la instantnea del archivo dado.
+     * @param pArchivo Archivo de la instantnea. pArchivo != null.
+     * @return Estado del banco guardado en la instantnea.
+     * @throws IOException Si no se puede leer el archivo o no es una instantnea completa.
+     */
+    public static EstadoBanco leer( File pArchivo ) throws IOException
+    {
+        try( DataInputStream entrada = new DataInputStream( new BufferedInputStream( new FileInputStream( pArchivo ), TAMANO_BUFFER ) ) )
+        {
+            return leer( entrada, "El archivo " + pArchivo );
+        }
+    }
+
+    /**
+     * Lee la instantnea guardada en los bytes dados, que tienen el mismo contenido que un archivo de instantnea; por
+     * ejemplo, los de un archivo enviado por la red.
+     * @param pDatos Bytes de la instantnea. pDatos != null.
+     * @return Estado del banco guardado en la instantnea.
+     * @throws IOException Si los bytes no son una instantnea completa.
+     */
+    public static EstadoBanco leer( byte[] pDatos ) throws IOException
+    {
+        return leer( new DataInputStream( new ByteArrayInputStream( pDatos ) ), "El arreglo de bytes" );
+    }
+
+    /**
+     * Lee una instantnea de un flujo.
+     * @param pEntrada Flujo de lectura, posicionado al comienzo de la instantnea.
+     * @param pOrigen Descripcin del origen de los datos para los mensajes de error.
+     * @return Estado del banco guardado en la instantnea.
+     * @throws IOException Si no se puede leer el flujo o no tiene una instantnea completa.
+     */
+    private static EstadoBanco leer( DataInputStream pEntrada, String pOrigen ) throws IOException
+    {
+        if( pEntrada.readInt( ) != MAGIA || pEntrada.readInt( ) != VERSION )
+        {
+            throw new IOException( pOrigen + " no tiene una instantnea del banco." );
+        }
+        int n = pEntrada.readInt( );
+        long posicion = pEntrada.readLong( );
+        String[] cedulas = new String[n];
+        String[] nombres = new String[n];
+        for( int i = 0; i < n; i++ )
+        {
+            cedulas[ i ] = pEntrada.readUTF( );
+            nombres[ i ] = pEntrada.readUTF( );
+        }
+        int[] mesesActuales = leerEnteros( pEntrada, n );
+        long[] saldosCorriente = leerLargos( pEntrada, n );
+        long[] saldosAhorros = leerLargos( pEntrada, n );
+        double[] interesesAhorros = leerDecimales( pEntrada, n );
+        long[] valoresCDT = leerLargos( pEntrada, n );
+        double[] interesesCDT = leerDecimales( pEntrada, n );
+        int[] mesesAperturaCDT = leerEnteros( pEntrada, n );
+        if( pEntrada.readInt( ) != MAGIA )
+        {
+            throw new IOException( pOrigen + " tiene una instantnea incompleta." );
+        }
+        return new EstadoBanco( posicion, cedulas, nombres, mesesActuales, saldosCorriente, saldosAhorros, interesesAhorros, valoresCDT, interesesCDT, mesesAperturaCDT );
+    }
+
+    /**
+     * Escribe una columna de enteros.
+     * @param pSalida Flujo de salida.
+     * @param pValores Valores de la columna.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void escribir( DataOutputStream pSalida, int[] pValores ) throws IOException
+    {
+        for( int valor : pValores )
+        {
+            pSalida.writeInt( valor );
+        }
+    }
+
+    /**
+     * Escribe una columna de enteros largos.
+     * @param pSalida Flujo de salida.
+     * @param pValores Valores de la columna.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void escribir( DataOutputStream pSalida, long[] pValores ) throws IOException
+    {
+        for( long valor : pValores )
+        {
+            pSalida.writeLong( valor );
+        }
+    }
+
+    /**
+     * Escribe una columna de decimales.
+     * @param pSalida Flujo de salida.
+     * @param pValores Valores de la columna.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void escribir( DataOutputStream pSalida, double[] pValores ) throws IOException
+    {
+        for( double valor : pValores )
+        {
+            pSalida.writeDouble( valor );
+        }
+    }
+
+    /**
+     * Lee una columna de enteros.
+     * @param pEntrada Flujo de entrada.
+     * @param pNumero Nmero de valores.
+     * @return Valores ledos.
+     * @throws IOException Si no se puede leer.
+     */
+    private static int[] leerEnteros( DataInputStream pEntrada, int pNumero ) throws IOException
+    {
+        int[] valores = new int[pNumero];
+        for( int i = 0; i < pNumero; i++ )
+        {
+            valores[ i ] = pEntrada.readInt( );
+        }
+        return valores;
+    }
+
+    /**
+     * Lee una columna de enteros largos.
+     * @param pEntrada Flujo de entrada.
+     * @param pNumero Nmero de valores.
+     * @return Valores ledos.
+     * @throws IOException Si no se puede leer.
+     */
+    private static long[] leerLargos( DataInputStream pEntrada, int pNumero ) throws IOException
+    {
+        long[] valores = new long[pNumero];
+        for( int i = 0; i < pNumero; i++ )
+        {
+            valores[ i ] = pEntrada.readLong( );
+        }
+        return valores;
+    }
+
+    /**
+     * Lee una columna de decimales.
+     * @param pEntrada Flujo de entrada.
+     * @param pNumero Nmero de valores.
+     * @return Valores ledos.
+     * @throws IOException Si no se puede leer.
+     */
+    private static double[] leerDecimales( DataInputStream pEntrada, int pNumero ) throws IOException
+    {
+        double[] valores = new double[pNumero];
+        for( int i = 0; i < pNumero; i++ )
+        {
+            valores[ i ] = pEntrada.readDouble( );
+        }
+        return valores;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,285 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.persistencia;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+
+/**
+ * Lector que recorre uno a uno los registros de un diario de transacciones. <br>
+ * Los campos del registro actual se consultan con los mtodos dar, sin crear objetos por registro salvo los textos de los
+ * clientes nuevos. El lector se detiene en el primer registro incompleto o cuya suma de verificacin no coincide; si el
+ * diario sigue creciendo se puede volver a llamar avanzar ms tarde.
+ */
+public class LectorDiario
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Datos del diario.
+     */
+    private ByteBuffer datos;
+
+    /**
+     * Nmero de bytes de los datos que se pueden leer.
+     */
+    private int fin;
+
+    /**
+     * Diferencia entre las posiciones del diario y las posiciones en los datos, que es distinta de 0 si el diario se
+     * trunc.
+     */
+    private long base;
+
+    /**
+     * Posicin siguiente al registro actual.
+     */
+    private long posicion;
+
+    /**
+     * Cdigo de la operacin del registro actual.
+     */
+    private int codigo;
+
+    /**
+     * Productos empacados del registro actual.
+     */
+    private int productos;
+
+    /**
+     * Cliente del registro actual.
+     */
+    private int cliente;
+
+    /**
+     * Dato auxiliar del registro actual.
+     */
+    private int auxiliar;
+
+    /**
+     * Monto en centavos del registro actual.
+     */
+    private long centavos;
+
+    /**
+     * Inters del registro actual.
+     */
+    private double tasa;
+
+    /**
+     * Cdula del registro actual, si es de un cliente nuevo.
+     */
+    private String cedula;
+
+    /**
+     * Nombre del registro actual, si es de un cliente nuevo.
+     */
+    private String nombre;
+
+    /**
+     * Calculador de la suma de verificacin de los registros.
+     */
+    private CRC32C suma;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea un lector sobre los datos de un diario. <br>
+     * <b>post: </b> El lector no tiene registro actual; el primer llamado a avanzar lee el registro de la posicin dada.
+     * @param pDatos Datos del diario, con el encabezado. pDatos != null.
+     * @param pPosicion Posicin del primer registro a leer.
+     */
+    public LectorDiario( ByteBuffer pDatos, long pPosicion )
+    {
+        this( pDatos, pPosicion, 0 );
+    }
+
+    /**
+     * Crea un lector sobre los datos de un diario truncado, donde la posicin p del diario est en la posicin p - pBase
+     * de los datos. <br>
+     * <b>post: </b> El lector no tiene registro actual; el primer llamado a avanzar lee el registro de la posicin dada.
+     * @param pDatos Datos del diario, con el encabezado. pDatos != null.
+     * @param pPosicion Posicin del primer registro a leer. pPosicion >= pBase.
+     * @param pBase Posicin del diario que corresponde al inicio de los datos.
+     */
+    public LectorDiario( ByteBuffer pDatos, long pPosicion, long pBase )
+    {
+        datos = pDatos;
+        fin = pDatos.capacity( );
+        posicion = pPosicion;
+        base = pBase;
+        suma = new CRC32C( );
+    }
+
+    /**
+     * Vuelve a empezar la lectura en la posicin dada, leyendo solo los primeros bytes de los datos. Permite usar el mismo
+     * lector sobre un buffer que se llena y se vaca por partes. <br>
+     * <b>post: </b> El lector no tiene registro actual; el primer llamado a avanzar lee el registro de la posicin dada.
+     * @param pPosicion Posicin del primer registro a leer. pPosicion >= base.
+     * @param pFin Nmero de bytes de los datos que se pueden leer. 0 <= pFin <= capacidad de los datos.
+     */
+    public void reiniciar( long pPosicion, int pFin )
+    {
+        posicion = pPosicion;
+        fin = pFin;
+    }
+
+    /**
+     * Lee el registro siguiente, si est completo y su suma de verificacin coincide. <br>
+     * <b>post: </b> Si retorna true los mtodos dar retornan los campos del registro ledo.
+     * @return true si se ley un registro, false si se lleg al final del diario.
+     */
+    public boolean avanzar( )
+    {
+        long relativo = posicion - base;
+        if( relativo < 0 || relativo + DiarioTransacciones.TAMANO_REGISTRO > fin )
+        {
+            return false;
+        }
+        int inicio = ( int )relativo;
+        int longitud = datos.getInt( inicio );
+        VarHandle.acquireFence( );
+        if( longitud < DiarioTransacciones.TAMANO_REGISTRO || longitud > fin - inicio )
+        {
+            return false;
+        }
+        if( datos.getInt( inicio + 4 ) != DiarioTransacciones.calcularSuma( suma, datos, inicio, inicio + longitud ) )
+        {
+            return false;
+        }
+        int leido = datos.get( inicio + 8 );
+        if( leido < Operacion.AGREGAR_CLIENTE || leido > Operacion.TRANSFERIR )
+        {
+            return false;
+        }
+        codigo = leido;
+        productos = datos.get( inicio + 9 );
+        cliente = datos.getInt( inicio + 10 );
+        auxiliar = datos.getInt( inicio + 14 );
+        centavos = datos.getLong( inicio + 18 );
+        tasa = datos.getDouble( inicio + 26 );
+        if( codigo == Operacion.AGREGAR_CLIENTE )
+        {
+            int actual = inicio + DiarioTransacciones.TAMANO_REGISTRO;
+            cedula = leerTexto( actual );
+            actual += 2 + ( datos.getShort( actual ) & 0xFFFF );
+            nombre = leerTexto( actual );
+        }
+        else
+        {
+            cedula = null;
+            nombre = null;
+        }
+        posicion += longitud;
+        return true;
+    }
+
+    /**
+     * Retorna la posicin siguiente al registro actual, que es donde empieza el siguiente registro.
+     * @return Posicin del lector.
+     */
+    public long darPosicion( )
+    {
+        return posicion;
+    }
+
+    /**
+     * Retorna el cdigo de la operacin del registro actual.
+     * @return Cdigo de la operacin. Es uno de los valores de Operacion.
+     */
+    public int darCodigo( )
+    {
+        return codigo;
+    }
+
+    /**
+     * Retorna los productos empacados del registro actual.
+     * @return Productos empacados, o 0 si la operacin no es una transferencia.
+     */
+    public int darProductos( )
+    {
+        return productos;
+    }
+
+    /**
+     * Retorna el cliente del registro actual.
+     * @return Posicin del cliente.
+     */
+    public int darCliente( )
+    {
+        return cliente;
+    }
+
+    /**
+     * Retorna el dato auxiliar del registro actual.
+     * @return Dato auxiliar.
+     */
+    public int darAuxiliar( )
+    {
+        return auxiliar;
+    }
+
+    /**
+     * Retorna el monto del registro actual.
+     * @return Monto en centavos.
+     */
+    public long darCentavos( )
+    {
+        return centavos;
+    }
+
+    /**
+     * Retorna el inters del registro actual.
+     * @return Inters de la operacin.
+     */
+    public double darTasa( )
+    {
+        return tasa;
+    }
+
+    /**
+     * Retorna la cdula del registro actual.
+     * @return Cdula del cliente nuevo, o null si el registro no es de un cliente nuevo.
+     */
+    public String darCedula( )
+    {
+        return cedula;
+    }
+
+    /**
+     * Retorna el nombre del registro actual.
+     * @return Nombre del cliente nuevo, o null si el registro no es de un cliente nuevo.
+     */
+    public String darNombre( )
+    {
+        return nombre;
+    }
+
+    /**
+     * Lee un texto guardado como su longitud en 2 bytes seguida de sus bytes en UTF-8.
+     * @param pInicio Posicin del texto.
+     * @return Texto ledo.
+     */
+    private String leerTexto( int pInicio )
+    {
+        byte[] bytes = new byte[datos.getShort( pInicio ) & 0xFFFF];
+        datos.get( pInicio + 2, bytes );
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+}
\ No newline at end of file
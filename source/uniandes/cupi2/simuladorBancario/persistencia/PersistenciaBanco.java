@@ -0,0 +1,290 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.EstadoBanco;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+
+/**
+ * Clase que mantiene un banco durable en un directorio, con un diario de transacciones y una instantnea del estado. <br>
+ * Al abrir el directorio se carga la ltima instantnea y se reproducen solo los registros del diario posteriores a ella,
+ * as que el tiempo de arranque depende del tamao de la instantnea y de las operaciones hechas desde que se tom, no de
+ * toda la historia del banco. Cada instantnea trunca el diario hasta su posicin, as que el diario solo necesita
+ * capacidad para las operaciones entre dos instantneas.
+ */
+public class PersistenciaBanco
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nombre del archivo del diario dentro del directorio.
+     */
+    public static final String ARCHIVO_DIARIO = "diario.bin";
+
+    /**
+     * Nombre del archivo de la instantnea dentro del directorio.
+     */
+    public static final String ARCHIVO_INSTANTANEA = "instantanea.bin";
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Archivo de la instantnea.
+     */
+    private File archivoInstantanea;
+
+    /**
+     * Banco recuperado.
+     */
+    private Banco banco;
+
+    /**
+     * Diario donde el banco anota sus operaciones.
+     */
+    private DiarioTransacciones diario;
+
+    /**
+     * Nmero de registros del diario reproducidos al abrir.
+     */
+    private long registrosReproducidos;
+
+    /**
+     * Programador de las instantneas peridicas, o null si no hay.
+     */
+    private ScheduledExecutorService programador;
+
+    /**
+     * ltimo error al tomar una instantnea peridica, o null si no ha habido.
+     */
+    private volatile IOException errorInstantanea;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Abre el banco guardado en el directorio dado, o crea uno vaco si el directorio no tiene datos. <br>
+     * <b>post: </b> El banco tiene el estado de la ltima instantnea ms las operaciones del diario posteriores a ella, y
+     * anota sus operaciones nuevas en el diario.
+     * @param pDirectorio Directorio de los datos. pDirectorio != null.
+     * @param pCapacidadClientes Nmero mximo de clientes del banco.
+     * @param pCapacidadDiario Tamao del archivo del diario en bytes.
+     * @param pDurabilidad Modo de durabilidad del diario.
+     * @throws IOException Si no se pueden leer los archivos.
+     */
+    public PersistenciaBanco( File pDirectorio, int pCapacidadClientes, long pCapacidadDiario, int pDurabilidad ) throws IOException
+    {
+        pDirectorio.mkdirs( );
+        archivoInstantanea = new File( pDirectorio, ARCHIVO_INSTANTANEA );
+        banco = new Banco( pCapacidadClientes );
+        long desde = DiarioTransacciones.TAMANO_ENCABEZADO;
+        if( archivoInstantanea.exists( ) )
+        {
+            EstadoBanco estado = InstantaneaBanco.leer( archivoInstantanea );
+            banco.restaurarEstado( estado );
+            desde = Math.max( desde, estado.darPosicionRegistro( ) );
+        }
+        diario = new DiarioTransacciones( new File( pDirectorio, ARCHIVO_DIARIO ), pCapacidadDiario, pDurabilidad, desde );
+        registrosReproducidos = reproducir( diario.crearLector( desde ), banco );
+        banco.cambiarRegistro( diario );
+        programador = null;
+        errorInstantanea = null;
+    }
+
+    /**
+     * Retorna el banco.
+     * @return Banco recuperado.
+     */
+    public Banco darBanco( )
+    {
+        return banco;
+    }
+
+    /**
+     * Retorna el diario del banco.
+     * @return Diario de transacciones.
+     */
+    public DiarioTransacciones darDiario( )
+    {
+        return diario;
+    }
+
+    /**
+     * Retorna el archivo de la instantnea del banco. El archivo no existe mientras no se haya tomado una instantnea.
+     * @return Archivo de la instantnea.
+     */
+    public File darArchivoInstantanea( )
+    {
+        return archivoInstantanea;
+    }
+
+    /**
+     * Retorna el nmero de registros del diario que se reprodujeron al abrir.
+     * @return Registros reproducidos.
+     */
+    public long darRegistrosReproducidos( )
+    {
+        return registrosReproducidos;
+    }
+
+    /**
+     * Retorna el ltimo error al tomar una instantnea peridica.
+     * @return Error, o null si no ha habido errores.
+     */
+    public IOException darErrorInstantanea( )
+    {
+        return errorInstantanea;
+    }
+
+    /**
+     * Toma una instantnea del banco, reemplaza la anterior y descarta del diario los registros que ya estn en ella. El
+     * banco se bloquea mientras se copia su estado en memoria, y las anotaciones esperan mientras se copian al diario
+     * truncado los registros posteriores a la instantnea. <br>
+     * <b>post: </b> Al volver a abrir el directorio se empieza desde esta instantnea.
+     * @return Posicin del diario en la que se tom la instantnea.
+     * @throws IOException Si no se puede escribir la instantnea.
+     */
+    public synchronized long tomarInstantanea( ) throws IOException
+    {
+        EstadoBanco estado = banco.capturarEstado( );
+        diario.confirmar( estado.darPosicionRegistro( ) );
+        InstantaneaBanco.escribir( estado, archivoInstantanea );
+        diario.truncar( estado.darPosicionRegistro( ) );
+        return estado.darPosicionRegistro( );
+    }
+
+    /**
+     * Empieza a tomar instantneas cada cierto tiempo en un hilo aparte. Si una instantnea falla, el error se guarda y se
+     * sigue intentando en el periodo siguiente. <br>
+     * <b>pre: </b> No se han iniciado las instantneas peridicas.
+     * @param pPeriodo Tiempo entre instantneas, en milisegundos. pPeriodo > 0.
+     */
+    public void iniciarInstantaneasPeriodicas( long pPeriodo )
+    {
+        programador = Executors.newSingleThreadScheduledExecutor( tarea -> {
+            Thread hilo = new Thread( tarea, "instantaneas-banco" );
+            hilo.setDaemon( true );
+            return hilo;
+        } );
+        programador.scheduleWithFixedDelay( ( ) -> {
+            try
+            {
+                tomarInstantanea( );
+            }
+            catch( IOException e )
+            {
+                errorInstantanea = e;
+            }
+        }, pPeriodo, pPeriodo, TimeUnit.MILLISECONDS );
+    }
+
+    /**
+     * Detiene las instantneas peridicas y cierra el diario. <br>
+     * <b>post: </b> El banco ya no anota sus operaciones.
+     * @throws IOException Si no se puede cerrar el diario.
+     */
+    public void cerrar( ) throws IOException
+    {
+        if( programador != null )
+        {
+            programador.shutdownNow( );
+        }
+        banco.cambiarRegistro( null );
+        diario.cerrar( );
+    }
+
+    /**
+     * Aplica a un banco las operaciones ledas de un diario, desde la posicin del lector hasta el final. El banco no debe
+     * tener registro, para que las operaciones reproducidas no se vuelvan a anotar.
+     * @param pLector Lector del diario. pLector != null.
+     * @param pBanco Banco donde se aplican las operaciones. pBanco != null.
+     * @return Nmero de registros aplicados.
+     * @throws IllegalStateException Si el diario no corresponde al estado del banco.
+     */
+    public static long reproducir( LectorDiario pLector, Banco pBanco )
+    {
+        long aplicados = 0;
+        while( pLector.avanzar( ) )
+        {
+            aplicar( pLector, pBanco );
+            aplicados++;
+        }
+        return aplicados;
+    }
+
+    /**
+     * Aplica a un banco la operacin del registro actual de un lector.
+     * @param pLector Lector ubicado en un registro. pLector != null.
+     * @param pBanco Banco donde se aplica la operacin. pBanco != null.
+     * @throws IllegalStateException Si el registro no corresponde al estado del banco.
+     */
+    public static void aplicar( LectorDiario pLector, Banco pBanco )
+    {
+        int cliente = pLector.darCliente( );
+        switch( pLector.darCodigo( ) )
+        {
+            case Operacion.AGREGAR_CLIENTE:
+                if( pBanco.agregarCliente( pLector.darCedula( ), pLector.darNombre( ) ) != cliente )
+                {
+                    throw new IllegalStateException( "El diario no corresponde al banco: el cliente " + cliente + " qued en otra posicin." );
+                }
+                break;
+            case Operacion.CONSIGNAR_CORRIENTE:
+                pBanco.consignarCuentaCorrienteCentavos( cliente, pLector.darCentavos( ) );
+                break;
+            case Operacion.CONSIGNAR_AHORROS:
+                pBanco.consignarCuentaAhorrosCentavos( cliente, pLector.darCentavos( ) );
+                break;
+            case Operacion.RETIRAR_CORRIENTE:
+                pBanco.retirarCuentaCorrienteCentavos( cliente, pLector.darCentavos( ) );
+                break;
+            case Operacion.RETIRAR_AHORROS:
+                pBanco.retirarCuentaAhorrosCentavos( cliente, pLector.darCentavos( ) );
+                break;
+            case Operacion.INVERTIR_CDT:
+                pBanco.invertirCDTCentavos( cliente, pLector.darCentavos( ), pLector.darTasa( ) );
+                break;
+            case Operacion.CERRAR_CDT:
+                pBanco.cerrarCDT( cliente );
+                break;
+            case Operacion.AVANZAR_MES:
+                pBanco.avanzarMesSimulacion( cliente );
+                break;
+            case Operacion.AVANZAR_MESES:
+                pBanco.avanzarMeses( cliente, pLector.darAuxiliar( ) );
+                break;
+            case Operacion.AVANZAR_MES_BANCO:
+                if( pLector.darAuxiliar( ) > pBanco.darNumeroClientes( ) )
+                {
+                    throw new IllegalStateException( "El diario no corresponde al banco: el mes avanz para " + pLector.darAuxiliar( ) + " clientes." );
+                }
+                pBanco.avanzarMesPrimerosClientes( pLector.darAuxiliar( ) );
+                break;
+            case Operacion.TRANSFERIR:
+                int productos = pLector.darProductos( );
+                pBanco.transferirCentavos( cliente, Operacion.darProductoOrigen( productos ), pLector.darAuxiliar( ), Operacion.darProductoDestino( productos ), pLector.darCentavos( ) );
+                break;
+            default:
+                throw new IllegalStateException( "El cdigo de operacin " + pLector.darCodigo( ) + " no es vlido." );
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.persistencia;
+
+/**
+ * Clase que representa el resultado de la importacin de un archivo CSV.
+ */
+public class ResultadoImportacion
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de filas ledas, sin contar el encabezado ni las lneas vacas.
+     */
+    private long filas;
+
+    /**
+     * Nmero de filas aplicadas al banco.
+     */
+    private long aplicadas;
+
+    /**
+     * Nmero de filas que no se pudieron interpretar o son de clientes que no existen.
+     */
+    private long invalidas;
+
+    /**
+     * Nmero de retiros que no se aplicaron por falta de saldo.
+     */
+    private long sinSaldo;
+
+    /**
+     * Nmero de bytes ledos.
+     */
+    private long bytes;
+
+    /**
+     * Duracin de la importacin, en nanosegundos.
+     */
+    private long tiempo;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea el resultado con los contadores de la importacin.
+     * @param pFilas Filas ledas.
+     * @param pAplicadas Filas aplicadas.
+     * @param pInvalidas Filas invlidas.
+     * @param pSinSaldo Retiros sin saldo.
+     * @param pBytes Bytes ledos.
+     * @param pTiempo Duracin en nanosegundos.
+     */
+    ResultadoImportacion( long pFilas, long pAplicadas, long pInvalidas, long pSinSaldo, long pBytes, long pTiempo )
+    {
+        filas = pFilas;
+        aplicadas = pAplicadas;
+        invalidas = pInvalidas;
+        sinSaldo = pSinSaldo;
+        bytes = pBytes;
+        tiempo = pTiempo;
+    }
+
+    /**
+     * Retorna el nmero de filas ledas, sin contar el encabezado ni las lneas vacas.
+     * @return Filas ledas.
+     */
+    public long darFilas( )
+    {
+        return filas;
+    }
+
+    /**
+     * Retorna el nmero de filas aplicadas al banco.
+     * @return Filas aplicadas.
+     */
+    public long darAplicadas( )
+    {
+        return aplicadas;
+    }
+
+    /**
+     * Retorna el nmero de filas que no se pudieron interpretar o son de clientes que no existen.
+     * @return Filas invlidas.
+     */
+    public long darInvalidas( )
+    {
+        return invalidas;
+    }
+
+    /**
+     * Retorna el nmero de retiros que no se aplicaron por falta de saldo.
+     * @return Retiros sin saldo.
+     */
+    public long darSinSaldo( )
+    {
+        return sinSaldo;
+    }
+
+    /**
+     * Retorna el nmero de bytes ledos del archivo.
+     * @return Bytes ledos.
+     */
+    public long darBytes( )
+    {
+        return bytes;
+    }
+
+    /**
+     * Retorna la duracin de la importacin.
+     * @return Duracin en milisegundos.
+     */
+    public long darTiempo( )
+    {
+        return tiempo / 1000000;
+    }
+
+    /**
+     * Calcula la velocidad de la importacin.
+     * @return Filas ledas por segundo.
+     */
+    public double calcularFilasPorSegundo( )
+    {
+        return filas * 1e9 / Math.max( 1, tiempo );
+    }
+}
@@ -0,0 +1,500 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.servidor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.IndiceCedulas;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+
+/**
+ * Clase que representa una conexin con un ServidorBinario. <br>
+ * Los mtodos de las operaciones no esperan la respuesta: ponen la solicitud en una cola y retornan un CompletableFuture
+ * que se completa cuando llega la respuesta. Un hilo de escritura toma de la cola todas las solicitudes que haya, hasta
+ * MAXIMO_LOTE, y las enva con una sola escritura; otro hilo lee las respuestas, que llegan en el mismo orden, y completa
+ * los futuros. As, cuando muchos hilos usan la misma conexin o un hilo enva muchas solicitudes sin esperar, las llamadas
+ * se agrupan en lotes sin que quien llama tenga que armarlos. <br>
+ * Los clientes se identifican por su cdula, que debe ser numrica. Si la cola de solicitudes est llena, quien llama
+ * espera a que haya espacio. Los futuros de las operaciones que el servidor no puede aplicar se completan con una
+ * IllegalArgumentException, y los de las solicitudes pendientes al cerrar la conexin con una IllegalStateException.
+ */
+public class ClienteBinario
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero mximo de solicitudes que se envan en una sola escritura.
+     */
+    public static final int MAXIMO_LOTE = 1024;
+
+    /**
+     * Nmero mximo de solicitudes que esperan en la cola para ser enviadas.
+     */
+    public static final int CAPACIDAD_COLA = 1 << 14;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Conexin con el servidor.
+     */
+    private Socket conexion;
+
+    /**
+     * Solicitudes que esperan ser enviadas.
+     */
+    private BlockingQueue<Solicitud> cola;
+
+    /**
+     * Solicitudes enviadas que esperan su respuesta, en el orden en que se enviaron.
+     */
+    private ConcurrentLinkedQueue<Solicitud> enviadas;
+
+    /**
+     * Nmero de lotes enviados.
+     */
+    private volatile long lotes;
+
+    /**
+     * Indica si la conexin se cerr.
+     */
+    private volatile boolean cerrada;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Abre una conexin con el servidor binario que escucha en el puerto dado de la direccin local.
+     * @param pPuerto Puerto del servidor.
+     * @throws IOException Si no se puede conectar.
+     */
+    public ClienteBinario( int pPuerto ) throws IOException
+    {
+        conexion = new Socket( InetAddress.getLoopbackAddress( ), pPuerto );
+        conexion.setTcpNoDelay( true );
+        cola = new ArrayBlockingQueue<>( CAPACIDAD_COLA );
+        enviadas = new ConcurrentLinkedQueue<>( );
+        lotes = 0;
+        cerrada = false;
+        DataOutputStream salida = new DataOutputStream( new BufferedOutputStream( conexion.getOutputStream( ), MAXIMO_LOTE * ProtocoloBinario.TAMANO_SOLICITUD ) );
+        DataInputStream entrada = new DataInputStream( new BufferedInputStream( conexion.getInputStream( ), ServidorBinario.TAMANO_BUFFER ) );
+        Thread escritura = new Thread( ( ) -> escribir( salida ), "ClienteBinario-escritura" );
+        Thread lectura = new Thread( ( ) -> leer( entrada ), "ClienteBinario-lectura" );
+        escritura.setDaemon( true );
+        lectura.setDaemon( true );
+        escritura.start( );
+        lectura.start( );
+    }
+
+    /**
+     * Retorna el nmero de lotes que se han enviado al servidor.
+     * @return Nmero de escrituras hechas.
+     */
+    public long darNumeroLotes( )
+    {
+        return lotes;
+    }
+
+    /**
+     * Consigna un monto en la cuenta del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @param pProducto Producto. Es Banco.PRODUCTO_CORRIENTE o Banco.PRODUCTO_AHORROS.
+     * @param pCentavos Monto en centavos. pCentavos > 0.
+     * @return Futuro que se completa cuando el servidor aplica la consignacin.
+     */
+    public CompletableFuture<Void> consignar( String pCedula, int pProducto, long pCentavos )
+    {
+        int codigo = pProducto == Banco.PRODUCTO_CORRIENTE ? Operacion.CONSIGNAR_CORRIENTE : Operacion.CONSIGNAR_AHORROS;
+        return enviar( codigo, pCedula, 0, pCentavos, 0 ).thenAccept( ClienteBinario::ignorar );
+    }
+
+    /**
+     * Retira un monto de la cuenta del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @param pProducto Producto. Es Banco.PRODUCTO_CORRIENTE o Banco.PRODUCTO_AHORROS.
+     * @param pCentavos Monto en centavos. pCentavos > 0.
+     * @return Futuro que se completa con true si se hizo el retiro o false si el saldo no era suficiente.
+     */
+    public CompletableFuture<Boolean> retirar( String pCedula, int pProducto, long pCentavos )
+    {
+        int codigo = pProducto == Banco.PRODUCTO_CORRIENTE ? Operacion.RETIRAR_CORRIENTE : Operacion.RETIRAR_AHORROS;
+        return enviar( codigo, pCedula, 0, pCentavos, 0 ).thenApply( estado -> estado == ProtocoloBinario.ESTADO_APLICADA );
+    }
+
+    /**
+     * Invierte un monto en el CDT del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @param pCentavos Monto en centavos. pCentavos > 0.
+     * @param pInteresMensual Inters mensual del CDT. pInteresMensual > 0.
+     * @return Futuro que se completa cuando el servidor abre el CDT.
+     */
+    public CompletableFuture<Void> invertirCDT( String pCedula, long pCentavos, double pInteresMensual )
+    {
+        return enviar( Operacion.INVERTIR_CDT, pCedula, 0, pCentavos, pInteresMensual ).thenAccept( ClienteBinario::ignorar );
+    }
+
+    /**
+     * Cierra el CDT del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @return Futuro que se completa cuando el servidor cierra el CDT.
+     */
+    public CompletableFuture<Void> cerrarCDT( String pCedula )
+    {
+        return enviar( Operacion.CERRAR_CDT, pCedula, 0, 0, 0 ).thenAccept( ClienteBinario::ignorar );
+    }
+
+    /**
+     * Avanza en un mes la simulacin del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @return Futuro que se completa cuando el servidor avanza el mes.
+     */
+    public CompletableFuture<Void> avanzarMesSimulacion( String pCedula )
+    {
+        return enviar( Operacion.AVANZAR_MES, pCedula, 0, 0, 0 ).thenAccept( ClienteBinario::ignorar );
+    }
+
+    /**
+     * Avanza en un mes la simulacin de todos los clientes del banco.
+     * @return Futuro que se completa cuando el servidor avanza el mes.
+     */
+    public CompletableFuture<Void> avanzarMesBanco( )
+    {
+        return enviar( Operacion.AVANZAR_MES_BANCO, 0L, 0, 0, 0 ).thenAccept( ClienteBinario::ignorar );
+    }
+
+    /**
+     * Consulta el saldo total del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @return Futuro que se completa con el saldo total en centavos.
+     */
+    public CompletableFuture<Long> calcularSaldoTotal( String pCedula )
+    {
+        return enviar( ProtocoloBinario.CONSULTAR_SALDO_TOTAL, pCedula, 0, 0, 0 );
+    }
+
+    /**
+     * Consulta el saldo total de todos los clientes del banco.
+     * @return Futuro que se completa con el saldo total del banco en centavos.
+     */
+    public CompletableFuture<Long> calcularSaldoTotalBanco( )
+    {
+        return enviar( ProtocoloBinario.CONSULTAR_SALDO_BANCO, 0L, 0, 0, 0 );
+    }
+
+    /**
+     * Bloquea el banco del servidor para las dems conexiones. Las solicitudes de las dems conexiones esperan hasta que
+     * esta libere el banco o se cierre.
+     * @return Futuro que se completa cuando el servidor bloque el banco.
+     */
+    public CompletableFuture<Void> bloquearBanco( )
+    {
+        return enviar( ProtocoloBinario.BLOQUEAR_BANCO, 0L, 0, 0, 0 ).thenAccept( ClienteBinario::ignorar );
+    }
+
+    /**
+     * Libera un bloqueo del banco del servidor hecho con bloquearBanco.
+     * @return Futuro que se completa cuando el servidor liber el banco. Termina con una IllegalArgumentException si esta
+     *         conexin no tena el banco bloqueado.
+     */
+    public CompletableFuture<Void> liberarBanco( )
+    {
+        return enviar( ProtocoloBinario.LIBERAR_BANCO, 0L, 0, 0, 0 ).thenAccept( ClienteBinario::ignorar );
+    }
+
+    /**
+     * Cierra la conexin. <br>
+     * <b>post: </b> Las solicitudes sin respuesta terminaron con una IllegalStateException.
+     */
+    public void cerrar( )
+    {
+        cerrada = true;
+        try
+        {
+            conexion.close( );
+        }
+        catch( IOException e )
+        {
+            // La conexin queda cerrada de todas formas
+        }
+        fallarPendientes( );
+    }
+
+    /**
+     * Enva una operacin de un cliente.
+     * @param pCodigo Cdigo de la operacin.
+     * @param pCedula Cdula del cliente.
+     * @param pAuxiliar Dato auxiliar.
+     * @param pCentavos Monto en centavos.
+     * @param pTasa Inters.
+     * @return Futuro que se completa con el valor de una consulta, o con el estado de una operacin.
+     */
+    private CompletableFuture<Long> enviar( int pCodigo, String pCedula, int pAuxiliar, long pCentavos, double pTasa )
+    {
+        long clave = IndiceCedulas.codificar( pCedula );
+        if( clave == IndiceCedulas.SIN_CLAVE )
+        {
+            return CompletableFuture.failedFuture( new IllegalArgumentException( "La cdula " + pCedula + " no tiene clave numrica." ) );
+        }
+        return enviar( pCodigo, clave, pAuxiliar, pCentavos, pTasa );
+    }
+
+    /**
+     * Enva una operacin con la clave de la cdula ya calculada.
+     * @param pCodigo Cdigo de la operacin.
+     * @param pClave Clave de la cdula.
+     * @param pAuxiliar Dato auxiliar.
+     * @param pCentavos Monto en centavos.
+     * @param pTasa Inters.
+     * @return Futuro que se completa con el valor de una consulta, o con el estado de una operacin.
+     */
+    private CompletableFuture<Long> enviar( int pCodigo, long pClave, int pAuxiliar, long pCentavos, double pTasa )
+    {
+        Solicitud solicitud = new Solicitud( pCodigo, pClave, pAuxiliar, pCentavos, pTasa );
+        encolar( solicitud );
+        return solicitud.respuesta;
+    }
+
+    /**
+     * Pone una solicitud en la cola, esperando si est llena.
+     * @param pSolicitud Solicitud.
+     */
+    private void encolar( Solicitud pSolicitud )
+    {
+        try
+        {
+            while( !cola.offer( pSolicitud, 10, TimeUnit.MILLISECONDS ) )
+            {
+                if( cerrada )
+                {
+                    pSolicitud.fallar( new IllegalStateException( "La conexin est cerrada." ) );
+                    return;
+                }
+            }
+        }
+        catch( InterruptedException e )
+        {
+            Thread.currentThread( ).interrupt( );
+            pSolicitud.fallar( new IllegalStateException( "Se interrumpi el envo." ) );
+            return;
+        }
+        if( cerrada )
+        {
+            fallarPendientes( );
+        }
+    }
+
+    /**
+     * Enva los lotes de solicitudes hasta que se cierra la conexin. Lo ejecuta el hilo de escritura.
+     * @param pSalida Flujo hacia el servidor.
+     */
+    private void escribir( DataOutputStream pSalida )
+    {
+        List<Solicitud> lote = new ArrayList<>( MAXIMO_LOTE );
+        int numero = 0;
+        try
+        {
+            while( !cerrada )
+            {
+                Solicitud primera = cola.poll( 10, TimeUnit.MILLISECONDS );
+                if( primera == null )
+                {
+                    continue;
+                }
+                lote.add( primera );
+                cola.drainTo( lote, MAXIMO_LOTE - 1 );
+                for( Solicitud s : lote )
+                {
+                    s.numero = numero++;
+                    enviadas.add( s );
+                    ProtocoloBinario.escribirSolicitud( pSalida, s.numero, s.codigo, s.clave, s.auxiliar, s.centavos, s.tasa );
+                }
+                pSalida.flush( );
+                lotes++;
+                lote.clear( );
+            }
+        }
+        catch( IOException | InterruptedException e )
+        {
+            for( Solicitud s : lote )
+            {
+                s.fallar( new IllegalStateException( "No se pudo enviar la solicitud.", e ) );
+            }
+            cerrar( );
+        }
+    }
+
+    /**
+     * Lee las respuestas y completa los futuros hasta que se cierra la conexin. Lo ejecuta el hilo de lectura.
+     * @param pEntrada Flujo desde el servidor.
+     */
+    private void leer( DataInputStream pEntrada )
+    {
+        int[] numero = new int[1];
+        try
+        {
+            while( ProtocoloBinario.leerNumero( pEntrada, numero ) )
+            {
+                int estado = pEntrada.readInt( );
+                long valor = pEntrada.readLong( );
+                Solicitud s = enviadas.poll( );
+                if( s == null || s.numero != numero[ 0 ] )
+                {
+                    throw new IOException( "El servidor respondi la solicitud " + numero[ 0 ] + " fuera de orden." );
+                }
+                s.completar( estado, valor );
+            }
+        }
+        catch( IOException e )
+        {
+            // La conexin se cerr
+        }
+        cerrar( );
+    }
+
+    /**
+     * Descarta el estado de una operacin que no retorna nada.
+     * @param pEstado Estado de la operacin.
+     */
+    private static void ignorar( Long pEstado )
+    {
+    }
+
+    /**
+     * Termina con error las solicitudes que esperan ser enviadas o respondidas.
+     */
+    private void fallarPendientes( )
+    {
+        ArrayDeque<Solicitud> pendientes = new ArrayDeque<>( );
+        cola.drainTo( pendientes );
+        Solicitud s;
+        while( ( s = enviadas.poll( ) ) != null )
+        {
+            pendientes.add( s );
+        }
+        for( Solicitud p : pendientes )
+        {
+            p.fallar( new IllegalStateException( "La conexin est cerrada." ) );
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // Clases internas
+    // -----------------------------------------------------------------
+
+    /**
+     * Solicitud enviada o por enviar, con el futuro de su respuesta.
+     */
+    private static class Solicitud
+    {
+        /**
+         * Nmero de la solicitud en la conexin. Lo asigna el hilo de escritura.
+         */
+        private int numero;
+
+        /**
+         * Cdigo de la operacin.
+         */
+        private int codigo;
+
+        /**
+         * Clave de la cdula del cliente.
+         */
+        private long clave;
+
+        /**
+         * Dato auxiliar.
+         */
+        private int auxiliar;
+
+        /**
+         * Monto en centavos.
+         */
+        private long centavos;
+
+        /**
+         * Inters.
+         */
+        private double tasa;
+
+        /**
+         * Futuro de la respuesta: el valor si es una consulta o el estado si es una operacin.
+         */
+        private CompletableFuture<Long> respuesta;
+
+        /**
+         * Crea la solicitud.
+         * @param pCodigo Cdigo de la operacin.
+         * @param pClave Clave de la cdula del cliente.
+         * @param pAuxiliar Dato auxiliar.
+         * @param pCentavos Monto en centavos.
+         * @param pTasa Inters.
+         */
+        private Solicitud( int pCodigo, long pClave, int pAuxiliar, long pCentavos, double pTasa )
+        {
+            codigo = pCodigo;
+            clave = pClave;
+            auxiliar = pAuxiliar;
+            centavos = pCentavos;
+            tasa = pTasa;
+            respuesta = new CompletableFuture<>( );
+        }
+
+        /**
+         * Completa el futuro con la respuesta del servidor.
+         * @param pEstado Estado de la respuesta.
+         * @param pValor Valor de la respuesta.
+         */
+        private void completar( int pEstado, long pValor )
+        {
+            if( pEstado == ProtocoloBinario.ESTADO_APLICADA || pEstado == ProtocoloBinario.ESTADO_SALDO_INSUFICIENTE )
+            {
+                boolean consulta = codigo == ProtocoloBinario.CONSULTAR_SALDO_TOTAL || codigo == ProtocoloBinario.CONSULTAR_SALDO_BANCO;
+                respuesta.complete( consulta ? pValor : pEstado );
+            }
+            else if( pEstado == ProtocoloBinario.ESTADO_CLIENTE_NO_EXISTE )
+            {
+                fallar( new IllegalArgumentException( "No hay un cliente con la cdula de la solicitud " + numero + "." ) );
+            }
+            else
+            {
+                fallar( new IllegalArgumentException( "La solicitud " + numero + " no es vlida." ) );
+            }
+        }
+
+        /**
+         * Completa el futuro con un error.
+         * @param pError Error.
+         */
+        private void fallar( RuntimeException pError )
+        {
+            respuesta.completeExceptionally( pError );
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.servidor;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import uniandes.cupi2.simuladorBancario.mundo.BancoParticionado;
+
+/**
+ * Clase que representa una conexin con un banco repartido en varios procesos, cada uno un NodoParticion. <br>
+ * Tiene un ClienteBinario por nodo y enva cada operacin de un cliente al nodo de su particin, calculada con
+ * BancoParticionado.calcularParticion, as que las operaciones de un mismo cliente llegan en orden al mismo nodo. <br>
+ * Las acciones de todo el banco se coordinan en dos fases: primero se bloquea el banco de cada nodo, en el orden de los
+ * nodos y esperando cada bloqueo antes de pedir el siguiente; luego se enva la accin a todos los nodos, seguida de la
+ * liberacin. Mientras dura la accin ninguna otra conexin puede operar en ningn nodo, de modo que el resultado no mezcla
+ * nodos antes y despus de una misma operacin, y como todos los coordinadores bloquean los nodos en el mismo orden, dos
+ * acciones simultneas no pueden quedar esperndose mutuamente.
+ */
+public class ClienteParticionado
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Conexiones con los nodos, en el orden de sus particiones.
+     */
+    private ClienteBinario[] nodos;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Abre una conexin con cada nodo del banco.
+     * @param pPuertos Puertos de los nodos en la direccin local, en el orden de sus particiones. pPuertos.length > 0.
+     * @throws IOException Si no se puede conectar con algn nodo.
+     */
+    public ClienteParticionado( int[] pPuertos ) throws IOException
+    {
+        nodos = new ClienteBinario[pPuertos.length];
+        try
+        {
+            for( int i = 0; i < pPuertos.length; i++ )
+            {
+                nodos[ i ] = new ClienteBinario( pPuertos[ i ] );
+            }
+        }
+        catch( IOException e )
+        {
+            cerrar( );
+            throw e;
+        }
+    }
+
+    /**
+     * Retorna el nmero de particiones del banco.
+     * @return Nmero de nodos.
+     */
+    public int darNumeroParticiones( )
+    {
+        return nodos.length;
+    }
+
+    /**
+     * Retorna la particin de una cdula.
+     * @param pCedula Cdula. pCedula != null.
+     * @return Particin del nodo que tiene al cliente.
+     */
+    public int darParticion( String pCedula )
+    {
+        return BancoParticionado.calcularParticion( pCedula, nodos.length );
+    }
+
+    /**
+     * Consigna un monto en la cuenta del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @param pProducto Producto. Es Banco.PRODUCTO_CORRIENTE o Banco.PRODUCTO_AHORROS.
+     * @param pCentavos Monto en centavos. pCentavos > 0.
+     * @return Futuro que se completa cuando el nodo aplica la consignacin.
+     */
+    public CompletableFuture<Void> consignar( String pCedula, int pProducto, long pCentavos )
+    {
+        return nodos[ darParticion( pCedula ) ].consignar( pCedula, pProducto, pCentavos );
+    }
+
+    /**
+     * Retira un monto de la cuenta del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @param pProducto Producto. Es Banco.PRODUCTO_CORRIENTE o Banco.PRODUCTO_AHORROS.
+     * @param pCentavos Monto en centavos. pCentavos > 0.
+     * @return Futuro que se completa con true si se hizo el retiro o false si el saldo no era suficiente.
+     */
+    public CompletableFuture<Boolean> retirar( String pCedula, int pProducto, long pCentavos )
+    {
+        return nodos[ darParticion( pCedula ) ].retirar( pCedula, pProducto, pCentavos );
+    }
+
+    /**
+     * Invierte un monto en el CDT del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @param pCentavos Monto en centavos. pCentavos > 0.
+     * @param pInteresMensual Inters mensual del CDT. pInteresMensual > 0.
+     * @return Futuro que se completa cuando el nodo abre el CDT.
+     */
+    public CompletableFuture<Void> invertirCDT( String pCedula, long pCentavos, double pInteresMensual )
+    {
+        return nodos[ darParticion( pCedula ) ].invertirCDT( pCedula, pCentavos, pInteresMensual );
+    }
+
+    /**
+     * Cierra el CDT del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @return Futuro que se completa cuando el nodo cierra el CDT.
+     */
+    public CompletableFuture<Void> cerrarCDT( String pCedula )
+    {
+        return nodos[ darParticion( pCedula ) ].cerrarCDT( pCedula );
+    }
+
+    /**
+     * Avanza en un mes la simulacin del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @return Futuro que se completa cuando el nodo avanza el mes.
+     */
+    public CompletableFuture<Void> avanzarMesSimulacion( String pCedula )
+    {
+        return nodos[ darParticion( pCedula ) ].avanzarMesSimulacion( pCedula );
+    }
+
+    /**
+     * Consulta el saldo total del cliente.
+     * @param pCedula Cdula numrica del cliente. pCedula != null.
+     * @return Futuro que se completa con el saldo total en centavos.
+     */
+    public CompletableFuture<Long> calcularSaldoTotal( String pCedula )
+    {
+        return nodos[ darParticion( pCedula ) ].calcularSaldoTotal( pCedula );
+    }
+
+    /**
+     * Avanza en un mes la simulacin de todos los clientes de todos los nodos.
+     * @return Futuro que se completa cuando todos los nodos avanzaron el mes.
+     */
+    public CompletableFuture<Void> avanzarMesBanco( )
+    {
+        return coordinar( nodo -> nodo.avanzarMesBanco( ).thenApply( v -> 0L ) ).thenAccept( ClienteParticionado::ignorar );
+    }
+
+    /**
+     * Consulta el saldo total de todos los clientes de todos los nodos.
+     * @return Futuro que se completa con el saldo total del banco en centavos.
+     */
+    public CompletableFuture<Long> calcularSaldoTotalBanco( )
+    {
+        return coordinar( ClienteBinario::calcularSaldoTotalBanco );
+    }
+
+    /**
+     * Cierra las conexiones con los nodos. Si algn nodo segua bloqueado por este cliente, el nodo lo libera al cerrarse la
+     * conexin.
+     */
+    public void cerrar( )
+    {
+        for( ClienteBinario nodo : nodos )
+        {
+            if( nodo != null )
+            {
+                nodo.cerrar( );
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una accin en todos los nodos con el banco de cada uno bloqueado. Si falla algn bloqueo, se liberan los nodos
+     * que ya estaban bloqueados.
+     * @param pAccion Accin que se enva a cada nodo.
+     * @return Futuro con la suma de los resultados de los nodos.
+     */
+    private CompletableFuture<Long> coordinar( Function<ClienteBinario, CompletableFuture<Long>> pAccion )
+    {
+        int[] bloqueados = new int[1];
+        CompletableFuture<Void> bloqueo = CompletableFuture.completedFuture( null );
+        for( ClienteBinario nodo : nodos )
+        {
+            bloqueo = bloqueo.thenCompose( v -> nodo.bloquearBanco( ) ).thenRun( ( ) -> bloqueados[ 0 ]++ );
+        }
+        return bloqueo.whenComplete( ( v, e ) -> {
+            if( e != null )
+            {
+                for( int i = 0; i < bloqueados[ 0 ]; i++ )
+                {
+                    nodos[ i ].liberarBanco( );
+                }
+            }
+        } ).thenCompose( v -> {
+            CompletableFuture<?>[] partes = new CompletableFuture<?>[nodos.length];
+            CompletableFuture<?>[] liberaciones = new CompletableFuture<?>[nodos.length];
+            for( int i = 0; i < nodos.length; i++ )
+            {
+                partes[ i ] = pAccion.apply( nodos[ i ] );
+                liberaciones[ i ] = nodos[ i ].liberarBanco( );
+            }
+            return CompletableFuture.allOf( partes ).thenCombine( CompletableFuture.allOf( liberaciones ), ( x, y ) -> {
+                long total = 0;
+                for( CompletableFuture<?> parte : partes )
+                {
+                    total += ( Long )parte.join( );
+                }
+                return total;
+            } );
+        } );
+    }
+
+    /**
+     * Descarta el resultado de una accin.
+     * @param pResultado Resultado.
+     */
+    private static void ignorar( Long pResultado )
+    {
+        // El resultado no se usa
+    }
+}
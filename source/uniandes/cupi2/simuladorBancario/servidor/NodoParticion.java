@@ -0,0 +1,140 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.servidor;
+
+import java.io.File;
+import java.io.IOException;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.BancoParticionado;
+import uniandes.cupi2.simuladorBancario.persistencia.ImportadorCSV;
+
+/**
+ * Clase que representa uno de los procesos que forman un banco repartido en varios procesos de la misma mquina. <br>
+ * Cada nodo carga de un archivo de clientes compartido solo los clientes de su particin, segn
+ * BancoParticionado.calcularParticion, y los expone con un ServidorBinario en la direccin local. Un ClienteParticionado
+ * con los puertos de todos los nodos enruta las operaciones y coordina las acciones de todo el banco. <br>
+ * Ejecutado como programa, el nodo imprime en la salida estndar una lnea PREFIJO_PUERTO seguida del puerto en cuanto est
+ * listo, y atiende solicitudes hasta que se cierra su entrada estndar, as que el proceso que lo lanz lo detiene cerrando
+ * ese flujo o terminando.
+ */
+public class NodoParticion
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Capacidad del banco de un nodo cuando no se indica otra.
+     */
+    public static final int CAPACIDAD = 1 << 20;
+
+    /**
+     * Comienzo de la lnea con la que el programa anuncia su puerto.
+     */
+    public static final String PREFIJO_PUERTO = "PUERTO ";
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco con los clientes de la particin.
+     */
+    private Banco banco;
+
+    /**
+     * Servidor que expone el banco.
+     */
+    private ServidorBinario servidor;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea el nodo de una particin cargando sus clientes. El servidor no acepta conexiones hasta que se inicia.
+     * @param pClientes Archivo CSV con los clientes de todas las particiones, en el formato de ImportadorCSV. pClientes != null.
+     * @param pParticion Particin del nodo. 0 <= pParticion < pParticiones.
+     * @param pParticiones Nmero de particiones del banco. pParticiones > 0.
+     * @param pCapacidad Nmero mximo de clientes de la particin. pCapacidad > 0.
+     * @param pPuerto Puerto del servidor, o ServidorSimulador.PUERTO_LIBRE para usar cualquier puerto libre.
+     * @throws IOException Si no se puede leer el archivo o abrir el puerto.
+     * @throws IllegalStateException Si la particin tiene ms clientes que la capacidad.
+     */
+    public NodoParticion( File pClientes, int pParticion, int pParticiones, int pCapacidad, int pPuerto ) throws IOException
+    {
+        banco = new Banco( pCapacidad );
+        ImportadorCSV importador = new ImportadorCSV( banco );
+        importador.cambiarFiltroClientes( cedula -> BancoParticionado.calcularParticion( cedula, pParticiones ) == pParticion );
+        importador.importarClientes( pClientes );
+        servidor = new ServidorBinario( banco, pPuerto );
+    }
+
+    /**
+     * Retorna el banco con los clientes de la particin.
+     * @return Banco del nodo.
+     */
+    public Banco darBanco( )
+    {
+        return banco;
+    }
+
+    /**
+     * Retorna el puerto en el que escucha el servidor del nodo.
+     * @return Puerto del nodo.
+     */
+    public int darPuerto( )
+    {
+        return servidor.darPuerto( );
+    }
+
+    /**
+     * Empieza a aceptar conexiones.
+     */
+    public void iniciar( )
+    {
+        servidor.iniciar( );
+    }
+
+    /**
+     * Detiene el servidor del nodo.
+     */
+    public void detener( )
+    {
+        servidor.detener( );
+    }
+
+    /**
+     * Ejecuta un nodo hasta que se cierra la entrada estndar.
+     * @param pArgs Archivo de clientes, particin, nmero de particiones y, opcionalmente, capacidad y puerto.
+     * @throws IOException Si no se puede leer el archivo o abrir el puerto.
+     */
+    public static void main( String[] pArgs ) throws IOException
+    {
+        if( pArgs.length < 3 )
+        {
+            System.err.println( "Uso: NodoParticion <clientes.csv> <particion> <particiones> [capacidad] [puerto]" );
+            System.exit( 1 );
+        }
+        int capacidad = pArgs.length > 3 ? Integer.parseInt( pArgs[ 3 ] ) : CAPACIDAD;
+        int puerto = pArgs.length > 4 ? Integer.parseInt( pArgs[ 4 ] ) : ServidorSimulador.PUERTO_LIBRE;
+        NodoParticion nodo = new NodoParticion( new File( pArgs[ 0 ] ), Integer.parseInt( pArgs[ 1 ] ), Integer.parseInt( pArgs[ 2 ] ), capacidad, puerto );
+        nodo.iniciar( );
+        System.out.println( PREFIJO_PUERTO + nodo.darPuerto( ) );
+        System.out.flush( );
+        while( System.in.read( ) >= 0 )
+        {
+            // Atiende solicitudes hasta que se cierre la entrada
+        }
+        nodo.detener( );
+    }
+}
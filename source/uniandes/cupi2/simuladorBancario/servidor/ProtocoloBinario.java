@@ -0,0 +1,152 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.servidor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Clase con el formato de las solicitudes y respuestas del protocolo binario de ServidorBinario. <br>
+ * Cada solicitud ocupa TAMANO_SOLICITUD bytes: el nmero de la solicitud (int), el cdigo de la operacin (int), la clave
+ * de la cdula del cliente obtenida con IndiceCedulas.codificar (long), el dato auxiliar (int), el monto en centavos (long)
+ * y el inters (double). Cada respuesta ocupa TAMANO_RESPUESTA bytes: el nmero de la solicitud (int), el estado (int) y un
+ * valor en centavos (long). Todos los nmeros van en orden big-endian. <br>
+ * Los cdigos de las operaciones que modifican el banco son los de Operacion; las consultas tienen sus propios cdigos. El
+ * servidor responde las solicitudes de una conexin en el mismo orden en que las recibe, as que el cliente puede enviar
+ * muchas sin esperar las respuestas. <br>
+ * Una conexin puede bloquear el banco con BLOQUEAR_BANCO: hasta que enve LIBERAR_BANCO o se cierre, solo se atienden sus
+ * solicitudes. As un coordinador puede bloquear varios servidores, consultarlos o avanzar su mes y liberarlos, sin que
+ * otras conexiones vean unos servidores antes de la accin y otros despus.
+ */
+public final class ProtocoloBinario
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de bytes de una solicitud.
+     */
+    public static final int TAMANO_SOLICITUD = 36;
+
+    /**
+     * Nmero de bytes de una respuesta.
+     */
+    public static final int TAMANO_RESPUESTA = 16;
+
+    /**
+     * Consulta del saldo total de un cliente.
+     */
+    public static final int CONSULTAR_SALDO_TOTAL = 101;
+
+    /**
+     * Consulta del saldo total de todos los clientes del banco. La clave de la cdula no se usa.
+     */
+    public static final int CONSULTAR_SALDO_BANCO = 102;
+
+    /**
+     * Bloquea el banco para las dems conexiones hasta que esta enve LIBERAR_BANCO o se cierre. Se puede enviar varias
+     * veces; cada una necesita su LIBERAR_BANCO. La clave de la cdula no se usa.
+     */
+    public static final int BLOQUEAR_BANCO = 103;
+
+    /**
+     * Libera un bloqueo del banco hecho por la misma conexin. Si la conexin no tiene el banco bloqueado, la solicitud es
+     * invlida. La clave de la cdula no se usa.
+     */
+    public static final int LIBERAR_BANCO = 104;
+
+    /**
+     * La operacin se aplic o la consulta se respondi.
+     */
+    public static final int ESTADO_APLICADA = 1;
+
+    /**
+     * El retiro no se hizo porque no haba saldo suficiente.
+     */
+    public static final int ESTADO_SALDO_INSUFICIENTE = 2;
+
+    /**
+     * La operacin no se aplic porque su cdigo o sus datos no son vlidos.
+     */
+    public static final int ESTADO_INVALIDA = 3;
+
+    /**
+     * La operacin no se aplic porque no hay un cliente con la cdula dada.
+     */
+    public static final int ESTADO_CLIENTE_NO_EXISTE = 4;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Constructor privado: la clase solo tiene constantes y mtodos de clase.
+     */
+    private ProtocoloBinario( )
+    {
+    }
+
+    /**
+     * Escribe una solicitud.
+     * @param pSalida Flujo de salida.
+     * @param pNumero Nmero de la solicitud.
+     * @param pCodigo Cdigo de la operacin.
+     * @param pClave Clave de la cdula del cliente.
+     * @param pAuxiliar Dato auxiliar, como el nmero de meses al avanzar varios meses.
+     * @param pCentavos Monto en centavos.
+     * @param pTasa Inters de una inversin en CDT.
+     * @throws IOException Si no se puede escribir.
+     */
+    public static void escribirSolicitud( DataOutputStream pSalida, int pNumero, int pCodigo, long pClave, int pAuxiliar, long pCentavos, double pTasa ) throws IOException
+    {
+        pSalida.writeInt( pNumero );
+        pSalida.writeInt( pCodigo );
+        pSalida.writeLong( pClave );
+        pSalida.writeInt( pAuxiliar );
+        pSalida.writeLong( pCentavos );
+        pSalida.writeDouble( pTasa );
+    }
+
+    /**
+     * Escribe una respuesta.
+     * @param pSalida Flujo de salida.
+     * @param pNumero Nmero de la solicitud que se responde.
+     * @param pEstado Estado de la operacin. Es uno de los valores ESTADO_ de esta clase.
+     * @param pValor Valor de la respuesta en centavos, o 0 si la operacin no retorna un valor.
+     * @throws IOException Si no se puede escribir.
+     */
+    public static void escribirRespuesta( DataOutputStream pSalida, int pNumero, int pEstado, long pValor ) throws IOException
+    {
+        pSalida.writeInt( pNumero );
+        pSalida.writeInt( pEstado );
+        pSalida.writeLong( pValor );
+    }
+
+    /**
+     * Lee el nmero de una solicitud o de una respuesta, detectando el fin del flujo.
+     * @param pEntrada Flujo de entrada.
+     * @param pNumero Arreglo de una posicin donde se deja el nmero.
+     * @return True si se ley el nmero, false si el flujo termin antes de empezar el mensaje.
+     * @throws IOException Si no se puede leer o el flujo termina a mitad del nmero.
+     */
+    static boolean leerNumero( DataInputStream pEntrada, int[] pNumero ) throws IOException
+    {
+        int b = pEntrada.read( );
+        if( b < 0 )
+        {
+            return false;
+        }
+        pNumero[ 0 ] = ( b << 24 ) | ( pEntrada.readUnsignedByte( ) << 16 ) | ( pEntrada.readUnsignedByte( ) << 8 ) | pEntrada.readUnsignedByte( );
+        return true;
+    }
+}
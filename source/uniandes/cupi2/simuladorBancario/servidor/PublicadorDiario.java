@@ -0,0 +1,342 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.servidor;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import uniandes.cupi2.simuladorBancario.persistencia.DiarioTransacciones;
+import uniandes.cupi2.simuladorBancario.persistencia.InstantaneaBanco;
+import uniandes.cupi2.simuladorBancario.persistencia.PersistenciaBanco;
+
+/**
+ * Clase que enva el diario de transacciones de un banco primario a las rplicas de lectura conectadas por TCP en la
+ * direccin local. <br>
+ * Al conectarse, la rplica enva la posicin del diario desde la que necesita los registros, en 8 bytes. El publicador
+ * responde con el nmero de bytes de una instantnea, en 4 bytes, seguido de esos bytes: si las instantneas del primario
+ * ya truncaron el diario antes de la posicin pedida, enva el contenido del archivo de la ltima instantnea y sigue
+ * desde la posicin del diario en que se tom; si no, enva 0 y sigue desde la posicin pedida. Desde ah le enva bloques
+ * con un encabezado de TAMANO_ENCABEZADO bytes (la posicin final del diario del primario, la hora en milisegundos en que
+ * se ley esa posicin y el nmero de bytes del bloque) seguido de los bytes del diario, que se escriben en el socket
+ * directamente desde la proyeccin en memoria del diario. Un bloque no tiene ms de TAMANO_BLOQUE bytes y puede terminar a
+ * mitad de un registro; la rplica guarda el resto hasta el bloque siguiente. Si no hay registros nuevos, cada LATIDO
+ * milisegundos se enva un bloque vaco para que la rplica sepa que sigue al da. <br>
+ * Cada rplica se atiende en su propio hilo, que solo lee la posicin final del diario, as que el primario no espera a
+ * las rplicas para anotar ni para confirmar sus operaciones. Las rplicas pueden recibir registros que el primario
+ * todava no ha llevado a disco.
+ */
+public class PublicadorDiario
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Bytes del encabezado de un bloque: posicin final del primario (8), hora (8) y longitud (4).
+     */
+    public static final int TAMANO_ENCABEZADO = 20;
+
+    /**
+     * Nmero mximo de bytes del diario en un bloque.
+     */
+    public static final int TAMANO_BLOQUE = 1 << 20;
+
+    /**
+     * Tiempo mximo entre dos bloques enviados a una rplica, en milisegundos.
+     */
+    public static final long LATIDO = 50;
+
+    /**
+     * Tiempo que se espera antes de volver a revisar el diario cuando no tiene registros nuevos, en nanosegundos.
+     */
+    public static final long ESPERA = 100000;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Persistencia del banco primario, de la que se toma la instantnea para las rplicas que la necesitan.
+     */
+    private PersistenciaBanco persistencia;
+
+    /**
+     * Diario del banco primario.
+     */
+    private DiarioTransacciones diario;
+
+    /**
+     * Socket que acepta las conexiones de las rplicas.
+     */
+    private ServerSocketChannel socketServidor;
+
+    /**
+     * Ejecutor que atiende a las rplicas.
+     */
+    private ExecutorService ejecutor;
+
+    /**
+     * Conexiones abiertas, para cerrarlas al detener el publicador.
+     */
+    private Set<SocketChannel> conexiones;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea el publicador del diario y las instantneas de la persistencia dada en el puerto dado de la direccin local, con
+     * un ejecutor que crea un hilo por cada rplica conectada. El publicador no acepta conexiones hasta que se inicia.
+     * @param pPersistencia Persistencia del banco primario. pPersistencia != null.
+     * @param pPuerto Puerto del publicador, o ServidorSimulador.PUERTO_LIBRE para usar cualquier puerto libre.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public PublicadorDiario( PersistenciaBanco pPersistencia, int pPuerto ) throws IOException
+    {
+        this( pPersistencia, pPuerto, Executors.newCachedThreadPool( ) );
+    }
+
+    /**
+     * Crea el publicador del diario y las instantneas de la persistencia dada en el puerto dado de la direccin local. El
+     * publicador no acepta conexiones hasta que se inicia.
+     * @param pPersistencia Persistencia del banco primario. pPersistencia != null.
+     * @param pPuerto Puerto del publicador, o ServidorSimulador.PUERTO_LIBRE para usar cualquier puerto libre.
+     * @param pEjecutor Ejecutor que atiende a las rplicas. Se detiene junto con el publicador. pEjecutor != null.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public PublicadorDiario( PersistenciaBanco pPersistencia, int pPuerto, ExecutorService pEjecutor ) throws IOException
+    {
+        persistencia = pPersistencia;
+        diario = pPersistencia.darDiario( );
+        ejecutor = pEjecutor;
+        conexiones = ConcurrentHashMap.newKeySet( );
+        socketServidor = ServerSocketChannel.open( );
+        socketServidor.bind( new InetSocketAddress( InetAddress.getLoopbackAddress( ), pPuerto ), 1024 );
+    }
+
+    /**
+     * Retorna el puerto en el que escucha el publicador.
+     * @return Puerto del publicador.
+     */
+    public int darPuerto( )
+    {
+        return socketServidor.socket( ).getLocalPort( );
+    }
+
+    /**
+     * Retorna el nmero de rplicas conectadas.
+     * @return Nmero de rplicas.
+     */
+    public int darNumeroReplicas( )
+    {
+        return conexiones.size( );
+    }
+
+    /**
+     * Empieza a aceptar conexiones en un hilo aparte.
+     */
+    public void iniciar( )
+    {
+        Thread aceptacion = new Thread( this::aceptar, "PublicadorDiario-" + darPuerto( ) );
+        aceptacion.setDaemon( true );
+        aceptacion.start( );
+    }
+
+    /**
+     * Deja de aceptar conexiones, cierra las conexiones con las rplicas y detiene el ejecutor.
+     */
+    public void detener( )
+    {
+        try
+        {
+            socketServidor.close( );
+        }
+        catch( IOException e )
+        {
+            // El socket queda cerrado de todas formas
+        }
+        for( SocketChannel conexion : conexiones )
+        {
+            cerrar( conexion );
+        }
+        ejecutor.shutdown( );
+    }
+
+    /**
+     * Acepta conexiones hasta que se cierra el socket del publicador.
+     */
+    private void aceptar( )
+    {
+        while( socketServidor.isOpen( ) )
+        {
+            try
+            {
+                SocketChannel conexion = socketServidor.accept( );
+                conexion.setOption( StandardSocketOptions.TCP_NODELAY, true );
+                conexiones.add( conexion );
+                ejecutor.execute( ( ) -> atender( conexion ) );
+            }
+            catch( IOException e )
+            {
+                // El publicador se detuvo o la conexin fall antes de empezar
+            }
+        }
+    }
+
+    /**
+     * Enva a una rplica la instantnea que necesita, si necesita una, y luego el diario hasta que la conexin se cierra.
+     * Si la posicin que pide la rplica es posterior al final del diario, o ya no est en el diario y el primario no tiene
+     * instantnea, se cierra la conexin sin enviar nada. Si el diario se trunca ms all de la posicin enviada mientras
+     * la rplica se pone al da, se cierra la conexin cuando la rplica pide un bloque que ya no est.
+     * @param pConexion Conexin con la rplica.
+     */
+    private void atender( SocketChannel pConexion )
+    {
+        try
+        {
+            ByteBuffer encabezado = ByteBuffer.allocate( TAMANO_ENCABEZADO );
+            encabezado.limit( 8 );
+            leerCompleto( pConexion, encabezado );
+            long enviado = encabezado.getLong( 0 );
+            byte[] instantanea = new byte[0];
+            if( enviado < diario.darPosicionInicial( ) )
+            {
+                instantanea = leerInstantanea( );
+                if( instantanea == null )
+                {
+                    return;
+                }
+                enviado = InstantaneaBanco.leer( instantanea ).darPosicionRegistro( );
+            }
+            if( enviado > diario.darPosicionFinal( ) )
+            {
+                return;
+            }
+            encabezado.clear( );
+            encabezado.putInt( instantanea.length ).flip( );
+            escribirCompleto( pConexion, encabezado );
+            escribirCompleto( pConexion, ByteBuffer.wrap( instantanea ) );
+            long ultimoEnvio = System.nanoTime( );
+            while( pConexion.isOpen( ) )
+            {
+                long fin = diario.darPosicionFinal( );
+                long hora = System.currentTimeMillis( );
+                long ahora = System.nanoTime( );
+                if( fin > enviado || ahora - ultimoEnvio >= TimeUnit.MILLISECONDS.toNanos( LATIDO ) )
+                {
+                    long hasta = Math.min( fin, enviado + TAMANO_BLOQUE );
+                    encabezado.clear( );
+                    encabezado.putLong( fin ).putLong( hora ).putInt( ( int )( hasta - enviado ) ).flip( );
+                    escribirCompleto( pConexion, encabezado );
+                    while( enviado < hasta )
+                    {
+                        enviado += diario.transferir( enviado, hasta, pConexion );
+                    }
+                    ultimoEnvio = ahora;
+                }
+                else
+                {
+                    LockSupport.parkNanos( ESPERA );
+                }
+            }
+        }
+        catch( IOException e )
+        {
+            // La rplica o el diario se cerraron, o el diario se trunc
+        }
+        finally
+        {
+            conexiones.remove( pConexion );
+            cerrar( pConexion );
+        }
+    }
+
+    /**
+     * Lee el archivo de la ltima instantnea del primario. Si mientras se lee otra instantnea trunca el diario ms all
+     * de la leda, se lee la nueva, as que el diario tiene los registros posteriores a la instantnea retornada.
+     * @return Bytes del archivo de la instantnea, o null si el primario no tiene instantnea.
+     * @throws IOException Si no se puede leer el archivo o no es una instantnea completa.
+     */
+    private byte[] leerInstantanea( ) throws IOException
+    {
+        File archivo = persistencia.darArchivoInstantanea( );
+        while( archivo.exists( ) )
+        {
+            byte[] datos = Files.readAllBytes( archivo.toPath( ) );
+            if( InstantaneaBanco.leer( datos ).darPosicionRegistro( ) >= diario.darPosicionInicial( ) )
+            {
+                return datos;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Escribe en un canal todo el espacio restante de un buffer.
+     * @param pCanal Canal de escritura.
+     * @param pBuffer Buffer con los datos.
+     * @throws IOException Si no se puede escribir en el canal.
+     */
+    private static void escribirCompleto( SocketChannel pCanal, ByteBuffer pBuffer ) throws IOException
+    {
+        while( pBuffer.hasRemaining( ) )
+        {
+            pCanal.write( pBuffer );
+        }
+    }
+
+    /**
+     * Lee de un canal hasta llenar el espacio restante de un buffer.
+     * @param pCanal Canal de lectura.
+     * @param pBuffer Buffer de destino.
+     * @throws IOException Si el canal se cierra antes de llenar el buffer.
+     */
+    static void leerCompleto( SocketChannel pCanal, ByteBuffer pBuffer ) throws IOException
+    {
+        while( pBuffer.hasRemaining( ) )
+        {
+            if( pCanal.read( pBuffer ) < 0 )
+            {
+                throw new EOFException( "La conexin se cerr." );
+            }
+        }
+    }
+
+    /**
+     * Cierra una conexin ignorando los errores.
+     * @param pConexion Conexin a cerrar.
+     */
+    private static void cerrar( SocketChannel pConexion )
+    {
+        try
+        {
+            pConexion.close( );
+        }
+        catch( IOException e )
+        {
+            // La conexin queda cerrada de todas formas
+        }
+    }
+}
@@ -0,0 +1,476 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.servidor;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.EstadoBanco;
+import uniandes.cupi2.simuladorBancario.persistencia.DiarioTransacciones;
+import uniandes.cupi2.simuladorBancario.persistencia.InstantaneaBanco;
+import uniandes.cupi2.simuladorBancario.persistencia.LectorDiario;
+import uniandes.cupi2.simuladorBancario.persistencia.PersistenciaBanco;
+
+/**
+ * Clase que representa una rplica de solo lectura de un banco primario. <br>
+ * La rplica se conecta al PublicadorDiario del primario y pide su diario de transacciones desde el principio. Si las
+ * instantneas del primario ya truncaron el diario, la rplica recibe primero la ltima instantnea y la carga en su propio
+ * Banco. Luego, en un hilo propio, aplica cada registro del diario a ese banco con PersistenciaBanco.aplicar, en el mismo
+ * orden en que el primario los anot. Las consultas se hacen sobre ese banco sin candados, as que no compiten con las
+ * escrituras del primario y para atender ms lecturas basta con agregar rplicas. <br>
+ * Las consultas ven el estado del primario con un retraso: darRetrasoBytes indica cunto diario conocido falta por
+ * aplicar y darRetrasoMilisegundos hace cunto el primario tena registros que la rplica todava no ha aplicado. Para leer
+ * una operacin propia se puede esperar a que la rplica llegue a la posicin del diario que retorn su anotacin. <br>
+ * Una rplica conectada necesita todos los registros posteriores a los que ya aplic, as que si el primario trunca su
+ * diario ms all de ellos mientras la rplica est atrasada, el publicador cierra la conexin y la rplica deja de
+ * recibir operaciones con un error; para volver a seguir al primario se crea una rplica nueva.
+ */
+public class ReplicaLectura
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Copia del banco primario.
+     */
+    private Banco banco;
+
+    /**
+     * Conexin con el publicador del primario.
+     */
+    private SocketChannel conexion;
+
+    /**
+     * Hilo que recibe y aplica el diario.
+     */
+    private Thread hilo;
+
+    /**
+     * Posicin del diario hasta la que se aplicaron los registros.
+     */
+    private volatile long posicionAplicada;
+
+    /**
+     * ltima posicin final del diario del primario que se conoce.
+     */
+    private volatile long posicionPrimario;
+
+    /**
+     * Hora en milisegundos del bloque ms antiguo cuyos registros no se han aplicado por completo, o 0 si no hay.
+     */
+    private volatile long horaPendiente;
+
+    /**
+     * Posicin final de los bloques recibidos cuyos registros no se han aplicado por completo, en un anillo que empieza en
+     * primerPendiente y va del ms antiguo al ms reciente. Su tamao es una potencia de dos. Solo la usa el hilo de la
+     * rplica.
+     */
+    private long[] finesPendientes;
+
+    /**
+     * Hora en milisegundos de cada bloque de finesPendientes, en la misma posicin del anillo.
+     */
+    private long[] horasPendientes;
+
+    /**
+     * Posicin en el anillo del bloque pendiente ms antiguo.
+     */
+    private int primerPendiente;
+
+    /**
+     * Nmero de bloques pendientes en el anillo.
+     */
+    private int numeroPendientes;
+
+    /**
+     * Error que detuvo la rplica, o null si sigue activa o se cerr normalmente.
+     */
+    private volatile Exception error;
+
+    /**
+     * Si el hilo de la rplica sigue recibiendo el diario.
+     */
+    private volatile boolean activa;
+
+    /**
+     * Si la rplica se cerr.
+     */
+    private volatile boolean cerrada;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea una rplica vaca, la conecta con el publicador del primario, carga la instantnea del primario si el publicador
+     * la enva y empieza a aplicar el diario en un hilo aparte. <br>
+     * <b>post: </b> La rplica alcanza el estado del primario a medida que aplica el diario.
+     * @param pPuerto Puerto del PublicadorDiario del primario en la direccin local.
+     * @param pCapacidad Nmero mximo de clientes de la rplica. Debe ser al menos el nmero de clientes del primario.
+     *        pCapacidad > 0.
+     * @throws IOException Si no se puede conectar con el primario o recibir su instantnea.
+     * @throws IllegalStateException Si la rplica no tiene capacidad para los clientes de la instantnea.
+     */
+    public ReplicaLectura( int pPuerto, int pCapacidad ) throws IOException
+    {
+        banco = new Banco( pCapacidad );
+        posicionAplicada = DiarioTransacciones.TAMANO_ENCABEZADO;
+        posicionPrimario = posicionAplicada;
+        horaPendiente = 0;
+        finesPendientes = new long[16];
+        horasPendientes = new long[16];
+        primerPendiente = 0;
+        numeroPendientes = 0;
+        error = null;
+        activa = true;
+        cerrada = false;
+        conexion = SocketChannel.open( new InetSocketAddress( InetAddress.getLoopbackAddress( ), pPuerto ) );
+        ByteBuffer solicitud = ByteBuffer.allocate( 8 ).putLong( 0, posicionAplicada );
+        try
+        {
+            while( solicitud.hasRemaining( ) )
+            {
+                conexion.write( solicitud );
+            }
+            ByteBuffer tamano = ByteBuffer.allocate( 4 );
+            PublicadorDiario.leerCompleto( conexion, tamano );
+            if( tamano.getInt( 0 ) > 0 )
+            {
+                ByteBuffer instantanea = ByteBuffer.allocate( tamano.getInt( 0 ) );
+                PublicadorDiario.leerCompleto( conexion, instantanea );
+                EstadoBanco estado = InstantaneaBanco.leer( instantanea.array( ) );
+                banco.restaurarEstado( estado );
+                posicionAplicada = estado.darPosicionRegistro( );
+                posicionPrimario = posicionAplicada;
+            }
+        }
+        catch( IOException | RuntimeException e )
+        {
+            conexion.close( );
+            throw e;
+        }
+        hilo = new Thread( this::replicar, "ReplicaLectura-" + pPuerto );
+        hilo.setDaemon( true );
+        hilo.start( );
+    }
+
+    /**
+     * Retorna el nmero de clientes de la rplica.
+     * @return Nmero de clientes.
+     */
+    public int darNumeroClientes( )
+    {
+        return banco.darNumeroClientes( );
+    }
+
+    /**
+     * Retorna el mes en el que se encuentra la simulacin del cliente.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @return Mes actual del cliente.
+     * @throws IllegalArgumentException Si la rplica no tiene un cliente con esa cdula.
+     */
+    public int darMesActual( String pCedula )
+    {
+        return banco.darMesActual( buscarCliente( pCedula ) );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta corriente del cliente.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @return Saldo en centavos.
+     * @throws IllegalArgumentException Si la rplica no tiene un cliente con esa cdula.
+     */
+    public long darSaldoCorrienteCentavos( String pCedula )
+    {
+        return banco.darSaldoCorrienteCentavos( buscarCliente( pCedula ) );
+    }
+
+    /**
+     * Retorna el saldo de la cuenta de ahorros del cliente.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @return Saldo en centavos.
+     * @throws IllegalArgumentException Si la rplica no tiene un cliente con esa cdula.
+     */
+    public long darSaldoAhorrosCentavos( String pCedula )
+    {
+        return banco.darSaldoAhorrosCentavos( buscarCliente( pCedula ) );
+    }
+
+    /**
+     * Retorna el valor presente del CDT del cliente.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @return Valor presente en centavos.
+     * @throws IllegalArgumentException Si la rplica no tiene un cliente con esa cdula.
+     */
+    public long calcularValorPresenteCDTCentavos( String pCedula )
+    {
+        return banco.calcularValorPresenteCDTCentavos( buscarCliente( pCedula ) );
+    }
+
+    /**
+     * Calcula el saldo total del cliente.
+     * @param pCedula Cdula del cliente. pCedula != null.
+     * @return Saldo total en centavos.
+     * @throws IllegalArgumentException Si la rplica no tiene un cliente con esa cdula.
+     */
+    public long calcularSaldoTotalCentavos( String pCedula )
+    {
+        return banco.calcularSaldoTotalCentavos( buscarCliente( pCedula ) );
+    }
+
+    /**
+     * Calcula el saldo total de todos los clientes de la rplica.
+     * @return Saldo total del banco en centavos.
+     */
+    public long calcularSaldoTotalCentavos( )
+    {
+        return banco.calcularSaldoTotalCentavos( );
+    }
+
+    /**
+     * Retorna la posicin del diario hasta la que la rplica aplic los registros.
+     * @return Posicin aplicada.
+     */
+    public long darPosicionAplicada( )
+    {
+        return posicionAplicada;
+    }
+
+    /**
+     * Retorna la ltima posicin final del diario del primario que conoce la rplica.
+     * @return Posicin del primario.
+     */
+    public long darPosicionPrimario( )
+    {
+        return posicionPrimario;
+    }
+
+    /**
+     * Retorna cuntos bytes del diario conocido del primario faltan por aplicar.
+     * @return Retraso en bytes.
+     */
+    public long darRetrasoBytes( )
+    {
+        return Math.max( 0, posicionPrimario - posicionAplicada );
+    }
+
+    /**
+     * Retorna hace cunto el primario tena registros que la rplica todava no ha aplicado. El primario y la rplica
+     * corren en la misma mquina, as que comparten el reloj. Como el primario revisa su diario peridicamente, el valor
+     * puede ser menor que el real en hasta PublicadorDiario.ESPERA nanosegundos.
+     * @return Retraso en milisegundos, o 0 si la rplica aplic todo el diario conocido.
+     */
+    public long darRetrasoMilisegundos( )
+    {
+        long hora = horaPendiente;
+        return hora == 0 ? 0 : Math.max( 0, System.currentTimeMillis( ) - hora );
+    }
+
+    /**
+     * Retorna el error que detuvo la rplica.
+     * @return Error, o null si la rplica sigue activa o se cerr normalmente.
+     */
+    public Exception darError( )
+    {
+        return error;
+    }
+
+    /**
+     * Espera a que la rplica aplique el diario hasta la posicin dada, por ejemplo la que retorn la anotacin de una
+     * operacin en el primario.
+     * @param pPosicion Posicin del diario.
+     * @param pMilisegundos Tiempo mximo de espera, en milisegundos.
+     * @return true si la rplica lleg a la posicin, false si se acab el tiempo o la rplica se detuvo.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    public synchronized boolean esperarPosicion( long pPosicion, long pMilisegundos ) throws InterruptedException
+    {
+        long limite = System.currentTimeMillis( ) + pMilisegundos;
+        long restante = pMilisegundos;
+        while( posicionAplicada < pPosicion && restante > 0 && activa )
+        {
+            wait( restante );
+            restante = limite - System.currentTimeMillis( );
+        }
+        return posicionAplicada >= pPosicion;
+    }
+
+    /**
+     * Cierra la conexin con el primario y espera a que termine el hilo de la rplica. <br>
+     * <b>post: </b> La rplica ya no recibe el diario, pero se puede seguir consultando.
+     */
+    public void cerrar( )
+    {
+        cerrada = true;
+        try
+        {
+            conexion.close( );
+        }
+        catch( IOException e )
+        {
+            // La conexin queda cerrada de todas formas
+        }
+        try
+        {
+            hilo.join( );
+        }
+        catch( InterruptedException e )
+        {
+            Thread.currentThread( ).interrupt( );
+        }
+    }
+
+    /**
+     * Busca un cliente de la rplica por su cdula.
+     * @param pCedula Cdula del cliente.
+     * @return Posicin del cliente.
+     * @throws IllegalArgumentException Si la rplica no tiene un cliente con esa cdula.
+     */
+    private int buscarCliente( String pCedula )
+    {
+        int cliente = banco.buscarCliente( pCedula );
+        if( cliente < 0 )
+        {
+            throw new IllegalArgumentException( "El cliente " + pCedula + " no existe en la rplica." );
+        }
+        return cliente;
+    }
+
+    /**
+     * Recibe bloques del diario y aplica sus registros completos hasta que se cierra la conexin. Los bytes de un registro
+     * que qued partido entre dos bloques se guardan al comienzo del buffer hasta que llega el resto. El buffer y el lector
+     * se reutilizan en todos los bloques.
+     */
+    private void replicar( )
+    {
+        ByteBuffer encabezado = ByteBuffer.allocate( PublicadorDiario.TAMANO_ENCABEZADO );
+        ByteBuffer datos = ByteBuffer.allocate( PublicadorDiario.TAMANO_BLOQUE + DiarioTransacciones.TAMANO_MAXIMO_REGISTRO );
+        LectorDiario lector = new LectorDiario( datos.duplicate( ), 0 );
+        int guardados = 0;
+        try
+        {
+            while( true )
+            {
+                encabezado.clear( );
+                PublicadorDiario.leerCompleto( conexion, encabezado );
+                long fin = encabezado.getLong( 0 );
+                long hora = encabezado.getLong( 8 );
+                int longitud = encabezado.getInt( 16 );
+                posicionPrimario = Math.max( posicionPrimario, fin );
+                if( fin > posicionAplicada )
+                {
+                    agregarPendiente( fin, hora );
+                }
+
+                datos.limit( guardados + longitud ).position( guardados );
+                PublicadorDiario.leerCompleto( conexion, datos );
+                int recibidos = guardados + longitud;
+                lector.reiniciar( 0, recibidos );
+                while( lector.avanzar( ) )
+                {
+                    PersistenciaBanco.aplicar( lector, banco );
+                }
+                int aplicados = ( int )lector.darPosicion( );
+                guardados = recibidos - aplicados;
+                System.arraycopy( datos.array( ), aplicados, datos.array( ), 0, guardados );
+                publicarAvance( posicionAplicada + aplicados );
+            }
+        }
+        catch( IOException e )
+        {
+            if( !cerrada )
+            {
+                error = e;
+            }
+        }
+        catch( RuntimeException e )
+        {
+            error = e;
+            try
+            {
+                conexion.close( );
+            }
+            catch( IOException e2 )
+            {
+                // La conexin queda cerrada de todas formas
+            }
+        }
+        finally
+        {
+            synchronized( this )
+            {
+                activa = false;
+                notifyAll( );
+            }
+        }
+    }
+
+    /**
+     * Agrega un bloque al final del anillo de bloques pendientes, duplicando el anillo si est lleno. Un bloque con la misma
+     * posicin final que el ltimo pendiente no se agrega, porque la hora del ltimo, que es anterior, es la que cuenta para
+     * el retraso.
+     * @param pFin Posicin final del diario del primario en el bloque.
+     * @param pHora Hora en milisegundos en que el primario ley esa posicin.
+     */
+    private void agregarPendiente( long pFin, long pHora )
+    {
+        int mascara = finesPendientes.length - 1;
+        if( numeroPendientes > 0 && finesPendientes[ ( primerPendiente + numeroPendientes - 1 ) & mascara ] >= pFin )
+        {
+            return;
+        }
+        if( numeroPendientes == finesPendientes.length )
+        {
+            long[] fines = new long[2 * finesPendientes.length];
+            long[] horas = new long[2 * horasPendientes.length];
+            for( int i = 0; i < numeroPendientes; i++ )
+            {
+                fines[ i ] = finesPendientes[ ( primerPendiente + i ) & mascara ];
+                horas[ i ] = horasPendientes[ ( primerPendiente + i ) & mascara ];
+            }
+            finesPendientes = fines;
+            horasPendientes = horas;
+            primerPendiente = 0;
+            mascara = fines.length - 1;
+        }
+        int posicion = ( primerPendiente + numeroPendientes ) & mascara;
+        finesPendientes[ posicion ] = pFin;
+        horasPendientes[ posicion ] = pHora;
+        numeroPendientes++;
+        horaPendiente = horasPendientes[ primerPendiente ];
+    }
+
+    /**
+     * Actualiza la posicin aplicada, descarta los bloques que quedaron aplicados por completo y despierta a los hilos que
+     * esperan una posicin.
+     * @param pPosicion Nueva posicin aplicada.
+     */
+    private void publicarAvance( long pPosicion )
+    {
+        int mascara = finesPendientes.length - 1;
+        while( numeroPendientes > 0 && finesPendientes[ primerPendiente ] <= pPosicion )
+        {
+            primerPendiente = ( primerPendiente + 1 ) & mascara;
+            numeroPendientes--;
+        }
+        horaPendiente = numeroPendientes == 0 ? 0 : horasPendientes[ primerPendiente ];
+        synchronized( this )
+        {
+            posicionAplicada = pPosicion;
+            notifyAll( );
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.servidor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+
+/**
+ * Clase que expone las operaciones de los clientes de un banco con el protocolo binario de ProtocoloBinario sobre TCP en
+ * la direccin local. <br>
+ * Cada conexin se atiende en su propio hilo del ejecutor: el hilo lee las solicitudes en orden, las aplica y escribe las
+ * respuestas en un buffer que solo se enva cuando no quedan solicitudes recibidas por atender, as que las solicitudes que
+ * llegan juntas se responden con una sola escritura. Como en ServidorSimulador, las operaciones de un cliente se hacen en
+ * paralelo con los candados del banco y el avance de mes de todo el banco espera a que terminen las dems. El bloqueo del
+ * banco que pide una conexin es el mismo candado exclusivo del avance de mes, tomado por el hilo de la conexin; si la
+ * conexin se cierra sin liberarlo, se libera al terminar de atenderla. Una solicitud que falla con un error inesperado,
+ * como una falla al anotarla en el registro, se responde como invlida y la conexin sigue atendiendo las siguientes.
+ */
+public class ServidorBinario
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Tamao de los buffers de cada conexin, en bytes.
+     */
+    public static final int TAMANO_BUFFER = 1 << 16;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco de los clientes.
+     */
+    private Banco banco;
+
+    /**
+     * Socket que acepta las conexiones.
+     */
+    private ServerSocket socketServidor;
+
+    /**
+     * Ejecutor que atiende las conexiones.
+     */
+    private ExecutorService ejecutor;
+
+    /**
+     * Conexiones abiertas, para cerrarlas al detener el servidor.
+     */
+    private Set<Socket> conexiones;
+
+    /**
+     * Candado que comparten las operaciones de un cliente y que toma para s el avance de mes de todo el banco.
+     */
+    private ReentrantReadWriteLock candadoBanco;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea el servidor del banco dado en el puerto dado de la direccin local, con un ejecutor que crea un hilo por cada
+     * conexin abierta. El servidor no acepta conexiones hasta que se inicia.
+     * @param pBanco Banco de los clientes. pBanco != null.
+     * @param pPuerto Puerto del servidor, o ServidorSimulador.PUERTO_LIBRE para usar cualquier puerto libre.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public ServidorBinario( Banco pBanco, int pPuerto ) throws IOException
+    {
+        this( pBanco, pPuerto, Executors.newCachedThreadPool( ) );
+    }
+
+    /**
+     * Crea el servidor del banco dado en el puerto dado de la direccin local. El servidor no acepta conexiones hasta que
+     * se inicia.
+     * @param pBanco Banco de los clientes. pBanco != null.
+     * @param pPuerto Puerto del servidor, o ServidorSimulador.PUERTO_LIBRE para usar cualquier puerto libre.
+     * @param pEjecutor Ejecutor que atiende las conexiones. Se detiene junto con el servidor. pEjecutor != null.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public ServidorBinario( Banco pBanco, int pPuerto, ExecutorService pEjecutor ) throws IOException
+    {
+        banco = pBanco;
+        ejecutor = pEjecutor;
+        conexiones = ConcurrentHashMap.newKeySet( );
+        candadoBanco = new ReentrantReadWriteLock( );
+        socketServidor = new ServerSocket( pPuerto, 1024, InetAddress.getLoopbackAddress( ) );
+    }
+
+    /**
+     * Retorna el puerto en el que escucha el servidor.
+     * @return Puerto del servidor.
+     */
+    public int darPuerto( )
+    {
+        return socketServidor.getLocalPort( );
+    }
+
+    /**
+     * Empieza a aceptar conexiones en un hilo aparte.
+     */
+    public void iniciar( )
+    {
+        Thread aceptacion = new Thread( this::aceptar, "ServidorBinario-" + darPuerto( ) );
+        aceptacion.setDaemon( true );
+        aceptacion.start( );
+    }
+
+    /**
+     * Deja de aceptar conexiones, cierra las conexiones abiertas y detiene el ejecutor.
+     */
+    public void detener( )
+    {
+        try
+        {
+            socketServidor.close( );
+        }
+        catch( IOException e )
+        {
+            // El socket queda cerrado de todas formas
+        }
+        for( Socket conexion : conexiones )
+        {
+            cerrar( conexion );
+        }
+        ejecutor.shutdown( );
+    }
+
+    /**
+     * Acepta conexiones hasta que se cierra el socket del servidor.
+     */
+    private void aceptar( )
+    {
+        while( !socketServidor.isClosed( ) )
+        {
+            try
+            {
+                Socket conexion = socketServidor.accept( );
+                conexion.setTcpNoDelay( true );
+                conexiones.add( conexion );
+                ejecutor.execute( ( ) -> atender( conexion ) );
+            }
+            catch( IOException e )
+            {
+                // El servidor se detuvo o la conexin fall antes de empezar
+            }
+        }
+    }
+
+    /**
+     * Atiende las solicitudes de una conexin hasta que el cliente la cierra.
+     * @param pConexion Conexin con el cliente.
+     */
+    private void atender( Socket pConexion )
+    {
+        try( DataInputStream entrada = new DataInputStream( new BufferedInputStream( pConexion.getInputStream( ), TAMANO_BUFFER ) ); DataOutputStream salida = new DataOutputStream( new BufferedOutputStream( pConexion.getOutputStream( ), TAMANO_BUFFER ) ) )
+        {
+            int[] numero = new int[1];
+            while( ProtocoloBinario.leerNumero( entrada, numero ) )
+            {
+                int codigo = entrada.readInt( );
+                long clave = entrada.readLong( );
+                int auxiliar = entrada.readInt( );
+                long centavos = entrada.readLong( );
+                double tasa = entrada.readDouble( );
+                try
+                {
+                    aplicar( salida, numero[ 0 ], codigo, clave, auxiliar, centavos, tasa );
+                }
+                catch( RuntimeException e )
+                {
+                    // La respuesta se escribe al final de aplicar, as que an no se ha escrito nada de esta solicitud
+                    ProtocoloBinario.escribirRespuesta( salida, numero[ 0 ], ProtocoloBinario.ESTADO_INVALIDA, 0 );
+                }
+                if( entrada.available( ) == 0 )
+                {
+                    salida.flush( );
+                }
+            }
+        }
+        catch( EOFException e )
+        {
+            // El cliente cerr la conexin a mitad de una solicitud
+        }
+        catch( IOException e )
+        {
+            // La conexin se cerr
+        }
+        finally
+        {
+            while( candadoBanco.isWriteLockedByCurrentThread( ) )
+            {
+                candadoBanco.writeLock( ).unlock( );
+            }
+            conexiones.remove( pConexion );
+            cerrar( pConexion );
+        }
+    }
+
+    /**
+     * Aplica una solicitud sobre el banco y escribe su respuesta.
+     * @param pSalida Flujo de las respuestas.
+     * @param pNumero Nmero de la solicitud.
+     * @param pCodigo Cdigo de la operacin.
+     * @param pClave Clave de la cdula del cliente.
+     * @param pAuxiliar Dato auxiliar.
+     * @param pCentavos Monto en centavos.
+     * @param pTasa Inters.
+     * @throws IOException Si no se puede escribir la respuesta.
+     */
+    private void aplicar( DataOutputStream pSalida, int pNumero, int pCodigo, long pClave, int pAuxiliar, long pCentavos, double pTasa ) throws IOException
+    {
+        if( pCodigo == Operacion.AVANZAR_MES_BANCO )
+        {
+            candadoBanco.writeLock( ).lock( );
+            try
+            {
+                banco.avanzarMesSimulacion( );
+            }
+            finally
+            {
+                candadoBanco.writeLock( ).unlock( );
+            }
+            ProtocoloBinario.escribirRespuesta( pSalida, pNumero, ProtocoloBinario.ESTADO_APLICADA, 0 );
+            return;
+        }
+        if( pCodigo == ProtocoloBinario.BLOQUEAR_BANCO )
+        {
+            candadoBanco.writeLock( ).lock( );
+            ProtocoloBinario.escribirRespuesta( pSalida, pNumero, ProtocoloBinario.ESTADO_APLICADA, 0 );
+            return;
+        }
+        if( pCodigo == ProtocoloBinario.LIBERAR_BANCO )
+        {
+            boolean bloqueado = candadoBanco.isWriteLockedByCurrentThread( );
+            if( bloqueado )
+            {
+                candadoBanco.writeLock( ).unlock( );
+            }
+            ProtocoloBinario.escribirRespuesta( pSalida, pNumero, bloqueado ? ProtocoloBinario.ESTADO_APLICADA : ProtocoloBinario.ESTADO_INVALIDA, 0 );
+            return;
+        }
+        if( pCodigo == ProtocoloBinario.CONSULTAR_SALDO_BANCO )
+        {
+            ProtocoloBinario.escribirRespuesta( pSalida, pNumero, ProtocoloBinario.ESTADO_APLICADA, banco.calcularSaldoTotalCentavos( ) );
+            return;
+        }
+        int cliente = pClave < 0 ? -1 : banco.buscarCliente( pClave );
+        if( cliente < 0 )
+        {
+            ProtocoloBinario.escribirRespuesta( pSalida, pNumero, ProtocoloBinario.ESTADO_CLIENTE_NO_EXISTE, 0 );
+            return;
+        }
+        int estado = ProtocoloBinario.ESTADO_APLICADA;
+        long valor = 0;
+        candadoBanco.readLock( ).lock( );
+        try
+        {
+            switch( pCodigo )
+            {
+                case Operacion.CONSIGNAR_CORRIENTE:
+                case Operacion.CONSIGNAR_AHORROS:
+                    if( pCentavos <= 0 )
+                    {
+                        estado = ProtocoloBinario.ESTADO_INVALIDA;
+                    }
+                    else if( pCodigo == Operacion.CONSIGNAR_CORRIENTE )
+                    {
+                        banco.consignarCuentaCorrienteCentavos( cliente, pCentavos );
+                    }
+                    else
+                    {
+                        banco.consignarCuentaAhorrosCentavos( cliente, pCentavos );
+                    }
+                    break;
+                case Operacion.RETIRAR_CORRIENTE:
+                case Operacion.RETIRAR_AHORROS:
+                    if( pCentavos <= 0 )
+                    {
+                        estado = ProtocoloBinario.ESTADO_INVALIDA;
+                    }
+                    else if( !( pCodigo == Operacion.RETIRAR_CORRIENTE ? banco.retirarCuentaCorrienteCentavos( cliente, pCentavos ) : banco.retirarCuentaAhorrosCentavos( cliente, pCentavos ) ) )
+                    {
+                        estado = ProtocoloBinario.ESTADO_SALDO_INSUFICIENTE;
+                    }
+                    break;
+                case Operacion.INVERTIR_CDT:
+                    if( pCentavos <= 0 || !( pTasa > 0 ) )
+                    {
+                        estado = ProtocoloBinario.ESTADO_INVALIDA;
+                    }
+                    else
+                    {
+                        banco.invertirCDTCentavos( cliente, pCentavos, pTasa );
+                    }
+                    break;
+                case Operacion.CERRAR_CDT:
+                    banco.cerrarCDT( cliente );
+                    break;
+                case Operacion.AVANZAR_MES:
+                    banco.avanzarMesSimulacion( cliente );
+                    break;
+                case Operacion.AVANZAR_MESES:
+                    if( pAuxiliar < 0 )
+                    {
+                        estado = ProtocoloBinario.ESTADO_INVALIDA;
+                    }
+                    else
+                    {
+                        banco.avanzarMeses( cliente, pAuxiliar );
+                    }
+                    break;
+                case ProtocoloBinario.CONSULTAR_SALDO_TOTAL:
+                    valor = banco.calcularSaldoTotalCentavos( cliente );
+                    break;
+                default:
+                    estado = ProtocoloBinario.ESTADO_INVALIDA;
+            }
+        }
+        finally
+        {
+            candadoBanco.readLock( ).unlock( );
+        }
+        ProtocoloBinario.escribirRespuesta( pSalida, pNumero, estado, valor );
+    }
+
+    /**
+     * Cierra una conexin, ignorando los errores.
+     * @param pConexion Conexin a cerrar.
+     */
+    private static void cerrar( Socket pConexion )
+    {
+        try
+        {
+            pConexion.close( );
+        }
+        catch( IOException e )
+        {
+            // La conexin queda cerrada de todas formas
+        }
+    }
+}
@@ -0,0 +1,624 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.servidor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+
+/**
+ * Clase que expone las operaciones de los clientes de un banco en un servidor HTTP local, para usar el simulador desde
+ * otros programas en lugar de la interfaz. <br>
+ * Los clientes se identifican por su cdula y los parmetros van en la consulta de la URL. Los valores se reciben y se
+ * retornan en pesos con a lo sumo dos decimales, sin separadores de miles. Las respuestas son texto plano en UTF-8:
+ * <ul>
+ * <li>POST /clientes?cedula=&amp;nombre= agrega un cliente y retorna su posicin.</li>
+ * <li>POST /consignar?cedula=&amp;producto=corriente|ahorros&amp;valor= consigna en la cuenta.</li>
+ * <li>POST /retirar?cedula=&amp;producto=corriente|ahorros&amp;valor= retira de la cuenta y retorna true, o false si el
+ * saldo no alcanzaba.</li>
+ * <li>POST /invertirCDT?cedula=&amp;valor=&amp;interes= invierte en el CDT.</li>
+ * <li>POST /cerrarCDT?cedula= cierra el CDT.</li>
+ * <li>POST /avanzarMes?cedula= avanza el mes del cliente, o el de todo el banco si no se da la cdula.</li>
+ * <li>GET /saldoTotal?cedula= retorna el saldo total del cliente, o el de todo el banco si no se da la cdula.</li>
+ * <li>GET /cliente?cedula= retorna el mes actual y los saldos del cliente, un dato por lnea.</li>
+ * </ul>
+ * Una solicitud con parmetros invlidos recibe el cdigo 400, una de un cliente que no existe el 404, una con un mtodo
+ * distinto al indicado el 405 y una que falla por un error inesperado del servidor el 500. <br>
+ * Cada solicitud se atiende en su propio hilo del ejecutor, que por defecto crea los hilos que hagan falta. En un JDK con
+ * hilos virtuales se le puede pasar Executors.newVirtualThreadPerTaskExecutor( ). Las operaciones de un cliente se hacen
+ * en paralelo con los candados del banco. Las consultas del banco no toman candados, as que todas las rutas, tambin las
+ * consultas, comparten un candado del servidor que el avance de mes de todo el banco toma para s: ninguna respuesta ve
+ * ese avance a medias. <br>
+ * El servidor HTTP del JDK espera el ACK del cliente entre los encabezados y el cuerpo de cada respuesta y cierra las
+ * conexiones inactivas que pasen de 200. Para evitarlo, el programa que lo usa debe lanzarse con
+ * -Dsun.net.httpserver.nodelay=true -Dsun.net.httpserver.maxIdleConnections=1024, o llamar configurarServidorHttp antes de
+ * crear el primer servidor, como hace main.
+ */
+public class ServidorSimulador
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Puerto con el que el sistema asigna un puerto libre al servidor.
+     */
+    public static final int PUERTO_LIBRE = 0;
+
+    /**
+     * Cdigo de una respuesta exitosa.
+     */
+    public static final int OK = 200;
+
+    /**
+     * Cdigo de una solicitud con parmetros invlidos.
+     */
+    public static final int SOLICITUD_INVALIDA = 400;
+
+    /**
+     * Cdigo de una solicitud con una ruta o un cliente que no existe.
+     */
+    public static final int NO_ENCONTRADO = 404;
+
+    /**
+     * Cdigo de una solicitud con un mtodo que la ruta no acepta.
+     */
+    public static final int METODO_NO_PERMITIDO = 405;
+
+    /**
+     * Cdigo de una solicitud que el banco no pudo atender.
+     */
+    public static final int CONFLICTO = 409;
+
+    /**
+     * Cdigo de una solicitud que fall por un error inesperado del servidor.
+     */
+    public static final int ERROR_INTERNO = 500;
+
+    /**
+     * Capacidad del banco del servidor que se ejecuta con main cuando no se indica otra.
+     */
+    public static final int CAPACIDAD = 1 << 20;
+
+    /**
+     * Nmero de conexiones que esperan a ser aceptadas.
+     */
+    private static final int CONEXIONES_PENDIENTES = 1024;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco de los clientes.
+     */
+    private Banco banco;
+
+    /**
+     * Servidor HTTP.
+     */
+    private HttpServer servidor;
+
+    /**
+     * Ejecutor que atiende las solicitudes.
+     */
+    private ExecutorService ejecutor;
+
+    /**
+     * Candado que comparten las operaciones y consultas de las solicitudes y que toma para s el avance de mes de todo el
+     * banco. El banco ya ordena las operaciones que lo modifican con sus propios candados, pero sus consultas no toman
+     * candados y podran ver a unos clientes avanzados y a otros no.
+     */
+    private ReentrantReadWriteLock candadoBanco;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Crea el servidor del banco dado en el puerto dado de la direccin local, con un ejecutor que crea un hilo por cada
+     * solicitud en curso. El servidor no atiende solicitudes hasta que se inicia.
+     * @param pBanco Banco de los clientes. pBanco != null.
+     * @param pPuerto Puerto del servidor, o PUERTO_LIBRE para usar cualquier puerto libre.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public ServidorSimulador( Banco pBanco, int pPuerto ) throws IOException
+    {
+        this( pBanco, pPuerto, Executors.newCachedThreadPool( ) );
+    }
+
+    /**
+     * Crea el servidor del banco dado en el puerto dado de la direccin local. El servidor no atiende solicitudes hasta que
+     * se inicia.
+     * @param pBanco Banco de los clientes. pBanco != null.
+     * @param pPuerto Puerto del servidor, o PUERTO_LIBRE para usar cualquier puerto libre.
+     * @param pEjecutor Ejecutor que atiende las solicitudes. Se detiene junto con el servidor. pEjecutor != null.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public ServidorSimulador( Banco pBanco, int pPuerto, ExecutorService pEjecutor ) throws IOException
+    {
+        banco = pBanco;
+        ejecutor = pEjecutor;
+        candadoBanco = new ReentrantReadWriteLock( );
+        servidor = HttpServer.create( new InetSocketAddress( InetAddress.getLoopbackAddress( ), pPuerto ), CONEXIONES_PENDIENTES );
+        servidor.createContext( "/", new Atencion( ) );
+        servidor.setExecutor( ejecutor );
+    }
+
+    /**
+     * Retorna el puerto en el que escucha el servidor.
+     * @return Puerto del servidor.
+     */
+    public int darPuerto( )
+    {
+        return servidor.getAddress( ).getPort( );
+    }
+
+    /**
+     * Empieza a atender solicitudes.
+     */
+    public void iniciar( )
+    {
+        servidor.start( );
+    }
+
+    /**
+     * Deja de atender solicitudes, cierra el puerto y detiene el ejecutor. <br>
+     * <b>post: </b> Las solicitudes en curso se terminaron de atender.
+     */
+    public void detener( )
+    {
+        servidor.stop( 0 );
+        ejecutor.shutdown( );
+    }
+
+    /**
+     * Ajusta las propiedades del servidor HTTP del JDK para que no espere el ACK del cliente antes de enviar el cuerpo de
+     * cada respuesta, lo que suma decenas de milisegundos por solicitud, y para que conserve tantas conexiones inactivas
+     * como conexiones pendientes acepta. Las propiedades que quien ejecuta el programa ya dio no se cambian. <br>
+     * El JDK lee estas propiedades una sola vez, as que solo tiene efecto si se llama antes de crear el primer servidor
+     * HTTP del proceso.
+     */
+    public static void configurarServidorHttp( )
+    {
+        if( System.getProperty( "sun.net.httpserver.nodelay" ) == null )
+        {
+            System.setProperty( "sun.net.httpserver.nodelay", "true" );
+        }
+        if( System.getProperty( "sun.net.httpserver.maxIdleConnections" ) == null )
+        {
+            System.setProperty( "sun.net.httpserver.maxIdleConnections", "" + CONEXIONES_PENDIENTES );
+        }
+    }
+
+    /**
+     * Ejecuta un servidor con un banco vaco hasta que se cierra la entrada estndar.
+     * @param pArgs Opcionalmente, puerto y capacidad del banco.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public static void main( String[] pArgs ) throws IOException
+    {
+        configurarServidorHttp( );
+        int puerto = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : PUERTO_LIBRE;
+        int capacidad = pArgs.length > 1 ? Integer.parseInt( pArgs[ 1 ] ) : CAPACIDAD;
+        ServidorSimulador servidor = new ServidorSimulador( new Banco( capacidad ), puerto );
+        servidor.iniciar( );
+        System.out.println( "Servidor en el puerto " + servidor.darPuerto( ) );
+        System.out.flush( );
+        while( System.in.read( ) >= 0 )
+        {
+            // Atiende solicitudes hasta que se cierre la entrada
+        }
+        servidor.detener( );
+    }
+
+    /**
+     * Atiende una solicitud segn su ruta.
+     * @param pMetodo Mtodo HTTP de la solicitud.
+     * @param pRuta Ruta de la solicitud.
+     * @param pParametros Parmetros de la consulta.
+     * @return Texto de la respuesta.
+     * @throws ErrorSolicitud Si la solicitud no se puede atender.
+     */
+    private String atender( String pMetodo, String pRuta, Map<String, String> pParametros ) throws ErrorSolicitud
+    {
+        switch( pRuta )
+        {
+            case "/clientes":
+            {
+                exigirMetodo( pMetodo, "POST" );
+                String cedula = darParametro( pParametros, "cedula" );
+                String nombre = darParametro( pParametros, "nombre" );
+                candadoBanco.readLock( ).lock( );
+                try
+                {
+                    return "" + banco.agregarCliente( cedula, nombre );
+                }
+                finally
+                {
+                    candadoBanco.readLock( ).unlock( );
+                }
+            }
+            case "/consignar":
+            {
+                exigirMetodo( pMetodo, "POST" );
+                int cliente = darCliente( pParametros );
+                int producto = darProducto( pParametros );
+                long centavos = darCentavos( pParametros, "valor" );
+                candadoBanco.readLock( ).lock( );
+                try
+                {
+                    if( producto == Banco.PRODUCTO_CORRIENTE )
+                    {
+                        banco.consignarCuentaCorrienteCentavos( cliente, centavos );
+                    }
+                    else
+                    {
+                        banco.consignarCuentaAhorrosCentavos( cliente, centavos );
+                    }
+                }
+                finally
+                {
+                    candadoBanco.readLock( ).unlock( );
+                }
+                return "ok";
+            }
+            case "/retirar":
+            {
+                exigirMetodo( pMetodo, "POST" );
+                int cliente = darCliente( pParametros );
+                int producto = darProducto( pParametros );
+                long centavos = darCentavos( pParametros, "valor" );
+                candadoBanco.readLock( ).lock( );
+                try
+                {
+                    if( producto == Banco.PRODUCTO_CORRIENTE )
+                    {
+                        return "" + banco.retirarCuentaCorrienteCentavos( cliente, centavos );
+                    }
+                    return "" + banco.retirarCuentaAhorrosCentavos( cliente, centavos );
+                }
+                finally
+                {
+                    candadoBanco.readLock( ).unlock( );
+                }
+            }
+            case "/invertirCDT":
+            {
+                exigirMetodo( pMetodo, "POST" );
+                int cliente = darCliente( pParametros );
+                long centavos = darCentavos( pParametros, "valor" );
+                double interes = darInteres( pParametros );
+                candadoBanco.readLock( ).lock( );
+                try
+                {
+                    banco.invertirCDTCentavos( cliente, centavos, interes );
+                }
+                finally
+                {
+                    candadoBanco.readLock( ).unlock( );
+                }
+                return "ok";
+            }
+            case "/cerrarCDT":
+            {
+                exigirMetodo( pMetodo, "POST" );
+                int cliente = darCliente( pParametros );
+                candadoBanco.readLock( ).lock( );
+                try
+                {
+                    banco.cerrarCDT( cliente );
+                }
+                finally
+                {
+                    candadoBanco.readLock( ).unlock( );
+                }
+                return "ok";
+            }
+            case "/avanzarMes":
+                exigirMetodo( pMetodo, "POST" );
+                if( pParametros.containsKey( "cedula" ) )
+                {
+                    int cliente = darCliente( pParametros );
+                    candadoBanco.readLock( ).lock( );
+                    try
+                    {
+                        banco.avanzarMesSimulacion( cliente );
+                    }
+                    finally
+                    {
+                        candadoBanco.readLock( ).unlock( );
+                    }
+                }
+                else
+                {
+                    candadoBanco.writeLock( ).lock( );
+                    try
+                    {
+                        banco.avanzarMesSimulacion( );
+                    }
+                    finally
+                    {
+                        candadoBanco.writeLock( ).unlock( );
+                    }
+                }
+                return "ok";
+            case "/saldoTotal":
+            {
+                exigirMetodo( pMetodo, "GET" );
+                int cliente = pParametros.containsKey( "cedula" ) ? darCliente( pParametros ) : -1;
+                candadoBanco.readLock( ).lock( );
+                try
+                {
+                    return formatearCentavos( cliente < 0 ? banco.calcularSaldoTotalCentavos( ) : banco.calcularSaldoTotalCentavos( cliente ) );
+                }
+                finally
+                {
+                    candadoBanco.readLock( ).unlock( );
+                }
+            }
+            case "/cliente":
+            {
+                exigirMetodo( pMetodo, "GET" );
+                int cliente = darCliente( pParametros );
+                candadoBanco.readLock( ).lock( );
+                try
+                {
+                    return "mes=" + banco.darMesActual( cliente ) + "\ncorriente=" + formatearCentavos( banco.darSaldoCorrienteCentavos( cliente ) ) + "\nahorros=" + formatearCentavos( banco.darSaldoAhorrosCentavos( cliente ) ) + "\ncdt=" + formatearCentavos( banco.calcularValorPresenteCDTCentavos( cliente ) ) + "\ntotal=" + formatearCentavos( banco.calcularSaldoTotalCentavos( cliente ) );
+                }
+                finally
+                {
+                    candadoBanco.readLock( ).unlock( );
+                }
+            }
+            default:
+                throw new ErrorSolicitud( NO_ENCONTRADO, "La ruta " + pRuta + " no existe." );
+        }
+    }
+
+    /**
+     * Verifica que la solicitud use el mtodo que acepta la ruta.
+     * @param pMetodo Mtodo de la solicitud.
+     * @param pEsperado Mtodo que acepta la ruta.
+     * @throws ErrorSolicitud Si el mtodo no es el esperado.
+     */
+    private void exigirMetodo( String pMetodo, String pEsperado ) throws ErrorSolicitud
+    {
+        if( !pEsperado.equals( pMetodo ) )
+        {
+            throw new ErrorSolicitud( METODO_NO_PERMITIDO, "La ruta solo acepta " + pEsperado + "." );
+        }
+    }
+
+    /**
+     * Retorna un parmetro obligatorio de la solicitud.
+     * @param pParametros Parmetros de la consulta.
+     * @param pNombre Nombre del parmetro.
+     * @return Valor del parmetro.
+     * @throws ErrorSolicitud Si el parmetro no est o est vaco.
+     */
+    private String darParametro( Map<String, String> pParametros, String pNombre ) throws ErrorSolicitud
+    {
+        String valor = pParametros.get( pNombre );
+        if( valor == null || valor.isEmpty( ) )
+        {
+            throw new ErrorSolicitud( SOLICITUD_INVALIDA, "Falta el parmetro " + pNombre + "." );
+        }
+        return valor;
+    }
+
+    /**
+     * Retorna la posicin en el banco del cliente con la cdula de la solicitud.
+     * @param pParametros Parmetros de la consulta.
+     * @return Posicin del cliente.
+     * @throws ErrorSolicitud Si falta la cdula o no hay un cliente con esa cdula.
+     */
+    private int darCliente( Map<String, String> pParametros ) throws ErrorSolicitud
+    {
+        String cedula = darParametro( pParametros, "cedula" );
+        int cliente = banco.buscarCliente( cedula );
+        if( cliente < 0 )
+        {
+            throw new ErrorSolicitud( NO_ENCONTRADO, "No hay un cliente con la cdula " + cedula + "." );
+        }
+        return cliente;
+    }
+
+    /**
+     * Retorna el producto de la solicitud.
+     * @param pParametros Parmetros de la consulta.
+     * @return Banco.PRODUCTO_CORRIENTE o Banco.PRODUCTO_AHORROS.
+     * @throws ErrorSolicitud Si falta el producto o no es corriente ni ahorros.
+     */
+    private int darProducto( Map<String, String> pParametros ) throws ErrorSolicitud
+    {
+        String producto = darParametro( pParametros, "producto" );
+        if( producto.equals( "corriente" ) )
+        {
+            return Banco.PRODUCTO_CORRIENTE;
+        }
+        else if( producto.equals( "ahorros" ) )
+        {
+            return Banco.PRODUCTO_AHORROS;
+        }
+        throw new ErrorSolicitud( SOLICITUD_INVALIDA, "El producto " + producto + " no es vlido." );
+    }
+
+    /**
+     * Retorna en centavos un valor positivo en pesos de la solicitud.
+     * @param pParametros Parmetros de la consulta.
+     * @param pNombre Nombre del parmetro.
+     * @return Valor en centavos.
+     * @throws ErrorSolicitud Si falta el valor, no es un nmero positivo o tiene ms de dos decimales.
+     */
+    private long darCentavos( Map<String, String> pParametros, String pNombre ) throws ErrorSolicitud
+    {
+        String valor = darParametro( pParametros, pNombre );
+        try
+        {
+            long centavos = new BigDecimal( valor ).movePointRight( 2 ).longValueExact( );
+            if( centavos > 0 )
+            {
+                return centavos;
+            }
+        }
+        catch( NumberFormatException | ArithmeticException e )
+        {
+            // Se reporta abajo
+        }
+        throw new ErrorSolicitud( SOLICITUD_INVALIDA, "El valor " + valor + " no es vlido." );
+    }
+
+    /**
+     * Retorna el inters mensual de la solicitud.
+     * @param pParametros Parmetros de la consulta.
+     * @return Inters mensual.
+     * @throws ErrorSolicitud Si falta el inters o no es un nmero positivo.
+     */
+    private double darInteres( Map<String, String> pParametros ) throws ErrorSolicitud
+    {
+        String valor = darParametro( pParametros, "interes" );
+        try
+        {
+            double interes = Double.parseDouble( valor );
+            if( interes > 0 && !Double.isInfinite( interes ) )
+            {
+                return interes;
+            }
+        }
+        catch( NumberFormatException e )
+        {
+            // Se reporta abajo
+        }
+        throw new ErrorSolicitud( SOLICITUD_INVALIDA, "El inters " + valor + " no es vlido." );
+    }
+
+    /**
+     * Retorna un valor en centavos como pesos con dos decimales, sin separadores de miles.
+     * @param pCentavos Valor en centavos.
+     * @return Texto del valor.
+     */
+    public static String formatearCentavos( long pCentavos )
+    {
+        return BigDecimal.valueOf( pCentavos, 2 ).toPlainString( );
+    }
+
+    /**
+     * Separa los parmetros de la consulta de una URL.
+     * @param pConsulta Consulta sin decodificar, o null si la URL no tiene consulta.
+     * @return Parmetros decodificados. Si un parmetro se repite queda el ltimo.
+     */
+    private static Map<String, String> separarParametros( String pConsulta )
+    {
+        Map<String, String> parametros = new HashMap<>( );
+        if( pConsulta != null )
+        {
+            for( String par : pConsulta.split( "&" ) )
+            {
+                int igual = par.indexOf( '=' );
+                String nombre = igual < 0 ? par : par.substring( 0, igual );
+                String valor = igual < 0 ? "" : par.substring( igual + 1 );
+                parametros.put( URLDecoder.decode( nombre, StandardCharsets.UTF_8 ), URLDecoder.decode( valor, StandardCharsets.UTF_8 ) );
+            }
+        }
+        return parametros;
+    }
+
+    // -----------------------------------------------------------------
+    // Clases internas
+    // -----------------------------------------------------------------
+
+    /**
+     * Manejador de todas las solicitudes del servidor.
+     */
+    private class Atencion implements HttpHandler
+    {
+        /**
+         * Atiende una solicitud y enva la respuesta.
+         * @param pIntercambio Solicitud y respuesta HTTP.
+         * @throws IOException Si no se puede enviar la respuesta.
+         */
+        public void handle( HttpExchange pIntercambio ) throws IOException
+        {
+            int codigo = OK;
+            String respuesta;
+            try
+            {
+                respuesta = atender( pIntercambio.getRequestMethod( ), pIntercambio.getRequestURI( ).getPath( ), separarParametros( pIntercambio.getRequestURI( ).getRawQuery( ) ) );
+            }
+            catch( ErrorSolicitud e )
+            {
+                codigo = e.codigo;
+                respuesta = e.getMessage( );
+            }
+            catch( IllegalArgumentException e )
+            {
+                codigo = SOLICITUD_INVALIDA;
+                respuesta = e.getMessage( );
+            }
+            catch( IllegalStateException e )
+            {
+                codigo = CONFLICTO;
+                respuesta = e.getMessage( );
+            }
+            catch( RuntimeException e )
+            {
+                codigo = ERROR_INTERNO;
+                respuesta = "Error interno del servidor: " + e;
+            }
+            byte[] bytes = respuesta.getBytes( StandardCharsets.UTF_8 );
+            pIntercambio.getResponseHeaders( ).set( "Content-Type", "text/plain; charset=utf-8" );
+            pIntercambio.sendResponseHeaders( codigo, bytes.length );
+            try( OutputStream salida = pIntercambio.getResponseBody( ) )
+            {
+                salida.write( bytes );
+            }
+        }
+    }
+
+    /**
+     * Error de una solicitud que no se puede atender, con el cdigo HTTP de la respuesta.
+     */
+    @SuppressWarnings("serial")
+    private static class ErrorSolicitud extends Exception
+    {
+        /**
+         * Cdigo HTTP de la respuesta.
+         */
+        private int codigo;
+
+        /**
+         * Crea el error.
+         * @param pCodigo Cdigo HTTP de la respuesta.
+         * @param pMensaje Mensaje de la respuesta.
+         */
+        private ErrorSolicitud( int pCodigo, String pMensaje )
+        {
+            super( pMensaje );
+            codigo = pCodigo;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import uniandes.cupi2.simuladorBancario.mundo.AlmacenClientes;
+import uniandes.cupi2.simuladorBancario.mundo.LoteOperaciones;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+
+/**
+ * Mide el heap y las pausas del recolector de basura con los clientes en simuladores del heap o en un AlmacenClientes.
+ * Cada modelo se mide en una mquina virtual aparte, con el mismo nmero de clientes y las mismas operaciones: cada
+ * operacin es un lote pequeo, como el que llegara en una solicitud. Con 1.000.000 de clientes el modelo del heap se
+ * debe ejecutar con -Xmx4g.
+ */
+public class MedicionAlmacenClientes
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de pausas del recolector durante las operaciones.
+     */
+    private static AtomicLong pausas = new AtomicLong( );
+
+    /**
+     * Duracin total de las pausas, en milisegundos.
+     */
+    private static AtomicLong tiempoPausas = new AtomicLong( );
+
+    /**
+     * Duracin de la pausa ms larga, en milisegundos.
+     */
+    private static AtomicLong pausaMaxima = new AtomicLong( );
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Modelo ("heap" o "almacen"), nmero de clientes y nmero de operaciones (opcionales, por defecto
+     *        1.000.000 y 20.000.000).
+     */
+    public static void main( String[] pArgs )
+    {
+        boolean heap = pArgs.length == 0 || pArgs[ 0 ].equals( "heap" );
+        int clientes = pArgs.length > 1 ? Integer.parseInt( pArgs[ 1 ] ) : 1000000;
+        int operaciones = pArgs.length > 2 ? Integer.parseInt( pArgs[ 2 ] ) : 20000000;
+
+        long inicio = System.nanoTime( );
+        SimuladorBancario[] simuladores = null;
+        AlmacenClientes almacen = null;
+        if( heap )
+        {
+            simuladores = new SimuladorBancario[clientes];
+            for( int i = 0; i < clientes; i++ )
+            {
+                simuladores[ i ] = new SimuladorBancario( "" + i, "Cliente " + i );
+            }
+        }
+        else
+        {
+            almacen = new AlmacenClientes( clientes );
+            for( int i = 0; i < clientes; i++ )
+            {
+                almacen.agregarCliente( "" + i, "Cliente " + i );
+            }
+        }
+        System.out.printf( "%s: %d clientes creados en %d ms%n", heap ? "Heap" : "Almacn", clientes, ( System.nanoTime( ) - inicio ) / 1000000 );
+        long pausaCompleta = medirRecoleccionCompleta( );
+        System.out.printf( "Heap usado: %d MB, memoria directa: %d MB, recoleccin completa: %d ms%n", heapUsado( ) >> 20, memoriaDirecta( ) >> 20, pausaCompleta );
+
+        escucharPausas( );
+        SplittableRandom azar = new SplittableRandom( 17 );
+        inicio = System.nanoTime( );
+        for( int i = 0; i < operaciones; i++ )
+        {
+            int cliente = azar.nextInt( clientes );
+            LoteOperaciones lote = new LoteOperaciones( 2 );
+            lote.agregar( Operacion.CONSIGNAR_CORRIENTE, 100 );
+            lote.agregar( i % clientes == 0 ? Operacion.AVANZAR_MES : Operacion.RETIRAR_AHORROS, 50 );
+            SimuladorBancario simulador = heap ? simuladores[ cliente ] : almacen.darSimulador( cliente );
+            simulador.aplicarLote( lote );
+        }
+        long tiempo = System.nanoTime( ) - inicio;
+        System.out.printf( "%d operaciones en %d ms (%.0f ns por operacin)%n", operaciones, tiempo / 1000000, ( double )tiempo / operaciones );
+        System.out.printf( "Pausas: %d, total %d ms, mxima %d ms%n", pausas.get( ), tiempoPausas.get( ), pausaMaxima.get( ) );
+        pausaCompleta = medirRecoleccionCompleta( );
+        System.out.printf( "Heap usado: %d MB, recoleccin completa: %d ms%n", heapUsado( ) >> 20, pausaCompleta );
+        System.out.println( heap ? simuladores[ 0 ].calcularSaldoTotalCentavos( ) : almacen.darSimulador( 0 ).calcularSaldoTotalCentavos( ) );
+    }
+
+    /**
+     * Hace una recoleccin completa y mide cunto dura.
+     * @return Duracin de la recoleccin, en milisegundos.
+     */
+    private static long medirRecoleccionCompleta( )
+    {
+        long inicio = System.nanoTime( );
+        System.gc( );
+        return ( System.nanoTime( ) - inicio ) / 1000000;
+    }
+
+    /**
+     * Calcula la memoria usada del heap.
+     * @return Bytes usados.
+     */
+    private static long heapUsado( )
+    {
+        return ManagementFactory.getMemoryMXBean( ).getHeapMemoryUsage( ).getUsed( );
+    }
+
+    /**
+     * Calcula la memoria directa reservada por los buffers.
+     * @return Bytes reservados.
+     */
+    private static long memoriaDirecta( )
+    {
+        long total = 0;
+        for( BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans( BufferPoolMXBean.class ) )
+        {
+            if( pool.getName( ).equals( "direct" ) )
+            {
+                total += pool.getMemoryUsed( );
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Registra la duracin de cada recoleccin del recolector de basura a partir de este momento.
+     */
+    private static void escucharPausas( )
+    {
+        for( GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans( ) )
+        {
+            ( ( NotificationEmitter )recolector ).addNotificationListener( ( notificacion, datos ) -> {
+                if( notificacion.getType( ).equals( GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION ) )
+                {
+                    long duracion = GarbageCollectionNotificationInfo.from( ( CompositeData )notificacion.getUserData( ) ).getGcInfo( ).getDuration( );
+                    pausas.incrementAndGet( );
+                    tiempoPausas.addAndGet( duracion );
+                    pausaMaxima.accumulateAndGet( duracion, Math::max );
+                }
+            }, null, null );
+        }
+    }
+}
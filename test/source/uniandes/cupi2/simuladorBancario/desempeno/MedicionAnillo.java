@@ -0,0 +1,213 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.util.Arrays;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.ObservadorProcesador;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+import uniandes.cupi2.simuladorBancario.mundo.ProcesadorAnillo;
+
+/**
+ * Compara las consignaciones por segundo y los percentiles 50, 99 y 99,9 de su latencia cuando varios hilos llaman
+ * directamente al banco, que toma los candados de las franjas, y cuando las publican en un ProcesadorAnillo con un escritor
+ * por hilo productor. Con el banco la latencia es lo que tarda la llamada; con el anillo es el tiempo entre publicar la
+ * operacin y que el escritor la aplique.
+ */
+public class MedicionAnillo
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de clientes del banco, todos usados por todos los hilos.
+     */
+    private static final int CLIENTES = 4096;
+
+    /**
+     * Nmero de consignaciones de cada hilo.
+     */
+    private static final int OPERACIONES = 100000;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs No se usan.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    public static void main( String[] pArgs ) throws InterruptedException
+    {
+        medirBanco( 2 );
+        medirAnillo( 2 );
+        System.out.println( "modelo | hilos | operaciones/s | p50 (ns) | p99 (ns) | p99,9 (ns)" );
+        for( int hilos : new int[] { 1, 2, 4, 8 } )
+        {
+            imprimir( "banco ", hilos, medirBanco( hilos ) );
+            imprimir( "anillo", hilos, medirAnillo( hilos ) );
+        }
+    }
+
+    /**
+     * Consigna con varios hilos llamando directamente al banco.
+     * @param pHilos Nmero de hilos.
+     * @return Latencias ordenadas seguidas de la duracin total en nanosegundos.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    private static long[] medirBanco( int pHilos ) throws InterruptedException
+    {
+        Banco banco = crearBanco( );
+        long[][] latencias = new long[pHilos][OPERACIONES];
+        Thread[] hilos = new Thread[pHilos];
+        for( int h = 0; h < pHilos; h++ )
+        {
+            final int hilo = h;
+            hilos[ h ] = new Thread( ( ) -> {
+                long[] propias = latencias[ hilo ];
+                int cliente = hilo;
+                for( int k = 0; k < OPERACIONES; k++ )
+                {
+                    long inicio = System.nanoTime( );
+                    banco.consignarCuentaCorrienteCentavos( cliente, 100 );
+                    propias[ k ] = System.nanoTime( ) - inicio;
+                    cliente = ( cliente + 7919 ) % CLIENTES;
+                }
+            } );
+        }
+        long inicio = System.nanoTime( );
+        for( Thread t : hilos )
+        {
+            t.start( );
+        }
+        for( Thread t : hilos )
+        {
+            t.join( );
+        }
+        return resultado( latencias, pHilos * OPERACIONES, System.nanoTime( ) - inicio );
+    }
+
+    /**
+     * Consigna con varios hilos publicando en un procesador con tantas particiones como hilos.
+     * @param pHilos Nmero de hilos productores.
+     * @return Latencias ordenadas seguidas de la duracin total en nanosegundos.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    private static long[] medirAnillo( int pHilos ) throws InterruptedException
+    {
+        Banco banco = crearBanco( );
+        int particiones = pHilos;
+        long[][] latencias = new long[particiones][pHilos * OPERACIONES];
+        int[] registradas = new int[particiones];
+        ObservadorProcesador observador = new ObservadorProcesador( )
+        {
+            public void operacionAplicada( int pParticion, int pCliente, int pCodigo, byte pEstado, long pMarca )
+            {
+                latencias[ pParticion ][ registradas[ pParticion ]++ ] = System.nanoTime( ) - pMarca;
+            }
+        };
+        ProcesadorAnillo procesador = new ProcesadorAnillo( banco, particiones, ProcesadorAnillo.CAPACIDAD_ANILLO, observador );
+        Thread[] hilos = new Thread[pHilos];
+        for( int h = 0; h < pHilos; h++ )
+        {
+            final int hilo = h;
+            hilos[ h ] = new Thread( ( ) -> {
+                int cliente = hilo;
+                for( int k = 0; k < OPERACIONES; k++ )
+                {
+                    procesador.publicar( Operacion.CONSIGNAR_CORRIENTE, cliente, 0, 100, 0, System.nanoTime( ) );
+                    cliente = ( cliente + 7919 ) % CLIENTES;
+                }
+            } );
+        }
+        long inicio = System.nanoTime( );
+        for( Thread t : hilos )
+        {
+            t.start( );
+        }
+        for( Thread t : hilos )
+        {
+            t.join( );
+        }
+        procesador.esperarAplicadas( );
+        long duracion = System.nanoTime( ) - inicio;
+        procesador.detener( );
+        for( int p = 0; p < particiones; p++ )
+        {
+            latencias[ p ] = Arrays.copyOf( latencias[ p ], registradas[ p ] );
+        }
+        return resultado( latencias, pHilos * OPERACIONES, duracion );
+    }
+
+    /**
+     * Crea un banco con CLIENTES clientes.
+     * @return Banco.
+     */
+    private static Banco crearBanco( )
+    {
+        Banco banco = new Banco( CLIENTES );
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            banco.agregarCliente( "" + ( 10000000 + i ), "Cliente " + i );
+        }
+        return banco;
+    }
+
+    /**
+     * Une y ordena las latencias de todos los hilos y agrega la duracin al final.
+     * @param pLatencias Latencias de cada hilo o particin.
+     * @param pOperaciones Nmero total de operaciones.
+     * @param pDuracion Duracin total en nanosegundos.
+     * @return Latencias ordenadas seguidas de la duracin.
+     */
+    private static long[] resultado( long[][] pLatencias, int pOperaciones, long pDuracion )
+    {
+        long[] todas = new long[pOperaciones + 1];
+        int n = 0;
+        for( long[] propias : pLatencias )
+        {
+            System.arraycopy( propias, 0, todas, n, propias.length );
+            n += propias.length;
+        }
+        Arrays.sort( todas, 0, pOperaciones );
+        todas[ pOperaciones ] = pDuracion;
+        return todas;
+    }
+
+    /**
+     * Imprime una fila de la tabla.
+     * @param pModelo Nombre del modelo.
+     * @param pHilos Nmero de hilos.
+     * @param pResultado Latencias ordenadas seguidas de la duracin.
+     */
+    private static void imprimir( String pModelo, int pHilos, long[] pResultado )
+    {
+        int operaciones = pResultado.length - 1;
+        double segundos = pResultado[ operaciones ] / 1e9;
+        System.out.printf( "%s | %5d | %13.0f | %8d | %8d | %10d%n", pModelo, pHilos, operaciones / segundos, percentil( pResultado, operaciones, 0.5 ), percentil( pResultado, operaciones, 0.99 ), percentil( pResultado, operaciones, 0.999 ) );
+    }
+
+    /**
+     * Retorna el percentil dado de unas latencias ordenadas.
+     * @param pLatencias Latencias ordenadas en sus primeras pOperaciones posiciones.
+     * @param pOperaciones Nmero de latencias. pOperaciones > 0.
+     * @param pFraccion Fraccin de las operaciones. 0 < pFraccion <= 1.
+     * @return Menor latencia tal que al menos esa fraccin de las operaciones tard lo mismo o menos.
+     */
+    private static long percentil( long[] pLatencias, int pOperaciones, double pFraccion )
+    {
+        int posicion = ( int )Math.ceil( pFraccion * pOperaciones ) - 1;
+        return pLatencias[ Math.max( 0, posicion ) ];
+    }
+}
@@ -0,0 +1,99 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.io.File;
+import java.util.SplittableRandom;
+
+import uniandes.cupi2.simuladorBancario.mundo.AlmacenClientes;
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+import uniandes.cupi2.simuladorBancario.persistencia.ArchivoClientes;
+
+/**
+ * Mide la velocidad de escritura y de lectura del archivo de clientes: escribir todos los clientes, recorrerlos todos
+ * sumando sus saldos y consultar las cdulas de clientes al azar.
+ */
+public class MedicionArchivoClientes
+{
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de clientes (opcional, por defecto 2.000.000).
+     * @throws Exception Si no se puede escribir o leer el archivo.
+     */
+    public static void main( String[] pArgs ) throws Exception
+    {
+        int clientes = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 2000000;
+        AlmacenClientes almacen = new AlmacenClientes( clientes );
+        SimuladorBancario[] simuladores = new SimuladorBancario[clientes];
+        SplittableRandom azar = new SplittableRandom( 3 );
+        for( int i = 0; i < clientes; i++ )
+        {
+            almacen.agregarCliente( "" + ( 10000000 + i ), "Cliente nmero " + i );
+            simuladores[ i ] = almacen.darSimulador( i );
+            simuladores[ i ].consignarCuentaCorriente( azar.nextInt( 1000000 ) );
+            simuladores[ i ].consignarCuentaAhorros( azar.nextInt( 1000000 ) );
+            simuladores[ i ].invertirCDT( azar.nextInt( 1, 1000000 ), 0.01 );
+        }
+        File archivo = File.createTempFile( "clientes", ".bin" );
+        try
+        {
+            for( int repeticion = 0; repeticion < 3; repeticion++ )
+            {
+                long inicio = System.nanoTime( );
+                ArchivoClientes.escribir( simuladores, archivo );
+                informar( "Escritura", System.nanoTime( ) - inicio, archivo.length( ), clientes );
+            }
+            ArchivoClientes lectura = ArchivoClientes.abrir( archivo );
+            for( int repeticion = 0; repeticion < 3; repeticion++ )
+            {
+                long inicio = System.nanoTime( );
+                long total = 0;
+                for( int i = 0; i < clientes; i++ )
+                {
+                    total += lectura.calcularSaldoTotalCentavos( i );
+                }
+                informar( "Recorrido de saldos (" + total + ")", System.nanoTime( ) - inicio, ( long )clientes * ArchivoClientes.TAMANO_REGISTRO, clientes );
+            }
+            for( int repeticion = 0; repeticion < 3; repeticion++ )
+            {
+                int consultas = 1000000;
+                long inicio = System.nanoTime( );
+                long longitud = 0;
+                for( int i = 0; i < consultas; i++ )
+                {
+                    longitud += lectura.darCedula( azar.nextInt( clientes ) ).length( );
+                }
+                long tiempo = System.nanoTime( ) - inicio;
+                System.out.printf( "Cdulas al azar: %.0f clientes/s (%d)%n", consultas * 1e9 / tiempo, longitud );
+            }
+        }
+        finally
+        {
+            archivo.delete( );
+        }
+    }
+
+    /**
+     * Muestra la velocidad de una medicin.
+     * @param pNombre Nombre de la medicin.
+     * @param pTiempo Tiempo en nanosegundos.
+     * @param pBytes Bytes procesados.
+     * @param pClientes Clientes procesados.
+     */
+    private static void informar( String pNombre, long pTiempo, long pBytes, int pClientes )
+    {
+        System.out.printf( "%s: %d ms, %.0f MB/s, %.0f clientes/s%n", pNombre, pTiempo / 1000000, pBytes / 1048576.0 * 1e9 / pTiempo, pClientes * 1e9 / pTiempo );
+    }
+}
@@ -0,0 +1,100 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import uniandes.cupi2.simuladorBancario.mundo.Dinero;
+
+/**
+ * Compara el costo y la exactitud de llevar saldos en double, en centavos (long) y en BigDecimal. <br>
+ * Cada ronda consigna un monto con centavos en todas las cuentas, retira otro y paga un mes de intereses.
+ */
+public class MedicionAritmeticaDinero
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Inters mensual de las cuentas.
+     */
+    private static final double INTERES = 0.006;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de cuentas y nmero de rondas (opcionales, por defecto 100.000 y 50).
+     */
+    public static void main( String[] pArgs )
+    {
+        int cuentas = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 100000;
+        int rondas = pArgs.length > 1 ? Integer.parseInt( pArgs[ 1 ] ) : 50;
+        long operaciones = 3L * cuentas * rondas;
+
+        for( int repeticion = 0; repeticion < 3; repeticion++ )
+        {
+            long inicio = System.nanoTime( );
+            double[] saldosDouble = new double[cuentas];
+            for( int r = 0; r < rondas; r++ )
+            {
+                for( int i = 0; i < cuentas; i++ )
+                {
+                    saldosDouble[ i ] += 1000.10;
+                    saldosDouble[ i ] -= 250.35;
+                    saldosDouble[ i ] += saldosDouble[ i ] * INTERES;
+                }
+            }
+            long tiempoDouble = System.nanoTime( ) - inicio;
+
+            inicio = System.nanoTime( );
+            long[] saldosCentavos = new long[cuentas];
+            long consignacion = Dinero.aCentavos( 1000.10 );
+            long retiro = Dinero.aCentavos( 250.35 );
+            for( int r = 0; r < rondas; r++ )
+            {
+                for( int i = 0; i < cuentas; i++ )
+                {
+                    saldosCentavos[ i ] += consignacion;
+                    saldosCentavos[ i ] -= retiro;
+                    saldosCentavos[ i ] += Dinero.calcularInteres( saldosCentavos[ i ], INTERES );
+                }
+            }
+            long tiempoCentavos = System.nanoTime( ) - inicio;
+
+            inicio = System.nanoTime( );
+            BigDecimal[] saldosDecimal = new BigDecimal[cuentas];
+            BigDecimal consignacionDecimal = new BigDecimal( "1000.10" );
+            BigDecimal retiroDecimal = new BigDecimal( "250.35" );
+            BigDecimal interesDecimal = new BigDecimal( INTERES );
+            for( int i = 0; i < cuentas; i++ )
+            {
+                saldosDecimal[ i ] = BigDecimal.ZERO.setScale( 2 );
+            }
+            for( int r = 0; r < rondas; r++ )
+            {
+                for( int i = 0; i < cuentas; i++ )
+                {
+                    BigDecimal saldo = saldosDecimal[ i ].add( consignacionDecimal ).subtract( retiroDecimal );
+                    saldosDecimal[ i ] = saldo.add( saldo.multiply( interesDecimal ).setScale( 2, RoundingMode.HALF_EVEN ) );
+                }
+            }
+            long tiempoDecimal = System.nanoTime( ) - inicio;
+
+            System.out.printf( "Ronda %d: double %.2f ns/op, centavos %.2f ns/op, BigDecimal %.2f ns/op%n", repeticion, ( double )tiempoDouble / operaciones, ( double )tiempoCentavos / operaciones, ( double )tiempoDecimal / operaciones );
+            System.out.printf( "  Saldo de la cuenta 0: double %.6f, centavos %s, BigDecimal %s%n", saldosDouble[ 0 ], Dinero.aPesos( saldosCentavos[ 0 ] ), saldosDecimal[ 0 ] );
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.util.concurrent.ForkJoinPool;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+
+/**
+ * Mide cuntos clientes por segundo avanza de mes el banco con 1, 2, 4 y todos los ncleos disponibles.
+ */
+public class MedicionAvanceMes
+{
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de clientes (opcional, por defecto 4.000.000).
+     */
+    public static void main( String[] pArgs )
+    {
+        int n = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 4000000;
+        Banco banco = new Banco( n );
+        for( int i = 0; i < n; i++ )
+        {
+            banco.consignarCuentaAhorros( banco.agregarCliente( "", "" ), 1000 + i );
+        }
+
+        int nucleos = Runtime.getRuntime( ).availableProcessors( );
+        int[] hilos = { 1, 2, 4, nucleos };
+        System.out.printf( "Clientes: %d, ncleos: %d%n", n, nucleos );
+        for( int h : hilos )
+        {
+            ForkJoinPool pool = new ForkJoinPool( h );
+            for( int i = 0; i < 5; i++ )
+            {
+                banco.avanzarMesSimulacion( pool );
+            }
+            int meses = 20;
+            long inicio = System.nanoTime( );
+            for( int i = 0; i < meses; i++ )
+            {
+                banco.avanzarMesSimulacion( pool );
+            }
+            double segundos = ( System.nanoTime( ) - inicio ) / 1e9;
+            System.out.printf( "%d hilos: %.1f millones de clientes/s%n", h, n * ( double )meses / segundos / 1e6 );
+            pool.shutdown( );
+        }
+    }
+}
\ No newline at end of file
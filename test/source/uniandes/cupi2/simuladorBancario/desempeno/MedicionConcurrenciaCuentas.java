@@ -0,0 +1,126 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import uniandes.cupi2.simuladorBancario.mundo.CuentaCorriente;
+
+/**
+ * Mide las operaciones por segundo de consignar y retirar desde 1 hasta 64 hilos, sobre una sola cuenta muy usada y sobre
+ * muchas cuentas, comparando las cuentas sin candados contra un candado global alrededor de todas las operaciones.
+ */
+public class MedicionConcurrenciaCuentas
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Tiempo que corre cada medicin, en milisegundos.
+     */
+    private static final long DURACION = 300;
+
+    /**
+     * Nmero de cuentas en el escenario de muchas cuentas.
+     */
+    private static final int CUENTAS = 1024;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Candado global usado por el modelo de comparacin.
+     */
+    private static final Object CANDADO_GLOBAL = new Object( );
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs No se usan.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    public static void main( String[] pArgs ) throws InterruptedException
+    {
+        int[] hilos = { 1, 2, 4, 8, 16, 32, 64 };
+        System.out.println( "hilos | una cuenta CAS | una cuenta candado | muchas cuentas CAS | muchas cuentas candado (Mops/s)" );
+        for( int h : hilos )
+        {
+            double unaCAS = medir( h, 1, false );
+            double unaCandado = medir( h, 1, true );
+            double muchasCAS = medir( h, CUENTAS, false );
+            double muchasCandado = medir( h, CUENTAS, true );
+            System.out.printf( "%5d | %14.2f | %18.2f | %18.2f | %22.2f%n", h, unaCAS, unaCandado, muchasCAS, muchasCandado );
+        }
+    }
+
+    /**
+     * Mide las operaciones por segundo con el nmero de hilos y cuentas dados.
+     * @param pHilos Nmero de hilos.
+     * @param pCuentas Nmero de cuentas.
+     * @param pCandadoGlobal Si las operaciones se hacen dentro del candado global.
+     * @return Millones de operaciones por segundo.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    private static double medir( int pHilos, int pCuentas, boolean pCandadoGlobal ) throws InterruptedException
+    {
+        CuentaCorriente[] cuentas = new CuentaCorriente[pCuentas];
+        for( int i = 0; i < pCuentas; i++ )
+        {
+            cuentas[ i ] = new CuentaCorriente( );
+            cuentas[ i ].consignarCentavos( 1000000 );
+        }
+        AtomicLong operaciones = new AtomicLong( );
+        long fin = System.nanoTime( ) + DURACION * 1000000;
+        Thread[] trabajadores = new Thread[pHilos];
+        for( int i = 0; i < pHilos; i++ )
+        {
+            final int semilla = i;
+            trabajadores[ i ] = new Thread( ( ) -> {
+                long hechas = 0;
+                int cuenta = semilla % pCuentas;
+                while( System.nanoTime( ) < fin )
+                {
+                    for( int j = 0; j < 256; j++ )
+                    {
+                        CuentaCorriente c = cuentas[ cuenta ];
+                        if( pCandadoGlobal )
+                        {
+                            synchronized( CANDADO_GLOBAL )
+                            {
+                                c.consignarCentavos( 100 );
+                                c.retirarCentavos( 100 );
+                            }
+                        }
+                        else
+                        {
+                            c.consignarCentavos( 100 );
+                            c.retirarCentavos( 100 );
+                        }
+                        cuenta = ( cuenta * 31 + 7 ) % pCuentas;
+                    }
+                    hechas += 512;
+                }
+                operaciones.addAndGet( hechas );
+            } );
+            trabajadores[ i ].start( );
+        }
+        for( Thread t : trabajadores )
+        {
+            t.join( );
+        }
+        return operaciones.get( ) / ( DURACION / 1000.0 ) / 1e6;
+    }
+}
\ No newline at end of file
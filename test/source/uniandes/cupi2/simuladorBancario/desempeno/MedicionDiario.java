@@ -0,0 +1,123 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.persistencia.DiarioTransacciones;
+
+/**
+ * Mide las consignaciones por segundo de un banco sin diario, con un diario que escribe a disco cada operacin y con un
+ * diario que agrupa las escrituras, con distintos nmeros de hilos.
+ */
+public class MedicionDiario
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Tiempo que corre cada medicin, en milisegundos.
+     */
+    private static final long DURACION = 1000;
+
+    /**
+     * Nmero de clientes del banco.
+     */
+    private static final int CLIENTES = 1024;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Directorio donde se crean los diarios (opcional, por defecto el directorio temporal). Para medir el costo
+     *        real de escribir a disco debe estar en un disco y no en memoria.
+     * @throws Exception Si no se puede crear un diario o se interrumpe la espera de los hilos.
+     */
+    public static void main( String[] pArgs ) throws Exception
+    {
+        File directorio = new File( pArgs.length > 0 ? pArgs[ 0 ] : System.getProperty( "java.io.tmpdir" ) );
+        int[] hilos = { 1, 4, 16, 64 };
+        System.out.println( "hilos | sin diario | por operacin | agrupado (operaciones/s) | escrituras a disco agrupado" );
+        for( int h : hilos )
+        {
+            double sinDiario = medir( h, null );
+            DiarioTransacciones porOperacion = crearDiario( directorio, DiarioTransacciones.DURABILIDAD_POR_OPERACION );
+            double conPorOperacion = medir( h, porOperacion );
+            DiarioTransacciones agrupado = crearDiario( directorio, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+            double conAgrupado = medir( h, agrupado );
+            System.out.printf( "%5d | %10.0f | %13.0f | %24.0f | %d%n", h, sinDiario, conPorOperacion, conAgrupado, agrupado.darEscriturasDisco( ) );
+            porOperacion.cerrar( );
+            agrupado.cerrar( );
+        }
+    }
+
+    /**
+     * Crea un diario nuevo en un archivo temporal que se borra al terminar.
+     * @param pDirectorio Directorio del archivo.
+     * @param pDurabilidad Modo de durabilidad.
+     * @return Diario creado.
+     * @throws IOException Si no se puede crear el archivo.
+     */
+    private static DiarioTransacciones crearDiario( File pDirectorio, int pDurabilidad ) throws IOException
+    {
+        File archivo = File.createTempFile( "diario", ".bin", pDirectorio );
+        archivo.delete( );
+        archivo.deleteOnExit( );
+        return new DiarioTransacciones( archivo, 1 << 30, pDurabilidad );
+    }
+
+    /**
+     * Mide las consignaciones por segundo con el nmero de hilos y el diario dados.
+     * @param pHilos Nmero de hilos.
+     * @param pDiario Diario del banco, o null para medir sin diario.
+     * @return Consignaciones por segundo.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    private static double medir( int pHilos, DiarioTransacciones pDiario ) throws InterruptedException
+    {
+        Banco banco = new Banco( CLIENTES );
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            banco.agregarCliente( "" + i, "" );
+        }
+        banco.cambiarRegistro( pDiario );
+        AtomicLong operaciones = new AtomicLong( );
+        long fin = System.nanoTime( ) + DURACION * 1000000;
+        Thread[] trabajadores = new Thread[pHilos];
+        for( int i = 0; i < pHilos; i++ )
+        {
+            final int primero = i;
+            trabajadores[ i ] = new Thread( ( ) -> {
+                long hechas = 0;
+                int cliente = primero % CLIENTES;
+                while( System.nanoTime( ) < fin )
+                {
+                    banco.consignarCuentaCorrienteCentavos( cliente, 100 );
+                    cliente = ( cliente + 7 ) % CLIENTES;
+                    hechas++;
+                }
+                operaciones.addAndGet( hechas );
+            } );
+            trabajadores[ i ].start( );
+        }
+        for( Thread t : trabajadores )
+        {
+            t.join( );
+        }
+        return operaciones.get( ) / ( DURACION / 1000.0 );
+    }
+}
\ No newline at end of file
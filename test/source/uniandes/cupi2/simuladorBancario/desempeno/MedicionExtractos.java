@@ -0,0 +1,131 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.SplittableRandom;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.persistencia.GeneradorExtractos;
+
+/**
+ * Mide la generacin de los extractos de fin de mes de todos los clientes con GeneradorExtractos, comparada con
+ * escribirlos uno tras otro creando un DecimalFormat por valor, como lo hace la interfaz.
+ */
+public class MedicionExtractos
+{
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de clientes y nmero de repeticiones (opcionales, por defecto 1.000.000 y 3).
+     * @throws IOException Si no se pueden escribir los archivos.
+     */
+    public static void main( String[] pArgs ) throws IOException
+    {
+        int clientes = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 1000000;
+        int repeticiones = pArgs.length > 1 ? Integer.parseInt( pArgs[ 1 ] ) : 3;
+        Banco banco = new Banco( clientes );
+        SplittableRandom azar = new SplittableRandom( 17 );
+        for( int i = 0; i < clientes; i++ )
+        {
+            banco.agregarCliente( "" + ( 10000000 + i ), "Cliente Nmero " + i );
+            banco.consignarCuentaCorrienteCentavos( i, 1 + azar.nextLong( 100000000L ) );
+            banco.consignarCuentaAhorrosCentavos( i, 1 + azar.nextLong( 100000000L ) );
+            if( i % 3 == 0 )
+            {
+                banco.invertirCDTCentavos( i, 1 + azar.nextLong( 100000000L ), 0.01 );
+            }
+        }
+        banco.avanzarMesSimulacion( );
+        File directorio = Files.createTempDirectory( "extractos" ).toFile( );
+        try
+        {
+            GeneradorExtractos generador = new GeneradorExtractos( banco );
+            for( int r = 0; r < repeticiones; r++ )
+            {
+                long inicio = System.nanoTime( );
+                long bytes = generador.generar( directorio );
+                informar( "GeneradorExtractos", clientes, bytes, System.nanoTime( ) - inicio );
+
+                File archivo = new File( directorio, "ingenuo.txt" );
+                inicio = System.nanoTime( );
+                bytes = generarIngenuo( banco, archivo );
+                informar( "DecimalFormat por valor", clientes, bytes, System.nanoTime( ) - inicio );
+                archivo.delete( );
+            }
+        }
+        finally
+        {
+            for( File archivo : directorio.listFiles( ) )
+            {
+                archivo.delete( );
+            }
+            directorio.delete( );
+        }
+    }
+
+    /**
+     * Muestra el resultado de una generacin.
+     * @param pNombre Nombre de la forma de generar.
+     * @param pClientes Nmero de extractos.
+     * @param pBytes Bytes escritos.
+     * @param pTiempo Tiempo en nanosegundos.
+     */
+    private static void informar( String pNombre, int pClientes, long pBytes, long pTiempo )
+    {
+        double segundos = pTiempo / 1e9;
+        System.out.printf( "%s: %d extractos (%d MB) en %d ms: %.0f extractos/s%n", pNombre, pClientes, pBytes >> 20, pTiempo / 1000000, pClientes / segundos );
+    }
+
+    /**
+     * Escribe los extractos en un solo archivo, en un hilo, creando un formato por cada valor.
+     * @param pBanco Banco de los clientes.
+     * @param pArchivo Archivo de los extractos.
+     * @return Bytes escritos.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static long generarIngenuo( Banco pBanco, File pArchivo ) throws IOException
+    {
+        try( Writer salida = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( pArchivo ), StandardCharsets.UTF_8 ) ) )
+        {
+            for( int i = 0; i < pBanco.darNumeroClientes( ); i++ )
+            {
+                salida.write( "Cdula: " + pBanco.darCedula( i ) + "\nNombre: " + pBanco.darNombre( i ) + "\nMes: " + pBanco.darMesActual( i ) + "\nCuenta corriente: " + formatearValor( pBanco.darSaldoCorriente( i ) ) + "\nCuenta de ahorros: " + formatearValor( pBanco.darSaldoAhorros( i ) ) + "\nCDT: " + formatearValor( pBanco.calcularValorPresenteCDT( i ) ) + "\nSaldo total: " + formatearValor( pBanco.calcularSaldoTotal( i ) ) + "\n\n" );
+            }
+        }
+        return pArchivo.length( );
+    }
+
+    /**
+     * Da formato a un valor como lo hace la interfaz.
+     * @param pValor Valor.
+     * @return Valor con formato.
+     */
+    private static String formatearValor( double pValor )
+    {
+        DecimalFormat df = ( DecimalFormat )NumberFormat.getInstance( );
+        df.applyPattern( "$ ###,###.##" );
+        df.setMinimumFractionDigits( 2 );
+        return df.format( pValor );
+    }
+}
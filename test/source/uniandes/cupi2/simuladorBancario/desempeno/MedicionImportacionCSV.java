@@ -0,0 +1,186 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.persistencia.ImportadorCSV;
+import uniandes.cupi2.simuladorBancario.persistencia.ResultadoImportacion;
+
+/**
+ * Mide la importacin de un archivo de clientes y de un archivo de transacciones de varios GB con ImportadorCSV, y el
+ * heap mximo usado. Con los valores por defecto el archivo de transacciones ocupa unos 3 GB y la medicin se puede
+ * ejecutar con -Xmx1g.
+ */
+public class MedicionImportacionCSV
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Operaciones que se escriben en el archivo de transacciones, con su valor.
+     */
+    private static final String[] OPERACIONES = { ",CONSIGNAR_CORRIENTE,", ",CONSIGNAR_AHORROS,", ",RETIRAR_CORRIENTE,", ",RETIRAR_AHORROS," };
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de clientes y nmero de transacciones (opcionales, por defecto 1.000.000 y 100.000.000).
+     * @throws IOException Si no se pueden escribir o leer los archivos.
+     */
+    public static void main( String[] pArgs ) throws IOException
+    {
+        int clientes = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 1000000;
+        long transacciones = pArgs.length > 1 ? Long.parseLong( pArgs[ 1 ] ) : 100000000L;
+        File archivoClientes = File.createTempFile( "clientes", ".csv" );
+        File archivoTransacciones = File.createTempFile( "transacciones", ".csv" );
+        try
+        {
+            long inicio = System.nanoTime( );
+            escribirClientes( archivoClientes, clientes );
+            escribirTransacciones( archivoTransacciones, clientes, transacciones );
+            System.out.printf( "Archivos generados en %d ms: clientes %d MB, transacciones %d MB%n", ( System.nanoTime( ) - inicio ) / 1000000, archivoClientes.length( ) >> 20, archivoTransacciones.length( ) >> 20 );
+
+            Banco banco = new Banco( clientes );
+            ImportadorCSV importador = new ImportadorCSV( banco );
+            informar( "Clientes", importador.importarClientes( archivoClientes ) );
+            informar( "Transacciones", importador.importarTransacciones( archivoTransacciones ) );
+            System.out.printf( "Heap mximo usado: %d MB de %d MB%n", heapMaximo( ) >> 20, Runtime.getRuntime( ).maxMemory( ) >> 20 );
+            System.out.println( banco.calcularSaldoTotalCentavos( ) );
+        }
+        finally
+        {
+            archivoClientes.delete( );
+            archivoTransacciones.delete( );
+        }
+    }
+
+    /**
+     * Muestra el resultado de una importacin.
+     * @param pNombre Nombre del archivo importado.
+     * @param pResultado Resultado de la importacin.
+     */
+    private static void informar( String pNombre, ResultadoImportacion pResultado )
+    {
+        double segundos = pResultado.darTiempo( ) / 1000.0;
+        System.out.printf( "%s: %d filas (%d aplicadas, %d invlidas, %d sin saldo) en %d ms: %.0f filas/s, %.0f MB/s%n", pNombre, pResultado.darFilas( ), pResultado.darAplicadas( ), pResultado.darInvalidas( ), pResultado.darSinSaldo( ), pResultado.darTiempo( ), pResultado.calcularFilasPorSegundo( ), ( pResultado.darBytes( ) >> 20 ) / segundos );
+    }
+
+    /**
+     * Escribe un archivo de clientes con cdulas con puntos.
+     * @param pArchivo Archivo.
+     * @param pClientes Nmero de clientes.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void escribirClientes( File pArchivo, int pClientes ) throws IOException
+    {
+        try( OutputStream salida = new BufferedOutputStream( new FileOutputStream( pArchivo ), 1 << 16 ) )
+        {
+            salida.write( "cedula,nombre\n".getBytes( StandardCharsets.US_ASCII ) );
+            for( int i = 0; i < pClientes; i++ )
+            {
+                long cedula = 10000000L + i;
+                String linea = ( cedula / 1000000 ) + "." + String.format( "%03d.%03d", cedula / 1000 % 1000, cedula % 1000 ) + ",Cliente Nmero " + i + "\n";
+                salida.write( linea.getBytes( StandardCharsets.UTF_8 ) );
+            }
+        }
+    }
+
+    /**
+     * Escribe un archivo de transacciones de clientes al azar, sin crear textos por lnea.
+     * @param pArchivo Archivo.
+     * @param pClientes Nmero de clientes.
+     * @param pTransacciones Nmero de transacciones.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void escribirTransacciones( File pArchivo, int pClientes, long pTransacciones ) throws IOException
+    {
+        byte[][] operaciones = new byte[OPERACIONES.length][];
+        for( int i = 0; i < operaciones.length; i++ )
+        {
+            operaciones[ i ] = OPERACIONES[ i ].getBytes( StandardCharsets.US_ASCII );
+        }
+        SplittableRandom azar = new SplittableRandom( 17 );
+        byte[] linea = new byte[64];
+        try( OutputStream salida = new BufferedOutputStream( new FileOutputStream( pArchivo ), 1 << 20 ) )
+        {
+            salida.write( "cedula,operacion,valor,tasa\n".getBytes( StandardCharsets.US_ASCII ) );
+            for( long i = 0; i < pTransacciones; i++ )
+            {
+                int n = escribirNumero( linea, 0, 10000000L + azar.nextInt( pClientes ) );
+                byte[] operacion = operaciones[ azar.nextInt( 10 ) < 7 ? azar.nextInt( 2 ) : 2 + azar.nextInt( 2 ) ];
+                System.arraycopy( operacion, 0, linea, n, operacion.length );
+                n += operacion.length;
+                int centavos = 1 + azar.nextInt( 100000 );
+                n = escribirNumero( linea, n, centavos / 100 );
+                linea[ n++ ] = '.';
+                linea[ n++ ] = ( byte )( '0' + centavos / 10 % 10 );
+                linea[ n++ ] = ( byte )( '0' + centavos % 10 );
+                linea[ n++ ] = '\n';
+                salida.write( linea, 0, n );
+            }
+        }
+    }
+
+    /**
+     * Escribe un nmero sin signo en un arreglo de bytes.
+     * @param pLinea Arreglo.
+     * @param pDesde Posicin donde se escribe.
+     * @param pNumero Nmero. pNumero >= 0.
+     * @return Posicin siguiente al nmero.
+     */
+    private static int escribirNumero( byte[] pLinea, int pDesde, long pNumero )
+    {
+        int digitos = 1;
+        for( long resto = pNumero / 10; resto > 0; resto /= 10 )
+        {
+            digitos++;
+        }
+        long resto = pNumero;
+        for( int i = pDesde + digitos - 1; i >= pDesde; i-- )
+        {
+            pLinea[ i ] = ( byte )( '0' + resto % 10 );
+            resto /= 10;
+        }
+        return pDesde + digitos;
+    }
+
+    /**
+     * Calcula la suma de los mximos usados por las zonas del heap.
+     * @return Bytes.
+     */
+    private static long heapMaximo( )
+    {
+        long total = 0;
+        for( MemoryPoolMXBean zona : ManagementFactory.getMemoryPoolMXBeans( ) )
+        {
+            if( zona.getType( ) == MemoryType.HEAP )
+            {
+                total += zona.getPeakUsage( ).getUsed( );
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,104 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+import uniandes.cupi2.simuladorBancario.mundo.IndiceCedulas;
+
+/**
+ * Mide la memoria por entrada y el tiempo de bsqueda del ndice de cdulas, comparado con un HashMap de String a
+ * Integer con las mismas cdulas. Las bsquedas del ndice incluyen convertir la cdula en clave. Con 10.000.000 de
+ * clientes se debe ejecutar con -Xmx4g.
+ */
+public class MedicionIndiceCedulas
+{
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de clientes (opcional, por defecto 10.000.000).
+     */
+    public static void main( String[] pArgs )
+    {
+        int clientes = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 10000000;
+        int busquedas = 10000000;
+        SplittableRandom azar = new SplittableRandom( 5 );
+        String[] cedulas = new String[clientes];
+        for( int i = 0; i < clientes; i++ )
+        {
+            long numero = 1000000 + azar.nextLong( 9999000000L );
+            cedulas[ i ] = String.format( "%,d", numero ).replace( ',', '.' );
+        }
+        // Las consultas son copias nuevas, como las cdulas que llegan en una solicitud: no comparten ni el hash calculado ni los caracteres
+        String[] consultas = new String[busquedas];
+        for( int i = 0; i < busquedas; i++ )
+        {
+            consultas[ i ] = new String( cedulas[ azar.nextInt( clientes ) ].toCharArray( ) );
+        }
+
+        long antes = memoriaUsada( );
+        IndiceCedulas indice = new IndiceCedulas( clientes );
+        for( int i = 0; i < clientes; i++ )
+        {
+            indice.agregar( IndiceCedulas.codificar( cedulas[ i ] ), i );
+        }
+        long memoriaIndice = memoriaUsada( ) - antes;
+        System.out.printf( "ndice: %d casillas, %.1f bytes por entrada%n", indice.darNumeroCasillas( ), ( double )memoriaIndice / clientes );
+        for( int repeticion = 0; repeticion < 3; repeticion++ )
+        {
+            long inicio = System.nanoTime( );
+            long suma = 0;
+            for( int i = 0; i < busquedas; i++ )
+            {
+                suma += indice.buscar( consultas[ i ] );
+            }
+            System.out.printf( "ndice: %.1f ns por bsqueda (%d)%n", ( double )( System.nanoTime( ) - inicio ) / busquedas, suma );
+        }
+        indice = null;
+
+        antes = memoriaUsada( );
+        HashMap<String, Integer> mapa = new HashMap<>( );
+        for( int i = 0; i < clientes; i++ )
+        {
+            mapa.put( cedulas[ i ], i );
+        }
+        long memoriaMapa = memoriaUsada( ) - antes;
+        System.out.printf( "HashMap: %.1f bytes por entrada, sin contar las cdulas%n", ( double )memoriaMapa / clientes );
+        for( int repeticion = 0; repeticion < 3; repeticion++ )
+        {
+            long inicio = System.nanoTime( );
+            long suma = 0;
+            for( int i = 0; i < busquedas; i++ )
+            {
+                suma += mapa.get( consultas[ i ] );
+            }
+            System.out.printf( "HashMap: %.1f ns por bsqueda (%d)%n", ( double )( System.nanoTime( ) - inicio ) / busquedas, suma );
+        }
+    }
+
+    /**
+     * Calcula la memoria usada del heap despus de recoger la basura.
+     * @return Bytes usados.
+     */
+    private static long memoriaUsada( )
+    {
+        Runtime runtime = Runtime.getRuntime( );
+        for( int i = 0; i < 3; i++ )
+        {
+            System.gc( );
+        }
+        return runtime.totalMemory( ) - runtime.freeMemory( );
+    }
+}
@@ -0,0 +1,146 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.util.SplittableRandom;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.Dinero;
+import uniandes.cupi2.simuladorBancario.mundo.LoteOperaciones;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+
+/**
+ * Mide las operaciones por segundo de aplicar bloques de operaciones con aplicarLote, comparadas con hacer las mismas
+ * operaciones con un llamado a SimuladorBancario por operacin.
+ */
+public class MedicionLotes
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de operaciones de cada bloque.
+     */
+    private static final int TAMANO_BLOQUE = 4096;
+
+    /**
+     * Nmero de veces que se aplica el bloque en cada medicin.
+     */
+    private static final int REPETICIONES = 2000;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs No se usan.
+     */
+    public static void main( String[] pArgs )
+    {
+        LoteOperaciones lote = crearLote( );
+        for( int ronda = 0; ronda < 3; ronda++ )
+        {
+            double individual = medirIndividual( lote );
+            double porLote = medirLote( lote );
+            System.out.printf( "Ronda %d: individual %.1f Mops/s, lote %.1f Mops/s (%.1fx)%n", ronda, individual, porLote, porLote / individual );
+        }
+    }
+
+    /**
+     * Crea un bloque de consignaciones, retiros y transferencias al azar.
+     * @return Lote con TAMANO_BLOQUE operaciones.
+     */
+    private static LoteOperaciones crearLote( )
+    {
+        SplittableRandom azar = new SplittableRandom( 42 );
+        LoteOperaciones lote = new LoteOperaciones( TAMANO_BLOQUE );
+        for( int i = 0; i < TAMANO_BLOQUE; i++ )
+        {
+            long monto = 100 + azar.nextInt( 100000 );
+            switch( azar.nextInt( 5 ) )
+            {
+                case 0:
+                    lote.agregar( Operacion.CONSIGNAR_CORRIENTE, monto );
+                    break;
+                case 1:
+                    lote.agregar( Operacion.CONSIGNAR_AHORROS, monto );
+                    break;
+                case 2:
+                    lote.agregar( Operacion.RETIRAR_CORRIENTE, monto );
+                    break;
+                case 3:
+                    lote.agregar( Operacion.RETIRAR_AHORROS, monto );
+                    break;
+                default:
+                    lote.agregarTransferencia( Banco.PRODUCTO_CORRIENTE, Banco.PRODUCTO_AHORROS, monto );
+            }
+        }
+        return lote;
+    }
+
+    /**
+     * Mide las operaciones por segundo haciendo un llamado por operacin.
+     * @param pLote Bloque de operaciones.
+     * @return Millones de operaciones por segundo.
+     */
+    private static double medirIndividual( LoteOperaciones pLote )
+    {
+        SimuladorBancario simulador = new SimuladorBancario( "1", "Cliente" );
+        int n = pLote.darNumeroOperaciones( );
+        long inicio = System.nanoTime( );
+        for( int r = 0; r < REPETICIONES; r++ )
+        {
+            for( int i = 0; i < n; i++ )
+            {
+                double monto = Dinero.aPesos( pLote.darCentavos( i ) );
+                switch( pLote.darCodigo( i ) )
+                {
+                    case Operacion.CONSIGNAR_CORRIENTE:
+                        simulador.consignarCuentaCorriente( monto );
+                        break;
+                    case Operacion.CONSIGNAR_AHORROS:
+                        simulador.consignarCuentaAhorros( monto );
+                        break;
+                    case Operacion.RETIRAR_CORRIENTE:
+                        simulador.retirarCuentaCorriente( monto );
+                        break;
+                    case Operacion.RETIRAR_AHORROS:
+                        simulador.retirarCuentaAhorros( monto );
+                        break;
+                    default:
+                        simulador.transferirCorrienteAAhorros( monto );
+                }
+            }
+        }
+        double segundos = ( System.nanoTime( ) - inicio ) / 1e9;
+        return ( double )n * REPETICIONES / segundos / 1e6;
+    }
+
+    /**
+     * Mide las operaciones por segundo aplicando el bloque con aplicarLote.
+     * @param pLote Bloque de operaciones.
+     * @return Millones de operaciones por segundo.
+     */
+    private static double medirLote( LoteOperaciones pLote )
+    {
+        SimuladorBancario simulador = new SimuladorBancario( "1", "Cliente" );
+        long inicio = System.nanoTime( );
+        for( int r = 0; r < REPETICIONES; r++ )
+        {
+            simulador.aplicarLote( pLote );
+        }
+        double segundos = ( System.nanoTime( ) - inicio ) / 1e9;
+        return ( double )pLote.darNumeroOperaciones( ) * REPETICIONES / segundos / 1e6;
+    }
+}
@@ -0,0 +1,91 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+
+/**
+ * Mide los bytes por cliente de un arreglo de SimuladorBancario contra los de un Banco guardado por columnas, y el tiempo
+ * de recorrer todos los clientes para calcular el saldo total.
+ */
+public class MedicionMemoriaClientes
+{
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de clientes (opcional, por defecto 1.000.000).
+     */
+    public static void main( String[] pArgs )
+    {
+        int n = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 1000000;
+        String[] cedulas = new String[n];
+        String[] nombres = new String[n];
+        for( int i = 0; i < n; i++ )
+        {
+            cedulas[ i ] = Integer.toString( i );
+            nombres[ i ] = "Cliente " + i;
+        }
+
+        long antes = memoriaUsada( );
+        SimuladorBancario[] simuladores = new SimuladorBancario[n];
+        for( int i = 0; i < n; i++ )
+        {
+            simuladores[ i ] = new SimuladorBancario( cedulas[ i ], nombres[ i ] );
+            simuladores[ i ].consignarCuentaAhorros( i );
+        }
+        long bytesSimuladores = memoriaUsada( ) - antes;
+
+        antes = memoriaUsada( );
+        Banco banco = new Banco( n );
+        for( int i = 0; i < n; i++ )
+        {
+            banco.consignarCuentaAhorros( banco.agregarCliente( cedulas[ i ], nombres[ i ] ), i );
+        }
+        long bytesBanco = memoriaUsada( ) - antes;
+
+        System.out.printf( "Clientes: %d%n", n );
+        System.out.printf( "SimuladorBancario: %.1f bytes por cliente (sin contar las cadenas)%n", ( double )bytesSimuladores / n );
+        System.out.printf( "Banco por columnas: %.1f bytes por cliente (sin contar las cadenas)%n", ( double )bytesBanco / n );
+
+        for( int ronda = 0; ronda < 5; ronda++ )
+        {
+            long inicio = System.nanoTime( );
+            double total = 0;
+            for( int i = 0; i < n; i++ )
+            {
+                total += simuladores[ i ].calcularSaldoTotal( );
+            }
+            long tiempoSimuladores = System.nanoTime( ) - inicio;
+            inicio = System.nanoTime( );
+            double totalBanco = banco.calcularSaldoTotal( );
+            long tiempoBanco = System.nanoTime( ) - inicio;
+            System.out.printf( "Recorrido %d: objetos %.2f ms, columnas %.2f ms (diferencia %.2f)%n", ronda, tiempoSimuladores / 1e6, tiempoBanco / 1e6, total - totalBanco );
+        }
+    }
+
+    /**
+     * Retorna la memoria del heap en uso despus de pedir una recoleccin de basura.
+     * @return Bytes en uso.
+     */
+    private static long memoriaUsada( )
+    {
+        Runtime runtime = Runtime.getRuntime( );
+        for( int i = 0; i < 3; i++ )
+        {
+            System.gc( );
+        }
+        return runtime.totalMemory( ) - runtime.freeMemory( );
+    }
+}
\ No newline at end of file
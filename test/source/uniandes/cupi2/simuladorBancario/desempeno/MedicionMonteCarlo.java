@@ -0,0 +1,50 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.util.concurrent.ForkJoinPool;
+
+import uniandes.cupi2.simuladorBancario.analisis.ResultadoMonteCarlo;
+import uniandes.cupi2.simuladorBancario.analisis.SimulacionMonteCarlo;
+
+/**
+ * Mide el tiempo de una simulacin de Monte Carlo con distintos nmeros de hilos y muestra que el resultado no cambia.
+ */
+public class MedicionMonteCarlo
+{
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de caminos y de meses (opcionales, por defecto 100.000 y 120).
+     */
+    public static void main( String[] pArgs )
+    {
+        int caminos = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 100000;
+        int meses = pArgs.length > 1 ? Integer.parseInt( pArgs[ 1 ] ) : 120;
+        SimulacionMonteCarlo simulacion = new SimulacionMonteCarlo( meses, 100000, 500000, 1000000, 0.005, 0.02, 0.006, 0.001, 50000, 0.3, 200000 );
+        int nucleos = Runtime.getRuntime( ).availableProcessors( );
+        for( int repeticion = 0; repeticion < 2; repeticion++ )
+        {
+            for( int hilos = 1; hilos <= nucleos; hilos *= 2 )
+            {
+                ForkJoinPool pool = new ForkJoinPool( hilos );
+                long inicio = System.nanoTime( );
+                ResultadoMonteCarlo resultado = simulacion.ejecutar( caminos, 42, pool );
+                long tiempo = System.nanoTime( ) - inicio;
+                pool.shutdown( );
+                System.out.printf( "%d hilos: %d ms, media %.2f, p5 %.2f, p95 %.2f%n", hilos, tiempo / 1000000, resultado.darMedia( ), resultado.darPercentil( 0.05 ), resultado.darPercentil( 0.95 ) );
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.util.concurrent.Semaphore;
+
+import uniandes.cupi2.simuladorBancario.mundo.BancoParticionado;
+import uniandes.cupi2.simuladorBancario.mundo.LoteOperaciones;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+
+/**
+ * Mide las operaciones por segundo de un BancoParticionado con distintos nmeros de particiones. Varios hilos envan lotes
+ * de consignaciones y retiros a clientes repartidos por todo el banco, sin dejar ms de EN_VUELO lotes sin aplicar por
+ * hilo. Tambin mide cunto tarda avanzar el mes de todo el banco.
+ */
+public class MedicionParticiones
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de clientes del banco.
+     */
+    private static final int CLIENTES = 200000;
+
+    /**
+     * Nmero de hilos que envan operaciones.
+     */
+    private static final int HILOS = 4;
+
+    /**
+     * Nmero de lotes que enva cada hilo.
+     */
+    private static final int LOTES = 50000;
+
+    /**
+     * Nmero de operaciones de cada lote.
+     */
+    private static final int OPERACIONES_LOTE = 16;
+
+    /**
+     * Nmero mximo de lotes sin aplicar de cada hilo.
+     */
+    private static final int EN_VUELO = 256;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs No se usan.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    public static void main( String[] pArgs ) throws InterruptedException
+    {
+        String[] cedulas = new String[CLIENTES];
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            cedulas[ i ] = "" + ( 10000000 + i );
+        }
+        medir( cedulas, 2, false );
+        System.out.println( "particiones | operaciones/s | avance de mes (ms)" );
+        for( int particiones : new int[] { 1, 2, 4, 8 } )
+        {
+            medir( cedulas, particiones, true );
+        }
+    }
+
+    /**
+     * Mide un banco con el nmero de particiones dado.
+     * @param pCedulas Cdulas de los clientes.
+     * @param pParticiones Nmero de particiones.
+     * @param pImprimir Indica si se imprime la fila de la tabla; es false en el calentamiento.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    private static void medir( String[] pCedulas, int pParticiones, boolean pImprimir ) throws InterruptedException
+    {
+        BancoParticionado banco = new BancoParticionado( pParticiones );
+        for( int i = 0; i < pCedulas.length; i++ )
+        {
+            banco.agregarCliente( pCedulas[ i ], "Cliente " + i );
+        }
+        banco.contarClientes( ).join( );
+
+        Thread[] hilos = new Thread[HILOS];
+        for( int h = 0; h < HILOS; h++ )
+        {
+            final int hilo = h;
+            hilos[ h ] = new Thread( ( ) -> {
+                Semaphore permisos = new Semaphore( EN_VUELO );
+                int posicion = hilo;
+                for( int k = 0; k < LOTES; k++ )
+                {
+                    LoteOperaciones lote = new LoteOperaciones( OPERACIONES_LOTE );
+                    for( int j = 0; j < OPERACIONES_LOTE; j++ )
+                    {
+                        lote.agregar( j % 4 == 3 ? Operacion.RETIRAR_CORRIENTE : Operacion.CONSIGNAR_CORRIENTE, 100 );
+                    }
+                    permisos.acquireUninterruptibly( );
+                    banco.aplicarLote( pCedulas[ posicion ], lote ).whenComplete( ( n, e ) -> permisos.release( ) );
+                    posicion = ( posicion + 7919 ) % pCedulas.length;
+                }
+                permisos.acquireUninterruptibly( EN_VUELO );
+            } );
+        }
+        long inicio = System.nanoTime( );
+        for( Thread t : hilos )
+        {
+            t.start( );
+        }
+        for( Thread t : hilos )
+        {
+            t.join( );
+        }
+        double segundos = ( System.nanoTime( ) - inicio ) / 1e9;
+
+        inicio = System.nanoTime( );
+        banco.avanzarMesSimulacion( ).join( );
+        double avance = ( System.nanoTime( ) - inicio ) / 1e6;
+        banco.detener( );
+        if( pImprimir )
+        {
+            System.out.printf( "%11d | %13.0f | %18.1f%n", pParticiones, ( double )HILOS * LOTES * OPERACIONES_LOTE / segundos, avance );
+        }
+    }
+}
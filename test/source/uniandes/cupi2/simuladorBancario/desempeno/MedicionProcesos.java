@@ -0,0 +1,191 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.servidor.ClienteParticionado;
+import uniandes.cupi2.simuladorBancario.servidor.NodoParticion;
+
+/**
+ * Lanza en la misma mquina bancos de 1, 2 y 4 procesos NodoParticion con los mismos clientes y mide las consignaciones por
+ * segundo que atienden entre todos a travs de un ClienteParticionado, cunto tarda el avance de mes coordinado y que el
+ * saldo total del banco sea la suma de las consignaciones.
+ */
+public class MedicionProcesos
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de clientes del banco.
+     */
+    private static final int CLIENTES = 400000;
+
+    /**
+     * Tiempo que corre cada medicin, en milisegundos.
+     */
+    private static final long DURACION = 3000;
+
+    /**
+     * Nmero mximo de consignaciones sin respuesta.
+     */
+    private static final int EN_VUELO = 4096;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs No se usan.
+     * @throws Exception Si no se pueden lanzar los procesos o conectar con ellos.
+     */
+    public static void main( String[] pArgs ) throws Exception
+    {
+        File archivo = File.createTempFile( "clientes", ".csv" );
+        try
+        {
+            String[] cedulas = new String[CLIENTES];
+            try( BufferedWriter escritor = Files.newBufferedWriter( archivo.toPath( ), StandardCharsets.UTF_8 ) )
+            {
+                escritor.write( "cedula,nombre\n" );
+                for( int i = 0; i < CLIENTES; i++ )
+                {
+                    cedulas[ i ] = "" + ( 10000000 + i );
+                    escritor.write( cedulas[ i ] + ",Cliente " + i + "\n" );
+                }
+            }
+            System.out.println( "procesos | operaciones/s | avance de mes (ms)" );
+            for( int procesos : new int[] { 1, 2, 4 } )
+            {
+                medir( archivo, cedulas, procesos );
+            }
+        }
+        finally
+        {
+            archivo.delete( );
+        }
+    }
+
+    /**
+     * Lanza un banco con el nmero de procesos dado, lo mide e imprime una fila de la tabla.
+     * @param pArchivo Archivo de clientes.
+     * @param pCedulas Cdulas de los clientes.
+     * @param pProcesos Nmero de procesos.
+     * @throws Exception Si no se pueden lanzar los procesos o conectar con ellos.
+     */
+    private static void medir( File pArchivo, String[] pCedulas, int pProcesos ) throws Exception
+    {
+        Process[] procesos = new Process[pProcesos];
+        int[] puertos = new int[pProcesos];
+        ClienteParticionado cliente = null;
+        try
+        {
+            String java = System.getProperty( "java.home" ) + File.separator + "bin" + File.separator + "java";
+            for( int i = 0; i < pProcesos; i++ )
+            {
+                ProcessBuilder constructor = new ProcessBuilder( java, "-cp", System.getProperty( "java.class.path" ), NodoParticion.class.getName( ), pArchivo.getPath( ), "" + i, "" + pProcesos, "" + CLIENTES );
+                constructor.redirectError( ProcessBuilder.Redirect.INHERIT );
+                procesos[ i ] = constructor.start( );
+            }
+            for( int i = 0; i < pProcesos; i++ )
+            {
+                puertos[ i ] = leerPuerto( procesos[ i ] );
+            }
+            cliente = new ClienteParticionado( puertos );
+            long calentamiento = consignar( cliente, pCedulas, DURACION / 3 );
+            long operaciones = consignar( cliente, pCedulas, DURACION );
+            double porSegundo = operaciones / ( DURACION / 1000.0 );
+            long saldo = cliente.calcularSaldoTotalBanco( ).join( );
+            if( saldo != ( calentamiento + operaciones ) * 100 )
+            {
+                throw new IllegalStateException( "El saldo total " + saldo + " no corresponde a " + ( calentamiento + operaciones ) + " consignaciones." );
+            }
+            long inicio = System.nanoTime( );
+            cliente.avanzarMesBanco( ).join( );
+            double avance = ( System.nanoTime( ) - inicio ) / 1e6;
+            System.out.printf( "%8d | %13.0f | %18.1f%n", pProcesos, porSegundo, avance );
+        }
+        finally
+        {
+            if( cliente != null )
+            {
+                cliente.cerrar( );
+            }
+            for( Process proceso : procesos )
+            {
+                if( proceso != null )
+                {
+                    proceso.getOutputStream( ).close( );
+                    proceso.waitFor( );
+                }
+            }
+        }
+    }
+
+    /**
+     * Lee el puerto que anuncia un proceso nodo.
+     * @param pProceso Proceso.
+     * @return Puerto del nodo.
+     * @throws IOException Si el proceso termina sin anunciar su puerto.
+     */
+    private static int leerPuerto( Process pProceso ) throws IOException
+    {
+        BufferedReader lector = new BufferedReader( new InputStreamReader( pProceso.getInputStream( ), StandardCharsets.UTF_8 ) );
+        String linea = lector.readLine( );
+        while( linea != null && !linea.startsWith( NodoParticion.PREFIJO_PUERTO ) )
+        {
+            linea = lector.readLine( );
+        }
+        if( linea == null )
+        {
+            throw new IOException( "El nodo termin sin anunciar su puerto." );
+        }
+        return Integer.parseInt( linea.substring( NodoParticion.PREFIJO_PUERTO.length( ) ).trim( ) );
+    }
+
+    /**
+     * Enva consignaciones de 100 centavos durante el tiempo dado sin dejar ms de EN_VUELO sin respuesta.
+     * @param pCliente Conexin con los nodos.
+     * @param pCedulas Cdulas de los clientes.
+     * @param pDuracion Duracin en milisegundos.
+     * @return Nmero de consignaciones respondidas.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    private static long consignar( ClienteParticionado pCliente, String[] pCedulas, long pDuracion ) throws InterruptedException
+    {
+        Semaphore permisos = new Semaphore( EN_VUELO );
+        long fin = System.nanoTime( ) + pDuracion * 1000000;
+        long operaciones = 0;
+        int posicion = 0;
+        while( System.nanoTime( ) < fin )
+        {
+            permisos.acquire( );
+            CompletableFuture<Void> futuro = pCliente.consignar( pCedulas[ posicion ], Banco.PRODUCTO_CORRIENTE, 100 );
+            futuro.whenComplete( ( v, e ) -> permisos.release( ) );
+            posicion = ( posicion + 7919 ) % pCedulas.length;
+            operaciones++;
+        }
+        permisos.acquire( EN_VUELO );
+        return operaciones;
+    }
+}
@@ -0,0 +1,109 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.servidor.ClienteBinario;
+import uniandes.cupi2.simuladorBancario.servidor.ServidorBinario;
+import uniandes.cupi2.simuladorBancario.servidor.ServidorSimulador;
+
+/**
+ * Mide las consignaciones por segundo a travs de ServidorBinario con una sola conexin, esperando la respuesta de cada
+ * solicitud antes de enviar la siguiente y con distintos nmeros de solicitudes en vuelo, que ClienteBinario agrupa en
+ * lotes.
+ */
+public class MedicionProtocoloBinario
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Tiempo que corre cada medicin, en milisegundos.
+     */
+    private static final long DURACION = 2000;
+
+    /**
+     * Nmero de clientes del banco.
+     */
+    private static final int CLIENTES = 100000;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs No se usan.
+     * @throws Exception Si no se puede abrir el servidor o conectar.
+     */
+    public static void main( String[] pArgs ) throws Exception
+    {
+        Banco banco = new Banco( CLIENTES );
+        String[] cedulas = new String[CLIENTES];
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            cedulas[ i ] = "" + ( 10000000 + i );
+            banco.agregarCliente( cedulas[ i ], "Cliente " + i );
+        }
+        ServidorBinario servidor = new ServidorBinario( banco, ServidorSimulador.PUERTO_LIBRE );
+        servidor.iniciar( );
+        ClienteBinario cliente = new ClienteBinario( servidor.darPuerto( ) );
+        try
+        {
+            medir( cliente, cedulas, 1 );
+            medir( cliente, cedulas, 256 );
+            System.out.println( "en vuelo | operaciones/s | operaciones por lote" );
+            for( int enVuelo : new int[] { 1, 16, 256, 4096 } )
+            {
+                long lotes = cliente.darNumeroLotes( );
+                long operaciones = medir( cliente, cedulas, enVuelo );
+                lotes = cliente.darNumeroLotes( ) - lotes;
+                System.out.printf( "%8d | %13.0f | %20.1f%n", enVuelo, operaciones / ( DURACION / 1000.0 ), ( double )operaciones / lotes );
+            }
+        }
+        finally
+        {
+            cliente.cerrar( );
+            servidor.detener( );
+        }
+    }
+
+    /**
+     * Enva consignaciones durante DURACION milisegundos sin dejar ms de pEnVuelo solicitudes sin respuesta. Con
+     * pEnVuelo = 1 cada solicitud espera la respuesta de la anterior.
+     * @param pCliente Conexin con el servidor.
+     * @param pCedulas Cdulas de los clientes del banco.
+     * @param pEnVuelo Nmero mximo de solicitudes sin respuesta.
+     * @return Nmero de consignaciones respondidas.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    private static long medir( ClienteBinario pCliente, String[] pCedulas, int pEnVuelo ) throws InterruptedException
+    {
+        Semaphore permisos = new Semaphore( pEnVuelo );
+        long fin = System.nanoTime( ) + DURACION * 1000000;
+        long operaciones = 0;
+        int posicion = 0;
+        while( System.nanoTime( ) < fin )
+        {
+            permisos.acquire( );
+            CompletableFuture<Void> futuro = pCliente.consignar( pCedulas[ posicion ], Banco.PRODUCTO_CORRIENTE, 100 );
+            futuro.whenComplete( ( v, e ) -> permisos.release( ) );
+            posicion = ( posicion + 7919 ) % pCedulas.length;
+            operaciones++;
+        }
+        permisos.acquire( pEnVuelo );
+        return operaciones;
+    }
+}
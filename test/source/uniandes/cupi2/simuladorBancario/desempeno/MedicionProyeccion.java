@@ -0,0 +1,55 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import uniandes.cupi2.simuladorBancario.analisis.ProyeccionSaldos;
+import uniandes.cupi2.simuladorBancario.analisis.TotalesProyeccion;
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+
+/**
+ * Mide la proyeccin de los saldos de todos los clientes de un banco, por bloques de clientes (vectorial) y cliente por
+ * cliente (escalar). Para ver el ciclo por bloques sin instrucciones vectoriales se puede ejecutar con -XX:-UseSuperWord.
+ */
+public class MedicionProyeccion
+{
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de clientes y de meses (opcionales, por defecto 1.000.000 y 120).
+     */
+    public static void main( String[] pArgs )
+    {
+        int clientes = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 1000000;
+        int meses = pArgs.length > 1 ? Integer.parseInt( pArgs[ 1 ] ) : 120;
+        Banco banco = new Banco( clientes );
+        for( int i = 0; i < clientes; i++ )
+        {
+            banco.agregarCliente( "" + i, "Cliente " + i );
+            banco.consignarCuentaAhorrosCentavos( i, 100000 + i );
+            banco.invertirCDTCentavos( i, 50000 + i, 0.01 );
+        }
+        ProyeccionSaldos proyeccion = new ProyeccionSaldos( banco.capturarEstado( ) );
+        double celdas = ( double )clientes * meses;
+        for( int repeticion = 0; repeticion < 5; repeticion++ )
+        {
+            long inicio = System.nanoTime( );
+            TotalesProyeccion vectorial = proyeccion.proyectar( meses );
+            long tiempoVectorial = System.nanoTime( ) - inicio;
+            inicio = System.nanoTime( );
+            TotalesProyeccion escalar = proyeccion.proyectarEscalar( meses );
+            long tiempoEscalar = System.nanoTime( ) - inicio;
+            System.out.printf( "Por bloques: %d ms (%.0f M clientes-mes/s); cliente por cliente: %d ms (%.0f M clientes-mes/s); total final %.2f / %.2f%n", tiempoVectorial / 1000000, celdas * 1000 / tiempoVectorial, tiempoEscalar / 1000000, celdas * 1000 / tiempoEscalar, vectorial.darTotal( meses ), escalar.darTotal( meses ) );
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.persistencia.DiarioTransacciones;
+import uniandes.cupi2.simuladorBancario.persistencia.PersistenciaBanco;
+
+/**
+ * Mide el tiempo de arranque de un banco durable con una historia larga, reproduciendo todo el diario y partiendo de una
+ * instantnea reciente.
+ */
+public class MedicionRecuperacion
+{
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de clientes y nmero de operaciones de la historia (opcionales, por defecto 1.000.000 y
+     *        20.000.000).
+     * @throws Exception Si no se pueden escribir o leer los datos.
+     */
+    public static void main( String[] pArgs ) throws Exception
+    {
+        int clientes = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 1000000;
+        int operaciones = pArgs.length > 1 ? Integer.parseInt( pArgs[ 1 ] ) : 20000000;
+        File directorio = Files.createTempDirectory( "banco" ).toFile( );
+        long capacidadDiario = ( long )( clientes + operaciones ) * 64 + ( 1 << 20 );
+
+        PersistenciaBanco persistencia = new PersistenciaBanco( directorio, clientes, capacidadDiario, DiarioTransacciones.DURABILIDAD_DIFERIDA );
+        Banco banco = persistencia.darBanco( );
+        for( int i = 0; i < clientes; i++ )
+        {
+            banco.agregarCliente( "" + i, "Cliente " + i );
+        }
+        for( int i = 0; i < operaciones; i++ )
+        {
+            banco.consignarCuentaCorrienteCentavos( i % clientes, 100 );
+        }
+        persistencia.cerrar( );
+
+        long inicio = System.nanoTime( );
+        persistencia = new PersistenciaBanco( directorio, clientes, capacidadDiario, DiarioTransacciones.DURABILIDAD_DIFERIDA );
+        long sinInstantanea = System.nanoTime( ) - inicio;
+        System.out.printf( "Sin instantnea: %d ms, %d registros reproducidos%n", sinInstantanea / 1000000, persistencia.darRegistrosReproducidos( ) );
+
+        inicio = System.nanoTime( );
+        persistencia.tomarInstantanea( );
+        System.out.printf( "Tomar la instantnea: %d ms%n", ( System.nanoTime( ) - inicio ) / 1000000 );
+        for( int i = 0; i < clientes / 10; i++ )
+        {
+            persistencia.darBanco( ).consignarCuentaAhorrosCentavos( i, 100 );
+        }
+        persistencia.cerrar( );
+
+        inicio = System.nanoTime( );
+        persistencia = new PersistenciaBanco( directorio, clientes, capacidadDiario, DiarioTransacciones.DURABILIDAD_DIFERIDA );
+        long conInstantanea = System.nanoTime( ) - inicio;
+        System.out.printf( "Con instantnea: %d ms, %d registros reproducidos%n", conInstantanea / 1000000, persistencia.darRegistrosReproducidos( ) );
+        persistencia.cerrar( );
+
+        for( File archivo : directorio.listFiles( ) )
+        {
+            archivo.delete( );
+        }
+        directorio.delete( );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,182 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.persistencia.DiarioTransacciones;
+import uniandes.cupi2.simuladorBancario.persistencia.PersistenciaBanco;
+import uniandes.cupi2.simuladorBancario.servidor.PublicadorDiario;
+import uniandes.cupi2.simuladorBancario.servidor.ReplicaLectura;
+import uniandes.cupi2.simuladorBancario.servidor.ServidorSimulador;
+
+/**
+ * Mide cuntas consignaciones por segundo atiende un primario mientras un hilo por rplica consulta saldos sin parar, con
+ * 0, 1, 2 y 4 rplicas. Con 0 rplicas el lector consulta directamente el banco del primario. Tambin mide el mayor
+ * retraso de las rplicas durante las escrituras y verifica que al final tengan el saldo total del primario.
+ */
+public class MedicionReplicas
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de clientes del banco.
+     */
+    private static final int CLIENTES = 100000;
+
+    /**
+     * Nmero de consignaciones que hace el primario en cada medicin.
+     */
+    private static final int OPERACIONES = 2000000;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs No se usan.
+     * @throws Exception Si no se pueden crear los archivos o conectar las rplicas.
+     */
+    public static void main( String[] pArgs ) throws Exception
+    {
+        String[] cedulas = new String[CLIENTES];
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            cedulas[ i ] = "" + ( 10000000 + i );
+        }
+        medir( cedulas, 1, false );
+        System.out.println( "rplicas | escrituras/s | lecturas/s | retraso mximo (ms) | retraso mximo (KB)" );
+        for( int replicas : new int[] { 0, 1, 2, 4 } )
+        {
+            medir( cedulas, replicas, true );
+        }
+    }
+
+    /**
+     * Mide un primario con el nmero de rplicas dado.
+     * @param pCedulas Cdulas de los clientes.
+     * @param pReplicas Nmero de rplicas.
+     * @param pImprimir Indica si se imprime la fila de la tabla; es false en el calentamiento.
+     * @throws Exception Si no se pueden crear los archivos o conectar las rplicas.
+     */
+    private static void medir( String[] pCedulas, int pReplicas, boolean pImprimir ) throws Exception
+    {
+        File directorio = Files.createTempDirectory( "primario" ).toFile( );
+        long capacidadDiario = ( long )CLIENTES * 64 + ( long )OPERACIONES * DiarioTransacciones.TAMANO_REGISTRO + ( 1 << 20 );
+        PersistenciaBanco persistencia = new PersistenciaBanco( directorio, CLIENTES, capacidadDiario, DiarioTransacciones.DURABILIDAD_DIFERIDA );
+        PublicadorDiario publicador = new PublicadorDiario( persistencia, ServidorSimulador.PUERTO_LIBRE );
+        ReplicaLectura[] replicas = new ReplicaLectura[pReplicas];
+        try
+        {
+            Banco banco = persistencia.darBanco( );
+            for( int i = 0; i < pCedulas.length; i++ )
+            {
+                banco.agregarCliente( pCedulas[ i ], "Cliente " + i );
+            }
+            publicador.iniciar( );
+            for( int r = 0; r < pReplicas; r++ )
+            {
+                replicas[ r ] = new ReplicaLectura( publicador.darPuerto( ), CLIENTES );
+                replicas[ r ].esperarPosicion( persistencia.darDiario( ).darPosicionFinal( ), 60000 );
+            }
+
+            AtomicBoolean terminado = new AtomicBoolean( false );
+            LongAdder lecturas = new LongAdder( );
+            Thread[] lectores = new Thread[Math.max( 1, pReplicas )];
+            for( int h = 0; h < lectores.length; h++ )
+            {
+                ReplicaLectura replica = pReplicas == 0 ? null : replicas[ h ];
+                lectores[ h ] = new Thread( ( ) -> {
+                    int posicion = 0;
+                    long leidas = 0;
+                    while( !terminado.get( ) )
+                    {
+                        if( replica == null )
+                        {
+                            banco.calcularSaldoTotalCentavos( banco.buscarCliente( pCedulas[ posicion ] ) );
+                        }
+                        else
+                        {
+                            replica.calcularSaldoTotalCentavos( pCedulas[ posicion ] );
+                        }
+                        posicion = ( posicion + 7919 ) % pCedulas.length;
+                        leidas++;
+                    }
+                    lecturas.add( leidas );
+                } );
+                lectores[ h ].start( );
+            }
+
+            Thread escritor = new Thread( ( ) -> {
+                for( int i = 0; i < OPERACIONES; i++ )
+                {
+                    banco.consignarCuentaCorrienteCentavos( ( int )( ( i * 104729L ) % CLIENTES ), 100 );
+                }
+            } );
+            long inicio = System.nanoTime( );
+            escritor.start( );
+            long retrasoMilisegundos = 0;
+            long retrasoBytes = 0;
+            while( escritor.isAlive( ) )
+            {
+                for( ReplicaLectura replica : replicas )
+                {
+                    retrasoMilisegundos = Math.max( retrasoMilisegundos, replica.darRetrasoMilisegundos( ) );
+                    retrasoBytes = Math.max( retrasoBytes, replica.darRetrasoBytes( ) );
+                }
+                escritor.join( 1 );
+            }
+            double segundos = ( System.nanoTime( ) - inicio ) / 1e9;
+            terminado.set( true );
+            for( Thread lector : lectores )
+            {
+                lector.join( );
+            }
+
+            for( ReplicaLectura replica : replicas )
+            {
+                replica.esperarPosicion( persistencia.darDiario( ).darPosicionFinal( ), 60000 );
+                if( replica.calcularSaldoTotalCentavos( ) != banco.calcularSaldoTotalCentavos( ) )
+                {
+                    throw new IllegalStateException( "La rplica no tiene el saldo total del primario." );
+                }
+            }
+            if( pImprimir )
+            {
+                System.out.printf( "%8d | %12.0f | %10.0f | %19d | %19d%n", pReplicas, OPERACIONES / segundos, lecturas.sum( ) / segundos, retrasoMilisegundos, retrasoBytes / 1024 );
+            }
+        }
+        finally
+        {
+            for( ReplicaLectura replica : replicas )
+            {
+                if( replica != null )
+                {
+                    replica.cerrar( );
+                }
+            }
+            publicador.detener( );
+            persistencia.cerrar( );
+            for( File archivo : directorio.listFiles( ) )
+            {
+                archivo.delete( );
+            }
+            directorio.delete( );
+        }
+    }
+}
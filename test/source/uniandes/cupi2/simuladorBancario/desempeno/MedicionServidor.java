@@ -0,0 +1,168 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.servidor.ServidorSimulador;
+
+/**
+ * Cliente de carga de ServidorSimulador: con un nmero creciente de hilos que comparten un cliente HTTP, enva
+ * consignaciones y consultas de saldo total a clientes distintos durante un tiempo fijo, y muestra las solicitudes por
+ * segundo y los percentiles 50, 99 y 99,9 de la latencia.
+ */
+public class MedicionServidor
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Tiempo que corre cada medicin, en milisegundos.
+     */
+    private static final long DURACION = 3000;
+
+    /**
+     * Tiempo de calentamiento antes de la primera medicin, en milisegundos.
+     */
+    private static final long CALENTAMIENTO = 2000;
+
+    /**
+     * Nmero de clientes del banco.
+     */
+    private static final int CLIENTES = 100000;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmeros de hilos del cliente de carga (opcional, por defecto 1, 4, 16, 64 y 256).
+     * @throws Exception Si no se puede abrir el servidor o se interrumpe la espera de los hilos.
+     */
+    public static void main( String[] pArgs ) throws Exception
+    {
+        int[] hilos = { 1, 4, 16, 64, 256 };
+        if( pArgs.length > 0 )
+        {
+            hilos = Arrays.stream( pArgs ).mapToInt( Integer::parseInt ).toArray( );
+        }
+        ServidorSimulador.configurarServidorHttp( );
+        Banco banco = new Banco( CLIENTES );
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            banco.agregarCliente( "" + ( 10000000 + i ), "Cliente " + i );
+        }
+        ServidorSimulador servidor = new ServidorSimulador( banco, ServidorSimulador.PUERTO_LIBRE );
+        servidor.iniciar( );
+        try
+        {
+            String base = "http://127.0.0.1:" + servidor.darPuerto( );
+            medir( base, 16, CALENTAMIENTO );
+            System.out.println( "hilos | solicitudes/s | p50 (us) | p99 (us) | p99,9 (us)" );
+            for( int h : hilos )
+            {
+                long[] latencias = medir( base, h, DURACION );
+                System.out.printf( "%5d | %13.0f | %8d | %8d | %10d%n", h, latencias.length / ( DURACION / 1000.0 ), percentil( latencias, 0.5 ) / 1000, percentil( latencias, 0.99 ) / 1000, percentil( latencias, 0.999 ) / 1000 );
+            }
+        }
+        finally
+        {
+            servidor.detener( );
+        }
+    }
+
+    /**
+     * Enva solicitudes desde el nmero de hilos dado durante el tiempo dado.
+     * @param pBase URL base del servidor.
+     * @param pHilos Nmero de hilos.
+     * @param pDuracion Tiempo en milisegundos.
+     * @return Latencias de todas las solicitudes en nanosegundos, ordenadas.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    private static long[] medir( String pBase, int pHilos, long pDuracion ) throws InterruptedException
+    {
+        long fin = System.nanoTime( ) + pDuracion * 1000000;
+        long[][] latencias = new long[pHilos][];
+        HttpClient cliente = HttpClient.newBuilder( ).version( HttpClient.Version.HTTP_1_1 ).connectTimeout( Duration.ofSeconds( 10 ) ).build( );
+        Thread[] trabajadores = new Thread[pHilos];
+        for( int i = 0; i < pHilos; i++ )
+        {
+            final int hilo = i;
+            trabajadores[ i ] = new Thread( ( ) -> {
+                long[] propias = new long[1 << 16];
+                int n = 0;
+                int posicion = hilo;
+                try
+                {
+                    while( System.nanoTime( ) < fin )
+                    {
+                        String cedula = "" + ( 10000000 + posicion );
+                        HttpRequest solicitud;
+                        if( ( n & 3 ) == 3 )
+                        {
+                            solicitud = HttpRequest.newBuilder( URI.create( pBase + "/saldoTotal?cedula=" + cedula ) ).GET( ).build( );
+                        }
+                        else
+                        {
+                            solicitud = HttpRequest.newBuilder( URI.create( pBase + "/consignar?cedula=" + cedula + "&producto=corriente&valor=1.50" ) ).POST( HttpRequest.BodyPublishers.noBody( ) ).build( );
+                        }
+                        long inicio = System.nanoTime( );
+                        HttpResponse<String> respuesta = cliente.send( solicitud, HttpResponse.BodyHandlers.ofString( ) );
+                        long latencia = System.nanoTime( ) - inicio;
+                        if( respuesta.statusCode( ) != ServidorSimulador.OK )
+                        {
+                            throw new IllegalStateException( respuesta.body( ) );
+                        }
+                        if( n == propias.length )
+                        {
+                            propias = Arrays.copyOf( propias, n * 2 );
+                        }
+                        propias[ n++ ] = latencia;
+                        posicion = ( posicion + 7919 ) % CLIENTES;
+                    }
+                }
+                catch( Exception e )
+                {
+                    throw new IllegalStateException( e );
+                }
+                latencias[ hilo ] = Arrays.copyOf( propias, n );
+            } );
+            trabajadores[ i ].start( );
+        }
+        for( Thread t : trabajadores )
+        {
+            t.join( );
+        }
+        long[] todas = Arrays.stream( latencias ).flatMapToLong( Arrays::stream ).toArray( );
+        Arrays.sort( todas );
+        return todas;
+    }
+
+    /**
+     * Retorna el percentil dado de unas latencias ordenadas.
+     * @param pLatencias Latencias ordenadas. pLatencias.length > 0.
+     * @param pFraccion Fraccin de las solicitudes. 0 < pFraccion <= 1.
+     * @return Menor latencia tal que al menos esa fraccin de las solicitudes tard lo mismo o menos.
+     */
+    private static long percentil( long[] pLatencias, double pFraccion )
+    {
+        int posicion = ( int )Math.ceil( pFraccion * pLatencias.length ) - 1;
+        return pLatencias[ Math.max( 0, posicion ) ];
+    }
+}
@@ -0,0 +1,102 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+
+/**
+ * Mide las transferencias por segundo entre clientes al azar con distintos nmeros de hilos, y verifica al final que el
+ * dinero total del banco no cambi.
+ */
+public class MedicionTransferencias
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Tiempo que corre cada medicin, en milisegundos.
+     */
+    private static final long DURACION = 500;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de clientes (opcional, por defecto 100.000).
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    public static void main( String[] pArgs ) throws InterruptedException
+    {
+        int numeroClientes = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 100000;
+        int[] hilos = { 1, 2, 4, 8, 16, 32 };
+        for( int clientes : new int[]{ numeroClientes, 16 } )
+        {
+            System.out.printf( "Clientes: %d%n", clientes );
+            for( int h : hilos )
+            {
+                Banco banco = new Banco( clientes );
+                for( int i = 0; i < clientes; i++ )
+                {
+                    banco.consignarCuentaCorrienteCentavos( banco.agregarCliente( "" + i, "" ), 1000000 );
+                }
+                long totalInicial = banco.calcularSaldoTotalCentavos( );
+                double porSegundo = medir( banco, h );
+                boolean conservado = totalInicial == banco.calcularSaldoTotalCentavos( );
+                System.out.printf( "  %2d hilos: %.2f millones de transferencias/s (dinero conservado: %s)%n", h, porSegundo / 1e6, conservado );
+            }
+        }
+    }
+
+    /**
+     * Mide las transferencias por segundo con el nmero de hilos dado.
+     * @param pBanco Banco sobre el que se hacen las transferencias.
+     * @param pHilos Nmero de hilos.
+     * @return Transferencias por segundo.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    private static double medir( Banco pBanco, int pHilos ) throws InterruptedException
+    {
+        int clientes = pBanco.darNumeroClientes( );
+        AtomicLong transferencias = new AtomicLong( );
+        long fin = System.nanoTime( ) + DURACION * 1000000;
+        Thread[] trabajadores = new Thread[pHilos];
+        for( int i = 0; i < pHilos; i++ )
+        {
+            SplittableRandom azar = new SplittableRandom( i );
+            trabajadores[ i ] = new Thread( ( ) -> {
+                long hechas = 0;
+                while( System.nanoTime( ) < fin )
+                {
+                    for( int j = 0; j < 1024; j++ )
+                    {
+                        int productoOrigen = azar.nextBoolean( ) ? Banco.PRODUCTO_CORRIENTE : Banco.PRODUCTO_AHORROS;
+                        int productoDestino = azar.nextBoolean( ) ? Banco.PRODUCTO_CORRIENTE : Banco.PRODUCTO_AHORROS;
+                        pBanco.transferirCentavos( azar.nextInt( clientes ), productoOrigen, azar.nextInt( clientes ), productoDestino, 1 + azar.nextInt( 10000 ) );
+                    }
+                    hechas += 1024;
+                }
+                transferencias.addAndGet( hechas );
+            } );
+            trabajadores[ i ].start( );
+        }
+        for( Thread t : trabajadores )
+        {
+            t.join( );
+        }
+        return transferencias.get( ) / ( DURACION / 1000.0 );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.desempeno;
+
+import java.util.SplittableRandom;
+
+import uniandes.cupi2.simuladorBancario.mundo.Dinero;
+import uniandes.cupi2.simuladorBancario.mundo.PortafolioCDT;
+
+/**
+ * Mide el costo de avanzar los meses de un portafolio grande de CDT con plazos distintos, comparado con revisar todos los
+ * CDT cada mes para encontrar los que vencen.
+ */
+public class MedicionVencimientos
+{
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta la medicin.
+     * @param pArgs Nmero de CDT y plazo mximo en meses (opcionales, por defecto 1.000.000 y 360).
+     */
+    public static void main( String[] pArgs )
+    {
+        int numero = pArgs.length > 0 ? Integer.parseInt( pArgs[ 0 ] ) : 1000000;
+        int plazoMaximo = pArgs.length > 1 ? Integer.parseInt( pArgs[ 1 ] ) : 360;
+        for( int repeticion = 0; repeticion < 3; repeticion++ )
+        {
+            SplittableRandom azar = new SplittableRandom( 42 );
+            PortafolioCDT portafolio = new PortafolioCDT( 0 );
+            int[] vencimientos = new int[numero];
+            long[] valores = new long[numero];
+            for( int i = 0; i < numero; i++ )
+            {
+                int plazo = 1 + azar.nextInt( plazoMaximo );
+                portafolio.abrir( 100000, 0.01, plazo );
+                vencimientos[ i ] = plazo;
+                valores[ i ] = 100000;
+            }
+
+            long inicio = System.nanoTime( );
+            long pagado = 0;
+            for( int mes = 1; mes <= plazoMaximo; mes++ )
+            {
+                pagado += portafolio.avanzarHasta( mes );
+            }
+            long rueda = System.nanoTime( ) - inicio;
+
+            inicio = System.nanoTime( );
+            long pagadoRecorrido = 0;
+            for( int mes = 1; mes <= plazoMaximo; mes++ )
+            {
+                for( int i = 0; i < numero; i++ )
+                {
+                    if( vencimientos[ i ] == mes )
+                    {
+                        pagadoRecorrido += valores[ i ] + Dinero.calcularInteres( valores[ i ], mes * 0.01 );
+                        valores[ i ] = 0;
+                    }
+                }
+            }
+            long recorrido = System.nanoTime( ) - inicio;
+
+            System.out.printf( "Rueda: %d ms (%d centavos pagados); revisar todos cada mes: %d ms (%d centavos pagados)%n", rueda / 1000000, pagado, recorrido / 1000000, pagadoRecorrido );
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.AgregadoCDT;
+import uniandes.cupi2.simuladorBancario.mundo.Dinero;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase AgregadoCDT estn correctamente implementados.
+ */
+public class AgregadoCDTTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Agregado usado para las pruebas.
+     */
+    private AgregadoCDT agregado;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un agregado con dos CDT.
+     */
+    private void setupEscenario1( )
+    {
+        agregado = new AgregadoCDT( );
+        agregado.agregar( 100000, 0.01, 1 );
+        agregado.agregar( 200000, 0.02, 4 );
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar el valor presente de un agregado.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * agregar<br>
+     * quitar<br>
+     * calcularValorPresenteCentavos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. El valor presente en cualquier mes es la suma de los valores de los CDT.<br>
+     * 2. Al quitar los CDT el agregado vuelve a valer 0 en todos los meses.
+     */
+    @Test
+    public void testValorPresente( )
+    {
+        setupEscenario1( );
+        assertEquals( "El nmero de CDT no es el esperado", 2, agregado.darNumeroCDT( ) );
+        assertEquals( "El valor presente no es el esperado", 300000 + 1000 * 3, agregado.calcularValorPresenteCentavos( 4 ) );
+        assertEquals( "El valor presente no es el esperado", 300000 + 1000 * 9 + 4000 * 6, agregado.calcularValorPresenteCentavos( 10 ) );
+        agregado.quitar( 100000, 0.01, 1 );
+        assertEquals( "El valor presente no es el esperado", 200000 + 4000 * 6, agregado.calcularValorPresenteCentavos( 10 ) );
+        agregado.quitar( 200000, 0.02, 4 );
+        assertEquals( "El nmero de CDT no es el esperado", 0, agregado.darNumeroCDT( ) );
+        assertEquals( "El valor presente no es el esperado", 0, agregado.calcularValorPresenteCentavos( 1000 ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar un agregado con muchos CDT aleatorios.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * agregar<br>
+     * quitar<br>
+     * calcularValorPresenteCentavos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. El valor presente difiere en menos de medio centavo por CDT de la suma de los valores redondeados de cada uno.<br>
+     * 2. Sumar dos agregados da lo mismo que agregar todos los CDT en uno.<br>
+     * 3. Quitar muchos CDT no acumula errores.
+     */
+    @Test
+    public void testAleatorio( )
+    {
+        agregado = new AgregadoCDT( );
+        AgregadoCDT otro = new AgregadoCDT( );
+        AgregadoCDT todos = new AgregadoCDT( );
+        SplittableRandom azar = new SplittableRandom( 3 );
+        int n = 10000;
+        long[] valores = new long[n];
+        double[] intereses = new double[n];
+        int[] aperturas = new int[n];
+        for( int i = 0; i < n; i++ )
+        {
+            valores[ i ] = 1 + azar.nextInt( 100000000 );
+            intereses[ i ] = azar.nextDouble( 0.001, 0.03 );
+            aperturas[ i ] = 1 + azar.nextInt( 120 );
+            ( i % 2 == 0 ? agregado : otro ).agregar( valores[ i ], intereses[ i ], aperturas[ i ] );
+            todos.agregar( valores[ i ], intereses[ i ], aperturas[ i ] );
+        }
+        long suma = 0;
+        for( int i = 0; i < n; i++ )
+        {
+            suma += valores[ i ] + Dinero.calcularInteres( valores[ i ], ( 240 - aperturas[ i ] ) * intereses[ i ] );
+        }
+        agregado.agregar( otro );
+        assertEquals( "El valor presente no es el esperado", todos.calcularValorPresenteCentavos( 240 ), agregado.calcularValorPresenteCentavos( 240 ) );
+        assertTrue( "El valor presente est muy lejos de la suma", Math.abs( suma - agregado.calcularValorPresenteCentavos( 240 ) ) <= n / 2 );
+        for( int i = 1; i < n; i++ )
+        {
+            agregado.quitar( valores[ i ], intereses[ i ], aperturas[ i ] );
+        }
+        assertEquals( "El valor presente no es el esperado", valores[ 0 ] + Dinero.calcularInteres( valores[ 0 ], ( 240 - aperturas[ 0 ] ) * intereses[ 0 ] ), agregado.calcularValorPresenteCentavos( 240 ) );
+    }
+}
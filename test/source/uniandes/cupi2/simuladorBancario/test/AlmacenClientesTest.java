@@ -0,0 +1,193 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.AlmacenClientes;
+import uniandes.cupi2.simuladorBancario.mundo.LoteOperaciones;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase AlmacenClientes estn correctamente implementados.
+ */
+public class AlmacenClientesTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Almacn usado para las pruebas.
+     */
+    private AlmacenClientes almacen;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un almacn con dos clientes.
+     */
+    private void setupEscenario1( )
+    {
+        almacen = new AlmacenClientes( 2 );
+        almacen.agregarCliente( "50.152.468", "Sergio Lpez" );
+        almacen.agregarCliente( "1", "Uno" );
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar los datos de un cliente nuevo del almacn.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * agregarCliente<br>
+     * darSimulador<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Un cliente nuevo empieza en el mes 1, con las cuentas vacas y el inters de ahorros del banco.<br>
+     * 2. No se pueden agregar clientes a un almacn lleno.
+     */
+    @Test
+    public void testAgregarCliente( )
+    {
+        setupEscenario1( );
+        assertEquals( "El nmero de clientes no es correcto", 2, almacen.darNumeroClientes( ) );
+        SimuladorBancario simulador = almacen.darSimulador( 0 );
+        SimuladorBancario esperado = new SimuladorBancario( "50.152.468", "Sergio Lpez" );
+        assertEquals( "La cdula no es correcta", esperado.darCedula( ), simulador.darCedula( ) );
+        assertEquals( "El nombre no es correcto", esperado.darNombre( ), simulador.darNombre( ) );
+        assertEquals( "El mes no es correcto", esperado.darMesActual( ), simulador.darMesActual( ) );
+        assertEquals( "El inters no es correcto", esperado.darCuentaAhorros( ).darInteresMensual( ), simulador.darCuentaAhorros( ).darInteresMensual( ), 0 );
+        assertEquals( "El saldo total no es correcto", 0, simulador.calcularSaldoTotalCentavos( ) );
+        try
+        {
+            almacen.agregarCliente( "2", "Dos" );
+            fail( "El almacn est lleno" );
+        }
+        catch( IllegalStateException e )
+        {
+            // Debe fallar
+        }
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar que las operaciones sobre el almacn dan los mismos resultados que en
+     * un simulador con los datos en el heap.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * darSimulador<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Despus de cada operacin aleatoria, hecha con un simulador nuevo sobre el almacn, los saldos, el mes y el CDT
+     * son iguales a los del simulador del heap.<br>
+     * 2. Las operaciones sobre un cliente no cambian los datos del otro.
+     */
+    @Test
+    public void testOperacionesIgualesAlHeap( )
+    {
+        setupEscenario1( );
+        SimuladorBancario esperado = new SimuladorBancario( "50.152.468", "Sergio Lpez" );
+        SplittableRandom azar = new SplittableRandom( 3 );
+        for( int i = 0; i < 2000; i++ )
+        {
+            SimuladorBancario simulador = almacen.darSimulador( 0 );
+            double monto = azar.nextInt( 1, 1000000 ) / 100.0;
+            switch( azar.nextInt( 10 ) )
+            {
+                case 0:
+                    esperado.consignarCuentaCorriente( monto );
+                    simulador.consignarCuentaCorriente( monto );
+                    break;
+                case 1:
+                    esperado.consignarCuentaAhorros( monto );
+                    simulador.consignarCuentaAhorros( monto );
+                    break;
+                case 2:
+                    assertEquals( "El retiro no es correcto", esperado.retirarCuentaCorriente( monto ), simulador.retirarCuentaCorriente( monto ) );
+                    break;
+                case 3:
+                    assertEquals( "La transferencia no es correcta", esperado.transferirAhorrosACorriente( monto ), simulador.transferirAhorrosACorriente( monto ) );
+                    break;
+                case 4:
+                    esperado.invertirCDT( monto, 0.01 );
+                    simulador.invertirCDT( monto, 0.01 );
+                    break;
+                case 5:
+                    esperado.cerrarCDT( );
+                    simulador.cerrarCDT( );
+                    break;
+                case 6:
+                    esperado.avanzarMesSimulacion( );
+                    simulador.avanzarMesSimulacion( );
+                    break;
+                case 7:
+                    int meses = azar.nextInt( 4 );
+                    esperado.avanzarMeses( meses );
+                    simulador.avanzarMeses( meses );
+                    break;
+                case 8:
+                    int plazo = azar.nextInt( 1, 12 );
+                    assertEquals( "El identificador del CDT no es correcto", esperado.abrirCDT( monto, 0.02, plazo ), simulador.abrirCDT( monto, 0.02, plazo ) );
+                    break;
+                default:
+                    LoteOperaciones lote = new LoteOperaciones( 3 );
+                    lote.agregar( Operacion.RETIRAR_AHORROS, Math.round( monto * 100 ) );
+                    lote.agregar( Operacion.AVANZAR_MES, 0 );
+                    lote.agregar( Operacion.CONSIGNAR_CORRIENTE, 500 );
+                    assertEquals( "El lote no es correcto", esperado.aplicarLote( lote ), simulador.aplicarLote( lote ) );
+            }
+            SimuladorBancario nuevo = almacen.darSimulador( 0 );
+            assertEquals( "El saldo corriente no es correcto", esperado.darCuentaCorriente( ).darSaldoCentavos( ), nuevo.darCuentaCorriente( ).darSaldoCentavos( ) );
+            assertEquals( "El saldo de ahorros no es correcto", esperado.darCuentaAhorros( ).darSaldoCentavos( ), nuevo.darCuentaAhorros( ).darSaldoCentavos( ) );
+            assertEquals( "El valor del CDT no es correcto", esperado.darValorPresenteCDTCentavos( ), nuevo.darValorPresenteCDTCentavos( ) );
+            assertEquals( "El mes no es correcto", esperado.darMesActual( ), nuevo.darMesActual( ) );
+            assertEquals( "El saldo total no es correcto", esperado.calcularSaldoTotalCentavos( ), nuevo.calcularSaldoTotalCentavos( ) );
+        }
+        SimuladorBancario otro = almacen.darSimulador( 1 );
+        assertEquals( "El otro cliente no debe cambiar", 0, otro.calcularSaldoTotalCentavos( ) );
+        assertEquals( "El otro cliente no debe cambiar", 1, otro.darMesActual( ) );
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar las operaciones de varios hilos sobre el mismo cliente.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * darSimulador<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Las consignaciones y los retiros hechos al mismo tiempo desde simuladores distintos no se pierden.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    @Test
+    public void testVariosHilos( ) throws InterruptedException
+    {
+        setupEscenario1( );
+        almacen.darSimulador( 1 ).consignarCuentaCorriente( 1000 );
+        Thread[] hilos = new Thread[4];
+        for( int h = 0; h < hilos.length; h++ )
+        {
+            hilos[ h ] = new Thread( ( ) -> {
+                for( int i = 0; i < 10000; i++ )
+                {
+                    SimuladorBancario simulador = almacen.darSimulador( 1 );
+                    simulador.consignarCuentaCorriente( 0.03 );
+                    simulador.retirarCuentaCorriente( 0.01 );
+                }
+            } );
+            hilos[ h ].start( );
+        }
+        for( Thread hilo : hilos )
+        {
+            hilo.join( );
+        }
+        assertEquals( "El saldo no es correcto", 100000 + 4 * 10000 * 2, almacen.darSimulador( 1 ).darCuentaCorriente( ).darSaldoCentavos( ) );
+    }
+}
@@ -0,0 +1,215 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.AlmacenClientes;
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+import uniandes.cupi2.simuladorBancario.persistencia.ArchivoClientes;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase ArchivoClientes estn correctamente implementados.
+ */
+public class ArchivoClientesTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Clientes usados para las pruebas.
+     */
+    private SimuladorBancario[] clientes;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea tres clientes con cuentas, CDT y meses distintos, y nombres con caracteres fuera de ASCII. El
+     * tercero est en un almacn fuera del heap.
+     */
+    private void setupEscenario1( )
+    {
+        AlmacenClientes almacen = new AlmacenClientes( 1 );
+        almacen.agregarCliente( "CE-77", "Sin pareja \uD83D fin" );
+        clientes = new SimuladorBancario[]{ new SimuladorBancario( "50.152.468", "Sergio Lpez" ), new SimuladorBancario( "1", "Ana \uD83D\uDE00 \u00D1and\u00FA" ), almacen.darSimulador( 0 ) };
+        clientes[ 0 ].consignarCuentaCorriente( 600000 );
+        clientes[ 0 ].consignarCuentaAhorros( 500000 );
+        clientes[ 0 ].invertirCDT( 1000000, 0.02 );
+        clientes[ 0 ].avanzarMeses( 3 );
+        clientes[ 1 ].consignarCuentaAhorros( 12.34 );
+        clientes[ 1 ].darCuentaAhorros( ).cambiarInteresMensual( 0.01 );
+        clientes[ 2 ].avanzarMesSimulacion( );
+        clientes[ 2 ].invertirCDT( 5000, 0.015 );
+        clientes[ 2 ].avanzarMeses( 2 );
+    }
+
+    /**
+     * Verifica que un archivo de clientes tenga los datos de los clientes del escenario.
+     * @param pArchivo Archivo de clientes.
+     */
+    private void verificar( ArchivoClientes pArchivo )
+    {
+        assertEquals( "El nmero de clientes no es correcto", clientes.length, pArchivo.darNumeroClientes( ) );
+        for( int i = 0; i < clientes.length; i++ )
+        {
+            SimuladorBancario cliente = clientes[ i ];
+            String nombre = new String( cliente.darNombre( ).getBytes( StandardCharsets.UTF_8 ), StandardCharsets.UTF_8 );
+            assertEquals( "La cdula no es correcta", cliente.darCedula( ), pArchivo.darCedula( i ) );
+            assertEquals( "El nombre no es correcto", nombre, pArchivo.darNombre( i ) );
+            assertEquals( "El mes no es correcto", cliente.darMesActual( ), pArchivo.darMesActual( i ) );
+            assertEquals( "El saldo corriente no es correcto", cliente.darCuentaCorriente( ).darSaldoCentavos( ), pArchivo.darSaldoCorrienteCentavos( i ) );
+            assertEquals( "El saldo de ahorros no es correcto", cliente.darCuentaAhorros( ).darSaldoCentavos( ), pArchivo.darSaldoAhorrosCentavos( i ) );
+            assertEquals( "El inters de ahorros no es correcto", cliente.darCuentaAhorros( ).darInteresMensual( ), pArchivo.darInteresAhorros( i ), 0 );
+            assertEquals( "El valor del CDT no es correcto", cliente.darCDT( ).darValorInvertidoCentavos( ), pArchivo.darValorCDTCentavos( i ) );
+            assertEquals( "El inters del CDT no es correcto", cliente.darCDT( ).darInteresMensual( ), pArchivo.darInteresCDT( i ), 0 );
+            assertEquals( "El mes de apertura no es correcto", cliente.darCDT( ).darMesApertura( ), pArchivo.darMesAperturaCDT( i ) );
+            assertEquals( "El valor presente no es correcto", cliente.darValorPresenteCDTCentavos( ), pArchivo.darValorPresenteCDTCentavos( i ) );
+            assertEquals( "El saldo total no es correcto", cliente.calcularSaldoTotalCentavos( ), pArchivo.calcularSaldoTotalCentavos( i ) );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar que los clientes escritos se leen igual.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * calcularTamano<br>
+     * escribir<br>
+     * abrir<br>
+     * ArchivoClientes<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Los clientes escritos en un buffer, despus de otros datos, se leen con los mismos datos.<br>
+     * 2. Los clientes escritos en un archivo se leen con los mismos datos.<br>
+     * 3. Escribir de nuevo el archivo lo reemplaza completo y no deja el archivo temporal.
+     * @throws IOException Si no se puede escribir o leer el archivo.
+     */
+    @Test
+    public void testEscribirLeer( ) throws IOException
+    {
+        setupEscenario1( );
+        long tamano = ArchivoClientes.calcularTamano( clientes );
+        assertEquals( "El tamao no es correcto", ArchivoClientes.TAMANO_ENCABEZADO + 3 * ArchivoClientes.TAMANO_REGISTRO + 10 + 13 + 1 + 16 + 5 + 16, tamano );
+        ByteBuffer buffer = ByteBuffer.allocate( ( int )tamano + 7 );
+        buffer.position( 7 );
+        ArchivoClientes.escribir( clientes, buffer );
+        assertEquals( "La posicin del buffer no es correcta", tamano + 7, buffer.position( ) );
+        buffer.position( 7 );
+        ArchivoClientes archivo = new ArchivoClientes( buffer );
+        assertEquals( "El tamao no es correcto", tamano, archivo.darTamano( ) );
+        verificar( archivo );
+
+        File temporal = File.createTempFile( "clientes", ".bin" );
+        try
+        {
+            ArchivoClientes.escribir( clientes, temporal );
+            assertEquals( "El tamao del archivo no es correcto", tamano, temporal.length( ) );
+            verificar( ArchivoClientes.abrir( temporal ) );
+            ArchivoClientes.escribir( new SimuladorBancario[]{ clientes[ 1 ] }, temporal );
+            ArchivoClientes reemplazado = ArchivoClientes.abrir( temporal );
+            assertEquals( "El nmero de clientes no es correcto", 1, reemplazado.darNumeroClientes( ) );
+            assertEquals( "La cdula no es correcta", clientes[ 1 ].darCedula( ), reemplazado.darCedula( 0 ) );
+            assertFalse( "No debe quedar el archivo temporal", new File( temporal.getPath( ) + ".nuevo" ).exists( ) );
+        }
+        finally
+        {
+            temporal.delete( );
+        }
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar los errores del formato.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * escribir<br>
+     * ArchivoClientes<br>
+     * darCedula<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. No se escribe en un buffer sin espacio suficiente.<br>
+     * 2. No se leen datos sin el nmero mgico, de otra versin o incompletos.<br>
+     * 3. No se leen datos con los textos de un cliente antes o despus de la zona de textos.<br>
+     * 4. No se consultan clientes fuera del archivo.
+     * @throws IOException Si no se pueden leer los datos.
+     */
+    @Test
+    public void testErrores( ) throws IOException
+    {
+        setupEscenario1( );
+        int tamano = ( int )ArchivoClientes.calcularTamano( clientes );
+        try
+        {
+            ArchivoClientes.escribir( clientes, ByteBuffer.allocate( tamano - 1 ) );
+            fail( "El buffer no alcanza" );
+        }
+        catch( IllegalArgumentException e )
+        {
+            // Debe fallar
+        }
+        ByteBuffer buffer = ByteBuffer.allocate( tamano );
+        ArchivoClientes.escribir( clientes, buffer );
+        verificarInvalido( buffer, 0, 0 );
+        verificarInvalido( buffer, 4, 2 );
+        verificarInvalido( buffer, 8, 4 );
+        int registro = ArchivoClientes.TAMANO_ENCABEZADO + ArchivoClientes.TAMANO_REGISTRO;
+        verificarInvalido( buffer, registro + ArchivoClientes.TEXTOS, 0 );
+        verificarInvalido( buffer, registro + ArchivoClientes.TEXTOS, tamano - 2 );
+        verificarInvalido( buffer, registro + ArchivoClientes.LONGITUD_CEDULA, -1 );
+        buffer.clear( );
+        try
+        {
+            new ArchivoClientes( buffer.limit( tamano - 1 ) );
+            fail( "Los datos estn incompletos" );
+        }
+        catch( IOException e )
+        {
+            // Debe fallar
+        }
+        try
+        {
+            new ArchivoClientes( buffer.clear( ) ).darCedula( 3 );
+            fail( "El cliente no est en el archivo" );
+        }
+        catch( IndexOutOfBoundsException e )
+        {
+            // Debe fallar
+        }
+    }
+
+    /**
+     * Verifica que los datos no se puedan leer con un valor cambiado en el encabezado o en un registro, y restaura el valor.
+     * @param pBuffer Buffer con el formato completo.
+     * @param pPosicion Posicin del valor en los datos.
+     * @param pValor Valor invlido.
+     */
+    private void verificarInvalido( ByteBuffer pBuffer, int pPosicion, int pValor )
+    {
+        int anterior = pBuffer.getInt( pPosicion );
+        pBuffer.putInt( pPosicion, pValor );
+        try
+        {
+            new ArchivoClientes( pBuffer.clear( ) );
+            fail( "Los datos no son vlidos" );
+        }
+        catch( IOException e )
+        {
+            // Debe fallar
+        }
+        pBuffer.putInt( pPosicion, anterior );
+    }
+}
@@ -0,0 +1,193 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.BancoParticionado;
+import uniandes.cupi2.simuladorBancario.mundo.LoteOperaciones;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase BancoParticionado estn correctamente implementados.
+ */
+public class BancoParticionadoTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco usado para las pruebas.
+     */
+    private BancoParticionado banco;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un banco de 4 particiones con 200 clientes de cdulas numricas y uno de cdula no numrica.
+     */
+    private void setupEscenario1( )
+    {
+        banco = new BancoParticionado( 4 );
+        for( int i = 0; i < 200; i++ )
+        {
+            banco.agregarCliente( "" + ( 1000 + i ), "Cliente " + i );
+        }
+        banco.agregarCliente( "AB-12", "Cliente extranjero" ).join( );
+    }
+
+    /**
+     * Detiene el banco al terminar cada prueba.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    @After
+    public void detenerBanco( ) throws InterruptedException
+    {
+        if( banco != null )
+        {
+            banco.detener( );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar el registro de clientes y sus operaciones.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * agregarCliente<br>
+     * darParticion<br>
+     * aplicar<br>
+     * aplicarLote<br>
+     * calcularSaldoTotalCentavos<br>
+     * contarClientes<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Los clientes se reparten en todas las particiones y una cdula con puntos va a la misma particin que sin ellos.<br>
+     * 2. Una cdula repetida no se registra otra vez.<br>
+     * 3. Las operaciones sueltas y los lotes dan el mismo resultado que en un SimuladorBancario.<br>
+     * 4. Una cdula que no existe termina con IllegalArgumentException.
+     */
+    @Test
+    public void testOperaciones( )
+    {
+        setupEscenario1( );
+        int[] porParticion = new int[banco.darNumeroParticiones( )];
+        for( int i = 0; i < 200; i++ )
+        {
+            porParticion[ banco.darParticion( "" + ( 1000 + i ) ) ]++;
+        }
+        for( int cantidad : porParticion )
+        {
+            assertTrue( "Los clientes no se repartieron.", cantidad > 0 );
+        }
+        assertEquals( "La particin no es correcta.", banco.darParticion( "50152468" ), banco.darParticion( "50.152.468" ) );
+        assertFalse( "El cliente ya exista.", banco.agregarCliente( "1.005", "Otro" ).join( ) );
+        assertFalse( "El cliente ya exista.", banco.agregarCliente( "AB-12", "Otro" ).join( ) );
+        assertEquals( "El nmero de clientes no es correcto.", 201, ( long )banco.contarClientes( ).join( ) );
+
+        SimuladorBancario esperado = new SimuladorBancario( "1005", "Cliente 5" );
+        assertEquals( "El estado no es correcto.", LoteOperaciones.ESTADO_APLICADA, ( byte )banco.aplicar( "1.005", Operacion.CONSIGNAR_AHORROS, 0, 100000, 0 ).join( ) );
+        assertEquals( "El estado no es correcto.", LoteOperaciones.ESTADO_SALDO_INSUFICIENTE, ( byte )banco.aplicar( "1005", Operacion.RETIRAR_CORRIENTE, 0, 1, 0 ).join( ) );
+        assertEquals( "El estado no es correcto.", LoteOperaciones.ESTADO_INVALIDA, ( byte )banco.aplicar( "1005", Operacion.CONSIGNAR_CORRIENTE, 0, -1, 0 ).join( ) );
+        esperado.consignarCuentaAhorros( 1000 );
+        LoteOperaciones lote = new LoteOperaciones( 3 );
+        lote.agregar( Operacion.INVERTIR_CDT, 0, 50000, 0.02 );
+        lote.agregar( Operacion.AVANZAR_MESES, 3, 0, 0 );
+        lote.agregar( Operacion.CERRAR_CDT, 0 );
+        assertEquals( "El nmero de operaciones aplicadas no es correcto.", 3, ( int )banco.aplicarLote( "1005", lote ).join( ) );
+        esperado.invertirCDT( 500, 0.02 );
+        esperado.avanzarMeses( 3 );
+        esperado.cerrarCDT( );
+        assertEquals( "El mes no es correcto.", 4, ( int )banco.darMesActual( "1005" ).join( ) );
+        assertEquals( "El saldo no es correcto.", esperado.calcularSaldoTotalCentavos( ), ( long )banco.calcularSaldoTotalCentavos( "1005" ).join( ) );
+        assertEquals( "El saldo no es correcto.", esperado.calcularSaldoTotalCentavos( ), ( long )banco.calcularSaldoTotalCentavos( ).join( ) );
+
+        banco.aplicar( "AB-12", Operacion.CONSIGNAR_CORRIENTE, 0, 7, 0 ).join( );
+        assertEquals( "El saldo no es correcto.", 7, ( long )banco.calcularSaldoTotalCentavos( "AB-12" ).join( ) );
+        verificarError( banco.aplicar( "999", Operacion.CONSIGNAR_CORRIENTE, 0, 1, 0 ), IllegalArgumentException.class );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar las acciones de todo el banco con operaciones de varios hilos.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * avanzarMesSimulacion<br>
+     * calcularSaldoTotalCentavos<br>
+     * detener<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Varios hilos consignan mientras otro avanza el mes; el saldo total final es la suma de las consignaciones.<br>
+     * 2. Todos los clientes quedan en el mismo mes.<br>
+     * 3. Despus de detener el banco las operaciones terminan con IllegalStateException.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    @Test
+    public void testAccionesBanco( ) throws InterruptedException
+    {
+        setupEscenario1( );
+        Thread[] hilos = new Thread[4];
+        for( int h = 0; h < hilos.length; h++ )
+        {
+            final int hilo = h;
+            hilos[ h ] = new Thread( ( ) -> {
+                for( int k = 0; k < 2000; k++ )
+                {
+                    banco.aplicar( "" + ( 1000 + ( hilo * 50 + k ) % 200 ), Operacion.CONSIGNAR_CORRIENTE, 0, 10, 0 );
+                }
+            } );
+            hilos[ h ].start( );
+        }
+        for( int m = 0; m < 5; m++ )
+        {
+            assertEquals( "El nmero de clientes no es correcto.", 201, ( long )banco.avanzarMesSimulacion( ).join( ) );
+        }
+        for( Thread t : hilos )
+        {
+            t.join( );
+        }
+        assertEquals( "El saldo total no es correcto.", 4 * 2000 * 10, ( long )banco.calcularSaldoTotalCentavos( ).join( ) );
+        for( int i = 0; i < 200; i += 37 )
+        {
+            assertEquals( "El mes no es correcto.", 6, ( int )banco.darMesActual( "" + ( 1000 + i ) ).join( ) );
+        }
+
+        banco.detener( );
+        verificarError( banco.aplicar( "1000", Operacion.CONSIGNAR_CORRIENTE, 0, 1, 0 ), IllegalStateException.class );
+        verificarError( banco.calcularSaldoTotalCentavos( ), IllegalStateException.class );
+        banco = null;
+    }
+
+    /**
+     * Verifica que un futuro termine con un error del tipo dado.
+     * @param pFuturo Futuro.
+     * @param pTipo Tipo del error esperado.
+     */
+    private void verificarError( CompletableFuture<?> pFuturo, Class<?> pTipo )
+    {
+        try
+        {
+            pFuturo.join( );
+            fail( "La operacin debi fallar." );
+        }
+        catch( CompletionException e )
+        {
+            assertEquals( "El error no es correcto.", pTipo, e.getCause( ).getClass( ) );
+        }
+    }
+}
@@ -0,0 +1,475 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.ClienteBanco;
+import uniandes.cupi2.simuladorBancario.mundo.Dinero;
+import uniandes.cupi2.simuladorBancario.mundo.EstadoBanco;
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase Banco estn correctamente implementados.
+ */
+public class BancoTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco usado para las pruebas.
+     */
+    private Banco banco;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un banco con capacidad para 3 clientes y registra dos clientes sin saldo.
+     */
+    private void setupEscenario1( )
+    {
+        banco = new Banco( 3 );
+        banco.agregarCliente( "50.152.468", "Sergio Lpez" );
+        banco.agregarCliente( "1.020.304", "Ana Torres" );
+    }
+
+    /**
+     * Escenario 2: Crea un banco con dos clientes con valores en todas las cuentas.
+     */
+    private void setupEscenario2( )
+    {
+        setupEscenario1( );
+        ClienteBanco cliente = banco.darCliente( 0 );
+        cliente.invertirCDT( 1000000, 10 );
+        cliente.consignarCuentaAhorros( 500000 );
+        cliente.retirarCuentaAhorros( 200000 );
+        cliente.consignarCuentaCorriente( 600000 );
+        cliente.retirarCuentaCorriente( 100000 );
+        banco.consignarCuentaCorriente( 1, 50000 );
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar el mtodo agregarCliente.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * agregarCliente<br>
+     * darNumeroClientes<br>
+     * darCedula<br>
+     * darNombre<br>
+     * darMesActual<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Los clientes quedan registrados en orden y sin saldo.<br>
+     * 2. El banco no acepta ms clientes que su capacidad.
+     */
+    @Test
+    public void testAgregarCliente( )
+    {
+        setupEscenario1( );
+        assertEquals( "El nmero de clientes no es el esperado", 2, banco.darNumeroClientes( ) );
+        assertEquals( "La cdula no es la esperada", "1.020.304", banco.darCedula( 1 ) );
+        assertEquals( "El nombre no es el esperado", "Sergio Lpez", banco.darNombre( 0 ) );
+        assertEquals( "El mes no es el esperado", 1, banco.darMesActual( 1 ) );
+        assertEquals( "El saldo total no es el esperado", 0, banco.calcularSaldoTotal( 0 ), 0.01 );
+
+        assertEquals( "La posicin no es la esperada", 2, banco.agregarCliente( "3", "Luis" ) );
+        try
+        {
+            banco.agregarCliente( "4", "Marta" );
+            fail( "El banco no debera aceptar ms clientes" );
+        }
+        catch( IllegalStateException e )
+        {
+            // Es el comportamiento esperado
+        }
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar que las operaciones del banco coinciden con las de SimuladorBancario.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * darCliente<br>
+     * invertirCDT<br>
+     * consignarCuentaCorriente<br>
+     * consignarCuentaAhorros<br>
+     * retirarCuentaCorriente<br>
+     * retirarCuentaAhorros<br>
+     * avanzarMesSimulacion<br>
+     * calcularSaldoTotal<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Las mismas operaciones sobre un simulador y sobre un cliente del banco dan los mismos saldos.
+     */
+    @Test
+    public void testOperacionesComoSimulador( )
+    {
+        setupEscenario2( );
+        SimuladorBancario simulador = new SimuladorBancario( "50.152.468", "Sergio Lpez" );
+        simulador.invertirCDT( 1000000, 10 );
+        simulador.consignarCuentaAhorros( 500000 );
+        simulador.retirarCuentaAhorros( 200000 );
+        simulador.consignarCuentaCorriente( 600000 );
+        simulador.retirarCuentaCorriente( 100000 );
+
+        ClienteBanco cliente = banco.darCliente( 0 );
+        for( int i = 0; i < 3; i++ )
+        {
+            simulador.avanzarMesSimulacion( );
+            cliente.avanzarMesSimulacion( );
+        }
+        assertEquals( "El mes no es el esperado", simulador.darMesActual( ), cliente.darMesActual( ) );
+        assertEquals( "El saldo de ahorros no es el esperado", simulador.darCuentaAhorros( ).darSaldo( ), cliente.darSaldoAhorros( ), 0.01 );
+        assertEquals( "El saldo corriente no es el esperado", simulador.darCuentaCorriente( ).darSaldo( ), cliente.darSaldoCorriente( ), 0.01 );
+        assertEquals( "El saldo total no es el esperado", simulador.calcularSaldoTotal( ), cliente.calcularSaldoTotal( ), 0.01 );
+        assertEquals( "El otro cliente no debera cambiar de mes", 1, banco.darMesActual( 1 ) );
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar el mtodo cerrarCDT.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * cerrarCDT<br>
+     * calcularValorPresenteCDT<br>
+     * calcularSaldoTotal<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. El CDT tiene saldo y pasa a la cuenta corriente.
+     */
+    @Test
+    public void testCerrarCDT( )
+    {
+        setupEscenario2( );
+        banco.avanzarMesSimulacion( 0 );
+        double valorCDT = banco.calcularValorPresenteCDT( 0 );
+        assertEquals( "El valor presente del CDT no es el esperado", 11000000, valorCDT, 0.01 );
+        banco.cerrarCDT( 0 );
+        assertEquals( "El valor del CDT debera ser 0", 0, banco.calcularValorPresenteCDT( 0 ), 0.01 );
+        assertEquals( "El saldo corriente no es el esperado", 500000 + valorCDT, banco.darSaldoCorriente( 0 ), 0.01 );
+    }
+
+    /**
+     * Prueba 4: Mtodo que se encarga de verificar el saldo total del banco.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * calcularSaldoTotal<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. El saldo total del banco es la suma de los saldos de sus clientes.
+     */
+    @Test
+    public void testSaldoTotalBanco( )
+    {
+        setupEscenario2( );
+        assertEquals( "El saldo total del banco no es el esperado", 1850000, banco.calcularSaldoTotal( ), 0.01 );
+    }
+
+    /**
+     * Prueba 5: Mtodo que se encarga de verificar el avance de mes de todo el banco.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * avanzarMesSimulacion<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. El banco tiene ms clientes de los que procesa una sola tarea y todos avanzan igual que uno por uno.
+     */
+    @Test
+    public void testAvanzarMesBanco( )
+    {
+        int numeroClientes = 3 * Banco.CLIENTES_POR_TAREA + 7;
+        banco = new Banco( numeroClientes );
+        Banco esperado = new Banco( numeroClientes );
+        for( int i = 0; i < numeroClientes; i++ )
+        {
+            banco.consignarCuentaAhorros( banco.agregarCliente( "" + i, "Cliente " + i ), 1000 + i );
+            esperado.consignarCuentaAhorros( esperado.agregarCliente( "" + i, "Cliente " + i ), 1000 + i );
+        }
+        for( int mes = 0; mes < 2; mes++ )
+        {
+            banco.avanzarMesSimulacion( );
+            for( int i = 0; i < numeroClientes; i++ )
+            {
+                esperado.avanzarMesSimulacion( i );
+            }
+        }
+        for( int i = 0; i < numeroClientes; i++ )
+        {
+            assertEquals( "El mes no es el esperado", 3, banco.darMesActual( i ) );
+            assertEquals( "El saldo de ahorros no es el esperado", esperado.darSaldoAhorros( i ), banco.darSaldoAhorros( i ), 0.0001 );
+        }
+    }
+
+    /**
+     * Prueba 6: Mtodo que se encarga de verificar las transferencias del banco.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * transferir<br>
+     * transferirCorrienteAAhorros<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Se transfiere entre las cuentas de un mismo cliente.<br>
+     * 2. Se transfiere entre dos clientes.<br>
+     * 3. La cuenta de origen no tiene saldo suficiente.
+     */
+    @Test
+    public void testTransferir( )
+    {
+        setupEscenario2( );
+        assertTrue( "La transferencia debera hacerse", banco.darCliente( 0 ).transferirCorrienteAAhorros( 100000 ) );
+        assertEquals( "El saldo de ahorros no es el esperado", 400000, banco.darSaldoAhorros( 0 ), 0 );
+        assertTrue( "La transferencia debera hacerse", banco.transferir( 0, Banco.PRODUCTO_AHORROS, 1, Banco.PRODUCTO_CORRIENTE, 400000 ) );
+        assertEquals( "El saldo de ahorros no es el esperado", 0, banco.darSaldoAhorros( 0 ), 0 );
+        assertEquals( "El saldo corriente no es el esperado", 450000, banco.darSaldoCorriente( 1 ), 0 );
+        assertFalse( "La transferencia no debera hacerse", banco.transferir( 1, Banco.PRODUCTO_CORRIENTE, 0, Banco.PRODUCTO_CORRIENTE, 450000.01 ) );
+        assertEquals( "El saldo total del banco no es el esperado", 1850000, banco.calcularSaldoTotal( ), 0 );
+    }
+
+    /**
+     * Prueba 7: Mtodo que se encarga de verificar las transferencias desde varios hilos.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * transferirCentavos<br>
+     * calcularSaldoTotalCentavos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Ocho hilos hacen transferencias al azar entre pocos clientes, en ambos sentidos, sin bloquearse entre s y sin
+     * crear ni perder dinero.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    @Test( timeout = 20000 )
+    public void testTransferenciasConcurrentes( ) throws InterruptedException
+    {
+        final int numeroClientes = 16;
+        banco = new Banco( numeroClientes );
+        for( int i = 0; i < numeroClientes; i++ )
+        {
+            banco.consignarCuentaCorrienteCentavos( banco.agregarCliente( "" + i, "Cliente " + i ), 100000 );
+        }
+        long totalInicial = banco.calcularSaldoTotalCentavos( );
+        Thread[] hilos = new Thread[8];
+        for( int i = 0; i < hilos.length; i++ )
+        {
+            final SplittableRandom azar = new SplittableRandom( i );
+            hilos[ i ] = new Thread( ( ) -> {
+                for( int j = 0; j < 50000; j++ )
+                {
+                    int origen = azar.nextInt( numeroClientes );
+                    int destino = azar.nextInt( numeroClientes );
+                    int productoOrigen = azar.nextBoolean( ) ? Banco.PRODUCTO_CORRIENTE : Banco.PRODUCTO_AHORROS;
+                    int productoDestino = azar.nextBoolean( ) ? Banco.PRODUCTO_CORRIENTE : Banco.PRODUCTO_AHORROS;
+                    banco.transferirCentavos( origen, productoOrigen, destino, productoDestino, 1 + azar.nextInt( 5000 ) );
+                }
+            } );
+            hilos[ i ].start( );
+        }
+        for( Thread hilo : hilos )
+        {
+            hilo.join( );
+        }
+        assertEquals( "El saldo total del banco no es el esperado", totalInicial, banco.calcularSaldoTotalCentavos( ) );
+        for( int i = 0; i < numeroClientes; i++ )
+        {
+            assertTrue( "Ningn saldo debera ser negativo", banco.darSaldoCorrienteCentavos( i ) >= 0 && banco.darSaldoAhorrosCentavos( i ) >= 0 );
+        }
+    }
+
+    /**
+     * Prueba 8: Mtodo que se encarga de verificar que el saldo total del banco se mantiene al da con las operaciones.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * calcularSaldoTotalCentavos<br>
+     * calcularValorPresenteCDTCentavos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Despus de operaciones de todo tipo desde varios hilos, el saldo total del banco y el valor de cada CDT son los
+     * mismos que al recalcularlos desde los saldos, los valores invertidos y los meses de cada cliente.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    @Test( timeout = 20000 )
+    public void testSaldoTotalIncremental( ) throws InterruptedException
+    {
+        final int numeroClientes = 64;
+        banco = new Banco( numeroClientes );
+        for( int i = 0; i < numeroClientes; i++ )
+        {
+            banco.agregarCliente( "" + i, "Cliente " + i );
+        }
+        Thread[] hilos = new Thread[4];
+        for( int i = 0; i < hilos.length; i++ )
+        {
+            final SplittableRandom azar = new SplittableRandom( i );
+            hilos[ i ] = new Thread( ( ) -> {
+                for( int j = 0; j < 20000; j++ )
+                {
+                    int cliente = azar.nextInt( numeroClientes );
+                    long monto = 1 + azar.nextInt( 100000 );
+                    switch( azar.nextInt( 8 ) )
+                    {
+                        case 0:
+                            banco.consignarCuentaCorrienteCentavos( cliente, monto );
+                            break;
+                        case 1:
+                            banco.consignarCuentaAhorrosCentavos( cliente, monto );
+                            break;
+                        case 2:
+                            banco.retirarCuentaAhorrosCentavos( cliente, monto );
+                            break;
+                        case 3:
+                            banco.invertirCDTCentavos( cliente, monto, 0.01 );
+                            break;
+                        case 4:
+                            banco.cerrarCDT( cliente );
+                            break;
+                        case 5:
+                            banco.avanzarMesSimulacion( cliente );
+                            break;
+                        case 6:
+                            banco.avanzarMeses( cliente, 1 + azar.nextInt( 3 ) );
+                            break;
+                        default:
+                            banco.transferirCentavos( cliente, Banco.PRODUCTO_AHORROS, azar.nextInt( numeroClientes ), Banco.PRODUCTO_CORRIENTE, monto );
+                    }
+                }
+            } );
+            hilos[ i ].start( );
+        }
+        for( Thread hilo : hilos )
+        {
+            hilo.join( );
+        }
+        banco.avanzarMesSimulacion( );
+
+        EstadoBanco estado = banco.capturarEstado( );
+        long total = 0;
+        for( int i = 0; i < numeroClientes; i++ )
+        {
+            long valor = estado.darValoresCDT( )[ i ];
+            int meses = estado.darMesesActuales( )[ i ] - estado.darMesesAperturaCDT( )[ i ];
+            long valorPresente = valor + Dinero.calcularInteres( valor, meses * estado.darInteresesCDT( )[ i ] );
+            assertEquals( "El valor presente del CDT no es el esperado", valorPresente, banco.calcularValorPresenteCDTCentavos( i ) );
+            total += estado.darSaldosCorriente( )[ i ] + estado.darSaldosAhorros( )[ i ] + valorPresente;
+        }
+        assertEquals( "El saldo total del banco no es el esperado", total, banco.calcularSaldoTotalCentavos( ) );
+    }
+
+    /**
+     * Prueba 9: Mtodo que se encarga de verificar el valor de todos los CDT del banco.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * calcularValorCDTCentavos<br>
+     * calcularAgregadoCDT<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. El valor de los CDT en un mes es la suma de los valores de cada CDT en ese mes.<br>
+     * 2. Reemplazar o cerrar un CDT lo quita del agregado.
+     */
+    @Test
+    public void testValorCDT( )
+    {
+        banco = new Banco( 4000 );
+        for( int i = 0; i < 4000; i++ )
+        {
+            banco.agregarCliente( "" + i, "Cliente " + i );
+            banco.avanzarMeses( i, i % 12 );
+            banco.invertirCDTCentavos( i, 100 * ( i + 1 ), 0.01 );
+        }
+        banco.invertirCDTCentavos( 7, 1000000, 0.02 );
+        banco.cerrarCDT( 8 );
+        EstadoBanco estado = banco.capturarEstado( );
+        long esperado = 0;
+        for( int i = 0; i < 4000; i++ )
+        {
+            long valor = estado.darValoresCDT( )[ i ];
+            esperado += valor + Dinero.calcularInteres( valor, ( 24 - estado.darMesesAperturaCDT( )[ i ] ) * estado.darInteresesCDT( )[ i ] );
+        }
+        assertEquals( "El nmero de CDT no es el esperado", 3999, banco.calcularAgregadoCDT( ).darNumeroCDT( ) );
+        assertEquals( "El valor de los CDT no es el esperado", esperado, banco.calcularValorCDTCentavos( 24 ) );
+    }
+
+    /**
+     * Prueba 10: Mtodo que se encarga de verificar la bsqueda de clientes por cdula.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * buscarCliente<br>
+     * restaurarEstado<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Una cdula numrica se encuentra con o sin puntos.<br>
+     * 2. Una cdula que no es numrica tambin se encuentra.<br>
+     * 3. Una cdula con ceros a la izquierda es distinta de la misma cdula sin los ceros.<br>
+     * 4. Un banco restaurado desde una copia encuentra los mismos clientes.
+     */
+    @Test
+    public void testBuscarCliente( )
+    {
+        banco = new Banco( 1002 );
+        for( int i = 0; i < 998; i++ )
+        {
+            banco.agregarCliente( "" + ( 1000000 + i ), "Cliente " + i );
+        }
+        banco.agregarCliente( "50.152.468", "Sergio Lpez" );
+        banco.agregarCliente( "CE-77", "Extranjero" );
+        assertEquals( "La posicin no es la esperada", 998, banco.buscarCliente( "50152468" ) );
+        assertEquals( "La posicin no es la esperada", 999, banco.buscarCliente( "CE-77" ) );
+        assertEquals( "La posicin no es la esperada", 5, banco.buscarCliente( "1.000.005" ) );
+        assertEquals( "No debera encontrar el cliente", -1, banco.buscarCliente( "2000000" ) );
+        assertEquals( "No debera encontrar el cliente", -1, banco.buscarCliente( "CE-78" ) );
+        banco.agregarCliente( "7", "Siete" );
+        banco.agregarCliente( "007", "Agente" );
+        assertEquals( "La posicin no es la esperada", 1000, banco.buscarCliente( "7" ) );
+        assertEquals( "La posicin no es la esperada", 1001, banco.buscarCliente( "007" ) );
+        assertEquals( "No debera encontrar el cliente", -1, banco.buscarCliente( "07" ) );
+
+        Banco restaurado = new Banco( 1002 );
+        restaurado.restaurarEstado( banco.capturarEstado( ) );
+        for( int i = 0; i < 1002; i++ )
+        {
+            assertEquals( "La posicin no es la esperada", i, restaurado.buscarCliente( banco.darCedula( i ) ) );
+        }
+    }
+
+    /**
+     * Prueba 11: Mtodo que se encarga de verificar que las copias del banco no ven un avance de mes a medias.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * avanzarMesSimulacion<br>
+     * capturarEstado<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Mientras otro hilo avanza varias veces el mes de todo el banco, cada copia tiene a todos los clientes en el mismo
+     * mes y el saldo de ahorros de cada cliente corresponde a ese mes.
+     * @throws InterruptedException Si se interrumpe la espera del hilo.
+     */
+    @Test( timeout = 60000 )
+    public void testCapturarDuranteAvance( ) throws InterruptedException
+    {
+        final int numeroClientes = 50000;
+        banco = new Banco( numeroClientes );
+        for( int i = 0; i < numeroClientes; i++ )
+        {
+            banco.consignarCuentaAhorrosCentavos( banco.agregarCliente( "" + i, "Cliente " + i ), 1000000 );
+        }
+        long[] ahorrosPorMes = new long[21];
+        ahorrosPorMes[ 1 ] = 1000000;
+        for( int mes = 2; mes < ahorrosPorMes.length; mes++ )
+        {
+            ahorrosPorMes[ mes ] = ahorrosPorMes[ mes - 1 ] + Dinero.calcularInteres( ahorrosPorMes[ mes - 1 ], banco.darInteresAhorros( 0 ) );
+        }
+        Thread avance = new Thread( ( ) -> {
+            for( int mes = 2; mes < ahorrosPorMes.length; mes++ )
+            {
+                banco.avanzarMesSimulacion( );
+            }
+        } );
+        avance.start( );
+        while( avance.isAlive( ) )
+        {
+            EstadoBanco estado = banco.capturarEstado( );
+            int mes = estado.darMesesActuales( )[ 0 ];
+            for( int i = 0; i < numeroClientes; i++ )
+            {
+                assertEquals( "Todos los clientes deben estar en el mismo mes", mes, estado.darMesesActuales( )[ i ] );
+                assertEquals( "El saldo de ahorros no corresponde al mes", ahorrosPorMes[ mes ], estado.darSaldosAhorros( )[ i ] );
+            }
+        }
+        avance.join( );
+        assertEquals( "El mes no es el esperado", 20, banco.darMesActual( numeroClientes - 1 ) );
+    }
+}
\ No newline at end of file
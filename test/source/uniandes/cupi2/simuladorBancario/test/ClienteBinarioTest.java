@@ -0,0 +1,261 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+import uniandes.cupi2.simuladorBancario.mundo.RegistroOperaciones;
+import uniandes.cupi2.simuladorBancario.servidor.ClienteBinario;
+import uniandes.cupi2.simuladorBancario.servidor.ServidorBinario;
+import uniandes.cupi2.simuladorBancario.servidor.ServidorSimulador;
+
+/**
+ * Clase usada para verificar que los mtodos de las clases ClienteBinario y ServidorBinario estn correctamente
+ * implementados.
+ */
+public class ClienteBinarioTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco usado para las pruebas.
+     */
+    private Banco banco;
+
+    /**
+     * Servidor del banco.
+     */
+    private ServidorBinario servidor;
+
+    /**
+     * Cliente conectado al servidor.
+     */
+    private ClienteBinario cliente;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un banco con dos clientes, lo expone en un servidor binario iniciado en un puerto libre y abre una
+     * conexin con l.
+     * @throws IOException Si no se puede abrir el puerto o conectar.
+     */
+    private void setupEscenario1( ) throws IOException
+    {
+        banco = new Banco( 4 );
+        banco.agregarCliente( "50.152.468", "Sergio Lpez" );
+        banco.agregarCliente( "123", "Ana" );
+        servidor = new ServidorBinario( banco, ServidorSimulador.PUERTO_LIBRE );
+        servidor.iniciar( );
+        cliente = new ClienteBinario( servidor.darPuerto( ) );
+    }
+
+    /**
+     * Cierra la conexin y detiene el servidor al terminar cada prueba.
+     */
+    @After
+    public void detenerServidor( )
+    {
+        if( cliente != null )
+        {
+            cliente.cerrar( );
+        }
+        if( servidor != null )
+        {
+            servidor.detener( );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar las operaciones de un cliente a travs de la conexin.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * consignar<br>
+     * retirar<br>
+     * invertirCDT<br>
+     * cerrarCDT<br>
+     * avanzarMesSimulacion<br>
+     * avanzarMesBanco<br>
+     * calcularSaldoTotal<br>
+     * calcularSaldoTotalBanco<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Las operaciones modifican el banco y las consultas retornan sus saldos.<br>
+     * 2. Un retiro sin saldo suficiente retorna false y no modifica el banco.
+     * @throws IOException Si no se puede abrir el puerto o conectar.
+     */
+    @Test
+    public void testOperaciones( ) throws IOException
+    {
+        setupEscenario1( );
+        cliente.consignar( "50152468", Banco.PRODUCTO_CORRIENTE, 150025 ).join( );
+        cliente.consignar( "123", Banco.PRODUCTO_AHORROS, 100000 ).join( );
+        assertEquals( "El saldo no es correcto.", 150025, banco.darSaldoCorrienteCentavos( 0 ) );
+        assertEquals( "El saldo no es correcto.", 100000, banco.darSaldoAhorrosCentavos( 1 ) );
+
+        assertTrue( "El retiro debi hacerse.", cliente.retirar( "50.152.468", Banco.PRODUCTO_CORRIENTE, 25 ).join( ) );
+        assertFalse( "El retiro no debi hacerse.", cliente.retirar( "123", Banco.PRODUCTO_AHORROS, 100001 ).join( ) );
+        assertEquals( "El saldo no es correcto.", 150000, banco.darSaldoCorrienteCentavos( 0 ) );
+        assertEquals( "El saldo no es correcto.", 100000, banco.darSaldoAhorrosCentavos( 1 ) );
+
+        cliente.invertirCDT( "123", 50000, 0.02 ).join( );
+        cliente.avanzarMesSimulacion( "123" ).join( );
+        cliente.avanzarMesBanco( ).join( );
+        assertEquals( "El mes no es correcto.", 3, banco.darMesActual( 1 ) );
+        assertEquals( "El mes no es correcto.", 2, banco.darMesActual( 0 ) );
+        assertEquals( "El saldo total no es correcto.", banco.calcularSaldoTotalCentavos( 1 ), ( long )cliente.calcularSaldoTotal( "123" ).join( ) );
+        cliente.cerrarCDT( "123" ).join( );
+        assertEquals( "El saldo no es correcto.", 52000, banco.darSaldoCorrienteCentavos( 1 ) );
+        assertEquals( "El saldo total no es correcto.", banco.calcularSaldoTotalCentavos( ), ( long )cliente.calcularSaldoTotalBanco( ).join( ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar que las solicitudes enviadas sin esperar se agrupan en lotes.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * consignar<br>
+     * darNumeroLotes<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Todas las consignaciones se aplican y sus futuros se completan.<br>
+     * 2. Se enviaron menos lotes que solicitudes.<br>
+     * 3. La consulta enviada despus de las consignaciones las ve todas.
+     * @throws IOException Si no se puede abrir el puerto o conectar.
+     */
+    @Test
+    public void testLotes( ) throws IOException
+    {
+        setupEscenario1( );
+        int n = 20000;
+        CompletableFuture<?>[] futuros = new CompletableFuture<?>[n];
+        for( int i = 0; i < n; i++ )
+        {
+            futuros[ i ] = cliente.consignar( i % 2 == 0 ? "50152468" : "123", Banco.PRODUCTO_CORRIENTE, 1 );
+        }
+        long saldo = cliente.calcularSaldoTotalBanco( ).join( );
+        CompletableFuture.allOf( futuros ).join( );
+        assertEquals( "El saldo no es correcto.", n, saldo );
+        assertEquals( "El saldo no es correcto.", n / 2, banco.darSaldoCorrienteCentavos( 1 ) );
+        assertTrue( "Las solicitudes no se agruparon.", cliente.darNumeroLotes( ) < n );
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar las solicitudes que no se pueden atender.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * consignar<br>
+     * invertirCDT<br>
+     * cerrar<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Una cdula que no existe o no es numrica termina con IllegalArgumentException.<br>
+     * 2. Un monto o un inters invlido termina con IllegalArgumentException.<br>
+     * 3. Despus de un error la conexin sigue funcionando.<br>
+     * 4. Una solicitud enviada despus de cerrar la conexin termina con IllegalStateException.
+     * @throws IOException Si no se puede abrir el puerto o conectar.
+     */
+    @Test
+    public void testErrores( ) throws IOException
+    {
+        setupEscenario1( );
+        verificarError( cliente.consignar( "999", Banco.PRODUCTO_CORRIENTE, 1 ), IllegalArgumentException.class );
+        verificarError( cliente.consignar( "ABC", Banco.PRODUCTO_CORRIENTE, 1 ), IllegalArgumentException.class );
+        verificarError( cliente.consignar( "123", Banco.PRODUCTO_CORRIENTE, -1 ), IllegalArgumentException.class );
+        verificarError( cliente.invertirCDT( "123", 100, 0 ), IllegalArgumentException.class );
+        cliente.consignar( "123", Banco.PRODUCTO_CORRIENTE, 7 ).join( );
+        assertEquals( "El saldo no es correcto.", 7, banco.calcularSaldoTotalCentavos( ) );
+        cliente.cerrar( );
+        verificarError( cliente.consignar( "123", Banco.PRODUCTO_CORRIENTE, 1 ), IllegalStateException.class );
+        assertEquals( "El saldo no es correcto.", 7, banco.calcularSaldoTotalCentavos( ) );
+    }
+
+    /**
+     * Prueba 4: Mtodo que se encarga de verificar que una solicitud que falla con un error inesperado no afecta a las dems
+     * solicitudes de la conexin.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * consignar<br>
+     * calcularSaldoTotalBanco<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. La solicitud cuyo registro falla termina con IllegalArgumentException y no modifica el banco.<br>
+     * 2. Las solicitudes enviadas antes y despus de ella en el mismo lote se aplican.<br>
+     * 3. Despus del error la conexin sigue funcionando.
+     * @throws IOException Si no se puede abrir el puerto o conectar.
+     */
+    @Test
+    public void testErrorInesperado( ) throws IOException
+    {
+        setupEscenario1( );
+        banco.cambiarRegistro( new RegistroOperaciones( )
+        {
+            public long anotarCliente( int pCliente, String pCedula, String pNombre )
+            {
+                return 0;
+            }
+
+            public long anotar( int pCodigo, int pCliente, int pAuxiliar, int pProductos, long pCentavos, double pTasa )
+            {
+                if( pCodigo == Operacion.CONSIGNAR_AHORROS )
+                {
+                    throw new UncheckedIOException( new IOException( "El disco fall." ) );
+                }
+                return 0;
+            }
+
+            public long darPosicionFinal( )
+            {
+                return 0;
+            }
+
+            public void confirmar( long pPosicion )
+            {
+                // No hay nada que confirmar
+            }
+        } );
+        CompletableFuture<Void> antes = cliente.consignar( "123", Banco.PRODUCTO_CORRIENTE, 5 );
+        CompletableFuture<Void> fallida = cliente.consignar( "123", Banco.PRODUCTO_AHORROS, 11 );
+        CompletableFuture<Void> despues = cliente.consignar( "50152468", Banco.PRODUCTO_CORRIENTE, 3 );
+        verificarError( fallida, IllegalArgumentException.class );
+        antes.join( );
+        despues.join( );
+        assertEquals( "El saldo no es correcto.", 5, banco.darSaldoCorrienteCentavos( 1 ) );
+        assertEquals( "El saldo no es correcto.", 0, banco.darSaldoAhorrosCentavos( 1 ) );
+        assertEquals( "El saldo no es correcto.", 3, banco.darSaldoCorrienteCentavos( 0 ) );
+        assertEquals( "El saldo total no es correcto.", 8, ( long )cliente.calcularSaldoTotalBanco( ).join( ) );
+    }
+
+    /**
+     * Verifica que un futuro termine con un error del tipo dado.
+     * @param pFuturo Futuro.
+     * @param pTipo Tipo del error esperado.
+     */
+    private void verificarError( CompletableFuture<?> pFuturo, Class<?> pTipo )
+    {
+        try
+        {
+            pFuturo.join( );
+            fail( "La solicitud debi fallar." );
+        }
+        catch( CompletionException e )
+        {
+            assertEquals( "El error no es correcto.", pTipo, e.getCause( ).getClass( ) );
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.BancoParticionado;
+import uniandes.cupi2.simuladorBancario.servidor.ClienteBinario;
+import uniandes.cupi2.simuladorBancario.servidor.ClienteParticionado;
+import uniandes.cupi2.simuladorBancario.servidor.NodoParticion;
+import uniandes.cupi2.simuladorBancario.servidor.ServidorSimulador;
+
+/**
+ * Clase usada para verificar que los mtodos de las clases NodoParticion y ClienteParticionado estn correctamente
+ * implementados.
+ */
+public class ClienteParticionadoTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Archivo con los clientes de todos los nodos.
+     */
+    private File archivo;
+
+    /**
+     * Nodos del banco.
+     */
+    private NodoParticion[] nodos;
+
+    /**
+     * Conexin con todos los nodos.
+     */
+    private ClienteParticionado cliente;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un archivo con 300 clientes, lo reparte en 3 nodos iniciados en puertos libres y abre una conexin
+     * con todos ellos.
+     * @throws IOException Si no se puede escribir el archivo, abrir los puertos o conectar.
+     */
+    private void setupEscenario1( ) throws IOException
+    {
+        StringBuilder contenido = new StringBuilder( "cedula,nombre\n" );
+        for( int i = 0; i < 300; i++ )
+        {
+            contenido.append( 1000 + i ).append( ",Cliente " ).append( i ).append( '\n' );
+        }
+        archivo = File.createTempFile( "clientes", ".csv" );
+        Files.write( archivo.toPath( ), contenido.toString( ).getBytes( StandardCharsets.UTF_8 ) );
+        nodos = new NodoParticion[3];
+        int[] puertos = new int[nodos.length];
+        for( int i = 0; i < nodos.length; i++ )
+        {
+            nodos[ i ] = new NodoParticion( archivo, i, nodos.length, 300, ServidorSimulador.PUERTO_LIBRE );
+            nodos[ i ].iniciar( );
+            puertos[ i ] = nodos[ i ].darPuerto( );
+        }
+        cliente = new ClienteParticionado( puertos );
+    }
+
+    /**
+     * Cierra la conexin, detiene los nodos y borra el archivo al terminar cada prueba.
+     */
+    @After
+    public void detenerNodos( )
+    {
+        if( cliente != null )
+        {
+            cliente.cerrar( );
+        }
+        if( nodos != null )
+        {
+            for( NodoParticion nodo : nodos )
+            {
+                nodo.detener( );
+            }
+        }
+        if( archivo != null )
+        {
+            archivo.delete( );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar el reparto de los clientes y las operaciones a travs de los nodos.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * NodoParticion<br>
+     * consignar<br>
+     * retirar<br>
+     * calcularSaldoTotal<br>
+     * calcularSaldoTotalBanco<br>
+     * avanzarMesBanco<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Cada nodo tiene solo los clientes de su particin y entre todos tienen todos los clientes.<br>
+     * 2. Las operaciones llegan al nodo del cliente.<br>
+     * 3. El saldo total del banco suma el de todos los nodos y el avance de mes llega a todos los nodos.
+     * @throws IOException Si no se puede escribir el archivo, abrir los puertos o conectar.
+     */
+    @Test
+    public void testOperaciones( ) throws IOException
+    {
+        setupEscenario1( );
+        int total = 0;
+        for( int i = 0; i < nodos.length; i++ )
+        {
+            Banco banco = nodos[ i ].darBanco( );
+            assertTrue( "El nodo no tiene clientes.", banco.darNumeroClientes( ) > 0 );
+            for( int c = 0; c < banco.darNumeroClientes( ); c++ )
+            {
+                assertEquals( "El cliente no es de la particin.", i, BancoParticionado.calcularParticion( banco.darCedula( c ), nodos.length ) );
+            }
+            total += banco.darNumeroClientes( );
+        }
+        assertEquals( "El nmero de clientes no es correcto.", 300, total );
+
+        for( int i = 0; i < 300; i++ )
+        {
+            cliente.consignar( "" + ( 1000 + i ), Banco.PRODUCTO_AHORROS, 100 + i );
+        }
+        cliente.consignar( "1.050", Banco.PRODUCTO_CORRIENTE, 5000 ).join( );
+        assertTrue( "El retiro debi hacerse.", cliente.retirar( "1050", Banco.PRODUCTO_CORRIENTE, 1000 ).join( ) );
+        assertFalse( "El retiro no debi hacerse.", cliente.retirar( "1050", Banco.PRODUCTO_CORRIENTE, 4001 ).join( ) );
+        Banco banco = nodos[ cliente.darParticion( "1050" ) ].darBanco( );
+        assertEquals( "El saldo no es correcto.", 4000, banco.darSaldoCorrienteCentavos( banco.buscarCliente( "1050" ) ) );
+        assertEquals( "El saldo no es correcto.", 4150, ( long )cliente.calcularSaldoTotal( "1050" ).join( ) );
+
+        long esperado = 4000;
+        for( int i = 0; i < 300; i++ )
+        {
+            esperado += 100 + i;
+        }
+        assertEquals( "El saldo total no es correcto.", esperado, ( long )cliente.calcularSaldoTotalBanco( ).join( ) );
+        cliente.avanzarMesBanco( ).join( );
+        long saldo = 0;
+        for( NodoParticion nodo : nodos )
+        {
+            assertEquals( "El mes no es correcto.", 2, nodo.darBanco( ).darMesActual( 0 ) );
+            saldo += nodo.darBanco( ).calcularSaldoTotalCentavos( );
+        }
+        assertEquals( "El saldo total no es correcto.", saldo, ( long )cliente.calcularSaldoTotalBanco( ).join( ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar el bloqueo del banco de un nodo.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * bloquearBanco<br>
+     * liberarBanco<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Mientras una conexin tiene el banco bloqueado, las operaciones de otra esperan.<br>
+     * 2. Al liberar el banco, o al cerrarse la conexin que lo bloque, las operaciones siguen.<br>
+     * 3. Liberar un banco que la conexin no bloque termina con IllegalArgumentException.
+     * @throws Exception Si no se puede abrir los puertos o conectar, o si se interrumpe la espera.
+     */
+    @Test
+    public void testBloqueo( ) throws Exception
+    {
+        setupEscenario1( );
+        String cedula = nodos[ 0 ].darBanco( ).darCedula( 0 );
+        ClienteBinario coordinador = new ClienteBinario( nodos[ 0 ].darPuerto( ) );
+        ClienteBinario otro = new ClienteBinario( nodos[ 0 ].darPuerto( ) );
+        try
+        {
+            verificarError( otro.liberarBanco( ), IllegalArgumentException.class );
+            coordinador.bloquearBanco( ).join( );
+            CompletableFuture<Void> consignacion = otro.consignar( cedula, Banco.PRODUCTO_CORRIENTE, 10 );
+            verificarEspera( consignacion );
+            coordinador.consignar( cedula, Banco.PRODUCTO_CORRIENTE, 5 ).join( );
+            coordinador.liberarBanco( ).join( );
+            consignacion.get( 5, TimeUnit.SECONDS );
+            assertEquals( "El saldo no es correcto.", 15, nodos[ 0 ].darBanco( ).darSaldoCorrienteCentavos( 0 ) );
+
+            coordinador.bloquearBanco( ).join( );
+            consignacion = otro.consignar( cedula, Banco.PRODUCTO_CORRIENTE, 10 );
+            verificarEspera( consignacion );
+            coordinador.cerrar( );
+            consignacion.get( 5, TimeUnit.SECONDS );
+            assertEquals( "El saldo no es correcto.", 25, nodos[ 0 ].darBanco( ).darSaldoCorrienteCentavos( 0 ) );
+        }
+        finally
+        {
+            coordinador.cerrar( );
+            otro.cerrar( );
+        }
+    }
+
+    /**
+     * Verifica que un futuro no se complete durante un momento.
+     * @param pFuturo Futuro.
+     * @throws Exception Si el futuro termina con un error o se interrumpe la espera.
+     */
+    private void verificarEspera( CompletableFuture<?> pFuturo ) throws Exception
+    {
+        try
+        {
+            pFuturo.get( 200, TimeUnit.MILLISECONDS );
+            fail( "La operacin no debi aplicarse con el banco bloqueado." );
+        }
+        catch( TimeoutException e )
+        {
+            // Es el comportamiento esperado
+        }
+    }
+
+    /**
+     * Verifica que un futuro termine con un error del tipo dado.
+     * @param pFuturo Futuro.
+     * @param pTipo Tipo del error esperado.
+     */
+    private void verificarError( CompletableFuture<?> pFuturo, Class<?> pTipo )
+    {
+        try
+        {
+            pFuturo.join( );
+            fail( "La solicitud debi fallar." );
+        }
+        catch( CompletionException e )
+        {
+            assertEquals( "El error no es correcto.", pTipo, e.getCause( ).getClass( ) );
+        }
+    }
+}
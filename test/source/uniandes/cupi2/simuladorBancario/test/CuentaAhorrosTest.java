@@ -13,6 +13,7 @@ package uniandes.cupi2.simuladorBancario.test;
 import uniandes.cupi2.simuladorBancario.mundo.CuentaAhorros;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import org.junit.Test;
 
@@ -113,4 +114,45 @@ public class CuentaAhorrosTest
 
     }
 
+    /**
+     * Prueba 5: Mtodo que se encarga de verificar el mtodo actualizarSaldoPorPasoMeses.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * actualizarSaldoPorPasoMeses<br>
+     * actualizarSaldoPorPasoMes<br>
+     * darSaldo<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Avanzar 360 meses en un paso da el mismo saldo que avanzarlos uno por uno, salvo por el redondeo de cada mes.
+     */
+    @Test
+    public void testActualizarSaldoPorPasoMeses( )
+    {
+        setupEscenario1( );
+        CuentaAhorros iterativa = new CuentaAhorros( );
+        cuenta.consignarMonto( 10000 );
+        iterativa.consignarMonto( 10000 );
+        for( int i = 0; i < 360; i++ )
+        {
+            iterativa.actualizarSaldoPorPasoMes( );
+        }
+        cuenta.actualizarSaldoPorPasoMeses( 360 );
+        assertEquals( "El saldo de la cuenta no es el esperado", iterativa.darSaldo( ), cuenta.darSaldo( ), 360 * 0.01 );
+    }
+
+    /**
+     * Prueba 6: Mtodo que se encarga de verificar el mtodo retirarMonto sin saldo suficiente.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * retirarMonto<br>
+     * darSaldo<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. La cuenta de ahorros no tiene saldo suficiente y el retiro no se hace.
+     */
+    @Test
+    public void testRetirarMontoSinSaldo( )
+    {
+        setupEscenario1( );
+        cuenta.consignarMonto( 500 );
+        assertFalse( "El retiro no debera hacerse", cuenta.retirarMonto( 600 ) );
+        assertEquals( "El saldo de la cuenta no es el esperado", 500, cuenta.darSaldo( ), 0 );
+    }
+
 }
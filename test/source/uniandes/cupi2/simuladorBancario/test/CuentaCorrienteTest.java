@@ -13,6 +13,9 @@ package uniandes.cupi2.simuladorBancario.test;
 import uniandes.cupi2.simuladorBancario.mundo.CuentaCorriente;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -92,4 +95,75 @@ public class CuentaCorrienteTest
 
     }
 
+    /**
+     * Prueba 4: Mtodo que se encarga de verificar el mtodo retirarMonto sin saldo suficiente.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * retirarMonto<br>
+     * darSaldo<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. La cuenta corriente no tiene saldo suficiente y el retiro no se hace.
+     */
+    @Test
+    public void testRetirarMontoSinSaldo( )
+    {
+        setupEscenario1( );
+        cuenta.consignarMonto( 1000 );
+        assertFalse( "El retiro no debera hacerse", cuenta.retirarMonto( 1000.01 ) );
+        assertEquals( "El saldo de la cuenta no es el esperado", 1000, cuenta.darSaldo( ), 0 );
+    }
+
+    /**
+     * Prueba 5: Mtodo que se encarga de verificar las operaciones desde varios hilos.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * consignarCentavos<br>
+     * retirarCentavos<br>
+     * darSaldoCentavos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Ocho hilos consignan al mismo tiempo y no se pierde ninguna consignacin.<br>
+     * 2. Ocho hilos retiran al mismo tiempo ms de lo que hay y solo se hacen los retiros que alcanza a cubrir el saldo.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    @Test
+    public void testOperacionesConcurrentes( ) throws InterruptedException
+    {
+        setupEscenario1( );
+        final AtomicInteger retirosHechos = new AtomicInteger( );
+        Thread[] hilos = new Thread[8];
+        for( int i = 0; i < hilos.length; i++ )
+        {
+            hilos[ i ] = new Thread( ( ) -> {
+                for( int j = 0; j < 10000; j++ )
+                {
+                    cuenta.consignarCentavos( 1 );
+                }
+            } );
+            hilos[ i ].start( );
+        }
+        for( Thread hilo : hilos )
+        {
+            hilo.join( );
+        }
+        assertEquals( "El saldo de la cuenta no es el esperado", 80000, cuenta.darSaldoCentavos( ) );
+
+        for( int i = 0; i < hilos.length; i++ )
+        {
+            hilos[ i ] = new Thread( ( ) -> {
+                for( int j = 0; j < 20000; j++ )
+                {
+                    if( cuenta.retirarCentavos( 1 ) )
+                    {
+                        retirosHechos.incrementAndGet( );
+                    }
+                }
+            } );
+            hilos[ i ].start( );
+        }
+        for( Thread hilo : hilos )
+        {
+            hilo.join( );
+        }
+        assertEquals( "El nmero de retiros no es el esperado", 80000, retirosHechos.get( ) );
+        assertEquals( "El saldo de la cuenta no es el esperado", 0, cuenta.darSaldoCentavos( ) );
+    }
+
 }
@@ -0,0 +1,393 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+import uniandes.cupi2.simuladorBancario.persistencia.DiarioTransacciones;
+import uniandes.cupi2.simuladorBancario.persistencia.LectorDiario;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase DiarioTransacciones estn correctamente implementados.
+ */
+public class DiarioTransaccionesTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Archivo del diario usado para las pruebas.
+     */
+    private File archivo;
+
+    /**
+     * Diario usado para las pruebas.
+     */
+    private DiarioTransacciones diario;
+
+    /**
+     * Banco que anota sus operaciones en el diario.
+     */
+    private Banco banco;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un banco con capacidad para 4 clientes que anota sus operaciones en un diario nuevo.
+     * @param pDurabilidad Modo de durabilidad del diario.
+     * @throws IOException Si no se puede crear el diario.
+     */
+    private void setupEscenario1( int pDurabilidad ) throws IOException
+    {
+        archivo = File.createTempFile( "diario", ".bin" );
+        archivo.delete( );
+        diario = new DiarioTransacciones( archivo, 1 << 20, pDurabilidad );
+        banco = new Banco( 4 );
+        banco.cambiarRegistro( diario );
+    }
+
+    /**
+     * Borra el archivo del diario al terminar cada prueba.
+     * @throws IOException Si no se puede cerrar el diario.
+     */
+    @After
+    public void borrarArchivo( ) throws IOException
+    {
+        if( diario != null )
+        {
+            diario.cerrar( );
+        }
+        if( archivo != null )
+        {
+            archivo.delete( );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar que las operaciones del banco quedan anotadas en orden.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * anotarCliente<br>
+     * anotar<br>
+     * crearLector<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Cada operacin que modifica el banco queda anotada con sus datos.<br>
+     * 2. Un retiro sin saldo suficiente no se anota.
+     * @throws IOException Si no se puede crear el diario.
+     */
+    @Test
+    public void testAnotarOperaciones( ) throws IOException
+    {
+        setupEscenario1( DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        banco.agregarCliente( "50.152.468", "Sergio Lpez" );
+        banco.agregarCliente( "1.020.304", "Ana Torres" );
+        banco.consignarCuentaCorriente( 0, 1000.25 );
+        banco.retirarCuentaAhorros( 0, 10 );
+        banco.invertirCDT( 1, 500, 0.02 );
+        banco.transferir( 0, Banco.PRODUCTO_CORRIENTE, 1, Banco.PRODUCTO_AHORROS, 300 );
+        banco.avanzarMeses( 1, 3 );
+        banco.cerrarCDT( 1 );
+
+        LectorDiario lector = diario.crearLector( DiarioTransacciones.TAMANO_ENCABEZADO );
+        assertTrue( "Debe estar el primer cliente.", lector.avanzar( ) );
+        assertEquals( "El cdigo no es correcto.", Operacion.AGREGAR_CLIENTE, lector.darCodigo( ) );
+        assertEquals( "El nombre no es correcto.", "Sergio Lpez", lector.darNombre( ) );
+        assertTrue( "Debe estar el segundo cliente.", lector.avanzar( ) );
+        assertEquals( "La cdula no es correcta.", "1.020.304", lector.darCedula( ) );
+        assertEquals( "El cliente no es correcto.", 1, lector.darCliente( ) );
+
+        assertTrue( "Debe estar la consignacin.", lector.avanzar( ) );
+        assertEquals( "El cdigo no es correcto.", Operacion.CONSIGNAR_CORRIENTE, lector.darCodigo( ) );
+        assertEquals( "El monto no es correcto.", 100025, lector.darCentavos( ) );
+
+        assertTrue( "Debe estar la inversin.", lector.avanzar( ) );
+        assertEquals( "El cdigo no es correcto.", Operacion.INVERTIR_CDT, lector.darCodigo( ) );
+        assertEquals( "El inters no es correcto.", 0.02, lector.darTasa( ), 0 );
+
+        assertTrue( "Debe estar la transferencia.", lector.avanzar( ) );
+        assertEquals( "El cdigo no es correcto.", Operacion.TRANSFERIR, lector.darCodigo( ) );
+        assertEquals( "El destino no es correcto.", 1, lector.darAuxiliar( ) );
+        assertEquals( "El producto de destino no es correcto.", Banco.PRODUCTO_AHORROS, Operacion.darProductoDestino( lector.darProductos( ) ) );
+
+        assertTrue( "Debe estar el avance de meses.", lector.avanzar( ) );
+        assertEquals( "El nmero de meses no es correcto.", 3, lector.darAuxiliar( ) );
+        assertTrue( "Debe estar el cierre del CDT.", lector.avanzar( ) );
+        assertEquals( "El cdigo no es correcto.", Operacion.CERRAR_CDT, lector.darCodigo( ) );
+        assertFalse( "No debe haber ms registros.", lector.avanzar( ) );
+        assertEquals( "El lector debe quedar al final del diario.", diario.darPosicionFinal( ), lector.darPosicion( ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar que un diario existente se puede volver a abrir.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * DiarioTransacciones<br>
+     * darPosicionFinal<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Al volver a abrir el diario las anotaciones nuevas quedan despus de las anteriores.<br>
+     * 2. Un registro incompleto al final del archivo se ignora.<br>
+     * 3. Un archivo que no es un diario no se puede abrir.
+     * @throws IOException Si no se puede abrir el diario.
+     */
+    @Test
+    public void testVolverAAbrir( ) throws IOException
+    {
+        setupEscenario1( DiarioTransacciones.DURABILIDAD_POR_OPERACION );
+        banco.agregarCliente( "1", "Uno" );
+        banco.consignarCuentaAhorros( 0, 20 );
+        long fin = diario.darPosicionFinal( );
+        diario.cerrar( );
+
+        try( RandomAccessFile datos = new RandomAccessFile( archivo, "rw" ) )
+        {
+            // Registro sin longitud, como si el proceso hubiera terminado mientras se escriba
+            datos.seek( fin + 8 );
+            datos.write( new byte[]{ Operacion.CONSIGNAR_AHORROS, 0, 0, 0, 0, 0, 0, 0, 0, 7 } );
+        }
+        diario = new DiarioTransacciones( archivo, 1 << 20, DiarioTransacciones.DURABILIDAD_POR_OPERACION );
+        assertEquals( "El final del diario no es correcto.", fin, diario.darPosicionFinal( ) );
+        diario.anotar( Operacion.AVANZAR_MES, 0, 0, 0, 0, 0 );
+
+        LectorDiario lector = diario.crearLector( DiarioTransacciones.TAMANO_ENCABEZADO );
+        int registros = 0;
+        int ultimoCodigo = 0;
+        while( lector.avanzar( ) )
+        {
+            registros++;
+            ultimoCodigo = lector.darCodigo( );
+        }
+        assertEquals( "El nmero de registros no es correcto.", 3, registros );
+        assertEquals( "El ltimo registro no es correcto.", Operacion.AVANZAR_MES, ultimoCodigo );
+
+        File otro = File.createTempFile( "otro", ".bin" );
+        try( RandomAccessFile datos = new RandomAccessFile( otro, "rw" ) )
+        {
+            datos.writeLong( 1234567 );
+        }
+        try
+        {
+            new DiarioTransacciones( otro, 1 << 20, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+            fail( "No debe abrir un archivo que no es un diario." );
+        }
+        catch( IOException e )
+        {
+            // Debe lanzar la excepcin
+        }
+        finally
+        {
+            otro.delete( );
+        }
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar la confirmacin agrupada con varios hilos.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * confirmar<br>
+     * darEscriturasDisco<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Todas las operaciones concurrentes quedan anotadas.<br>
+     * 2. No se hacen ms escrituras a disco que operaciones.
+     * @throws Exception Si se interrumpe la espera de los hilos o no se puede crear el diario.
+     */
+    @Test(timeout = 30000)
+    public void testConfirmacionAgrupada( ) throws Exception
+    {
+        setupEscenario1( DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        for( int i = 0; i < 4; i++ )
+        {
+            banco.agregarCliente( "" + i, "Cliente " + i );
+        }
+        Thread[] hilos = new Thread[8];
+        for( int i = 0; i < hilos.length; i++ )
+        {
+            final int cliente = i % 4;
+            hilos[ i ] = new Thread( ( ) -> {
+                for( int j = 0; j < 500; j++ )
+                {
+                    banco.consignarCuentaCorrienteCentavos( cliente, 1 );
+                }
+            } );
+            hilos[ i ].start( );
+        }
+        for( Thread hilo : hilos )
+        {
+            hilo.join( );
+        }
+        LectorDiario lector = diario.crearLector( DiarioTransacciones.TAMANO_ENCABEZADO );
+        long consignado = 0;
+        while( lector.avanzar( ) )
+        {
+            if( lector.darCodigo( ) == Operacion.CONSIGNAR_CORRIENTE )
+            {
+                consignado += lector.darCentavos( );
+            }
+        }
+        assertEquals( "Deben estar anotadas todas las consignaciones.", 4000, consignado );
+        assertEquals( "El saldo del banco debe coincidir con el diario.", 4000, banco.calcularSaldoTotalCentavos( ) );
+        assertTrue( "No debe haber ms escrituras a disco que operaciones.", diario.darEscriturasDisco( ) <= 4004 );
+    }
+
+    /**
+     * Prueba 4: Mtodo que se encarga de verificar que una operacin que no cabe en el diario no cambia el banco.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * anotar<br>
+     * anotarCliente<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Con el diario lleno, las consignaciones, retiros, transferencias, avances de mes y clientes nuevos lanzan
+     * IllegalStateException.<br>
+     * 2. El banco queda con los saldos, meses y clientes que tena antes de las operaciones que fallaron.
+     * @throws IOException Si no se puede crear el diario.
+     */
+    @Test
+    public void testDiarioLleno( ) throws IOException
+    {
+        archivo = File.createTempFile( "diario", ".bin" );
+        archivo.delete( );
+        int registroCliente = DiarioTransacciones.TAMANO_REGISTRO + 4 + 2;
+        diario = new DiarioTransacciones( archivo, DiarioTransacciones.TAMANO_ENCABEZADO + 2 * registroCliente + DiarioTransacciones.TAMANO_REGISTRO, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        banco = new Banco( 4 );
+        banco.cambiarRegistro( diario );
+        banco.agregarCliente( "1", "A" );
+        banco.agregarCliente( "2", "B" );
+        banco.consignarCuentaCorrienteCentavos( 0, 500 );
+
+        Runnable[] operaciones = { ( ) -> banco.consignarCuentaAhorrosCentavos( 1, 100 ), ( ) -> banco.retirarCuentaCorrienteCentavos( 0, 100 ), ( ) -> banco.transferirCentavos( 0, Banco.PRODUCTO_CORRIENTE, 1, Banco.PRODUCTO_AHORROS, 100 ), ( ) -> banco.invertirCDTCentavos( 1, 100, 0.01 ), ( ) -> banco.avanzarMesSimulacion( ), ( ) -> banco.avanzarMeses( 0, 3 ), ( ) -> banco.agregarCliente( "3", "C" ) };
+        for( Runnable operacion : operaciones )
+        {
+            try
+            {
+                operacion.run( );
+                fail( "El diario est lleno." );
+            }
+            catch( IllegalStateException e )
+            {
+                // Debe lanzar la excepcin
+            }
+        }
+        assertEquals( "El saldo no debi cambiar.", 500, banco.darSaldoCorrienteCentavos( 0 ) );
+        assertEquals( "El saldo no debi cambiar.", 0, banco.darSaldoAhorrosCentavos( 1 ) );
+        assertEquals( "El CDT no debi cambiar.", 0, banco.calcularValorPresenteCDTCentavos( 1 ) );
+        assertEquals( "El saldo total no debi cambiar.", 500, banco.calcularSaldoTotalCentavos( ) );
+        assertEquals( "El mes no debi cambiar.", 1, banco.darMesActual( 0 ) );
+        assertEquals( "El nmero de clientes no debi cambiar.", 2, banco.darNumeroClientes( ) );
+        assertEquals( "El cliente no debi quedar registrado.", -1, banco.buscarCliente( "3" ) );
+    }
+
+    /**
+     * Prueba 5: Mtodo que se encarga de verificar que el diario se puede truncar sin cambiar sus posiciones.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * truncar<br>
+     * darPosicionInicial<br>
+     * crearLector<br>
+     * DiarioTransacciones<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Despus de truncar, el diario conserva solo los registros desde la posicin dada y la posicin final no cambia.<br>
+     * 2. El espacio liberado se puede usar para anotar ms operaciones que las que caban en el diario.<br>
+     * 3. Al volver a abrir el diario truncado se encuentran el principio y el final correctos.
+     * @throws IOException Si no se puede crear o truncar el diario.
+     */
+    @Test
+    public void testTruncar( ) throws IOException
+    {
+        archivo = File.createTempFile( "diario", ".bin" );
+        archivo.delete( );
+        long capacidad = DiarioTransacciones.TAMANO_ENCABEZADO + 130 * DiarioTransacciones.TAMANO_REGISTRO;
+        diario = new DiarioTransacciones( archivo, capacidad, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        banco = new Banco( 4 );
+        banco.cambiarRegistro( diario );
+        banco.agregarCliente( "1", "Uno" );
+        long total = 0;
+        for( int ronda = 0; ronda < 5; ronda++ )
+        {
+            long corte = diario.darPosicionFinal( );
+            for( int i = 0; i < 60; i++ )
+            {
+                banco.consignarCuentaCorrienteCentavos( 0, 1 + i );
+                total += 1 + i;
+            }
+            long fin = diario.darPosicionFinal( );
+            diario.truncar( corte );
+            assertEquals( "La posicin inicial no es correcta.", corte, diario.darPosicionInicial( ) );
+            assertEquals( "La posicin final no debi cambiar.", fin, diario.darPosicionFinal( ) );
+            LectorDiario lector = diario.crearLector( corte );
+            int registros = 0;
+            while( lector.avanzar( ) )
+            {
+                assertEquals( "El registro no es correcto.", 1 + registros, lector.darCentavos( ) );
+                registros++;
+            }
+            assertEquals( "El diario debe conservar los registros posteriores al corte.", 60, registros );
+            assertFalse( "Los registros anteriores al corte ya no estn.", diario.crearLector( DiarioTransacciones.TAMANO_ENCABEZADO ).avanzar( ) );
+        }
+        assertEquals( "El saldo no es correcto.", total, banco.calcularSaldoTotalCentavos( ) );
+
+        long inicial = diario.darPosicionInicial( );
+        long fin = diario.darPosicionFinal( );
+        banco.cambiarRegistro( null );
+        diario.cerrar( );
+        diario = new DiarioTransacciones( archivo, capacidad, DiarioTransacciones.DURABILIDAD_AGRUPADA, inicial );
+        assertEquals( "La posicin inicial no es correcta.", inicial, diario.darPosicionInicial( ) );
+        assertEquals( "La posicin final no es correcta.", fin, diario.darPosicionFinal( ) );
+        assertFalse( "No debe quedar el archivo temporal.", new File( archivo.getPath( ) + ".nuevo" ).exists( ) );
+    }
+
+    /**
+     * Prueba 6: Mtodo que se encarga de verificar que un registro daado marca el final del diario.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * avanzar<br>
+     * DiarioTransacciones<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. El lector se detiene en un registro completo cuyo monto cambi despus de escribirlo.<br>
+     * 2. Al volver a abrir el diario, su final es la posicin del registro daado.
+     * @throws IOException Si no se puede abrir el diario.
+     */
+    @Test
+    public void testRegistroDanado( ) throws IOException
+    {
+        setupEscenario1( DiarioTransacciones.DURABILIDAD_POR_OPERACION );
+        banco.agregarCliente( "1", "Uno" );
+        banco.consignarCuentaAhorrosCentavos( 0, 100 );
+        long danado = diario.darPosicionFinal( );
+        banco.consignarCuentaAhorrosCentavos( 0, 200 );
+        banco.consignarCuentaAhorrosCentavos( 0, 300 );
+        banco.cambiarRegistro( null );
+        diario.cerrar( );
+
+        try( RandomAccessFile datos = new RandomAccessFile( archivo, "rw" ) )
+        {
+            // Cambia un byte del monto de la segunda consignacin sin tocar su longitud
+            datos.seek( danado + 18 );
+            datos.write( 0x7F );
+        }
+        diario = new DiarioTransacciones( archivo, 1 << 20, DiarioTransacciones.DURABILIDAD_POR_OPERACION );
+        LectorDiario lector = diario.crearLector( DiarioTransacciones.TAMANO_ENCABEZADO );
+        int registros = 0;
+        while( lector.avanzar( ) )
+        {
+            registros++;
+        }
+        assertEquals( "El lector debe detenerse en el registro daado.", 2, registros );
+        assertEquals( "El final del diario debe ser el registro daado.", danado, diario.darPosicionFinal( ) );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.CuentaCorriente;
+import uniandes.cupi2.simuladorBancario.mundo.Dinero;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase Dinero estn correctamente implementados.
+ */
+public class DineroTest
+{
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar la conversin entre pesos y centavos.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * aCentavos<br>
+     * aPesos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Los montos se redondean al centavo ms cercano.<br>
+     * 2. La conversin de centavos a pesos es exacta.
+     */
+    @Test
+    public void testConversion( )
+    {
+        assertEquals( "Los centavos no son los esperados", 1234, Dinero.aCentavos( 12.34 ) );
+        assertEquals( "Los centavos no son los esperados", 1235, Dinero.aCentavos( 12.346 ) );
+        assertEquals( "Los centavos no son los esperados", -50, Dinero.aCentavos( -0.5 ) );
+        assertEquals( "Los pesos no son los esperados", 12.34, Dinero.aPesos( 1234 ), 0 );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar el redondeo de los intereses.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * calcularInteres<br>
+     * capitalizar<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Los empates se redondean al centavo par.<br>
+     * 2. El inters compuesto de 0 meses no cambia el monto.
+     */
+    @Test
+    public void testInteres( )
+    {
+        assertEquals( "El inters no es el esperado", 2, Dinero.calcularInteres( 50, 0.05 ) );
+        assertEquals( "El inters no es el esperado", 4, Dinero.calcularInteres( 70, 0.05 ) );
+        assertEquals( "El inters no es el esperado", 60, Dinero.calcularInteres( 10000, 0.006 ) );
+        assertEquals( "El monto no es el esperado", 10000, Dinero.capitalizar( 10000, 0.006, 0 ) );
+        assertEquals( "El monto no es el esperado", 10120, Dinero.capitalizar( 10000, 0.006, 2 ) );
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar que los saldos no se desvan con muchas operaciones.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * consignarMonto<br>
+     * retirarMonto<br>
+     * darSaldo<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Un milln de consignaciones de 10 centavos suman exactamente 100.000 pesos.
+     */
+    @Test
+    public void testSinDesviacion( )
+    {
+        CuentaCorriente cuenta = new CuentaCorriente( );
+        for( int i = 0; i < 1000000; i++ )
+        {
+            cuenta.consignarMonto( 0.1 );
+        }
+        assertEquals( "El saldo no es el esperado", 10000000, cuenta.darSaldoCentavos( ) );
+        cuenta.retirarMonto( 99999.9 );
+        assertEquals( "El saldo no es el esperado", 0.1, cuenta.darSaldo( ), 0 );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.persistencia.GeneradorExtractos;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase GeneradorExtractos estn correctamente implementados.
+ */
+public class GeneradorExtractosTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco usado para las pruebas.
+     */
+    private Banco banco;
+
+    /**
+     * Pool de hilos del generador.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Directorio de los extractos.
+     */
+    private File directorio;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un banco con cinco clientes, uno de ellos con un nombre de ms de 1 MB en UTF-8, un pool de tres
+     * hilos y un directorio vaco.
+     * @throws IOException Si no se puede crear el directorio.
+     */
+    private void setupEscenario1( ) throws IOException
+    {
+        banco = new Banco( 5 );
+        char[] largo = new char[700000];
+        Arrays.fill( largo, '' );
+        banco.agregarCliente( "50.152.468", "Sergio Lpez" );
+        banco.agregarCliente( "2", "Dos" );
+        banco.agregarCliente( "3", new String( largo ) );
+        banco.agregarCliente( "4", "Cuatro" );
+        banco.agregarCliente( "5", "Cinco" );
+        banco.consignarCuentaCorrienteCentavos( 0, 123456789 );
+        banco.consignarCuentaAhorrosCentavos( 0, 5 );
+        banco.invertirCDTCentavos( 0, 100000, 0.02 );
+        banco.avanzarMeses( 0, 3 );
+        banco.consignarCuentaAhorrosCentavos( 3, 99 );
+        pool = new ForkJoinPool( 3 );
+        directorio = Files.createTempDirectory( "extractos" ).toFile( );
+    }
+
+    /**
+     * Detiene el pool y borra el directorio al terminar cada prueba.
+     */
+    @After
+    public void borrarDirectorio( )
+    {
+        if( pool != null )
+        {
+            pool.shutdown( );
+        }
+        if( directorio != null )
+        {
+            for( File archivo : directorio.listFiles( ) )
+            {
+                archivo.delete( );
+            }
+            directorio.delete( );
+        }
+    }
+
+    /**
+     * Da formato a un valor como lo hace la interfaz.
+     * @param pValor Valor.
+     * @return Valor con formato.
+     */
+    private String formatearValor( double pValor )
+    {
+        DecimalFormat df = ( DecimalFormat )NumberFormat.getInstance( );
+        df.applyPattern( "$ ###,###.##" );
+        df.setMinimumFractionDigits( 2 );
+        return df.format( pValor );
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar el texto del extracto de un cliente.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * darExtracto<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. El extracto tiene la cdula, el nombre, el mes, los saldos y el total con el formato de la interfaz.
+     * @throws IOException Si no se puede crear el directorio.
+     */
+    @Test
+    public void testDarExtracto( ) throws IOException
+    {
+        setupEscenario1( );
+        GeneradorExtractos generador = new GeneradorExtractos( banco, pool, 2 );
+        String esperado = "Cdula: 50.152.468\nNombre: Sergio Lpez\nMes: " + banco.darMesActual( 0 ) + "\nCuenta corriente: " + formatearValor( 1234567.89 ) + "\nCuenta de ahorros: " + formatearValor( banco.darSaldoAhorros( 0 ) ) + "\nCDT: " + formatearValor( banco.calcularValorPresenteCDT( 0 ) ) + "\nSaldo total: " + formatearValor( banco.calcularSaldoTotal( 0 ) ) + "\n\n";
+        assertEquals( "El extracto no es correcto.", esperado, generador.darExtracto( 0 ) );
+        assertEquals( "El extracto no es correcto.", "Cdula: 4\nNombre: Cuatro\nMes: 1\nCuenta corriente: " + formatearValor( 0 ) + "\nCuenta de ahorros: " + formatearValor( 0.99 ) + "\nCDT: " + formatearValor( 0 ) + "\nSaldo total: " + formatearValor( 0.99 ) + "\n\n", generador.darExtracto( 3 ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar la generacin de los archivos de extractos.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * generar<br>
+     * darNumeroArchivos<br>
+     * darArchivo<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Se genera un archivo por cada grupo de clientes, el ltimo incompleto.<br>
+     * 2. Cada archivo tiene los extractos de sus clientes en orden, aunque un extracto no quepa en los buffers.<br>
+     * 3. Al generar otra vez se reemplazan los archivos.
+     * @throws IOException Si no se pueden escribir o leer los archivos.
+     */
+    @Test
+    public void testGenerar( ) throws IOException
+    {
+        setupEscenario1( );
+        GeneradorExtractos generador = new GeneradorExtractos( banco, pool, 2 );
+        assertEquals( "El nmero de archivos no es correcto.", 3, generador.darNumeroArchivos( ) );
+        for( int vez = 0; vez < 2; vez++ )
+        {
+            long bytes = generador.generar( directorio );
+            assertEquals( "El nmero de archivos no es correcto.", 3, directorio.listFiles( ).length );
+            long total = 0;
+            for( int i = 0; i < 3; i++ )
+            {
+                StringBuilder esperado = new StringBuilder( );
+                for( int j = 2 * i; j < Math.min( 2 * i + 2, 5 ); j++ )
+                {
+                    esperado.append( generador.darExtracto( j ) );
+                }
+                byte[] contenido = Files.readAllBytes( GeneradorExtractos.darArchivo( directorio, i ).toPath( ) );
+                assertEquals( "El archivo " + i + " no es correcto.", esperado.toString( ), new String( contenido, StandardCharsets.UTF_8 ) );
+                total += contenido.length;
+            }
+            assertEquals( "El nmero de bytes no es correcto.", total, bytes );
+            banco.consignarCuentaCorrienteCentavos( 4, 1 );
+        }
+    }
+}
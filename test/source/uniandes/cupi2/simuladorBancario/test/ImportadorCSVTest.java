@@ -0,0 +1,199 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.persistencia.ImportadorCSV;
+import uniandes.cupi2.simuladorBancario.persistencia.ResultadoImportacion;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase ImportadorCSV estn correctamente implementados.
+ */
+public class ImportadorCSVTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco donde se importan los datos.
+     */
+    private Banco banco;
+
+    /**
+     * Pool de hilos del importador.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Archivo CSV usado en la prueba.
+     */
+    private File archivo;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un banco vaco y un pool de tres hilos.
+     */
+    private void setupEscenario1( )
+    {
+        banco = new Banco( 10 );
+        pool = new ForkJoinPool( 3 );
+    }
+
+    /**
+     * Escribe el archivo CSV de la prueba.
+     * @param pContenido Contenido del archivo.
+     * @return Archivo escrito.
+     * @throws IOException Si no se puede escribir el archivo.
+     */
+    private File escribir( String pContenido ) throws IOException
+    {
+        if( archivo == null )
+        {
+            archivo = File.createTempFile( "importacion", ".csv" );
+        }
+        Files.write( archivo.toPath( ), pContenido.getBytes( StandardCharsets.UTF_8 ) );
+        return archivo;
+    }
+
+    /**
+     * Detiene el pool y borra el archivo al terminar cada prueba.
+     */
+    @After
+    public void borrarArchivo( )
+    {
+        if( pool != null )
+        {
+            pool.shutdown( );
+        }
+        if( archivo != null )
+        {
+            archivo.delete( );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar la importacin de clientes y transacciones con bloques pequeos.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * importarClientes<br>
+     * importarTransacciones<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Se ignoran el encabezado y los fines de lnea "\r\n", y los clientes quedan en el orden del archivo.<br>
+     * 2. Las lneas invlidas, de clientes que no existen o de operaciones que no se importan se cuentan y se ignoran.<br>
+     * 3. Los montos se redondean al centavo y los retiros sin saldo se cuentan.<br>
+     * 4. Los montos en cero no son vlidos.<br>
+     * 5. El banco queda igual que si se hubieran aplicado las mismas operaciones directamente.
+     * @throws IOException Si no se pueden escribir o leer los archivos.
+     */
+    @Test
+    public void testImportar( ) throws IOException
+    {
+        setupEscenario1( );
+        ImportadorCSV importador = new ImportadorCSV( banco, pool, 40 );
+        ResultadoImportacion resultado = importador.importarClientes( escribir( "cedula,nombre\r\n50.152.468,Sergio Lpez\r\nCE-77,Otra Persona\n1,Uno\nmalo\n" ) );
+        assertEquals( "El nmero de filas no es correcto.", 4, resultado.darFilas( ) );
+        assertEquals( "El nmero de clientes agregados no es correcto.", 3, resultado.darAplicadas( ) );
+        assertEquals( "El nmero de filas invlidas no es correcto.", 1, resultado.darInvalidas( ) );
+        assertEquals( "El nmero de clientes no es correcto.", 3, banco.darNumeroClientes( ) );
+        assertEquals( "El nombre no es correcto.", "Sergio Lpez", banco.darNombre( 0 ) );
+        assertEquals( "La cdula no es correcta.", "CE-77", banco.darCedula( 1 ) );
+
+        StringBuilder transacciones = new StringBuilder( "cedula,operacion,valor,tasa\n" );
+        transacciones.append( "50152468,CONSIGNAR_CORRIENTE,1000.505\n" );
+        transacciones.append( "1,CONSIGNAR_AHORROS,20\r\n" );
+        transacciones.append( "1,RETIRAR_AHORROS,5.5\n" );
+        transacciones.append( "1,RETIRAR_CORRIENTE,1\n" );
+        transacciones.append( "CE-77,INVERTIR_CDT,300,0.015\n" );
+        transacciones.append( "CE-77,AVANZAR_MESES,2\n" );
+        transacciones.append( "50.152.468,AVANZAR_MES\n" );
+        transacciones.append( "CE-77,CERRAR_CDT\n" );
+        transacciones.append( "99,CONSIGNAR_CORRIENTE,1\n" );
+        transacciones.append( "1,TRANSFERIR,1\n" );
+        transacciones.append( "1,CONSIGNAR_CORRIENTE,abc\n" );
+        transacciones.append( "1,INVERTIR_CDT,10\n" );
+        for( int i = 0; i < 30; i++ )
+        {
+            transacciones.append( i % 3 == 2 ? "1" : "50152468" ).append( ",CONSIGNAR_AHORROS," ).append( i ).append( ".0" ).append( i % 10 ).append( "\n" );
+        }
+        transacciones.append( "1,RETIRAR_AHORROS,0.01" );
+        resultado = importador.importarTransacciones( escribir( transacciones.toString( ) ) );
+        assertEquals( "El nmero de filas no es correcto.", 43, resultado.darFilas( ) );
+        assertEquals( "El nmero de filas invlidas no es correcto.", 5, resultado.darInvalidas( ) );
+        assertEquals( "El nmero de retiros sin saldo no es correcto.", 1, resultado.darSinSaldo( ) );
+        assertEquals( "El nmero de transacciones aplicadas no es correcto.", 37, resultado.darAplicadas( ) );
+
+        Banco esperado = new Banco( 10 );
+        esperado.agregarCliente( "50.152.468", "Sergio Lpez" );
+        esperado.agregarCliente( "CE-77", "Otra Persona" );
+        esperado.agregarCliente( "1", "Uno" );
+        esperado.consignarCuentaCorrienteCentavos( 0, 100051 );
+        esperado.consignarCuentaAhorrosCentavos( 2, 2000 );
+        esperado.retirarCuentaAhorrosCentavos( 2, 550 );
+        esperado.invertirCDTCentavos( 1, 30000, 0.015 );
+        esperado.avanzarMeses( 1, 2 );
+        esperado.avanzarMesSimulacion( 0 );
+        esperado.cerrarCDT( 1 );
+        for( int i = 0; i < 30; i++ )
+        {
+            if( i > 0 )
+            {
+                esperado.consignarCuentaAhorrosCentavos( i % 3 == 2 ? 2 : 0, i * 100 + i % 10 );
+            }
+        }
+        esperado.retirarCuentaAhorrosCentavos( 2, 1 );
+        for( int i = 0; i < 3; i++ )
+        {
+            assertEquals( "El saldo corriente no es correcto.", esperado.darSaldoCorrienteCentavos( i ), banco.darSaldoCorrienteCentavos( i ) );
+            assertEquals( "El saldo de ahorros no es correcto.", esperado.darSaldoAhorrosCentavos( i ), banco.darSaldoAhorrosCentavos( i ) );
+            assertEquals( "El CDT no es correcto.", esperado.calcularValorPresenteCDTCentavos( i ), banco.calcularValorPresenteCDTCentavos( i ) );
+            assertEquals( "El mes no es correcto.", esperado.darMesActual( i ), banco.darMesActual( i ) );
+        }
+        assertEquals( "El saldo total no es correcto.", esperado.calcularSaldoTotalCentavos( ), banco.calcularSaldoTotalCentavos( ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar que no se acepten lneas ms largas que un bloque.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * importarTransacciones<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Una lnea ms larga que el bloque produce un error.
+     */
+    @Test
+    public void testLineaMuyLarga( )
+    {
+        setupEscenario1( );
+        banco.agregarCliente( "1", "Uno" );
+        try
+        {
+            new ImportadorCSV( banco, pool, 16 ).importarTransacciones( escribir( "1,AVANZAR_MES\n1,CONSIGNAR_CORRIENTE,1000\n" ) );
+            fail( "Debe producir un error." );
+        }
+        catch( IOException e )
+        {
+            // Debe fallar
+        }
+    }
+}
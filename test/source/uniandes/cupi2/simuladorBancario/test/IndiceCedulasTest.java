@@ -0,0 +1,144 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.IndiceCedulas;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase IndiceCedulas estn correctamente implementados.
+ */
+public class IndiceCedulasTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * ndice usado para las pruebas.
+     */
+    private IndiceCedulas indice;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un ndice vaco con capacidad para 4 entradas.
+     */
+    private void setupEscenario1( )
+    {
+        indice = new IndiceCedulas( 4 );
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar la conversin de cdulas a claves.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * codificar<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Los puntos se ignoran.<br>
+     * 2. Las cdulas vacas, con otros caracteres o demasiado largas no tienen clave.<br>
+     * 3. Las cdulas con ceros a la izquierda no tienen clave, para no confundirlas con la misma cdula sin los ceros.
+     */
+    @Test
+    public void testCodificar( )
+    {
+        assertEquals( "La clave no es la esperada", 50152468, IndiceCedulas.codificar( "50.152.468" ) );
+        assertEquals( "La clave no es la esperada", 50152468, IndiceCedulas.codificar( "50152468" ) );
+        assertEquals( "La clave no es la esperada", 0, IndiceCedulas.codificar( "0" ) );
+        assertEquals( "La clave no es la esperada", 999999999999999999L, IndiceCedulas.codificar( "999999999999999999" ) );
+        assertEquals( "No debera tener clave", IndiceCedulas.SIN_CLAVE, IndiceCedulas.codificar( "" ) );
+        assertEquals( "No debera tener clave", IndiceCedulas.SIN_CLAVE, IndiceCedulas.codificar( "..." ) );
+        assertEquals( "No debera tener clave", IndiceCedulas.SIN_CLAVE, IndiceCedulas.codificar( "CE-123" ) );
+        assertEquals( "No debera tener clave", IndiceCedulas.SIN_CLAVE, IndiceCedulas.codificar( "1234567890123456789" ) );
+        assertEquals( "No debera tener clave", IndiceCedulas.SIN_CLAVE, IndiceCedulas.codificar( "007" ) );
+        assertEquals( "No debera tener clave", IndiceCedulas.SIN_CLAVE, IndiceCedulas.codificar( "0.007" ) );
+        byte[] bytes = "007".getBytes( StandardCharsets.US_ASCII );
+        assertEquals( "No debera tener clave", IndiceCedulas.SIN_CLAVE, IndiceCedulas.codificar( bytes, 0, bytes.length ) );
+        assertEquals( "La clave no es la esperada", 7, IndiceCedulas.codificar( bytes, 2, bytes.length ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar que se agregan y buscan entradas.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * agregar<br>
+     * buscar<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Una cdula se encuentra con o sin puntos.<br>
+     * 2. Una clave repetida conserva su primera posicin.<br>
+     * 3. El ndice crece cuando se agregan ms entradas que su capacidad.
+     */
+    @Test
+    public void testAgregarBuscar( )
+    {
+        setupEscenario1( );
+        assertTrue( "Se debera agregar la entrada", indice.agregar( IndiceCedulas.codificar( "50.152.468" ), 7 ) );
+        assertTrue( "Se debera agregar la entrada", indice.agregar( 0, 3 ) );
+        assertFalse( "La clave ya estaba", indice.agregar( 50152468, 9 ) );
+        assertEquals( "La posicin no es la esperada", 7, indice.buscar( "50152468" ) );
+        assertEquals( "La posicin no es la esperada", 3, indice.buscar( "0" ) );
+        assertEquals( "No debera encontrar la cdula", -1, indice.buscar( "1" ) );
+        assertEquals( "No debera encontrar la cdula", -1, indice.buscar( "CE-1" ) );
+        int casillas = indice.darNumeroCasillas( );
+        for( int i = 1; i <= 100; i++ )
+        {
+            indice.agregar( i, 100 + i );
+        }
+        assertTrue( "El ndice debera haber crecido", indice.darNumeroCasillas( ) > casillas );
+        assertEquals( "El nmero de entradas no es el esperado", 102, indice.darNumeroEntradas( ) );
+        assertEquals( "La posicin no es la esperada", 7, indice.buscar( 50152468 ) );
+        for( int i = 1; i <= 100; i++ )
+        {
+            assertEquals( "La posicin no es la esperada", 100 + i, indice.buscar( i ) );
+        }
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar el ndice con muchas cdulas aleatorias.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * agregar<br>
+     * buscar<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. El ndice encuentra las mismas posiciones que un HashMap con las mismas entradas.
+     */
+    @Test
+    public void testAleatorio( )
+    {
+        indice = new IndiceCedulas( 100000 );
+        Map<Long, Integer> esperado = new HashMap<>( );
+        SplittableRandom azar = new SplittableRandom( 11 );
+        for( int i = 0; i < 100000; i++ )
+        {
+            long clave = azar.nextLong( 10000000000L );
+            assertEquals( "El resultado de agregar no es el esperado", esperado.putIfAbsent( clave, i ) == null, indice.agregar( clave, i ) );
+        }
+        assertEquals( "El nmero de casillas no debera cambiar", 262144, indice.darNumeroCasillas( ) );
+        for( Map.Entry<Long, Integer> entrada : esperado.entrySet( ) )
+        {
+            assertEquals( "La posicin no es la esperada", ( int )entrada.getValue( ), indice.buscar( entrada.getKey( ) ) );
+        }
+        for( int i = 0; i < 1000; i++ )
+        {
+            long clave = azar.nextLong( 10000000000L );
+            assertEquals( "La posicin no es la esperada", ( int )esperado.getOrDefault( clave, -1 ), indice.buscar( clave ) );
+        }
+    }
+}
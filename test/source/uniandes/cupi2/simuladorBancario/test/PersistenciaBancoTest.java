@@ -0,0 +1,223 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.persistencia.DiarioTransacciones;
+import uniandes.cupi2.simuladorBancario.persistencia.PersistenciaBanco;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase PersistenciaBanco estn correctamente implementados.
+ */
+public class PersistenciaBancoTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Directorio de los datos del banco.
+     */
+    private File directorio;
+
+    /**
+     * Persistencia usada para las pruebas.
+     */
+    private PersistenciaBanco persistencia;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un directorio vaco para los datos del banco.
+     * @throws IOException Si no se puede crear el directorio.
+     */
+    private void setupEscenario1( ) throws IOException
+    {
+        directorio = Files.createTempDirectory( "banco" ).toFile( );
+    }
+
+    /**
+     * Cierra la persistencia y borra el directorio al terminar cada prueba.
+     * @throws IOException Si no se puede cerrar el diario.
+     */
+    @After
+    public void borrarDirectorio( ) throws IOException
+    {
+        if( persistencia != null )
+        {
+            persistencia.cerrar( );
+        }
+        if( directorio != null )
+        {
+            for( File archivo : directorio.listFiles( ) )
+            {
+                archivo.delete( );
+            }
+            directorio.delete( );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar la recuperacin desde una instantnea y el diario.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * PersistenciaBanco<br>
+     * tomarInstantanea<br>
+     * darRegistrosReproducidos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Sin instantnea se reproduce todo el diario.<br>
+     * 2. Con instantnea solo se reproducen las operaciones posteriores a ella.<br>
+     * 3. El banco recuperado tiene los mismos saldos y meses.<br>
+     * 4. La instantnea descarta del diario los registros anteriores a ella.
+     * @throws IOException Si no se pueden leer o escribir los datos.
+     */
+    @Test
+    public void testRecuperar( ) throws IOException
+    {
+        setupEscenario1( );
+        persistencia = new PersistenciaBanco( directorio, 10, 1 << 20, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        Banco banco = persistencia.darBanco( );
+        banco.agregarCliente( "1", "Uno" );
+        banco.agregarCliente( "2", "Dos" );
+        banco.consignarCuentaAhorros( 0, 1000 );
+        banco.invertirCDT( 1, 5000, 0.02 );
+        banco.avanzarMesSimulacion( );
+        persistencia.cerrar( );
+
+        persistencia = new PersistenciaBanco( directorio, 10, 1 << 20, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        assertEquals( "Se debe reproducir todo el diario.", 5, persistencia.darRegistrosReproducidos( ) );
+        banco = persistencia.darBanco( );
+        long posicion = persistencia.tomarInstantanea( );
+        assertEquals( "El diario se debi truncar en la instantnea.", posicion, persistencia.darDiario( ).darPosicionInicial( ) );
+        banco.transferir( 0, Banco.PRODUCTO_AHORROS, 1, Banco.PRODUCTO_CORRIENTE, 6 );
+        banco.avanzarMeses( 0, 2 );
+        long total = banco.calcularSaldoTotalCentavos( );
+        long ahorros = banco.darSaldoAhorrosCentavos( 0 );
+        persistencia.cerrar( );
+
+        persistencia = new PersistenciaBanco( directorio, 10, 1 << 20, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        banco = persistencia.darBanco( );
+        assertEquals( "Solo se deben reproducir las operaciones posteriores a la instantnea.", 2, persistencia.darRegistrosReproducidos( ) );
+        assertEquals( "El nmero de clientes no es correcto.", 2, banco.darNumeroClientes( ) );
+        assertEquals( "El nombre no es correcto.", "Dos", banco.darNombre( 1 ) );
+        assertEquals( "El saldo de ahorros no es correcto.", ahorros, banco.darSaldoAhorrosCentavos( 0 ) );
+        assertEquals( "El saldo total no es correcto.", total, banco.calcularSaldoTotalCentavos( ) );
+        assertEquals( "El mes no es correcto.", 4, banco.darMesActual( 0 ) );
+        assertEquals( "El mes no es correcto.", 2, banco.darMesActual( 1 ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar la recuperacin despus de matar el proceso que usaba el banco.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * PersistenciaBanco<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Todas las consignaciones confirmadas antes de matar el proceso estn en el banco recuperado.<br>
+     * 2. Los saldos recuperados corresponden exactamente a un prefijo de las consignaciones.<br>
+     * 3. Solo se reproducen las consignaciones posteriores a la ltima instantnea.
+     * @throws Exception Si no se puede ejecutar el proceso o leer los datos.
+     */
+    @Test(timeout = 60000)
+    public void testRecuperarDespuesDeMatarProceso( ) throws Exception
+    {
+        setupEscenario1( );
+        String java = System.getProperty( "java.home" ) + File.separator + "bin" + File.separator + "java";
+        Process proceso = new ProcessBuilder( java, "-cp", System.getProperty( "java.class.path" ), ProcesoBancoDurable.class.getName( ), directorio.getPath( ) ).redirectErrorStream( true ).start( );
+        long confirmadas = 0;
+        try( BufferedReader salida = new BufferedReader( new InputStreamReader( proceso.getInputStream( ) ) ) )
+        {
+            String linea;
+            while( confirmadas < 5000 && ( linea = salida.readLine( ) ) != null )
+            {
+                confirmadas = Long.parseLong( linea.trim( ) );
+            }
+        }
+        finally
+        {
+            proceso.destroyForcibly( );
+            proceso.waitFor( );
+        }
+        assertTrue( "El proceso debi confirmar consignaciones.", confirmadas >= 5000 );
+
+        persistencia = new PersistenciaBanco( directorio, ProcesoBancoDurable.CLIENTES, 1 << 26, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        Banco banco = persistencia.darBanco( );
+        assertEquals( "El nmero de clientes no es correcto.", ProcesoBancoDurable.CLIENTES, banco.darNumeroClientes( ) );
+        long total = 0;
+        for( int i = 0; i < ProcesoBancoDurable.CLIENTES; i++ )
+        {
+            total += banco.darSaldoCorrienteCentavos( i );
+            assertEquals( "El mes no es correcto.", 3, banco.darMesActual( i ) );
+            assertEquals( "El CDT no es correcto.", ProcesoBancoDurable.VALOR_CDT, banco.calcularValorPresenteCDTCentavos( i ) - 2000 );
+        }
+        // El total de las primeras k consignaciones es k * ( k + 1 ) / 2
+        long k = ( long )Math.floor( ( Math.sqrt( 8.0 * total + 1 ) - 1 ) / 2 );
+        assertEquals( "Los saldos no corresponden a un prefijo de las consignaciones.", total, k * ( k + 1 ) / 2 );
+        assertTrue( "Se perdieron consignaciones confirmadas.", k >= confirmadas );
+        for( int i = 0; i < ProcesoBancoDurable.CLIENTES; i++ )
+        {
+            long esperado = 0;
+            for( long j = i; j < k; j += ProcesoBancoDurable.CLIENTES )
+            {
+                esperado += j + 1;
+            }
+            assertEquals( "El saldo del cliente " + i + " no es correcto.", esperado, banco.darSaldoCorrienteCentavos( i ) );
+        }
+        assertEquals( "Solo se deben reproducir las consignaciones posteriores a la instantnea.", k - ProcesoBancoDurable.INSTANTANEA, persistencia.darRegistrosReproducidos( ) );
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar que al reproducir un avance de mes de todo el banco solo avanzan los
+     * clientes que existan cuando se anot.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * PersistenciaBanco<br>
+     * reproducir<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Un cliente agregado despus de un avance de mes de todo el banco sigue en el mes 1 al recuperar el banco.
+     * @throws IOException Si no se pueden leer o escribir los datos.
+     */
+    @Test
+    public void testReproducirAvanceBanco( ) throws IOException
+    {
+        setupEscenario1( );
+        persistencia = new PersistenciaBanco( directorio, 10, 1 << 20, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        Banco banco = persistencia.darBanco( );
+        banco.agregarCliente( "1", "Uno" );
+        banco.agregarCliente( "2", "Dos" );
+        banco.consignarCuentaAhorros( 0, 1000 );
+        banco.avanzarMesSimulacion( );
+        banco.agregarCliente( "3", "Tres" );
+        banco.consignarCuentaAhorros( 2, 1000 );
+        banco.avanzarMesSimulacion( );
+        banco.agregarCliente( "4", "Cuatro" );
+        long total = banco.calcularSaldoTotalCentavos( );
+        persistencia.cerrar( );
+
+        persistencia = new PersistenciaBanco( directorio, 10, 1 << 20, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        banco = persistencia.darBanco( );
+        assertEquals( "El mes no es correcto.", 3, banco.darMesActual( 0 ) );
+        assertEquals( "El mes no es correcto.", 3, banco.darMesActual( 1 ) );
+        assertEquals( "El mes no es correcto.", 2, banco.darMesActual( 2 ) );
+        assertEquals( "El mes no es correcto.", 1, banco.darMesActual( 3 ) );
+        assertEquals( "El saldo total no es correcto.", total, banco.calcularSaldoTotalCentavos( ) );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Dinero;
+import uniandes.cupi2.simuladorBancario.mundo.PortafolioCDT;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase PortafolioCDT estn correctamente implementados.
+ */
+public class PortafolioCDTTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Portafolio usado para las pruebas.
+     */
+    private PortafolioCDT portafolio;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un portafolio vaco en el mes 1.
+     */
+    private void setupEscenario1( )
+    {
+        portafolio = new PortafolioCDT( 1 );
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar la apertura y el cierre de CDT.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * abrir<br>
+     * cerrar<br>
+     * estaAbierto<br>
+     * darMesVencimiento<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Un CDT abierto vence su plazo despus del mes actual.<br>
+     * 2. Cerrar un CDT retorna su valor presente y libera su identificador.<br>
+     * 3. No se puede cerrar un CDT que no est abierto ni abrir uno sin plazo.
+     */
+    @Test
+    public void testAbrirCerrar( )
+    {
+        setupEscenario1( );
+        int cdt = portafolio.abrir( 100000, 0.01, 12 );
+        assertTrue( "El CDT debera estar abierto", portafolio.estaAbierto( cdt ) );
+        assertEquals( "El mes de vencimiento no es el esperado", 13, portafolio.darMesVencimiento( cdt ) );
+        portafolio.avanzarHasta( 4 );
+        assertEquals( "El valor de cierre no es el esperado", 103000, portafolio.cerrar( cdt ) );
+        assertFalse( "El CDT debera estar cerrado", portafolio.estaAbierto( cdt ) );
+        assertEquals( "El nmero de CDT no es el esperado", 0, portafolio.darNumeroCDT( ) );
+        assertEquals( "El identificador se debera reutilizar", cdt, portafolio.abrir( 100, 0.01, 1 ) );
+        try
+        {
+            portafolio.cerrar( cdt + 1 );
+            fail( "No se debera poder cerrar un CDT que no est abierto" );
+        }
+        catch( IllegalArgumentException e )
+        {
+            // Es lo esperado
+        }
+        try
+        {
+            portafolio.abrir( 100, 0.01, 0 );
+            fail( "No se debera poder abrir un CDT sin plazo" );
+        }
+        catch( IllegalArgumentException e )
+        {
+            // Es lo esperado
+        }
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar el vencimiento de los CDT al avanzar los meses.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * avanzarHasta<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Solo vencen los CDT cuyo plazo se cumple, con el inters de todo su plazo.<br>
+     * 2. Los CDT con plazos ms largos que la rueda vencen en su mes, avanzando de a un mes o de a muchos.<br>
+     * 3. Un CDT cerrado mientras espera su turno para la rueda no se paga al vencer.
+     */
+    @Test
+    public void testAvanzarHasta( )
+    {
+        setupEscenario1( );
+        portafolio.abrir( 100000, 0.01, 2 );
+        portafolio.abrir( 100000, 0.01, PortafolioCDT.TAMANO_RUEDA + 10 );
+        int cerrado = portafolio.abrir( 100000, 0.01, PortafolioCDT.TAMANO_RUEDA + 10 );
+        portafolio.abrir( 100000, 0.01, 3 * PortafolioCDT.TAMANO_RUEDA );
+        assertEquals( "No debera vencer ningn CDT", 0, portafolio.avanzarHasta( 2 ) );
+        assertEquals( "El pago no es el esperado", 102000, portafolio.avanzarHasta( 3 ) );
+        assertEquals( "El valor de cierre no es el esperado", 102000, portafolio.cerrar( cerrado ) );
+        for( int mes = 4; mes < PortafolioCDT.TAMANO_RUEDA + 11; mes++ )
+        {
+            assertEquals( "No debera vencer ningn CDT", 0, portafolio.avanzarHasta( mes ) );
+        }
+        assertEquals( "El pago no es el esperado", 100000 + Dinero.calcularInteres( 100000, ( PortafolioCDT.TAMANO_RUEDA + 10 ) * 0.01 ), portafolio.avanzarHasta( PortafolioCDT.TAMANO_RUEDA + 11 ) );
+        assertEquals( "El pago no es el esperado", 100000 + Dinero.calcularInteres( 100000, 3 * PortafolioCDT.TAMANO_RUEDA * 0.01 ), portafolio.avanzarHasta( 4 * PortafolioCDT.TAMANO_RUEDA ) );
+        assertEquals( "El nmero de CDT no es el esperado", 0, portafolio.darNumeroCDT( ) );
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar el portafolio con muchos CDT de plazos aleatorios.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * abrir<br>
+     * cerrar<br>
+     * avanzarHasta<br>
+     * calcularValorPresenteTotalCentavos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Lo pagado al avanzar y lo que queda en el portafolio coincide con recalcular cada CDT por separado, salvo el
+     * redondeo del valor presente agregado, de menos de medio centavo por CDT.
+     */
+    @Test
+    public void testPlazosAleatorios( )
+    {
+        setupEscenario1( );
+        SplittableRandom azar = new SplittableRandom( 7 );
+        int capacidad = 4000;
+        long[] valores = new long[capacidad];
+        int[] aperturas = new int[capacidad];
+        int[] vencimientos = new int[capacidad];
+        int[] identificadores = new int[capacidad];
+        boolean[] abiertos = new boolean[capacidad];
+        int mes = 1;
+        for( int i = 0; i < capacidad; i++ )
+        {
+            valores[ i ] = 1 + azar.nextInt( 1000000 );
+            aperturas[ i ] = mes;
+            vencimientos[ i ] = mes + 1 + azar.nextInt( 300 );
+            identificadores[ i ] = portafolio.abrir( valores[ i ], 0.01, vencimientos[ i ] - mes );
+            abiertos[ i ] = true;
+            if( azar.nextInt( 10 ) == 0 )
+            {
+                int j = azar.nextInt( i + 1 );
+                if( abiertos[ j ] )
+                {
+                    assertEquals( "El valor de cierre no es el esperado", valores[ j ] + Dinero.calcularInteres( valores[ j ], ( mes - aperturas[ j ] ) * 0.01 ), portafolio.cerrar( identificadores[ j ] ) );
+                    abiertos[ j ] = false;
+                }
+            }
+            if( azar.nextInt( 20 ) == 0 )
+            {
+                int nuevoMes = mes + azar.nextInt( 100 );
+                long esperado = 0;
+                for( int j = 0; j <= i; j++ )
+                {
+                    if( abiertos[ j ] && vencimientos[ j ] <= nuevoMes )
+                    {
+                        esperado += valores[ j ] + Dinero.calcularInteres( valores[ j ], ( vencimientos[ j ] - aperturas[ j ] ) * 0.01 );
+                        abiertos[ j ] = false;
+                    }
+                }
+                mes = nuevoMes;
+                assertEquals( "El pago no es el esperado", esperado, portafolio.avanzarHasta( mes ) );
+            }
+        }
+        long total = 0;
+        int numero = 0;
+        for( int j = 0; j < capacidad; j++ )
+        {
+            if( abiertos[ j ] )
+            {
+                total += valores[ j ] + Dinero.calcularInteres( valores[ j ], ( mes - aperturas[ j ] ) * 0.01 );
+                numero++;
+            }
+        }
+        assertEquals( "El nmero de CDT no es el esperado", numero, portafolio.darNumeroCDT( ) );
+        assertTrue( "El valor presente no es el esperado", Math.abs( total - portafolio.calcularValorPresenteTotalCentavos( ) ) <= numero / 2 );
+    }
+}
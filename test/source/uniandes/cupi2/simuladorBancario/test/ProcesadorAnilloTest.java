@@ -0,0 +1,282 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.LoteOperaciones;
+import uniandes.cupi2.simuladorBancario.mundo.ObservadorProcesador;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
+import uniandes.cupi2.simuladorBancario.mundo.ProcesadorAnillo;
+import uniandes.cupi2.simuladorBancario.mundo.RegistroOperaciones;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase ProcesadorAnillo estn correctamente implementados.
+ */
+public class ProcesadorAnilloTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco usado para las pruebas.
+     */
+    private Banco banco;
+
+    /**
+     * Procesador usado para las pruebas.
+     */
+    private ProcesadorAnillo procesador;
+
+    /**
+     * ltima marca recibida por el observador en cada particin y cliente, para verificar el orden.
+     */
+    private long[] ultimasMarcas;
+
+    /**
+     * Indica si el observador recibi una marca fuera de orden.
+     */
+    private volatile boolean desorden;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un banco con 64 clientes y un procesador de 4 particiones con anillos de 8 operaciones, cuyo
+     * observador verifica que las marcas de cada cliente lleguen en orden creciente.
+     */
+    private void setupEscenario1( )
+    {
+        banco = new Banco( 64 );
+        for( int i = 0; i < 64; i++ )
+        {
+            banco.agregarCliente( "" + i, "Cliente " + i );
+        }
+        ultimasMarcas = new long[64];
+        desorden = false;
+        ObservadorProcesador observador = new ObservadorProcesador( )
+        {
+            public void operacionAplicada( int pParticion, int pCliente, int pCodigo, byte pEstado, long pMarca )
+            {
+                if( pEstado == LoteOperaciones.ESTADO_INVALIDA )
+                {
+                    return;
+                }
+                if( pParticion != procesador.darParticion( pCliente ) || pMarca <= ultimasMarcas[ pCliente ] )
+                {
+                    desorden = true;
+                }
+                ultimasMarcas[ pCliente ] = pMarca;
+            }
+        };
+        procesador = new ProcesadorAnillo( banco, 3, 5, observador );
+    }
+
+    /**
+     * Detiene el procesador al terminar cada prueba.
+     * @throws InterruptedException Si se interrumpe la espera de los escritores.
+     */
+    @After
+    public void detenerProcesador( ) throws InterruptedException
+    {
+        if( procesador != null )
+        {
+            procesador.detener( );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar la aplicacin de las operaciones publicadas por varios productores.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * ProcesadorAnillo<br>
+     * publicar<br>
+     * esperarAplicadas<br>
+     * contarEstado<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Los parmetros se redondean a potencias de dos.<br>
+     * 2. Cada productor publica consignaciones y retiros de sus propios clientes; los saldos finales son los de aplicarlas
+     * en orden aunque los anillos se llenen muchas veces.<br>
+     * 3. El observador recibe las operaciones de cada cliente en el orden en que se publicaron.
+     * @throws InterruptedException Si se interrumpe la espera de los productores.
+     */
+    @Test
+    public void testPublicar( ) throws InterruptedException
+    {
+        setupEscenario1( );
+        assertEquals( "El nmero de particiones no es correcto.", 4, procesador.darNumeroParticiones( ) );
+        int productores = 4;
+        int operaciones = 20000;
+        Thread[] hilos = new Thread[productores];
+        for( int p = 0; p < productores; p++ )
+        {
+            final int primero = p;
+            hilos[ p ] = new Thread( ( ) -> {
+                for( int k = 1; k <= operaciones; k++ )
+                {
+                    int cliente = primero + productores * ( k % 16 );
+                    int codigo = k % 3 == 0 ? Operacion.RETIRAR_CORRIENTE : Operacion.CONSIGNAR_CORRIENTE;
+                    procesador.publicar( codigo, cliente, 0, 2, 0, k );
+                }
+            } );
+            hilos[ p ].start( );
+        }
+        for( Thread t : hilos )
+        {
+            t.join( );
+        }
+        procesador.esperarAplicadas( );
+        Banco esperado = new Banco( 64 );
+        for( int i = 0; i < 64; i++ )
+        {
+            esperado.agregarCliente( "" + i, "Cliente " + i );
+        }
+        for( int p = 0; p < productores; p++ )
+        {
+            for( int k = 1; k <= operaciones; k++ )
+            {
+                int cliente = p + productores * ( k % 16 );
+                if( k % 3 == 0 )
+                {
+                    esperado.retirarCuentaCorrienteCentavos( cliente, 2 );
+                }
+                else
+                {
+                    esperado.consignarCuentaCorrienteCentavos( cliente, 2 );
+                }
+            }
+        }
+        for( int i = 0; i < 64; i++ )
+        {
+            assertEquals( "El saldo del cliente " + i + " no es correcto.", esperado.darSaldoCorrienteCentavos( i ), banco.darSaldoCorrienteCentavos( i ) );
+        }
+        assertEquals( "El saldo total no es correcto.", esperado.calcularSaldoTotalCentavos( ), banco.calcularSaldoTotalCentavos( ) );
+        assertEquals( "El nmero de operaciones no es correcto.", ( long )productores * operaciones, procesador.contarEstado( LoteOperaciones.ESTADO_APLICADA ) + procesador.contarEstado( LoteOperaciones.ESTADO_SALDO_INSUFICIENTE ) );
+        assertTrue( "El observador recibi operaciones fuera de orden.", !desorden );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar las operaciones de CDT, avance de mes y las invlidas.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * publicar<br>
+     * contarEstado<br>
+     * detener<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Invertir, avanzar meses y cerrar el CDT dan el mismo resultado que en el banco.<br>
+     * 2. Un cdigo, un cliente o un monto invlido se cuenta como invlido y no modifica el banco.<br>
+     * 3. Despus de detener el procesador no se puede publicar.
+     * @throws InterruptedException Si se interrumpe la espera de los escritores.
+     */
+    @Test
+    public void testOtrasOperaciones( ) throws InterruptedException
+    {
+        setupEscenario1( );
+        procesador.publicar( Operacion.CONSIGNAR_AHORROS, 5, 0, 100000, 0, 1 );
+        procesador.publicar( Operacion.INVERTIR_CDT, 5, 0, 50000, 0.02, 2 );
+        procesador.publicar( Operacion.AVANZAR_MES, 5, 0, 0, 0, 3 );
+        procesador.publicar( Operacion.AVANZAR_MESES, 5, 2, 0, 0, 4 );
+        procesador.publicar( Operacion.CERRAR_CDT, 5, 0, 0, 0, 5 );
+        procesador.publicar( Operacion.TRANSFERIR, 6, 0, 10, 0, 1 );
+        procesador.publicar( Operacion.CONSIGNAR_CORRIENTE, 7, 0, -10, 0, 1 );
+        procesador.publicar( Operacion.CONSIGNAR_CORRIENTE, 64, 0, 10, 0, 1 );
+        procesador.esperarAplicadas( );
+
+        Banco esperado = new Banco( 1 );
+        esperado.agregarCliente( "5", "Cliente 5" );
+        esperado.consignarCuentaAhorrosCentavos( 0, 100000 );
+        esperado.invertirCDTCentavos( 0, 50000, 0.02 );
+        esperado.avanzarMesSimulacion( 0 );
+        esperado.avanzarMeses( 0, 2 );
+        esperado.cerrarCDT( 0 );
+        assertEquals( "El mes no es correcto.", 4, banco.darMesActual( 5 ) );
+        assertEquals( "El saldo no es correcto.", esperado.darSaldoCorrienteCentavos( 0 ), banco.darSaldoCorrienteCentavos( 5 ) );
+        assertEquals( "El saldo no es correcto.", esperado.darSaldoAhorrosCentavos( 0 ), banco.darSaldoAhorrosCentavos( 5 ) );
+        assertEquals( "El saldo total no es correcto.", esperado.calcularSaldoTotalCentavos( ), banco.calcularSaldoTotalCentavos( ) );
+        assertEquals( "El nmero de operaciones aplicadas no es correcto.", 5, procesador.contarEstado( LoteOperaciones.ESTADO_APLICADA ) );
+        assertEquals( "El nmero de operaciones invlidas no es correcto.", 3, procesador.contarEstado( LoteOperaciones.ESTADO_INVALIDA ) );
+
+        procesador.detener( );
+        try
+        {
+            procesador.publicar( Operacion.CONSIGNAR_CORRIENTE, 1, 10 );
+            fail( "No se debi poder publicar." );
+        }
+        catch( IllegalStateException e )
+        {
+            // Es el comportamiento esperado
+        }
+        procesador = null;
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar que una excepcin del banco no detiene al escritor.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * publicar<br>
+     * esperarAplicadas<br>
+     * darError<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Las operaciones cuyo registro falla quedan invlidas y no cambian el banco.<br>
+     * 2. El escritor sigue aplicando las operaciones siguientes, incluso con el anillo lleno muchas veces, y
+     * esperarAplicadas termina.<br>
+     * 3. darError retorna la excepcin del banco.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    @Test( timeout = 20000 )
+    public void testErrorAlAplicar( ) throws InterruptedException
+    {
+        setupEscenario1( );
+        assertNull( "No debe haber errores.", procesador.darError( ) );
+        IllegalStateException falla = new IllegalStateException( "El registro est lleno." );
+        banco.cambiarRegistro( new RegistroOperaciones( )
+        {
+            public long anotarCliente( int pCliente, String pCedula, String pNombre )
+            {
+                return -1;
+            }
+
+            public long anotar( int pCodigo, int pCliente, int pAuxiliar, int pProductos, long pCentavos, double pTasa )
+            {
+                if( pCentavos == 13 )
+                {
+                    throw falla;
+                }
+                return -1;
+            }
+
+            public long darPosicionFinal( )
+            {
+                return -1;
+            }
+
+            public void confirmar( long pPosicion )
+            {
+                // No hay nada que confirmar
+            }
+        } );
+        for( int i = 0; i < 1000; i++ )
+        {
+            procesador.publicar( Operacion.CONSIGNAR_CORRIENTE, i % 64, 0, i % 2 == 0 ? 13 : 7, 0, i + 1 );
+        }
+        procesador.esperarAplicadas( );
+        assertEquals( "Las operaciones que fallaron deben quedar invlidas.", 500, procesador.contarEstado( LoteOperaciones.ESTADO_INVALIDA ) );
+        assertEquals( "Las dems operaciones se debieron aplicar.", 500, procesador.contarEstado( LoteOperaciones.ESTADO_APLICADA ) );
+        assertEquals( "El saldo total no es correcto.", 500 * 7, banco.calcularSaldoTotalCentavos( ) );
+        assertEquals( "El error no es correcto.", falla, procesador.darError( ) );
+    }
+}
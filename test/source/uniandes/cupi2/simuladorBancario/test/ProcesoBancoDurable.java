@@ -0,0 +1,88 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import java.io.File;
+import java.io.IOException;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.persistencia.DiarioTransacciones;
+import uniandes.cupi2.simuladorBancario.persistencia.PersistenciaBanco;
+
+/**
+ * Programa usado por PersistenciaBancoTest: hace operaciones sobre un banco durable sin detenerse hasta que lo matan, e
+ * informa por la salida estndar cuntas consignaciones ya fueron confirmadas. <br>
+ * Primero registra los clientes, les abre un CDT, avanza dos meses y toma una instantnea. Luego la consignacin nmero i
+ * (desde 0) deposita i + 1 centavos en la cuenta corriente del cliente i % CLIENTES, y se toma otra instantnea despus de
+ * INSTANTANEA consignaciones.
+ */
+public class ProcesoBancoDurable
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de clientes del banco.
+     */
+    public static final int CLIENTES = 100;
+
+    /**
+     * Valor del CDT de cada cliente, en centavos.
+     */
+    public static final long VALOR_CDT = 100000;
+
+    /**
+     * Nmero de consignaciones despus de las cuales se toma la segunda instantnea.
+     */
+    public static final long INSTANTANEA = 2000;
+
+    /**
+     * Cada cuntas consignaciones se informa el avance.
+     */
+    public static final long AVISO = 500;
+
+    // -----------------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------------
+
+    /**
+     * Ejecuta el programa.
+     * @param pArgs Directorio de los datos del banco.
+     * @throws IOException Si no se pueden escribir los datos.
+     */
+    public static void main( String[] pArgs ) throws IOException
+    {
+        PersistenciaBanco persistencia = new PersistenciaBanco( new File( pArgs[ 0 ] ), CLIENTES, 1 << 26, DiarioTransacciones.DURABILIDAD_AGRUPADA );
+        Banco banco = persistencia.darBanco( );
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            banco.agregarCliente( "" + i, "Cliente " + i );
+            banco.invertirCDTCentavos( i, VALOR_CDT, 0.01 );
+        }
+        banco.avanzarMesSimulacion( );
+        banco.avanzarMesSimulacion( );
+        persistencia.tomarInstantanea( );
+        for( long i = 0;; i++ )
+        {
+            banco.consignarCuentaCorrienteCentavos( ( int )( i % CLIENTES ), i + 1 );
+            if( i + 1 == INSTANTANEA )
+            {
+                persistencia.tomarInstantanea( );
+            }
+            if( ( i + 1 ) % AVISO == 0 )
+            {
+                System.out.println( i + 1 );
+                System.out.flush( );
+            }
+        }
+    }
+}
\ No newline at end of file
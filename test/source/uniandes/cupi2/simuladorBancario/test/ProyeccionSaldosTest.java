@@ -0,0 +1,167 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.analisis.ProyeccionSaldos;
+import uniandes.cupi2.simuladorBancario.analisis.TotalesProyeccion;
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase ProyeccionSaldos estn correctamente implementados.
+ */
+public class ProyeccionSaldosTest
+{
+    // -----------------------------------------------------------------
+    // Constantes
+    // -----------------------------------------------------------------
+
+    /**
+     * Nmero de clientes del banco de las pruebas. No es mltiplo del tamao de los bloques.
+     */
+    private static final int CLIENTES = 5000;
+
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco usado para las pruebas.
+     */
+    private Banco banco;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un banco con clientes en distintos meses, con saldos en las tres cuentas.
+     */
+    private void setupEscenario1( )
+    {
+        banco = new Banco( CLIENTES );
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            banco.agregarCliente( "" + i, "Cliente " + i );
+            banco.consignarCuentaCorrienteCentavos( i, 1000 * i );
+            banco.consignarCuentaAhorrosCentavos( i, 10000 + 37 * i );
+            if( i % 3 != 0 )
+            {
+                banco.invertirCDTCentavos( i, 5000 + i, 0.01 * ( i % 4 ) );
+            }
+            banco.avanzarMeses( i, i % 5 );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar la proyeccin contra el avance real de los meses.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * proyectar<br>
+     * calcularValorCDT<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Los totales proyectados coinciden, salvo por el redondeo al centavo, con los del banco antes y despus de
+     * avanzar los mismos meses.<br>
+     * 2. El valor proyectado del CDT de cada cliente es el del banco.
+     */
+    @Test
+    public void testProyectar( )
+    {
+        setupEscenario1( );
+        ProyeccionSaldos proyeccion = new ProyeccionSaldos( banco.capturarEstado( ) );
+        TotalesProyeccion totales = proyeccion.proyectar( 12 );
+        assertEquals( "El nmero de meses no es el esperado", 12, totales.darMeses( ) );
+        assertEquals( "El total inicial no es el esperado", banco.calcularSaldoTotal( ), totales.darTotal( 0 ), CLIENTES * 0.005 );
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            banco.avanzarMeses( i, 12 );
+        }
+        assertEquals( "El total proyectado no es el esperado", banco.calcularSaldoTotal( ), totales.darTotal( 12 ), CLIENTES * 0.01 );
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            assertEquals( "El CDT proyectado no es el esperado", banco.calcularValorPresenteCDTCentavos( i ), proyeccion.calcularValorCDT( i, 12 ), 0.5 );
+        }
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar que las tres formas de proyectar dan los mismos totales.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * proyectar<br>
+     * proyectarEscalar<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Por bloques, con observador y cliente por cliente los totales son iguales salvo por el orden de las sumas.<br>
+     * 2. El observador recibe los saldos de todos los clientes en cada mes.
+     */
+    @Test
+    public void testFormasDeProyectar( )
+    {
+        setupEscenario1( );
+        ProyeccionSaldos proyeccion = new ProyeccionSaldos( banco.capturarEstado( ) );
+        TotalesProyeccion bloques = proyeccion.proyectar( 24 );
+        TotalesProyeccion escalar = proyeccion.proyectarEscalar( 24 );
+        final int[] meses = new int[1];
+        TotalesProyeccion observados = proyeccion.proyectar( 24, ( mes, ahorros, p ) -> {
+            meses[ 0 ]++;
+            assertEquals( "El mes no es el esperado", meses[ 0 ], mes );
+            assertEquals( "El nmero de saldos no es el esperado", CLIENTES, ahorros.length );
+        } );
+        assertEquals( "El observador debi recibir todos los meses", 24, meses[ 0 ] );
+        for( int mes = 0; mes <= 24; mes++ )
+        {
+            assertEquals( "El total no es el esperado", escalar.darAhorros( mes ), bloques.darAhorros( mes ), 1e-6 );
+            assertEquals( "El total no es el esperado", escalar.darAhorros( mes ), observados.darAhorros( mes ), 1e-6 );
+            assertEquals( "El total no es el esperado", escalar.darTotal( mes ), bloques.darTotal( mes ), 1e-6 );
+        }
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar las columnas proyectadas de cada cliente.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * proyectar<br>
+     * darSaldoCorriente<br>
+     * darSaldoAhorros<br>
+     * calcularSaldoTotal<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. El saldo de ahorros proyectado de cada cliente es el que tiene en el banco despus de avanzar mes por mes,
+     * redondeando los intereses al centavo cada mes.<br>
+     * 2. El saldo corriente y el saldo total de cada cliente son los del banco.<br>
+     * 3. Proyectar cliente por cliente da los mismos saldos.
+     */
+    @Test
+    public void testColumnasPorCliente( )
+    {
+        setupEscenario1( );
+        ProyeccionSaldos proyeccion = new ProyeccionSaldos( banco.capturarEstado( ) );
+        assertEquals( "El mes proyectado no es el esperado", 0, proyeccion.darMesProyectado( ) );
+        proyeccion.proyectar( 12 );
+        assertEquals( "El mes proyectado no es el esperado", 12, proyeccion.darMesProyectado( ) );
+        for( int mes = 0; mes < 12; mes++ )
+        {
+            for( int i = 0; i < CLIENTES; i++ )
+            {
+                banco.avanzarMesSimulacion( i );
+            }
+        }
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            assertEquals( "El saldo corriente no es el esperado", banco.darSaldoCorrienteCentavos( i ), proyeccion.darSaldoCorriente( i ), 0 );
+            assertEquals( "El saldo de ahorros no es el esperado", banco.darSaldoAhorrosCentavos( i ), proyeccion.darSaldoAhorros( i ), 0 );
+            assertEquals( "El saldo total no es el esperado", banco.calcularSaldoTotalCentavos( i ), proyeccion.calcularSaldoTotal( i ), 1 );
+        }
+        proyeccion.proyectarEscalar( 12 );
+        for( int i = 0; i < CLIENTES; i++ )
+        {
+            assertEquals( "El saldo de ahorros no es el esperado", banco.darSaldoAhorrosCentavos( i ), proyeccion.darSaldoAhorros( i ), 0 );
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.persistencia.DiarioTransacciones;
+import uniandes.cupi2.simuladorBancario.persistencia.PersistenciaBanco;
+import uniandes.cupi2.simuladorBancario.servidor.PublicadorDiario;
+import uniandes.cupi2.simuladorBancario.servidor.ReplicaLectura;
+import uniandes.cupi2.simuladorBancario.servidor.ServidorSimulador;
+
+/**
+ * Clase usada para verificar que los mtodos de las clases PublicadorDiario y ReplicaLectura estn correctamente
+ * implementados.
+ */
+public class ReplicaLecturaTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Directorio de los datos del primario.
+     */
+    private File directorio;
+
+    /**
+     * Persistencia del primario.
+     */
+    private PersistenciaBanco persistencia;
+
+    /**
+     * Publicador del diario del primario.
+     */
+    private PublicadorDiario publicador;
+
+    /**
+     * Rplicas del primario.
+     */
+    private ReplicaLectura[] replicas;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un primario vaco con capacidad para 1000 clientes y publica su diario en un puerto libre.
+     * @throws IOException Si no se pueden crear los archivos o abrir el puerto.
+     */
+    private void setupEscenario1( ) throws IOException
+    {
+        directorio = Files.createTempDirectory( "primario" ).toFile( );
+        persistencia = new PersistenciaBanco( directorio, 1000, 1 << 23, DiarioTransacciones.DURABILIDAD_DIFERIDA );
+        publicador = new PublicadorDiario( persistencia, ServidorSimulador.PUERTO_LIBRE );
+        publicador.iniciar( );
+        replicas = new ReplicaLectura[0];
+    }
+
+    /**
+     * Cierra las rplicas, el publicador y el primario y borra el directorio al terminar cada prueba.
+     * @throws IOException Si no se puede cerrar el diario.
+     */
+    @After
+    public void detenerPrimario( ) throws IOException
+    {
+        if( replicas != null )
+        {
+            for( ReplicaLectura replica : replicas )
+            {
+                replica.cerrar( );
+            }
+        }
+        if( publicador != null )
+        {
+            publicador.detener( );
+        }
+        if( persistencia != null )
+        {
+            persistencia.cerrar( );
+        }
+        if( directorio != null )
+        {
+            for( File archivo : directorio.listFiles( ) )
+            {
+                archivo.delete( );
+            }
+            directorio.delete( );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar que las rplicas tienen el estado del primario.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * ReplicaLectura<br>
+     * esperarPosicion<br>
+     * darSaldoCorrienteCentavos<br>
+     * darSaldoAhorrosCentavos<br>
+     * calcularValorPresenteCDTCentavos<br>
+     * calcularSaldoTotalCentavos<br>
+     * darMesActual<br>
+     * darRetrasoBytes<br>
+     * darRetrasoMilisegundos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Despus de esperar la posicin final del diario, cada rplica tiene los clientes, saldos y meses del primario.<br>
+     * 2. Una rplica al da no tiene retraso.<br>
+     * 3. Consultar un cliente que no existe termina con IllegalArgumentException.
+     * @throws Exception Si no se pueden crear los archivos, conectar o se interrumpe la espera.
+     */
+    @Test
+    public void testReplicar( ) throws Exception
+    {
+        setupEscenario1( );
+        Banco banco = persistencia.darBanco( );
+        replicas = new ReplicaLectura[] { new ReplicaLectura( publicador.darPuerto( ), 1000 ), new ReplicaLectura( publicador.darPuerto( ), 1000 ) };
+        banco.agregarCliente( "1.000", "Uno" );
+        banco.agregarCliente( "A-2", "Dos" );
+        banco.consignarCuentaCorrienteCentavos( 0, 5000 );
+        banco.consignarCuentaAhorrosCentavos( 1, 3000 );
+        banco.retirarCuentaCorrienteCentavos( 0, 1200 );
+        banco.invertirCDTCentavos( 1, 2000, 0.02 );
+        banco.transferirCentavos( 0, Banco.PRODUCTO_CORRIENTE, 1, Banco.PRODUCTO_CORRIENTE, 800 );
+        banco.avanzarMesSimulacion( );
+        banco.avanzarMeses( 0, 2 );
+
+        long posicion = persistencia.darDiario( ).darPosicionFinal( );
+        for( ReplicaLectura replica : replicas )
+        {
+            assertTrue( "La rplica debi alcanzar al primario.", replica.esperarPosicion( posicion, 5000 ) );
+            assertEquals( "El nmero de clientes no es correcto.", 2, replica.darNumeroClientes( ) );
+            assertEquals( "El saldo no es correcto.", banco.darSaldoCorrienteCentavos( 0 ), replica.darSaldoCorrienteCentavos( "1000" ) );
+            assertEquals( "El saldo no es correcto.", banco.darSaldoCorrienteCentavos( 1 ), replica.darSaldoCorrienteCentavos( "A-2" ) );
+            assertEquals( "El saldo no es correcto.", banco.darSaldoAhorrosCentavos( 0 ), replica.darSaldoAhorrosCentavos( "1.000" ) );
+            assertEquals( "El saldo no es correcto.", banco.darSaldoAhorrosCentavos( 1 ), replica.darSaldoAhorrosCentavos( "A-2" ) );
+            assertEquals( "El CDT no es correcto.", banco.calcularValorPresenteCDTCentavos( 1 ), replica.calcularValorPresenteCDTCentavos( "A-2" ) );
+            assertEquals( "El saldo total no es correcto.", banco.calcularSaldoTotalCentavos( 0 ), replica.calcularSaldoTotalCentavos( "1000" ) );
+            assertEquals( "El saldo total no es correcto.", banco.calcularSaldoTotalCentavos( ), replica.calcularSaldoTotalCentavos( ) );
+            assertEquals( "El mes no es correcto.", 4, replica.darMesActual( "1000" ) );
+            assertEquals( "El mes no es correcto.", 2, replica.darMesActual( "A-2" ) );
+            assertEquals( "La rplica no debe tener retraso.", 0, replica.darRetrasoBytes( ) );
+            assertEquals( "La rplica no debe tener retraso.", 0, replica.darRetrasoMilisegundos( ) );
+            try
+            {
+                replica.darMesActual( "3" );
+                fail( "El cliente no existe." );
+            }
+            catch( IllegalArgumentException e )
+            {
+                // Es el comportamiento esperado
+            }
+        }
+        assertEquals( "El publicador debe tener dos rplicas.", 2, publicador.darNumeroReplicas( ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar que una rplica que se conecta tarde recibe todo el diario, aunque ocupe
+     * varios bloques y los registros queden partidos entre bloques.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * ReplicaLectura<br>
+     * esperarPosicion<br>
+     * cerrar<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. La rplica recibe las operaciones anteriores a su conexin y las que se hacen mientras se pone al da.<br>
+     * 2. Despus de cerrar la rplica se puede seguir consultando, pero ya no recibe operaciones.
+     * @throws Exception Si no se pueden crear los archivos, conectar o se interrumpe la espera.
+     */
+    @Test
+    public void testBloques( ) throws Exception
+    {
+        setupEscenario1( );
+        Banco banco = persistencia.darBanco( );
+        for( int i = 0; i < 1000; i++ )
+        {
+            banco.agregarCliente( "" + ( 5000 + i ), "Cliente " + i );
+        }
+        for( int i = 0; i < 3 * PublicadorDiario.TAMANO_BLOQUE / DiarioTransacciones.TAMANO_REGISTRO; i++ )
+        {
+            banco.consignarCuentaCorrienteCentavos( ( i * 7 ) % 1000, 1 + i % 13 );
+        }
+        replicas = new ReplicaLectura[] { new ReplicaLectura( publicador.darPuerto( ), 1000 ) };
+        for( int i = 0; i < 10000; i++ )
+        {
+            banco.consignarCuentaAhorrosCentavos( i % 1000, 3 );
+        }
+
+        ReplicaLectura replica = replicas[ 0 ];
+        assertTrue( "La rplica debi alcanzar al primario.", replica.esperarPosicion( persistencia.darDiario( ).darPosicionFinal( ), 10000 ) );
+        assertEquals( "El saldo total no es correcto.", banco.calcularSaldoTotalCentavos( ), replica.calcularSaldoTotalCentavos( ) );
+        for( int i = 0; i < 1000; i++ )
+        {
+            assertEquals( "El saldo no es correcto.", banco.calcularSaldoTotalCentavos( i ), replica.calcularSaldoTotalCentavos( "" + ( 5000 + i ) ) );
+        }
+
+        long total = replica.calcularSaldoTotalCentavos( );
+        replica.cerrar( );
+        banco.consignarCuentaCorrienteCentavos( 0, 100 );
+        assertEquals( "La rplica cerrada no debe recibir operaciones.", total, replica.calcularSaldoTotalCentavos( ) );
+        assertNull( "La rplica se cerr sin errores.", replica.darError( ) );
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar que una rplica que se conecta despus de que una instantnea trunc el
+     * diario del primario empieza desde la instantnea.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * ReplicaLectura<br>
+     * esperarPosicion<br>
+     * darPosicionAplicada<br>
+     * calcularSaldoTotalCentavos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. La rplica tiene las operaciones de la instantnea y las anotadas antes y despus de conectarse.<br>
+     * 2. La rplica sigue recibiendo operaciones cuando el primario toma otra instantnea.<br>
+     * 3. Una rplica sin capacidad para los clientes de la instantnea termina con IllegalStateException.
+     * @throws Exception Si no se pueden crear los archivos, conectar o se interrumpe la espera.
+     */
+    @Test
+    public void testInstantanea( ) throws Exception
+    {
+        setupEscenario1( );
+        Banco banco = persistencia.darBanco( );
+        for( int i = 0; i < 100; i++ )
+        {
+            banco.agregarCliente( "" + ( 7000 + i ), "Cliente " + i );
+            banco.consignarCuentaCorrienteCentavos( i, 10 + i );
+        }
+        banco.invertirCDTCentavos( 3, 5, 0.01 );
+        banco.avanzarMesSimulacion( );
+        long posicionInstantanea = persistencia.tomarInstantanea( );
+        assertEquals( "La instantnea debi truncar el diario.", posicionInstantanea, persistencia.darDiario( ).darPosicionInicial( ) );
+        banco.consignarCuentaAhorrosCentavos( 5, 700 );
+
+        replicas = new ReplicaLectura[] { new ReplicaLectura( publicador.darPuerto( ), 1000 ) };
+        ReplicaLectura replica = replicas[ 0 ];
+        assertTrue( "La rplica debi empezar desde la instantnea.", replica.darPosicionAplicada( ) >= posicionInstantanea );
+        banco.retirarCuentaCorrienteCentavos( 7, 3 );
+        assertTrue( "La rplica debi alcanzar al primario.", replica.esperarPosicion( persistencia.darDiario( ).darPosicionFinal( ), 5000 ) );
+        assertEquals( "El nmero de clientes no es correcto.", 100, replica.darNumeroClientes( ) );
+        for( int i = 0; i < 100; i++ )
+        {
+            assertEquals( "El saldo no es correcto.", banco.calcularSaldoTotalCentavos( i ), replica.calcularSaldoTotalCentavos( "" + ( 7000 + i ) ) );
+        }
+        assertEquals( "El mes no es correcto.", 2, replica.darMesActual( "7003" ) );
+
+        persistencia.tomarInstantanea( );
+        banco.consignarCuentaCorrienteCentavos( 9, 40 );
+        assertTrue( "La rplica debi alcanzar al primario.", replica.esperarPosicion( persistencia.darDiario( ).darPosicionFinal( ), 5000 ) );
+        assertEquals( "El saldo total no es correcto.", banco.calcularSaldoTotalCentavos( ), replica.calcularSaldoTotalCentavos( ) );
+        assertNull( "La rplica no debe tener errores.", replica.darError( ) );
+
+        try
+        {
+            new ReplicaLectura( publicador.darPuerto( ), 10 );
+            fail( "La rplica no tiene capacidad para los clientes." );
+        }
+        catch( IllegalStateException e )
+        {
+            // Es el comportamiento esperado
+        }
+    }
+}
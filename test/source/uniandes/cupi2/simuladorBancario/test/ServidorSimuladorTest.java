@@ -0,0 +1,208 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.RegistroOperaciones;
+import uniandes.cupi2.simuladorBancario.servidor.ServidorSimulador;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase ServidorSimulador estn correctamente implementados.
+ */
+public class ServidorSimuladorTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Banco usado para las pruebas.
+     */
+    private Banco banco;
+
+    /**
+     * Servidor del banco.
+     */
+    private ServidorSimulador servidor;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea un banco con capacidad para 4 clientes, con un cliente, y lo expone en un servidor iniciado en un
+     * puerto libre.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    private void setupEscenario1( ) throws IOException
+    {
+        banco = new Banco( 4 );
+        banco.agregarCliente( "50.152.468", "Sergio Lpez" );
+        servidor = new ServidorSimulador( banco, ServidorSimulador.PUERTO_LIBRE );
+        servidor.iniciar( );
+    }
+
+    /**
+     * Detiene el servidor al terminar cada prueba.
+     */
+    @After
+    public void detenerServidor( )
+    {
+        if( servidor != null )
+        {
+            servidor.detener( );
+        }
+    }
+
+    /**
+     * Enva una solicitud al servidor.
+     * @param pMetodo Mtodo HTTP.
+     * @param pRutaYConsulta Ruta y consulta de la solicitud.
+     * @return Cdigo de la respuesta seguido de un espacio y el texto de la respuesta.
+     * @throws IOException Si no se puede comunicar con el servidor.
+     */
+    private String enviar( String pMetodo, String pRutaYConsulta ) throws IOException
+    {
+        HttpURLConnection conexion = ( HttpURLConnection )new URL( "http://127.0.0.1:" + servidor.darPuerto( ) + pRutaYConsulta ).openConnection( );
+        conexion.setRequestMethod( pMetodo );
+        int codigo = conexion.getResponseCode( );
+        try( InputStream entrada = codigo < 400 ? conexion.getInputStream( ) : conexion.getErrorStream( ) )
+        {
+            return codigo + " " + new String( entrada.readAllBytes( ), StandardCharsets.UTF_8 );
+        }
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar las operaciones de un cliente a travs del servidor.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * ServidorSimulador<br>
+     * iniciar<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Se agrega un cliente y se busca por su cdula.<br>
+     * 2. Las consignaciones, retiros, CDT y avances de mes modifican el banco.<br>
+     * 3. Un retiro sin saldo suficiente retorna false y no modifica el banco.<br>
+     * 4. El saldo total del cliente y del banco se consultan en pesos.
+     * @throws IOException Si no se puede comunicar con el servidor.
+     */
+    @Test
+    public void testOperaciones( ) throws IOException
+    {
+        setupEscenario1( );
+        assertEquals( "No se agreg el cliente.", "200 1", enviar( "POST", "/clientes?cedula=123&nombre=Ana%20Mar%C3%ADa" ) );
+        assertEquals( "El nombre no es correcto.", "Ana Mara", banco.darNombre( 1 ) );
+
+        assertEquals( "No se consign.", "200 ok", enviar( "POST", "/consignar?cedula=50152468&producto=corriente&valor=1500.25" ) );
+        assertEquals( "No se consign.", "200 ok", enviar( "POST", "/consignar?cedula=123&producto=ahorros&valor=1000" ) );
+        assertEquals( "El saldo no es correcto.", 150025, banco.darSaldoCorrienteCentavos( 0 ) );
+        assertEquals( "El saldo no es correcto.", 100000, banco.darSaldoAhorrosCentavos( 1 ) );
+
+        assertEquals( "El retiro debi hacerse.", "200 true", enviar( "POST", "/retirar?cedula=50.152.468&producto=corriente&valor=0.25" ) );
+        assertEquals( "El retiro no debi hacerse.", "200 false", enviar( "POST", "/retirar?cedula=123&producto=ahorros&valor=1000.01" ) );
+        assertEquals( "El saldo no es correcto.", 150000, banco.darSaldoCorrienteCentavos( 0 ) );
+        assertEquals( "El saldo no es correcto.", 100000, banco.darSaldoAhorrosCentavos( 1 ) );
+
+        assertEquals( "No se invirti.", "200 ok", enviar( "POST", "/invertirCDT?cedula=123&valor=500&interes=0.02" ) );
+        assertEquals( "No se avanz el mes.", "200 ok", enviar( "POST", "/avanzarMes?cedula=123" ) );
+        assertEquals( "El mes no es correcto.", 2, banco.darMesActual( 1 ) );
+        assertEquals( "El mes no es correcto.", 1, banco.darMesActual( 0 ) );
+        assertEquals( "No se avanz el mes.", "200 ok", enviar( "POST", "/avanzarMes" ) );
+        assertEquals( "El mes no es correcto.", 3, banco.darMesActual( 1 ) );
+        assertEquals( "El mes no es correcto.", 2, banco.darMesActual( 0 ) );
+
+        assertEquals( "El cliente no es correcto.", "200 mes=3\ncorriente=0.00\nahorros=" + ServidorSimulador.formatearCentavos( banco.darSaldoAhorrosCentavos( 1 ) ) + "\ncdt=520.00\ntotal=" + ServidorSimulador.formatearCentavos( banco.calcularSaldoTotalCentavos( 1 ) ), enviar( "GET", "/cliente?cedula=123" ) );
+        assertEquals( "No se cerr el CDT.", "200 ok", enviar( "POST", "/cerrarCDT?cedula=123" ) );
+        assertEquals( "El saldo no es correcto.", 52000, banco.darSaldoCorrienteCentavos( 1 ) );
+        assertEquals( "El saldo total no es correcto.", "200 " + ServidorSimulador.formatearCentavos( banco.calcularSaldoTotalCentavos( 1 ) ), enviar( "GET", "/saldoTotal?cedula=123" ) );
+        assertEquals( "El saldo total no es correcto.", "200 " + ServidorSimulador.formatearCentavos( banco.calcularSaldoTotalCentavos( ) ), enviar( "GET", "/saldoTotal" ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar las respuestas a solicitudes que no se pueden atender.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * ServidorSimulador<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Una ruta o un cliente que no existe recibe 404.<br>
+     * 2. Un valor, un producto o un inters invlido recibe 400.<br>
+     * 3. Un mtodo distinto al de la ruta recibe 405.<br>
+     * 4. Ninguna de esas solicitudes modifica el banco.
+     * @throws IOException Si no se puede comunicar con el servidor.
+     */
+    @Test
+    public void testErrores( ) throws IOException
+    {
+        setupEscenario1( );
+        assertEquals( "El cdigo no es correcto.", "404", enviar( "GET", "/transferir" ).substring( 0, 3 ) );
+        assertEquals( "El cdigo no es correcto.", "404", enviar( "POST", "/consignar?cedula=999&producto=corriente&valor=1" ).substring( 0, 3 ) );
+        assertEquals( "El cdigo no es correcto.", "400", enviar( "POST", "/consignar?producto=corriente&valor=1" ).substring( 0, 3 ) );
+        assertEquals( "El cdigo no es correcto.", "400", enviar( "POST", "/consignar?cedula=50152468&producto=cdt&valor=1" ).substring( 0, 3 ) );
+        assertEquals( "El cdigo no es correcto.", "400", enviar( "POST", "/consignar?cedula=50152468&producto=corriente&valor=1.001" ).substring( 0, 3 ) );
+        assertEquals( "El cdigo no es correcto.", "400", enviar( "POST", "/consignar?cedula=50152468&producto=corriente&valor=-5" ).substring( 0, 3 ) );
+        assertEquals( "El cdigo no es correcto.", "400", enviar( "POST", "/invertirCDT?cedula=50152468&valor=5&interes=x" ).substring( 0, 3 ) );
+        assertEquals( "El cdigo no es correcto.", "405", enviar( "GET", "/consignar?cedula=50152468&producto=corriente&valor=1" ).substring( 0, 3 ) );
+        assertEquals( "El cdigo no es correcto.", "405", enviar( "POST", "/saldoTotal" ).substring( 0, 3 ) );
+        assertEquals( "El banco no debi cambiar.", 0, banco.calcularSaldoTotalCentavos( ) );
+        assertEquals( "El banco no debi cambiar.", 1, banco.darMesActual( 0 ) );
+    }
+
+    /**
+     * Prueba 3: Mtodo que se encarga de verificar la respuesta a un error inesperado del banco.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * ServidorSimulador<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Si el registro del banco falla con una excepcin inesperada, la solicitud recibe 500.<br>
+     * 2. El servidor sigue atendiendo las solicitudes siguientes.
+     * @throws IOException Si no se puede comunicar con el servidor.
+     */
+    @Test
+    public void testErrorInterno( ) throws IOException
+    {
+        setupEscenario1( );
+        banco.cambiarRegistro( new RegistroOperaciones( )
+        {
+            public long anotarCliente( int pCliente, String pCedula, String pNombre )
+            {
+                throw new UncheckedIOException( new IOException( "El disco fall." ) );
+            }
+
+            public long anotar( int pCodigo, int pCliente, int pAuxiliar, int pProductos, long pCentavos, double pTasa )
+            {
+                throw new UncheckedIOException( new IOException( "El disco fall." ) );
+            }
+
+            public long darPosicionFinal( )
+            {
+                return 0;
+            }
+
+            public void confirmar( long pPosicion )
+            {
+                // No hay nada que confirmar
+            }
+        } );
+        assertEquals( "El cdigo no es correcto.", "500", enviar( "POST", "/consignar?cedula=50152468&producto=corriente&valor=1" ).substring( 0, 3 ) );
+        assertEquals( "El cdigo no es correcto.", "500", enviar( "POST", "/clientes?cedula=123&nombre=Ana" ).substring( 0, 3 ) );
+        assertEquals( "El banco no debi cambiar.", 0, banco.calcularSaldoTotalCentavos( ) );
+        assertEquals( "El banco no debi cambiar.", 1, banco.darNumeroClientes( ) );
+        assertEquals( "El servidor debe seguir atendiendo.", "200 0.00", enviar( "GET", "/saldoTotal" ) );
+    }
+}
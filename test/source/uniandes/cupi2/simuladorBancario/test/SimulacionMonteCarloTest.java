@@ -0,0 +1,112 @@
+/**~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ * Universidad de los Andes (Bogot - Colombia)
+ * Departamento de Ingeniera de Sistemas y Computacin 
+ * Licenciado bajo el esquema Academic Free License version 2.1 
+ *
+ * Proyecto Cupi2 (http://cupi2.uniandes.edu.co)
+ * Ejercicio: n1_simuladorBancario
+ * Autor: Equipo Cupi2 2017
+ * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ 
+ */
+package uniandes.cupi2.simuladorBancario.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import uniandes.cupi2.simuladorBancario.analisis.ResultadoMonteCarlo;
+import uniandes.cupi2.simuladorBancario.analisis.SimulacionMonteCarlo;
+import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
+
+/**
+ * Clase usada para verificar que los mtodos de la clase SimulacionMonteCarlo estn correctamente implementados.
+ */
+public class SimulacionMonteCarloTest
+{
+    // -----------------------------------------------------------------
+    // Atributos
+    // -----------------------------------------------------------------
+
+    /**
+     * Simulacin usada para las pruebas.
+     */
+    private SimulacionMonteCarlo simulacion;
+
+    // -----------------------------------------------------------
+    // Mtodos
+    // -----------------------------------------------------------
+
+    /**
+     * Escenario 1: Crea una simulacin de 24 meses con tasas y movimientos al azar.
+     */
+    private void setupEscenario1( )
+    {
+        simulacion = new SimulacionMonteCarlo( 24, 100000, 500000, 1000000, 0.005, 0.02, 0.006, 0.001, 50000, 0.3, 200000 );
+    }
+
+    /**
+     * Escenario 2: Crea una simulacin de 12 meses sin nada al azar.
+     */
+    private void setupEscenario2( )
+    {
+        simulacion = new SimulacionMonteCarlo( 12, 100000, 500000, 1000000, 0.01, 0.01, 0.006, 0, 0, 0, 0 );
+    }
+
+    /**
+     * Prueba 1: Mtodo que se encarga de verificar que el resultado solo depende de la semilla.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * ejecutar<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Con la misma semilla el resultado es idntico con 1, 3 y 8 hilos.<br>
+     * 2. Con otra semilla el resultado es distinto.
+     */
+    @Test
+    public void testMismaSemilla( )
+    {
+        setupEscenario1( );
+        int caminos = 5000;
+        ResultadoMonteCarlo esperado = simulacion.ejecutar( caminos, 42, new ForkJoinPool( 1 ) );
+        for( int hilos : new int[]{ 3, 8 } )
+        {
+            ForkJoinPool pool = new ForkJoinPool( hilos );
+            ResultadoMonteCarlo resultado = simulacion.ejecutar( caminos, 42, pool );
+            pool.shutdown( );
+            assertEquals( "La media no es la esperada", esperado.darMedia( ), resultado.darMedia( ), 0 );
+            for( int i = 0; i < caminos; i++ )
+            {
+                assertEquals( "El saldo no es el esperado", esperado.darSaldoCentavos( i ), resultado.darSaldoCentavos( i ) );
+            }
+        }
+        assertTrue( "Con otra semilla el resultado debera cambiar", esperado.darMedia( ) != simulacion.ejecutar( caminos, 43 ).darMedia( ) );
+        assertTrue( "Los saldos deberan variar", esperado.darDesviacionEstandar( ) > 0 );
+        assertTrue( "Los percentiles deberan estar ordenados", esperado.darMinimo( ) <= esperado.darPercentil( 0.05 ) && esperado.darPercentil( 0.05 ) <= esperado.darPercentil( 0.5 ) && esperado.darPercentil( 0.5 ) <= esperado.darMaximo( ) );
+    }
+
+    /**
+     * Prueba 2: Mtodo que se encarga de verificar la simulacin de un escenario sin nada al azar.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * ejecutar<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Todos los caminos terminan con el saldo de un simulador con las mismas operaciones.
+     */
+    @Test
+    public void testSinAzar( )
+    {
+        setupEscenario2( );
+        SimuladorBancario simulador = new SimuladorBancario( "", "" );
+        simulador.consignarCuentaCorriente( 100000 );
+        simulador.consignarCuentaAhorros( 500000 );
+        simulador.invertirCDT( 1000000, 0.01 );
+        simulador.avanzarMeses( 12 );
+
+        ResultadoMonteCarlo resultado = simulacion.ejecutar( 1000, 7 );
+        assertEquals( "El nmero de caminos no es el esperado", 1000, resultado.darNumeroCaminos( ) );
+        assertEquals( "La media no es la esperada", simulador.calcularSaldoTotal( ), resultado.darMedia( ), 0.001 );
+        assertEquals( "La desviacin no es la esperada", 0, resultado.darDesviacionEstandar( ), 0 );
+        assertEquals( "El mnimo no es el esperado", simulador.calcularSaldoTotal( ), resultado.darMinimo( ), 0.001 );
+        assertEquals( "El mximo no es el esperado", simulador.calcularSaldoTotal( ), resultado.darMaximo( ), 0.001 );
+    }
+}
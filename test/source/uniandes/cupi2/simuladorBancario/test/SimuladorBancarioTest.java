@@ -11,9 +11,14 @@
 package uniandes.cupi2.simuladorBancario.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import uniandes.cupi2.simuladorBancario.mundo.Banco;
+import uniandes.cupi2.simuladorBancario.mundo.LoteOperaciones;
+import uniandes.cupi2.simuladorBancario.mundo.Operacion;
 import uniandes.cupi2.simuladorBancario.mundo.SimuladorBancario;
 
 /**
@@ -176,4 +181,152 @@ public class SimuladorBancarioTest
         assertEquals( 1800000, ( int )cuenta.calcularSaldoTotal( ) );
     }
 
+    /**
+     * Prueba 8: Mtodo que se encarga de verificar el mtodo avanzarMeses.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * avanzarMeses<br>
+     * avanzarMesSimulacion<br>
+     * calcularSaldoTotal<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Avanzar 120 meses en un paso da el mismo mes y saldo total que avanzarlos uno por uno, salvo por el redondeo de cada mes.
+     */
+    @Test
+    public void testAvanzarMeses( )
+    {
+        setupEscenario3( );
+        SimuladorBancario iterativa = new SimuladorBancario( "50.152.468", "Sergio Lpez" );
+        iterativa.invertirCDT( 1000000, 10 );
+        iterativa.consignarCuentaAhorros( 300000 );
+        iterativa.consignarCuentaCorriente( 500000 );
+        for( int i = 0; i < 120; i++ )
+        {
+            iterativa.avanzarMesSimulacion( );
+        }
+        cuenta.avanzarMeses( 120 );
+        assertEquals( "El mes no es el esperado", 121, cuenta.darMesActual( ) );
+        assertEquals( "El saldo total no es el esperado", iterativa.calcularSaldoTotal( ), cuenta.calcularSaldoTotal( ), 120 * 0.01 );
+    }
+
+    /**
+     * Prueba 9: Mtodo que se encarga de verificar las transferencias entre las cuentas del cliente.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * transferirCorrienteAAhorros<br>
+     * transferirAhorrosACorriente<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. La cuenta de origen tiene saldo suficiente y el dinero pasa a la otra cuenta.<br>
+     * 2. La cuenta de origen no tiene saldo suficiente y los saldos no cambian.
+     */
+    @Test
+    public void testTransferir( )
+    {
+        setupEscenario3( );
+        assertTrue( "La transferencia debera hacerse", cuenta.transferirCorrienteAAhorros( 200000 ) );
+        assertEquals( "El saldo de la cuenta corriente no es el esperado", 300000, cuenta.darCuentaCorriente( ).darSaldo( ), 0 );
+        assertEquals( "El saldo de la cuenta de ahorros no es el esperado", 500000, cuenta.darCuentaAhorros( ).darSaldo( ), 0 );
+        assertFalse( "La transferencia no debera hacerse", cuenta.transferirAhorrosACorriente( 500000.01 ) );
+        assertEquals( "El saldo total no es el esperado", 1800000, cuenta.calcularSaldoTotal( ), 0 );
+    }
+
+    /**
+     * Prueba 10: Mtodo que se encarga de verificar la aplicacin de un lote de operaciones.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * aplicarLote<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Aplicar el lote deja las cuentas igual que hacer las mismas operaciones una por una.<br>
+     * 2. Un retiro sin saldo suficiente y las operaciones invlidas no se aplican y quedan con su estado.
+     */
+    @Test
+    public void testAplicarLote( )
+    {
+        setupEscenario3( );
+        SimuladorBancario individual = new SimuladorBancario( "50.152.468", "Sergio Lpez" );
+        individual.invertirCDT( 1000000, 10 );
+        individual.consignarCuentaAhorros( 300000 );
+        individual.consignarCuentaCorriente( 500000 );
+
+        LoteOperaciones lote = new LoteOperaciones( 16 );
+        lote.agregar( Operacion.CONSIGNAR_CORRIENTE, 10000000 );
+        individual.consignarCuentaCorriente( 100000 );
+        lote.agregar( Operacion.RETIRAR_AHORROS, 40000000 );
+        lote.agregarTransferencia( Banco.PRODUCTO_CORRIENTE, Banco.PRODUCTO_AHORROS, 5000000 );
+        individual.transferirCorrienteAAhorros( 50000 );
+        lote.agregar( Operacion.AVANZAR_MES, 0 );
+        individual.avanzarMesSimulacion( );
+        lote.agregar( Operacion.RETIRAR_CORRIENTE, -5 );
+        lote.agregar( Operacion.AGREGAR_CLIENTE, 0 );
+        lote.agregar( Operacion.CERRAR_CDT, 0 );
+        individual.cerrarCDT( );
+        lote.agregar( Operacion.AVANZAR_MESES, 3, 0, 0 );
+        individual.avanzarMeses( 3 );
+
+        assertEquals( "El nmero de operaciones aplicadas no es el esperado", 5, cuenta.aplicarLote( lote ) );
+        assertEquals( "El estado no es el esperado", LoteOperaciones.ESTADO_APLICADA, lote.darEstado( 0 ) );
+        assertEquals( "El estado no es el esperado", LoteOperaciones.ESTADO_SALDO_INSUFICIENTE, lote.darEstado( 1 ) );
+        assertEquals( "El estado no es el esperado", LoteOperaciones.ESTADO_INVALIDA, lote.darEstado( 4 ) );
+        assertEquals( "El estado no es el esperado", LoteOperaciones.ESTADO_INVALIDA, lote.darEstado( 5 ) );
+        assertEquals( "El mes no es el esperado", individual.darMesActual( ), cuenta.darMesActual( ) );
+        assertEquals( "El saldo de la cuenta corriente no es el esperado", individual.darCuentaCorriente( ).darSaldoCentavos( ), cuenta.darCuentaCorriente( ).darSaldoCentavos( ) );
+        assertEquals( "El saldo de la cuenta de ahorros no es el esperado", individual.darCuentaAhorros( ).darSaldoCentavos( ), cuenta.darCuentaAhorros( ).darSaldoCentavos( ) );
+        assertEquals( "El CDT debera estar cerrado", 0, cuenta.darCDT( ).calcularValorPresenteCentavos( cuenta.darMesActual( ) ) );
+    }
+
+    /**
+     * Prueba 11: Mtodo que se encarga de verificar los CDT a plazo del portafolio del cliente.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * abrirCDT<br>
+     * cerrarCDT<br>
+     * avanzarMesSimulacion<br>
+     * avanzarMeses<br>
+     * calcularSaldoTotal<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Abrir varios CDT no reemplaza los anteriores.<br>
+     * 2. Cada CDT pasa a la cuenta corriente el mes en que vence, con el inters de todo su plazo.<br>
+     * 3. Un CDT cerrado antes de vencer pasa su valor presente a la cuenta corriente.
+     */
+    @Test
+    public void testPortafolioCDT( )
+    {
+        setupEscenario1( );
+        int corto = cuenta.abrirCDT( 100000, 0.01, 1 );
+        int medio = cuenta.abrirCDT( 200000, 0.02, 3 );
+        int largo = cuenta.abrirCDT( 300000, 0.01, 100 );
+        assertEquals( "El nmero de CDT no es el esperado", 3, cuenta.darPortafolioCDT( ).darNumeroCDT( ) );
+        assertEquals( "El saldo total no es el esperado", 600000, cuenta.calcularSaldoTotal( ), 0.001 );
+
+        cuenta.avanzarMesSimulacion( );
+        assertFalse( "El CDT debera haber vencido", cuenta.darPortafolioCDT( ).estaAbierto( corto ) );
+        assertEquals( "El saldo de la cuenta corriente no es el esperado", 101000, cuenta.darCuentaCorriente( ).darSaldo( ), 0.001 );
+
+        cuenta.avanzarMeses( 10 );
+        assertFalse( "El CDT debera haber vencido", cuenta.darPortafolioCDT( ).estaAbierto( medio ) );
+        assertEquals( "El saldo de la cuenta corriente no es el esperado", 101000 + 212000, cuenta.darCuentaCorriente( ).darSaldo( ), 0.001 );
+        assertEquals( "El saldo total no es el esperado", 101000 + 212000 + 333000, cuenta.calcularSaldoTotal( ), 0.001 );
+
+        cuenta.cerrarCDT( largo );
+        assertEquals( "El nmero de CDT no es el esperado", 0, cuenta.darPortafolioCDT( ).darNumeroCDT( ) );
+        assertEquals( "El saldo de la cuenta corriente no es el esperado", 101000 + 212000 + 333000, cuenta.darCuentaCorriente( ).darSaldo( ), 0.001 );
+    }
+
+    /**
+     * Prueba 12: Mtodo que se encarga de verificar que el CDT retornado por darCDT no cambia el simulador.<br>
+     * <b> Mtodos a probar: </b> <br>
+     * darCDT<br>
+     * darValorPresenteCDTCentavos<br>
+     * calcularSaldoTotalCentavos<br>
+     * <b> Casos de prueba: </b> <br>
+     * 1. Invertir o cerrar el CDT retornado no cambia el CDT del cliente ni su saldo total.
+     */
+    @Test
+    public void testDarCDTCopia( )
+    {
+        setupEscenario2( );
+        long total = cuenta.calcularSaldoTotalCentavos( );
+        long valorPresente = cuenta.darValorPresenteCDTCentavos( );
+        cuenta.darCDT( ).invertir( 5000000, 0.5, 1 );
+        cuenta.darCDT( ).cerrarCentavos( 1 );
+        assertEquals( "El valor del CDT no debi cambiar", 100000000, cuenta.darCDT( ).darValorInvertidoCentavos( ) );
+        assertEquals( "El valor presente del CDT no debi cambiar", valorPresente, cuenta.darValorPresenteCDTCentavos( ) );
+        assertEquals( "El saldo total no debi cambiar", total, cuenta.calcularSaldoTotalCentavos( ) );
+    }
+
 }